@@ -0,0 +1,146 @@
+package com.restaurant.benchmarks;
+
+import com.restaurant.orderservice.domain.event.OrderPlacedDomainEvent;
+import com.restaurant.orderservice.entity.Order;
+import com.restaurant.orderservice.entity.OrderItem;
+import com.restaurant.orderservice.entity.Product;
+import com.restaurant.orderservice.enums.OrderStatus;
+import com.restaurant.orderservice.repository.ProductRepository;
+import com.restaurant.reportservice.domain.model.OrderItemReport;
+import com.restaurant.reportservice.domain.model.OrderReport;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Deterministic inputs shared by the suites: a menu of {@link #PRODUCTS} products, orders of
+ * {@link #ITEMS_PER_ORDER} items spread over it, and the matching report-side orders.
+ */
+public final class BenchmarkData {
+
+    public static final int PRODUCTS = 200;
+    public static final int ITEMS_PER_ORDER = 4;
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 2, 19, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    public static Map<Long, Product> menu() {
+        Map<Long, Product> menu = new HashMap<>();
+        for (long id = 1; id <= PRODUCTS; id++) {
+            Product product = new Product();
+            product.setId(id);
+            product.setName("Product " + id);
+            product.setPrice(price(id));
+            menu.put(id, product);
+        }
+        return menu;
+    }
+
+    /**
+     * A ProductRepository that answers {@code findAllById} from the map, with no JPA or
+     * database behind it, so the benchmark measures the mapping alone.
+     */
+    public static ProductRepository productRepository(Map<Long, Product> products) {
+        return (ProductRepository) Proxy.newProxyInstance(ProductRepository.class.getClassLoader(),
+                new Class<?>[]{ProductRepository.class}, (proxy, method, args) -> {
+                    if (!"findAllById".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    List<Product> found = new ArrayList<>();
+                    for (Object id : (Iterable<?>) args[0]) {
+                        Product product = products.get(id);
+                        if (product != null) {
+                            found.add(product);
+                        }
+                    }
+                    return found;
+                });
+    }
+
+    public static List<Order> orders(int count) {
+        List<Order> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Order order = new Order();
+            order.setId(new UUID(0, i));
+            order.setTableId(1 + i % 12);
+            order.setStatus(OrderStatus.PENDING);
+            order.setCreatedAt(CREATED_AT.plusSeconds(i));
+            order.setUpdatedAt(CREATED_AT.plusSeconds(i));
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                OrderItem item = new OrderItem();
+                item.setId((long) i * ITEMS_PER_ORDER + j);
+                item.setOrder(order);
+                item.setProductId(productId(i, j));
+                item.setQuantity(1 + j);
+                order.getItems().add(item);
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    public static OrderPlacedDomainEvent placedEvent(int items) {
+        List<OrderPlacedDomainEvent.OrderItemData> eventItems = new ArrayList<>(items);
+        for (int j = 0; j < items; j++) {
+            eventItems.add(new OrderPlacedDomainEvent.OrderItemData(productId(0, j), 1 + j));
+        }
+        return OrderPlacedDomainEvent.builder()
+                .eventId(new UUID(1, 1))
+                .eventType(OrderPlacedDomainEvent.EVENT_TYPE)
+                .eventVersion(OrderPlacedDomainEvent.CURRENT_VERSION)
+                .occurredAt(CREATED_AT)
+                .orderId(new UUID(0, 1))
+                .tableId(5)
+                .items(eventItems)
+                .createdAt(CREATED_AT)
+                .build();
+    }
+
+    /**
+     * READY report orders holding {@code items} items in total, with item fields shared the
+     * way rows mapped from the same menu share values.
+     */
+    public static List<OrderReport> reportOrders(int items) {
+        BigDecimal[] prices = new BigDecimal[PRODUCTS + 1];
+        for (long id = 1; id <= PRODUCTS; id++) {
+            prices[(int) id] = price(id);
+        }
+        List<OrderReport> orders = new ArrayList<>(items / ITEMS_PER_ORDER);
+        for (int i = 0; i < items; i += ITEMS_PER_ORDER) {
+            List<OrderItemReport> orderItems = new ArrayList<>(ITEMS_PER_ORDER);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                long product = productId(i, j);
+                orderItems.add(OrderItemReport.builder()
+                        .productId(product)
+                        .productName("Product " + product)
+                        .quantity(1 + j)
+                        .price(prices[(int) product])
+                        .build());
+            }
+            orders.add(OrderReport.builder()
+                    .id(new UUID(0, i))
+                    .tableId(1 + i % 12)
+                    .status(com.restaurant.reportservice.enums.OrderStatus.READY)
+                    .items(orderItems)
+                    .createdAt(CREATED_AT)
+                    .build());
+        }
+        return orders;
+    }
+
+    private static long productId(int order, int item) {
+        return 1 + (order * 7L + item * 13L) % PRODUCTS;
+    }
+
+    private static BigDecimal price(long productId) {
+        return BigDecimal.valueOf(250 + productId * 37, 2);
+    }
+}
@@ -0,0 +1,75 @@
+package com.restaurant.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.restaurant.orderservice.infrastructure.messaging.OrderPlacedEventMessage;
+import com.restaurant.orderservice.infrastructure.messaging.OrderPlacedEventMessageMapper;
+import com.restaurant.reportservice.event.OrderPlacedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding and decoding of order.placed, on both sides of the broker: the
+ * {@link OrderPlacedEventMessage} order-service publishes and the {@link OrderPlacedEvent}
+ * report-service reads. The mappers are configured as the services' message converters
+ * configure theirs (JavaTimeModule, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventJsonBenchmark {
+
+    @Param({"4", "20"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+    private OrderPlacedEventMessage message;
+    private OrderPlacedEvent event;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        message = new OrderPlacedEventMessageMapper().toMessage(BenchmarkData.placedEvent(items));
+        body = objectMapper.writeValueAsBytes(message);
+        event = objectMapper.readValue(body, OrderPlacedEvent.class);
+    }
+
+    @Benchmark
+    public byte[] encodeMessage() throws IOException {
+        return objectMapper.writeValueAsBytes(message);
+    }
+
+    @Benchmark
+    public OrderPlacedEventMessage decodeMessage() throws IOException {
+        return objectMapper.readValue(body, OrderPlacedEventMessage.class);
+    }
+
+    @Benchmark
+    public byte[] encodeEvent() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public OrderPlacedEvent decodeEvent() throws IOException {
+        return objectMapper.readValue(body, OrderPlacedEvent.class);
+    }
+}
@@ -0,0 +1,49 @@
+package com.restaurant.benchmarks;
+
+import com.restaurant.orderservice.dto.OrderResponse;
+import com.restaurant.orderservice.entity.Order;
+import com.restaurant.orderservice.service.OrderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderMapper#mapToOrderResponseList} over a page of orders, as GET /orders returns
+ * it, with the product lookup answered from memory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMapperBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int orders;
+
+    private List<Order> page;
+    private OrderMapper mapper;
+
+    @Setup
+    public void setUp() {
+        page = BenchmarkData.orders(orders);
+        mapper = new OrderMapper(BenchmarkData.productRepository(BenchmarkData.menu()));
+    }
+
+    @Benchmark
+    public List<OrderResponse> mapToOrderResponseList() {
+        return mapper.mapToOrderResponseList(page);
+    }
+}
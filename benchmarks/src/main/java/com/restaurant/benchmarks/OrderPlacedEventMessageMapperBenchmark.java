@@ -0,0 +1,47 @@
+package com.restaurant.benchmarks;
+
+import com.restaurant.orderservice.domain.event.OrderPlacedDomainEvent;
+import com.restaurant.orderservice.infrastructure.messaging.OrderPlacedEventMessage;
+import com.restaurant.orderservice.infrastructure.messaging.OrderPlacedEventMessageMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderPlacedEventMessageMapper#toMessage}, run once per placed order before publishing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPlacedEventMessageMapperBenchmark {
+
+    @Param({"4", "20"})
+    public int items;
+
+    private OrderPlacedDomainEvent event;
+    private OrderPlacedEventMessageMapper mapper;
+
+    @Setup
+    public void setUp() {
+        event = BenchmarkData.placedEvent(items);
+        mapper = new OrderPlacedEventMessageMapper();
+    }
+
+    @Benchmark
+    public OrderPlacedEventMessage toMessage() {
+        return mapper.toMessage(event);
+    }
+}
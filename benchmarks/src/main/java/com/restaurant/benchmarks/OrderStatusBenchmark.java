@@ -0,0 +1,49 @@
+package com.restaurant.benchmarks;
+
+import com.restaurant.orderservice.enums.OrderStatus;
+import com.restaurant.orderservice.exception.InvalidStatusTransitionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OrderStatus#validateTransition} for an allowed transition, and for a rejected one,
+ * whose cost is mostly building the exception.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderStatusBenchmark {
+
+    // Non-final fields, so the JIT cannot fold the lookups into constants
+    public OrderStatus current = OrderStatus.PENDING;
+    public OrderStatus next = OrderStatus.IN_PREPARATION;
+    public OrderStatus skipped = OrderStatus.READY;
+
+    @Benchmark
+    public OrderStatus allowedTransition() {
+        OrderStatus.validateTransition(current, next);
+        return next;
+    }
+
+    @Benchmark
+    public Object rejectedTransition() {
+        try {
+            OrderStatus.validateTransition(current, skipped);
+            return skipped;
+        } catch (InvalidStatusTransitionException e) {
+            return e;
+        }
+    }
+}
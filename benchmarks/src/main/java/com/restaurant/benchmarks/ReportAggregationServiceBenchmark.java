@@ -0,0 +1,85 @@
+package com.restaurant.benchmarks;
+
+import com.restaurant.reportservice.domain.model.OrderItemReport;
+import com.restaurant.reportservice.domain.model.OrderReport;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.ReportAggregationService;
+import com.restaurant.reportservice.enums.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReportAggregationService#aggregate(List)} over 1k, 100k and 1M items, on one thread
+ * and split across the common pool. {@code bigDecimalBaseline} is the former implementation,
+ * which multiplied and added BigDecimals per item and kept products in a
+ * {@code LinkedHashMap<Long, ...>}; compare its {@code gc.alloc.rate.norm} with
+ * {@code aggregate} to see the allocation saved per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportAggregationServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int items;
+
+    private List<OrderReport> orders;
+    private ReportAggregationService sequential;
+    private ReportAggregationService parallel;
+
+    @Setup
+    public void setUp() {
+        orders = BenchmarkData.reportOrders(items);
+        sequential = new ReportAggregationService(Integer.MAX_VALUE);
+        parallel = new ReportAggregationService(1);
+    }
+
+    @Benchmark
+    public ReportSummary aggregate() {
+        return sequential.aggregate(orders);
+    }
+
+    @Benchmark
+    public ReportSummary aggregateParallel() {
+        return parallel.aggregate(orders);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalBaseline() {
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        Map<Long, BigDecimal[]> products = new LinkedHashMap<>();
+        for (OrderReport order : orders) {
+            if (order.getStatus() != OrderStatus.READY) {
+                continue;
+            }
+            for (OrderItemReport item : order.getItems()) {
+                BigDecimal price = item.getPrice() != null ? item.getPrice() : BigDecimal.ZERO;
+                BigDecimal lineTotal = price.multiply(BigDecimal.valueOf(item.getQuantity()));
+                totalRevenue = totalRevenue.add(lineTotal);
+                BigDecimal[] product = products.computeIfAbsent(item.getProductId(),
+                        id -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+                product[0] = product[0].add(BigDecimal.valueOf(item.getQuantity()));
+                product[1] = product[1].add(lineTotal);
+            }
+        }
+        return totalRevenue;
+    }
+}
@@ -2,24 +2,34 @@ package com.restaurant.kitchenworker.config;
 
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.kitchenworker.infrastructure.messaging.AdaptiveListenerController;
+import com.restaurant.kitchenworker.infrastructure.messaging.TieredRetryMessageRecoverer;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * RabbitMQ configuration for Kitchen Worker.
  * Configures the topic exchange, queues with Dead Letter Queue support, bindings, 
  * and message converter for order event consumption.
  * 
- * This configuration ensures reliable message processing with automatic retry and 
- * dead letter handling for failed messages.
+ * This configuration ensures reliable message processing with broker-side tiered retries
+ * and dead letter handling for failed messages.
  */
 @Configuration
 public class RabbitMQConfig {
@@ -42,6 +52,9 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.dlq.routing-key}")
     private String dlqRoutingKey;
 
+    @Value("${rabbitmq.retry.tier-delays-ms}")
+    private List<Long> retryTierDelays;
+
     /**
      * Declares the topic exchange for order events.
      * Topic exchanges route messages to queues based on routing key patterns.
@@ -69,8 +82,8 @@ public class RabbitMQConfig {
      * Declares the main queue for order.placed events with Dead Letter Exchange configuration.
      * This queue will receive messages published with the "order.placed" routing key.
      * 
-     * When a message fails processing after the configured retry attempts (3 attempts with 
-     * exponential backoff), it will be automatically routed to the Dead Letter Exchange.
+     * Failed messages are moved to the retry tier queues by {@link TieredRetryMessageRecoverer};
+     * messages rejected outside the listener are routed to the Dead Letter Exchange by the broker.
      * 
      * @return Queue configured as durable with DLX settings
      */
@@ -99,6 +112,27 @@ public class RabbitMQConfig {
         return new Queue(dlqName, true);
     }
 
+    /**
+     * Declares one delay queue per retry tier for the order.placed queue.
+     * Each tier holds messages for its configured TTL and then dead-letters them back to the
+     * main queue through the default exchange. A per-queue TTL (rather than per-message) keeps
+     * every message in a tier expiring in FIFO order, so no message blocks another.
+     * 
+     * @return Declarables containing the retry tier queues
+     */
+    @Bean
+    public Declarables orderPlacedRetryQueues() {
+        List<Queue> queues = new ArrayList<>();
+        for (int tier = 1; tier <= retryTierDelays.size(); tier++) {
+            queues.add(QueueBuilder.durable(TieredRetryMessageRecoverer.retryQueueName(queueName, tier))
+                    .ttl(retryTierDelays.get(tier - 1).intValue())
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(queueName)
+                    .build());
+        }
+        return new Declarables(queues);
+    }
+
     /**
      * Binds the order.placed queue to the order exchange with the specified routing key.
      * Messages published to the exchange with routing key "order.placed" will be routed to this queue.
@@ -133,11 +167,8 @@ public class RabbitMQConfig {
      * This allows automatic conversion of JSON messages to Java objects when consuming messages.
      * Registers JavaTimeModule to support Java 8 date/time types like LocalDateTime.
      * 
-     * The retry policy is configured in application.yml:
-     * - Max attempts: 3
-     * - Initial interval: 1000ms
-     * - Multiplier: 2.0 (exponential backoff)
-     * - Max interval: 10000ms
+     * Listener retry is configured in application.yml with a single in-thread attempt;
+     * further attempts are scheduled through the retry tier queues (rabbitmq.retry.tier-delays-ms).
      * 
      * @return MessageConverter configured for JSON
      */
@@ -146,4 +177,26 @@ public class RabbitMQConfig {
         objectMapper.registerModule(new JavaTimeModule());
         return new Jackson2JsonMessageConverter(objectMapper);
     }
+
+    /**
+     * Listener container factory used by all @RabbitListener endpoints.
+     * Boot's configurer applies the spring.rabbitmq.listener.simple settings (retry with
+     * {@link TieredRetryMessageRecoverer}, message converter); every container is then handed
+     * to the {@link AdaptiveListenerController}, which owns its concurrency and prefetch.
+     * 
+     * The configurer is only missing when RabbitAutoConfiguration is excluded, in which case
+     * no listener containers are created either.
+     * 
+     * @return SimpleRabbitListenerContainerFactory with adaptive concurrency
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            ObjectProvider<SimpleRabbitListenerContainerFactoryConfigurer> configurer,
+            ObjectProvider<ConnectionFactory> connectionFactory,
+            AdaptiveListenerController adaptiveListenerController) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.ifAvailable(c -> c.configure(factory, connectionFactory.getObject()));
+        factory.setContainerCustomizer(adaptiveListenerController::register);
+        return factory;
+    }
 }
@@ -0,0 +1,22 @@
+package com.restaurant.kitchenworker.config;
+
+import com.restaurant.kitchenworker.security.AdminTokenInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the admin token check in front of the /admin endpoints.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdminTokenInterceptor adminTokenInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminTokenInterceptor).addPathPatterns("/admin/**");
+    }
+}
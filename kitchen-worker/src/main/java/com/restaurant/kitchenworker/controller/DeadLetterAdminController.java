@@ -0,0 +1,71 @@
+package com.restaurant.kitchenworker.controller;
+
+import com.restaurant.kitchenworker.dto.DeadLetterPageDTO;
+import com.restaurant.kitchenworker.dto.ReplayJobDTO;
+import com.restaurant.kitchenworker.dto.ReplayRequestDTO;
+import com.restaurant.kitchenworker.service.DeadLetterFilter;
+import com.restaurant.kitchenworker.service.DeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Admin endpoints to inspect the kitchen Dead Letter Queue and replay its messages.
+ * Protected by the admin token checked in AdminTokenInterceptor. The from/to query
+ * parameters are UTC date-times without an offset, e.g. {@code 2026-03-10T12:00:00}.
+ */
+@RestController
+@RequestMapping("/admin/dlq")
+@RequiredArgsConstructor
+public class DeadLetterAdminController {
+
+    private final DeadLetterReplayService replayService;
+
+    @GetMapping("/messages")
+    public ResponseEntity<DeadLetterPageDTO> browse(
+            @RequestParam(value = "eventId", required = false) List<UUID> eventIds,
+            @RequestParam(value = "reason", required = false) String reason,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        try {
+            DeadLetterFilter filter = new DeadLetterFilter(eventIds, reason, from, to);
+            return ResponseEntity.ok(replayService.browse(filter, offset, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<ReplayJobDTO> replay(@RequestBody ReplayRequestDTO request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(replayService.startReplay(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/replay/{jobId}")
+    public ResponseEntity<ReplayJobDTO> getReplayJob(@PathVariable UUID jobId) {
+        return replayService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
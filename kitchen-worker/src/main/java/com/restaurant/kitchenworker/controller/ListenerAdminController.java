@@ -0,0 +1,27 @@
+package com.restaurant.kitchenworker.controller;
+
+import com.restaurant.kitchenworker.dto.ListenerStatusDTO;
+import com.restaurant.kitchenworker.infrastructure.messaging.AdaptiveListenerController;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Admin endpoint exposing the adaptive concurrency decisions of the listener containers.
+ */
+@RestController
+@RequestMapping("/admin/listeners")
+@RequiredArgsConstructor
+public class ListenerAdminController {
+
+    private final AdaptiveListenerController adaptiveListenerController;
+
+    @GetMapping
+    public ResponseEntity<List<ListenerStatusDTO>> getStatus() {
+        return ResponseEntity.ok(adaptiveListenerController.status());
+    }
+}
@@ -0,0 +1,33 @@
+package com.restaurant.kitchenworker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Decoded summary of a message sitting in the Dead Letter Queue.
+ * Event fields are null when the body could not be decoded; decodeError then holds the reason.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterMessageDTO {
+    private Long position;
+    private UUID eventId;
+    private String eventType;
+    private Integer eventVersion;
+    private UUID orderId;
+    private Integer tableId;
+    private Integer itemCount;
+    /** In UTC; falls back to the order's createdAt, converted to UTC, for events without it. */
+    private LocalDateTime occurredAt;
+    private Integer retryCount;
+    private String errorReason;
+    private String originalQueue;
+    private String decodeError;
+}
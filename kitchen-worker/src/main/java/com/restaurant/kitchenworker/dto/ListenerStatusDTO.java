@@ -0,0 +1,30 @@
+package com.restaurant.kitchenworker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Current adaptive concurrency state of one listener container.
+ * maxConsumers already accounts for the DB pool share left by the other containers.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ListenerStatusDTO {
+    private List<String> queues;
+    private Integer consumers;
+    private Integer activeConsumers;
+    private Integer prefetch;
+    private Integer minConsumers;
+    private Integer maxConsumers;
+    private Long queueDepth;
+    private Double latencyMs;
+    private String lastAction;
+    private LocalDateTime lastDecisionAt;
+}
@@ -0,0 +1,34 @@
+package com.restaurant.kitchenworker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Progress of a Dead Letter Queue replay or dry-run job.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayJobDTO {
+    private UUID jobId;
+    private String status;
+    private boolean dryRun;
+    private long scanned;
+    private long matched;
+    private long replayed;
+    private long valid;
+    private long invalid;
+    @Builder.Default
+    private List<String> invalidSamples = new ArrayList<>();
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,32 @@
+package com.restaurant.kitchenworker.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selection and pacing of a Dead Letter Queue replay.
+ *
+ * At least one filter (eventIds, reason, from/to) must be given unless {@code all} is true.
+ * The from/to window is in UTC, like the occurredAt it is compared with.
+ * Batch size and rate fall back to the configured defaults when omitted.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayRequestDTO {
+    private List<UUID> eventIds;
+    private String reason;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private boolean all;
+    private boolean dryRun;
+    private Integer batchSize;
+    private Integer ratePerSecond;
+}
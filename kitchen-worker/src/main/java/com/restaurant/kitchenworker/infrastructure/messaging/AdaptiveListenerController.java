@@ -0,0 +1,212 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import com.restaurant.kitchenworker.dto.ListenerStatusDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adjusts concurrent consumers and prefetch of the listener containers at runtime.
+ *
+ * Containers are handed over by the listener container factory when they are created. Every
+ * sample interval the controller reads the queue depth from the broker and the mean processing
+ * time from the Spring AMQP listener timer ({@value #LISTENER_TIMER}), and applies the
+ * {@link AdaptiveListenerPolicy} decision.
+ *
+ * Each consumer may hold a DB connection, so the consumers of all containers together never
+ * exceed the Hikari pool size minus {@code reserved-db-connections}.
+ */
+@Component
+@Slf4j
+public class AdaptiveListenerController {
+
+    static final String LISTENER_TIMER = "spring.rabbitmq.listener";
+
+    private final AdaptiveListenerPolicy policy;
+    private final AmqpAdmin amqpAdmin;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int consumerBudget;
+    private final Map<String, ManagedListener> listeners = new ConcurrentHashMap<>();
+
+    public AdaptiveListenerController(AdaptiveListenerPolicy policy,
+                                      @Lazy AmqpAdmin amqpAdmin,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${rabbitmq.listener.adaptive.enabled}") boolean enabled,
+                                      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int dbPoolSize,
+                                      @Value("${rabbitmq.listener.adaptive.reserved-db-connections}") int reservedDbConnections) {
+        this.policy = policy;
+        this.amqpAdmin = amqpAdmin;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.consumerBudget = Math.max(policy.getMinConsumers(), dbPoolSize - reservedDbConnections);
+    }
+
+    /**
+     * Takes over concurrency and prefetch of a newly created container, starting at the lower
+     * consumer bound. Containers keep their static settings when the controller is disabled.
+     */
+    public void register(SimpleMessageListenerContainer container) {
+        if (!enabled) {
+            return;
+        }
+        String name = String.join(",", container.getQueueNames());
+        AdaptiveListenerPolicy.State state = new AdaptiveListenerPolicy.State(
+                policy.getMinConsumers(), policy.getMaxPrefetch());
+        container.setConcurrentConsumers(state.getConsumers());
+        container.setPrefetchCount(state.getPrefetch());
+
+        ManagedListener listener = new ManagedListener(name, container, state);
+        listeners.put(name, listener);
+        Gauge.builder("rabbitmq.listener.adaptive.consumers", state, AdaptiveListenerPolicy.State::getConsumers)
+                .tag("queue", name).register(meterRegistry);
+        Gauge.builder("rabbitmq.listener.adaptive.prefetch", state, AdaptiveListenerPolicy.State::getPrefetch)
+                .tag("queue", name).register(meterRegistry);
+        Gauge.builder("rabbitmq.listener.adaptive.queue.depth", listener, l -> l.lastDepth)
+                .tag("queue", name).register(meterRegistry);
+        Gauge.builder("rabbitmq.listener.adaptive.latency", state, AdaptiveListenerPolicy.State::getLatencyMs)
+                .tag("queue", name).baseUnit("milliseconds").register(meterRegistry);
+        log.info("Adaptive concurrency enabled for queue(s) {} (consumers {}..{}, budget {})",
+                name, policy.getMinConsumers(), policy.getMaxConsumers(), consumerBudget);
+    }
+
+    @Scheduled(fixedDelayString = "${rabbitmq.listener.adaptive.sample-interval-ms}")
+    public synchronized void sample() {
+        for (ManagedListener listener : listeners.values()) {
+            try {
+                sample(listener);
+            } catch (RuntimeException ex) {
+                log.warn("Skipping adaptive sample for queue(s) {}: {}", listener.name, ex.getMessage());
+            }
+        }
+    }
+
+    public synchronized List<ListenerStatusDTO> status() {
+        List<ListenerStatusDTO> statuses = new ArrayList<>();
+        for (ManagedListener listener : listeners.values()) {
+            AdaptiveListenerPolicy.State state = listener.state;
+            statuses.add(ListenerStatusDTO.builder()
+                    .queues(Arrays.asList(listener.container.getQueueNames()))
+                    .consumers(state.getConsumers())
+                    .activeConsumers(listener.container.getActiveConsumerCount())
+                    .prefetch(state.getPrefetch())
+                    .minConsumers(policy.getMinConsumers())
+                    .maxConsumers(Math.min(policy.getMaxConsumers(), budgetFor(listener)))
+                    .queueDepth(listener.lastDepth)
+                    .latencyMs(Double.isNaN(state.getLatencyMs()) ? null : state.getLatencyMs())
+                    .lastAction(listener.lastAction)
+                    .lastDecisionAt(listener.lastDecisionAt)
+                    .build());
+        }
+        return statuses;
+    }
+
+    private void sample(ManagedListener listener) {
+        long depth = 0;
+        for (String queue : listener.container.getQueueNames()) {
+            QueueInformation info = amqpAdmin.getQueueInfo(queue);
+            if (info != null) {
+                depth += info.getMessageCount();
+            }
+        }
+        listener.lastDepth = depth;
+
+        AdaptiveListenerPolicy.State state = listener.state;
+        AdaptiveListenerPolicy.Decision decision =
+                policy.evaluate(state, depth, listener.latencySinceLastSample(), budgetFor(listener));
+
+        boolean consumersChanged = decision.getConsumers() != state.getConsumers();
+        boolean prefetchChanged = decision.getPrefetch() != state.getPrefetch();
+        if (!consumersChanged && !prefetchChanged) {
+            return;
+        }
+        if (consumersChanged) {
+            listener.container.setConcurrentConsumers(decision.getConsumers());
+            recordDecision(listener, decision.getAction());
+        }
+        if (prefetchChanged) {
+            listener.container.setPrefetchCount(decision.getPrefetch());
+            if (listener.container.isRunning()) {
+                // Re-setting the queues restarts the consumers, which then use the new prefetch.
+                listener.container.setQueueNames(listener.container.getQueueNames());
+            }
+            recordDecision(listener, "prefetch");
+        }
+        log.info("Adaptive listener {}: consumers {} -> {}, prefetch {} -> {} (depth={}, latencyMs={})",
+                listener.name, state.getConsumers(), decision.getConsumers(),
+                state.getPrefetch(), decision.getPrefetch(), depth, state.getLatencyMs());
+        state.apply(decision);
+    }
+
+    private int budgetFor(ManagedListener listener) {
+        int usedByOthers = 0;
+        for (ManagedListener other : listeners.values()) {
+            if (other != listener) {
+                usedByOthers += other.state.getConsumers();
+            }
+        }
+        return consumerBudget - usedByOthers;
+    }
+
+    private void recordDecision(ManagedListener listener, String action) {
+        listener.lastAction = action;
+        listener.lastDecisionAt = LocalDateTime.now();
+        meterRegistry.counter("rabbitmq.listener.adaptive.decisions",
+                "queue", listener.name, "action", action).increment();
+    }
+
+    /**
+     * A registered container together with its policy state and the last timer snapshot.
+     */
+    private final class ManagedListener {
+        private final String name;
+        private final SimpleMessageListenerContainer container;
+        private final AdaptiveListenerPolicy.State state;
+        private volatile long lastDepth;
+        private volatile String lastAction = AdaptiveListenerPolicy.HOLD;
+        private volatile LocalDateTime lastDecisionAt;
+        private long lastCount;
+        private double lastTotalMs;
+
+        private ManagedListener(String name, SimpleMessageListenerContainer container,
+                                AdaptiveListenerPolicy.State state) {
+            this.name = name;
+            this.container = container;
+            this.state = state;
+        }
+
+        private double latencySinceLastSample() {
+            String listenerId = container.getListenerId();
+            if (listenerId == null) {
+                return Double.NaN;
+            }
+            long count = 0;
+            double totalMs = 0;
+            for (Timer timer : meterRegistry.find(LISTENER_TIMER).tag("listener.id", listenerId).timers()) {
+                count += timer.count();
+                totalMs += timer.totalTime(TimeUnit.MILLISECONDS);
+            }
+            long processed = count - lastCount;
+            double elapsedMs = totalMs - lastTotalMs;
+            lastCount = count;
+            lastTotalMs = totalMs;
+            return processed > 0 ? elapsedMs / processed : Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides listener concurrency and prefetch from sampled queue depth and processing time.
+ *
+ * The estimated drain time ({@code depth * latency / consumers}) is compared with a target:
+ * above it for {@code scale-up-samples} consecutive samples the consumers jump to the count
+ * that would meet the target; below {@code scale-down-ratio * target} for
+ * {@code scale-down-samples} samples one consumer is removed. Scaling up is fast and scaling
+ * down is slow, so short lulls during a rush do not shed consumers.
+ *
+ * Prefetch is sized so each consumer holds about {@code prefetch-target-ms} of work, and only
+ * changes when the new value is at least twice or at most half the current one, because
+ * applying it restarts the consumers.
+ */
+@Component
+public class AdaptiveListenerPolicy {
+
+    public static final String SCALE_UP = "scale_up";
+    public static final String SCALE_DOWN = "scale_down";
+    public static final String HOLD = "hold";
+
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final int minPrefetch;
+    private final int maxPrefetch;
+    private final long targetDrainMs;
+    private final double scaleDownRatio;
+    private final int scaleUpSamples;
+    private final int scaleDownSamples;
+    private final long prefetchTargetMs;
+
+    public AdaptiveListenerPolicy(@Value("${rabbitmq.listener.adaptive.min-consumers}") int minConsumers,
+                                  @Value("${rabbitmq.listener.adaptive.max-consumers}") int maxConsumers,
+                                  @Value("${rabbitmq.listener.adaptive.min-prefetch}") int minPrefetch,
+                                  @Value("${rabbitmq.listener.adaptive.max-prefetch}") int maxPrefetch,
+                                  @Value("${rabbitmq.listener.adaptive.target-drain-ms}") long targetDrainMs,
+                                  @Value("${rabbitmq.listener.adaptive.scale-down-ratio}") double scaleDownRatio,
+                                  @Value("${rabbitmq.listener.adaptive.scale-up-samples}") int scaleUpSamples,
+                                  @Value("${rabbitmq.listener.adaptive.scale-down-samples}") int scaleDownSamples,
+                                  @Value("${rabbitmq.listener.adaptive.prefetch-target-ms}") long prefetchTargetMs) {
+        if (minConsumers < 1 || maxConsumers < minConsumers) {
+            throw new IllegalArgumentException("Consumer bounds must satisfy 1 <= min <= max");
+        }
+        if (minPrefetch < 1 || maxPrefetch < minPrefetch) {
+            throw new IllegalArgumentException("Prefetch bounds must satisfy 1 <= min <= max");
+        }
+        this.minConsumers = minConsumers;
+        this.maxConsumers = maxConsumers;
+        this.minPrefetch = minPrefetch;
+        this.maxPrefetch = maxPrefetch;
+        this.targetDrainMs = targetDrainMs;
+        this.scaleDownRatio = scaleDownRatio;
+        this.scaleUpSamples = Math.max(1, scaleUpSamples);
+        this.scaleDownSamples = Math.max(1, scaleDownSamples);
+        this.prefetchTargetMs = prefetchTargetMs;
+    }
+
+    public int getMinConsumers() {
+        return minConsumers;
+    }
+
+    public int getMaxConsumers() {
+        return maxConsumers;
+    }
+
+    public int getMaxPrefetch() {
+        return maxPrefetch;
+    }
+
+    /**
+     * Evaluates one sample and updates the hysteresis streaks kept in {@code state}.
+     *
+     * @param depth          messages ready in the listener's queues
+     * @param latencyMs      mean processing time since the previous sample, or NaN if nothing was processed
+     * @param consumerBudget consumers this listener may use without exceeding the DB pool
+     * @return consumers and prefetch to apply; equal to the current values when holding
+     */
+    public Decision evaluate(State state, long depth, double latencyMs, int consumerBudget) {
+        if (!Double.isNaN(latencyMs)) {
+            state.latencyMs = latencyMs;
+        }
+        double latency = state.latencyMs;
+        int consumers = state.consumers;
+        int cap = Math.max(minConsumers, Math.min(maxConsumers, consumerBudget));
+
+        double drainMs;
+        if (depth == 0) {
+            drainMs = 0;
+        } else if (Double.isNaN(latency)) {
+            drainMs = Double.POSITIVE_INFINITY;
+        } else {
+            drainMs = depth * latency / consumers;
+        }
+
+        if (drainMs > targetDrainMs) {
+            state.upStreak++;
+            state.downStreak = 0;
+        } else if (drainMs < targetDrainMs * scaleDownRatio) {
+            state.downStreak++;
+            state.upStreak = 0;
+        } else {
+            state.upStreak = 0;
+            state.downStreak = 0;
+        }
+
+        int targetConsumers = consumers;
+        String action = HOLD;
+        if (consumers > cap) {
+            targetConsumers = cap;
+            action = SCALE_DOWN;
+        } else if (state.upStreak >= scaleUpSamples && consumers < cap) {
+            int needed = Double.isNaN(latency)
+                    ? consumers * 2
+                    : (int) Math.min(Integer.MAX_VALUE, (long) Math.ceil(depth * latency / targetDrainMs));
+            targetConsumers = Math.min(cap, Math.max(consumers + 1, needed));
+            action = SCALE_UP;
+        } else if (state.downStreak >= scaleDownSamples && consumers > minConsumers) {
+            targetConsumers = consumers - 1;
+            action = SCALE_DOWN;
+        }
+        if (!HOLD.equals(action)) {
+            state.upStreak = 0;
+            state.downStreak = 0;
+        }
+
+        return new Decision(targetConsumers, targetPrefetch(state.prefetch, latency), action);
+    }
+
+    private int targetPrefetch(int current, double latency) {
+        if (Double.isNaN(latency)) {
+            return current;
+        }
+        long wanted = Math.round(prefetchTargetMs / Math.max(latency, 1.0));
+        int desired = (int) Math.max(minPrefetch, Math.min(maxPrefetch, wanted));
+        if (desired >= current * 2L || desired * 2L <= current) {
+            return desired;
+        }
+        return current;
+    }
+
+    /**
+     * Mutable per-listener state carried between samples.
+     */
+    public static final class State {
+        private int consumers;
+        private int prefetch;
+        private int upStreak;
+        private int downStreak;
+        private double latencyMs = Double.NaN;
+
+        public State(int consumers, int prefetch) {
+            this.consumers = consumers;
+            this.prefetch = prefetch;
+        }
+
+        public int getConsumers() {
+            return consumers;
+        }
+
+        public int getPrefetch() {
+            return prefetch;
+        }
+
+        public double getLatencyMs() {
+            return latencyMs;
+        }
+
+        public void apply(Decision decision) {
+            this.consumers = decision.getConsumers();
+            this.prefetch = decision.getPrefetch();
+        }
+    }
+
+    /**
+     * Outcome of one evaluation.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static final class Decision {
+        private final int consumers;
+        private final int prefetch;
+        private final String action;
+    }
+}
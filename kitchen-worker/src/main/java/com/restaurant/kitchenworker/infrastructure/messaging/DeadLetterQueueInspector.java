@@ -0,0 +1,195 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+/**
+ * Low-level access to the kitchen Dead Letter Queue.
+ *
+ * Messages are read with unacknowledged {@code basic.get} calls on a single channel, so
+ * browsing never removes anything: every delivery that is not explicitly replayed is
+ * nacked with requeue once the scan finishes (or fails).
+ *
+ * Replayed messages are published in batches on the same channel, which runs in publisher
+ * confirm mode ({@code spring.rabbitmq.publisher-confirm-type=simple}). The DLQ copies of a
+ * batch are only acknowledged after the broker confirmed the whole batch, so a failure can
+ * at worst produce a duplicate delivery, never a lost message.
+ */
+@Component
+@Slf4j
+public class DeadLetterQueueInspector {
+
+    private static final List<String> DEAD_LETTER_HEADERS = List.of(
+            TieredRetryMessageRecoverer.RETRY_COUNT_HEADER,
+            TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER,
+            TieredRetryMessageRecoverer.ORIGINAL_QUEUE_HEADER,
+            "x-death",
+            "x-first-death-exchange",
+            "x-first-death-queue",
+            "x-first-death-reason",
+            "x-last-death-exchange",
+            "x-last-death-queue",
+            "x-last-death-reason");
+
+    private final RabbitTemplate rabbitTemplate;
+    private final String dlqName;
+    private final long confirmTimeoutMs;
+    private final MessagePropertiesConverter propertiesConverter = new DefaultMessagePropertiesConverter();
+
+    public DeadLetterQueueInspector(RabbitTemplate rabbitTemplate,
+                                    @Value("${rabbitmq.dlq.name}") String dlqName,
+                                    @Value("${admin.dlq.replay.confirm-timeout-ms}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.dlqName = dlqName;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    /**
+     * Number of messages currently ready in the DLQ.
+     */
+    public long depth() {
+        Long depth = rabbitTemplate.execute(channel -> channel.messageCount(dlqName));
+        return depth != null ? depth : 0L;
+    }
+
+    /**
+     * Reads up to {@code maxMessages} from the head of the DLQ and leaves them in place.
+     */
+    public List<Message> browse(int maxMessages) {
+        return rabbitTemplate.execute(channel -> {
+            List<Message> messages = new ArrayList<>();
+            long lastTag = 0L;
+            try {
+                while (messages.size() < maxMessages) {
+                    GetResponse response = channel.basicGet(dlqName, false);
+                    if (response == null) {
+                        break;
+                    }
+                    lastTag = response.getEnvelope().getDeliveryTag();
+                    messages.add(toMessage(response));
+                }
+            } finally {
+                if (lastTag > 0) {
+                    channel.basicNack(lastTag, true, true);
+                }
+            }
+            return messages;
+        });
+    }
+
+    /**
+     * Scans the DLQ once and republishes the messages for which {@code router} returns a queue name.
+     *
+     * Messages are sent through the default exchange straight to the returned queue, with the
+     * retry and dead-letter headers removed. Messages for which the router returns {@code null}
+     * stay in the DLQ.
+     *
+     * @param router        target queue for a message, or {@code null} to leave it in the DLQ
+     * @param batchSize     number of messages published per confirm round-trip
+     * @param ratePerSecond upper bound on republished messages per second; {@code <= 0} disables throttling
+     * @param onConfirmed   invoked with the size of every batch confirmed by the broker
+     */
+    public void replay(Function<Message, String> router, int batchSize, int ratePerSecond, IntConsumer onConfirmed) {
+        rabbitTemplate.execute(channel -> {
+            long budget = channel.messageCount(dlqName);
+            List<Long> skipped = new ArrayList<>();
+            List<Long> pending = new ArrayList<>();
+            long startedAt = System.nanoTime();
+            long published = 0L;
+            try {
+                for (long scanned = 0; scanned < budget; scanned++) {
+                    GetResponse response = channel.basicGet(dlqName, false);
+                    if (response == null) {
+                        break;
+                    }
+                    long tag = response.getEnvelope().getDeliveryTag();
+                    Message message = toMessage(response);
+                    String targetQueue = router.apply(message);
+                    if (targetQueue == null) {
+                        skipped.add(tag);
+                        continue;
+                    }
+                    channel.basicPublish("", targetQueue, replayProperties(message), message.getBody());
+                    pending.add(tag);
+                    if (pending.size() >= batchSize) {
+                        published += confirmBatch(channel, pending, onConfirmed);
+                        throttle(startedAt, published, ratePerSecond);
+                    }
+                }
+                if (!pending.isEmpty()) {
+                    confirmBatch(channel, pending, onConfirmed);
+                }
+            } finally {
+                requeue(channel, pending);
+                requeue(channel, skipped);
+            }
+            return null;
+        });
+    }
+
+    private int confirmBatch(Channel channel, List<Long> pending, IntConsumer onConfirmed) throws Exception {
+        channel.waitForConfirmsOrDie(confirmTimeoutMs);
+        for (Long tag : pending) {
+            channel.basicAck(tag, false);
+        }
+        int size = pending.size();
+        pending.clear();
+        onConfirmed.accept(size);
+        return size;
+    }
+
+    private AMQP.BasicProperties replayProperties(Message message) {
+        MessageProperties properties = message.getMessageProperties();
+        Map<String, Object> headers = properties.getHeaders();
+        DEAD_LETTER_HEADERS.forEach(headers::remove);
+        return propertiesConverter.fromMessageProperties(properties, StandardCharsets.UTF_8.name());
+    }
+
+    private Message toMessage(GetResponse response) {
+        MessageProperties properties = propertiesConverter.toMessageProperties(
+                response.getProps(), response.getEnvelope(), StandardCharsets.UTF_8.name());
+        properties.setConsumerQueue(dlqName);
+        return new Message(response.getBody(), properties);
+    }
+
+    private static void throttle(long startedAt, long published, int ratePerSecond) throws InterruptedException {
+        if (ratePerSecond <= 0) {
+            return;
+        }
+        long expectedNanos = TimeUnit.SECONDS.toNanos(published) / ratePerSecond;
+        long aheadNanos = expectedNanos - (System.nanoTime() - startedAt);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+
+    private static void requeue(Channel channel, List<Long> tags) {
+        try {
+            for (Long tag : tags) {
+                channel.basicNack(tag, false, true);
+            }
+        } catch (IOException ex) {
+            // Closing the channel returns any remaining unacknowledged deliveries to the queue.
+            log.warn("Could not requeue {} DLQ deliveries explicitly: {}", tags.size(), ex.getMessage());
+        }
+        tags.clear();
+    }
+}
@@ -0,0 +1,98 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-windowed set of recently processed event ids, used to drop redelivered and
+ * re-published order.placed events before they reach the database.
+ *
+ * Entries are kept in insertion order, which is also expiry order since every entry has the
+ * same TTL, so expired entries are always at the head. The set never holds more than
+ * {@code max-entries} ids: once full, the oldest id is evicted even if it has not expired yet.
+ * A duplicate that slips through after eviction is still handled idempotently by
+ * OrderProcessingService, it just costs a transaction.
+ *
+ * Ids are recorded only after successful processing, so a failed event that comes back from
+ * a retry tier is never mistaken for a duplicate.
+ */
+@Component
+public class ProcessedEventCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final Counter duplicateCounter;
+    private final LinkedHashMap<UUID, Long> processedAt = new LinkedHashMap<>();
+
+    @Autowired
+    public ProcessedEventCache(MeterRegistry meterRegistry,
+                               @Value("${kitchen.dedup.max-entries}") int maxEntries,
+                               @Value("${kitchen.dedup.ttl-ms}") long ttlMs) {
+        this(meterRegistry, maxEntries, ttlMs, System::nanoTime);
+    }
+
+    ProcessedEventCache(MeterRegistry meterRegistry, int maxEntries, long ttlMs, LongSupplier nanoClock) {
+        if (maxEntries <= 0 || ttlMs <= 0) {
+            throw new IllegalArgumentException("kitchen.dedup.max-entries and ttl-ms must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.nanoClock = nanoClock;
+        this.duplicateCounter = meterRegistry.counter("kitchen.events.duplicates");
+        Gauge.builder("kitchen.events.dedup.entries", this, ProcessedEventCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns true, and counts the duplicate, when the event was processed within the TTL window.
+     */
+    public synchronized boolean isDuplicate(UUID eventId) {
+        long now = nanoClock.getAsLong();
+        evictExpired(now);
+        if (!processedAt.containsKey(eventId)) {
+            return false;
+        }
+        duplicateCounter.increment();
+        return true;
+    }
+
+    /**
+     * Records a successfully processed event, evicting the oldest ids when the set is full.
+     */
+    public synchronized void markProcessed(UUID eventId) {
+        long now = nanoClock.getAsLong();
+        evictExpired(now);
+        processedAt.remove(eventId);
+        processedAt.put(eventId, now);
+        Iterator<UUID> oldest = processedAt.keySet().iterator();
+        while (processedAt.size() > maxEntries) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    public synchronized int size() {
+        return processedAt.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Map.Entry<UUID, Long>> entries = processedAt.entrySet().iterator();
+        while (entries.hasNext()) {
+            if (now - entries.next().getValue() < ttlNanos) {
+                return;
+            }
+            entries.remove();
+        }
+    }
+}
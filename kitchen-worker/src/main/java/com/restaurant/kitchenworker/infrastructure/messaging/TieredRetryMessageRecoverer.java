@@ -0,0 +1,143 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Routes failed deliveries to broker-side delay queues instead of retrying on the consumer thread.
+ *
+ * Each retry tier is a durable queue with a fixed message TTL that dead-letters back to the
+ * originating queue, so the listener acknowledges the failed message right away and continues
+ * with the next one. The attempt number travels in the {@value #RETRY_COUNT_HEADER} header.
+ *
+ * Contract violations, and messages that already went through every tier, are published to the
+ * Dead Letter Exchange together with the failure reason.
+ */
+@Component
+@Slf4j
+public class TieredRetryMessageRecoverer implements MessageRecoverer {
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+    public static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+
+    private static final int MAX_REASON_LENGTH = 500;
+
+    private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final List<Long> tierDelaysMs;
+    private final String dlxName;
+    private final String dlqRoutingKey;
+
+    public TieredRetryMessageRecoverer(RabbitTemplate rabbitTemplate,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${rabbitmq.retry.tier-delays-ms}") List<Long> tierDelaysMs,
+                                       @Value("${rabbitmq.dlq.exchange}") String dlxName,
+                                       @Value("${rabbitmq.dlq.routing-key}") String dlqRoutingKey) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.tierDelaysMs = List.copyOf(tierDelaysMs);
+        this.dlxName = dlxName;
+        this.dlqRoutingKey = dlqRoutingKey;
+    }
+
+    /**
+     * Name of the delay queue backing the given retry tier (1-based) of a source queue.
+     */
+    public static String retryQueueName(String queueName, int tier) {
+        return queueName + ".retry." + tier;
+    }
+
+    @Override
+    public void recover(Message message, Throwable cause) {
+        MessageProperties properties = message.getMessageProperties();
+        String sourceQueue = properties.getConsumerQueue();
+        int retryCount = retryCount(properties);
+
+        if (isFatal(cause)) {
+            deadLetter(message, sourceQueue, "rejected", cause);
+            return;
+        }
+        if (retryCount >= tierDelaysMs.size()) {
+            deadLetter(message, sourceQueue, "exhausted", cause);
+            return;
+        }
+
+        int tier = retryCount + 1;
+        properties.setHeader(RETRY_COUNT_HEADER, tier);
+        ensurePersistent(properties);
+        rabbitTemplate.send("", retryQueueName(sourceQueue, tier), message);
+
+        meterRegistry.counter("rabbitmq.retry.scheduled",
+                "queue", sourceQueue, "tier", String.valueOf(tier)).increment();
+        log.warn("Scheduled retry tier {} ({} ms) for message from queue={}: {}",
+                tier, tierDelaysMs.get(tier - 1), sourceQueue, describe(cause));
+    }
+
+    private void deadLetter(Message message, String sourceQueue, String reason, Throwable cause) {
+        MessageProperties properties = message.getMessageProperties();
+        properties.setHeader(EXCEPTION_MESSAGE_HEADER, truncate(describe(cause)));
+        properties.setHeader(ORIGINAL_QUEUE_HEADER, sourceQueue);
+        ensurePersistent(properties);
+        rabbitTemplate.send(dlxName, dlqRoutingKey, message);
+
+        meterRegistry.counter("rabbitmq.retry.dead.lettered",
+                "queue", sourceQueue, "reason", reason).increment();
+        log.error("Routed message from queue={} to DLQ ({}) after {} retries: {}",
+                sourceQueue, reason, retryCount(properties), describe(cause));
+    }
+
+    private static int retryCount(MessageProperties properties) {
+        Object header = properties.getHeaders().get(RETRY_COUNT_HEADER);
+        if (header instanceof Number number) {
+            return number.intValue();
+        }
+        if (header != null) {
+            try {
+                return Integer.parseInt(header.toString());
+            } catch (NumberFormatException ex) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isFatal(Throwable cause) {
+        for (Throwable current = cause; current != null; current = current.getCause()) {
+            if (current instanceof AmqpRejectAndDontRequeueException
+                    || current instanceof MessageConversionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String describe(Throwable cause) {
+        Throwable root = cause;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + ": " + root.getMessage();
+    }
+
+    private static String truncate(String value) {
+        return value.length() <= MAX_REASON_LENGTH ? value : value.substring(0, MAX_REASON_LENGTH);
+    }
+
+    private static void ensurePersistent(MessageProperties properties) {
+        if (properties.getDeliveryMode() == null) {
+            properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        }
+    }
+}
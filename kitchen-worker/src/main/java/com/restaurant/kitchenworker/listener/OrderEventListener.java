@@ -5,13 +5,21 @@ import com.restaurant.kitchenworker.event.OrderPlacedEvent;
 import com.restaurant.kitchenworker.event.OrderPlacedEventValidator;
 import com.restaurant.kitchenworker.exception.InvalidEventContractException;
 import com.restaurant.kitchenworker.exception.UnsupportedEventVersionException;
+import com.restaurant.kitchenworker.infrastructure.messaging.EventLagRecorder;
+import com.restaurant.kitchenworker.infrastructure.messaging.ProcessedEventCache;
+import com.restaurant.kitchenworker.infrastructure.metrics.MetricTags;
 import com.restaurant.kitchenworker.service.OrderProcessingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Component;
 
+import java.util.UUID;
+
 /**
  * RabbitMQ listener that consumes order placed events from the message queue.
  * 
@@ -22,10 +30,16 @@ import org.springframework.stereotype.Component;
  * The listener is configured to:
  * - Listen to the queue specified in application.yml (rabbitmq.queue.name)
  * - Automatically deserialize JSON messages to OrderPlacedEvent objects
+ * - Drop events whose eventId was already processed recently, before any DB work
  * - Acknowledge messages after successful processing
- * - Retry failed messages according to the configured retry policy
- * - Route messages to the Dead Letter Queue after max retry attempts
+ * - Hand failed messages to the broker-side retry tiers without blocking the consumer thread
+ * - Route messages to the Dead Letter Queue after the last retry tier
  * 
+ * Every delivery is timed as {@value #PROCESSING_TIMER} and counted in
+ * {@value #CONSUMED_COUNTER} with its outcome (SUCCESS, DUPLICATE, REJECTED, ERROR; see
+ * {@link MetricTags}). Once an event has been applied, its lag since occurredAt and since it
+ * was enqueued goes to {@link EventLagRecorder}.
+ *
  * Validates Requirements: 7.1, 7.2
  */
 @Component
@@ -33,8 +47,16 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class OrderEventListener {
 
+    static final String PROCESSING_TIMER = "events.processing";
+    static final String CONSUMED_COUNTER = "events.consumed";
+    static final String CORRELATION_ID_HEADER = "x-correlation-id";
+    private static final String EVENT_TYPE = "order.placed";
+
     private final OrderProcessingService orderProcessingService;
     private final OrderPlacedEventValidator eventValidator;
+    private final ProcessedEventCache processedEventCache;
+    private final MeterRegistry meterRegistry;
+    private final EventLagRecorder lagRecorder;
     
     /**
      * Handles incoming order placed events from RabbitMQ.
@@ -46,34 +68,48 @@ public class OrderEventListener {
      * Processing flow:
      * 1. Receive and deserialize the OrderPlacedEvent from the queue
      * 2. Validate contract/version and map to application command
-     * 3. Delegate processing to OrderProcessingService
-     * 4. If processing succeeds, the message is acknowledged
-     * 5. If processing fails, the exception triggers the retry mechanism
+     * 3. Acknowledge and skip the event if its eventId was processed recently
+     * 4. Delegate processing to OrderProcessingService
+     * 5. If processing succeeds, the eventId is recorded and the message is acknowledged
+     * 6. If processing fails, the exception triggers the retry mechanism
      * 
      * Error handling:
      * - Contract/version errors are rejected without requeue to move directly to DLQ
-     * - Processing errors are rethrown to trigger configured retries
-     * - After max retry attempts, the message is routed to the Dead Letter Queue
+     * - Processing errors are rethrown so TieredRetryMessageRecoverer schedules the next retry tier
+     * - After the last retry tier, the message is routed to the Dead Letter Queue
      * 
      * @param event The OrderPlacedEvent deserialized from the queue message
+     * @param message The raw AMQP message, for its timestamp and correlation id
      * 
      * Validates Requirements:
      * - 7.1: Listen to the "order.placed" queue bound to the topic exchange
      * - 7.2: Deserialize JSON payload to OrderPlacedEvent
      */
     @RabbitListener(queues = "${rabbitmq.queue.name}")
-    public void handleOrderPlacedEvent(OrderPlacedEvent event) {
+    public void handleOrderPlacedEvent(OrderPlacedEvent event, Message message) {
         log.info(
-                "Received order placed event from queue: eventId={}, orderId={}, tableId={}, version={}",
+                "Received order placed event from queue: eventId={}, orderId={}, tableId={}, version={}, correlationId={}",
                 event.getEventId(),
                 event.resolveOrderId(),
                 event.resolveTableId(),
-                event.resolveVersion()
+                event.resolveVersion(),
+                message.getMessageProperties().getHeaders().get(CORRELATION_ID_HEADER)
         );
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = MetricTags.ERROR;
+        RuntimeException failure = null;
         try {
             eventValidator.validate(event);
 
+            UUID eventId = event.getEventId();
+            if (eventId != null && processedEventCache.isDuplicate(eventId)) {
+                log.info("Skipping duplicate order.placed event: eventId={}, orderId={}",
+                        eventId, event.resolveOrderId());
+                outcome = MetricTags.DUPLICATE;
+                return;
+            }
+
             OrderPlacedCommand command = OrderPlacedCommand.builder()
                     .orderId(event.resolveOrderId())
                     .tableId(event.resolveTableId())
@@ -81,9 +117,24 @@ public class OrderEventListener {
                     .build();
 
             orderProcessingService.processOrder(command);
+            lagRecorder.record(EVENT_TYPE, event.getOccurredAt(), message.getMessageProperties());
+
+            if (eventId != null) {
+                processedEventCache.markProcessed(eventId);
+            }
+            outcome = MetricTags.SUCCESS;
         } catch (InvalidEventContractException | UnsupportedEventVersionException ex) {
             log.error("Rejecting invalid order.placed event: {}", ex.getMessage());
+            outcome = MetricTags.REJECTED;
+            failure = ex;
             throw new AmqpRejectAndDontRequeueException(ex.getMessage(), ex);
+        } catch (RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            sample.stop(meterRegistry.timer(PROCESSING_TIMER, "event.type", EVENT_TYPE,
+                    MetricTags.OUTCOME, outcome, MetricTags.EXCEPTION, MetricTags.exception(failure)));
+            meterRegistry.counter(CONSUMED_COUNTER, "event.type", EVENT_TYPE, MetricTags.OUTCOME, outcome).increment();
         }
     }
 }
@@ -0,0 +1,42 @@
+package com.restaurant.kitchenworker.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Guards the /admin endpoints with a shared token header.
+ * When no token is configured the admin endpoints are disabled and always answer 403.
+ */
+@Component
+public class AdminTokenInterceptor implements HandlerInterceptor {
+
+    private final String tokenHeader;
+    private final String tokenValue;
+
+    public AdminTokenInterceptor(@Value("${admin.token-header}") String tokenHeader,
+                                 @Value("${admin.token-value}") String tokenValue) {
+        this.tokenHeader = tokenHeader;
+        this.tokenValue = tokenValue;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        if (tokenValue == null || tokenValue.isBlank()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Admin endpoints are disabled");
+            return false;
+        }
+        String provided = request.getHeader(tokenHeader);
+        if (provided == null || !MessageDigest.isEqual(
+                provided.getBytes(StandardCharsets.UTF_8), tokenValue.getBytes(StandardCharsets.UTF_8))) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Missing or invalid admin token");
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,56 @@
+package com.restaurant.kitchenworker.service;
+
+import com.restaurant.kitchenworker.dto.DeadLetterMessageDTO;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Selection criteria for Dead Letter Queue messages.
+ *
+ * Criteria are combined with AND; a null criterion matches everything. The reason is a
+ * case-insensitive substring of the recorded failure, and the time window applies to the
+ * event's occurredAt (inclusive on both ends). Both the window and occurredAt are UTC.
+ */
+public class DeadLetterFilter {
+
+    private final Set<UUID> eventIds;
+    private final String reason;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    public DeadLetterFilter(Collection<UUID> eventIds, String reason, LocalDateTime from, LocalDateTime to) {
+        this.eventIds = eventIds == null || eventIds.isEmpty() ? null : Set.copyOf(eventIds);
+        this.reason = reason == null || reason.isBlank() ? null : reason.toLowerCase(Locale.ROOT);
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * True when no criterion is set, i.e. the filter selects the whole queue.
+     */
+    public boolean isEmpty() {
+        return eventIds == null && reason == null && from == null && to == null;
+    }
+
+    public boolean matches(DeadLetterMessageDTO message) {
+        if (eventIds != null && !eventIds.contains(message.getEventId())) {
+            return false;
+        }
+        if (reason != null && (message.getErrorReason() == null
+                || !message.getErrorReason().toLowerCase(Locale.ROOT).contains(reason))) {
+            return false;
+        }
+        if (from == null && to == null) {
+            return true;
+        }
+        LocalDateTime occurredAt = message.getOccurredAt();
+        if (occurredAt == null) {
+            return false;
+        }
+        return (from == null || !occurredAt.isBefore(from)) && (to == null || !occurredAt.isAfter(to));
+    }
+}
@@ -0,0 +1,84 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import com.restaurant.kitchenworker.dto.ListenerStatusDTO;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for AdaptiveListenerController.
+ *
+ * Verifies that samples combine broker queue depth with the listener timer and that
+ * scaling decisions are applied to the container and published as metrics.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdaptiveListenerControllerTest {
+
+    private static final String QUEUE = "order.placed.queue";
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SimpleMessageListenerContainer container;
+    private AdaptiveListenerController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveListenerPolicy policy = new AdaptiveListenerPolicy(1, 8, 1, 250, 10_000, 0.25, 2, 3, 1000);
+        controller = new AdaptiveListenerController(policy, amqpAdmin, meterRegistry, true, 6, 2);
+        container = new SimpleMessageListenerContainer();
+        container.setQueueNames(QUEUE);
+        container.setListenerId("kitchen-listener");
+    }
+
+    @Test
+    void sample_WithBacklogAndSlowListener_ScalesUpWithinDbBudget() {
+        controller.register(container);
+        when(amqpAdmin.getQueueInfo(QUEUE)).thenReturn(new QueueInformation(QUEUE, 2000, 1));
+        Timer timer = Timer.builder(AdaptiveListenerController.LISTENER_TIMER)
+                .tag("listener.id", "kitchen-listener")
+                .register(meterRegistry);
+
+        timer.record(Duration.ofMillis(100));
+        controller.sample();
+        timer.record(Duration.ofMillis(100));
+        controller.sample();
+
+        ListenerStatusDTO status = controller.status().get(0);
+        assertThat(status.getConsumers()).isEqualTo(4);
+        assertThat(status.getQueueDepth()).isEqualTo(2000L);
+        assertThat(status.getLatencyMs()).isEqualTo(100.0);
+        assertThat(status.getPrefetch()).isEqualTo(10);
+        assertThat(status.getLastAction()).isEqualTo(AdaptiveListenerPolicy.SCALE_UP);
+        assertThat(meterRegistry.get("rabbitmq.listener.adaptive.consumers").tag("queue", QUEUE).gauge().value())
+                .isEqualTo(4.0);
+        assertThat(meterRegistry.counter("rabbitmq.listener.adaptive.decisions",
+                "queue", QUEUE, "action", AdaptiveListenerPolicy.SCALE_UP).count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void register_WhenDisabled_LeavesContainerUnmanaged() {
+        AdaptiveListenerPolicy policy = new AdaptiveListenerPolicy(1, 8, 1, 250, 10_000, 0.25, 2, 3, 1000);
+        AdaptiveListenerController disabled =
+                new AdaptiveListenerController(policy, amqpAdmin, meterRegistry, false, 10, 2);
+
+        disabled.register(container);
+
+        assertThat(disabled.status()).isEqualTo(List.of());
+    }
+}
@@ -0,0 +1,82 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit and property tests for AdaptiveListenerPolicy.
+ *
+ * Verifies hysteresis on both scaling directions, the DB pool budget cap,
+ * and that decisions always stay within the configured bounds.
+ */
+class AdaptiveListenerPolicyTest {
+
+    private final AdaptiveListenerPolicy policy =
+            new AdaptiveListenerPolicy(1, 8, 1, 250, 10_000, 0.25, 2, 3, 1000);
+
+    @Test
+    void evaluate_WithSustainedBacklog_ScalesUpAfterConfiguredSamples() {
+        AdaptiveListenerPolicy.State state = new AdaptiveListenerPolicy.State(1, 250);
+
+        AdaptiveListenerPolicy.Decision first = policy.evaluate(state, 500, 100, 8);
+        AdaptiveListenerPolicy.Decision second = policy.evaluate(state, 500, 100, 8);
+
+        assertThat(first.getAction()).isEqualTo(AdaptiveListenerPolicy.HOLD);
+        assertThat(first.getConsumers()).isEqualTo(1);
+        assertThat(second.getAction()).isEqualTo(AdaptiveListenerPolicy.SCALE_UP);
+        assertThat(second.getConsumers()).isEqualTo(5);
+    }
+
+    @Test
+    void evaluate_WhenIdle_ScalesDownOneConsumerAtATime() {
+        AdaptiveListenerPolicy.State state = new AdaptiveListenerPolicy.State(4, 250);
+
+        policy.evaluate(state, 0, Double.NaN, 8);
+        policy.evaluate(state, 0, Double.NaN, 8);
+        AdaptiveListenerPolicy.Decision third = policy.evaluate(state, 0, Double.NaN, 8);
+
+        assertThat(third.getAction()).isEqualTo(AdaptiveListenerPolicy.SCALE_DOWN);
+        assertThat(third.getConsumers()).isEqualTo(3);
+    }
+
+    @Test
+    void evaluate_ScaleUp_IsCappedByDbPoolBudget() {
+        AdaptiveListenerPolicy.State state = new AdaptiveListenerPolicy.State(1, 250);
+
+        policy.evaluate(state, 10_000, 200, 3);
+        AdaptiveListenerPolicy.Decision decision = policy.evaluate(state, 10_000, 200, 3);
+
+        assertThat(decision.getConsumers()).isEqualTo(3);
+    }
+
+    @Test
+    void evaluate_WithSlowMessages_ShrinksPrefetch() {
+        AdaptiveListenerPolicy.State state = new AdaptiveListenerPolicy.State(1, 250);
+
+        AdaptiveListenerPolicy.Decision decision = policy.evaluate(state, 0, 200, 8);
+
+        assertThat(decision.getPrefetch()).isEqualTo(5);
+    }
+
+    @Property
+    void evaluate_AlwaysStaysWithinBounds(@ForAll @IntRange(min = 1, max = 8) int consumers,
+                                          @ForAll @IntRange(min = 1, max = 250) int prefetch,
+                                          @ForAll @LongRange(min = 0, max = 1_000_000) long depth,
+                                          @ForAll @DoubleRange(min = 0.01, max = 60_000) double latencyMs,
+                                          @ForAll @IntRange(min = 0, max = 20) int budget) {
+        AdaptiveListenerPolicy.State state = new AdaptiveListenerPolicy.State(consumers, prefetch);
+
+        for (int i = 0; i < 4; i++) {
+            AdaptiveListenerPolicy.Decision decision = policy.evaluate(state, depth, latencyMs, budget);
+            assertThat(decision.getConsumers()).isBetween(1, Math.max(1, Math.min(8, budget)));
+            assertThat(decision.getPrefetch()).isBetween(1, 250);
+            state.apply(decision);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DeadLetterQueueInspector.
+ *
+ * Verifies that browsing requeues everything it read, and that replay acknowledges DLQ
+ * messages only after their batch was confirmed while leaving unselected messages in place.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadLetterQueueInspectorTest {
+
+    private static final String DLQ = "order.placed.dlq";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    private DeadLetterQueueInspector inspector;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        inspector = new DeadLetterQueueInspector(rabbitTemplate, DLQ, 1000L);
+        when(rabbitTemplate.execute(any(ChannelCallback.class)))
+                .thenAnswer(invocation -> ((ChannelCallback<Object>) invocation.getArgument(0)).doInRabbit(channel));
+    }
+
+    @Test
+    void browse_RequeuesEveryMessageRead() throws Exception {
+        when(channel.basicGet(DLQ, false)).thenReturn(response(1, "a"), response(2, "b"), null);
+
+        List<Message> messages = inspector.browse(10);
+
+        assertThat(messages).extracting(message -> new String(message.getBody())).containsExactly("a", "b");
+        verify(channel).basicNack(2L, true, true);
+        verify(channel, never()).basicAck(anyLong(), any(Boolean.class));
+    }
+
+    @Test
+    void replay_AcksConfirmedBatchesAndRequeuesSkippedMessages() throws Exception {
+        when(channel.messageCount(DLQ)).thenReturn(3L);
+        when(channel.basicGet(DLQ, false)).thenReturn(response(1, "a"), response(2, "skip"), response(3, "c"));
+        List<Integer> confirmed = new ArrayList<>();
+
+        inspector.replay(message -> "skip".equals(new String(message.getBody())) ? null : "order.placed.queue",
+                1, 0, confirmed::add);
+
+        ArgumentCaptor<AMQP.BasicProperties> properties = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        verify(channel, times(2)).basicPublish(eq(""), eq("order.placed.queue"), properties.capture(), any(byte[].class));
+        assertThat(properties.getValue().getHeaders())
+                .doesNotContainKeys(TieredRetryMessageRecoverer.RETRY_COUNT_HEADER,
+                        TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER);
+        verify(channel, times(2)).waitForConfirmsOrDie(1000L);
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicAck(3L, false);
+        verify(channel).basicNack(2L, false, true);
+        assertThat(confirmed).containsExactly(1, 1);
+    }
+
+    private GetResponse response(long tag, String body) {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .headers(Map.of(
+                        TieredRetryMessageRecoverer.RETRY_COUNT_HEADER, 3,
+                        TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER, "RuntimeException: Database error"))
+                .build();
+        return new GetResponse(new Envelope(tag, false, "order.dlx", "order.placed.failed"), properties, body.getBytes(), 0);
+    }
+}
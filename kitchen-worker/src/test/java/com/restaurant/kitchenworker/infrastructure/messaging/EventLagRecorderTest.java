@@ -0,0 +1,92 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for EventLagRecorder.
+ *
+ * Verifies the lag since occurredAt and since enqueue, the preference for the broker's
+ * timestamp header, that occurredAt is read as UTC in any zone, and that missing or future
+ * timestamps do not produce bogus samples.
+ */
+class EventLagRecorderTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:00:10Z");
+
+    private SimpleMeterRegistry meterRegistry;
+    private EventLagRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recorder = new EventLagRecorder(meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void record_WithOccurredAtAndTimestamp_RecordsBothLags() {
+        MessageProperties properties = new MessageProperties();
+        properties.setTimestamp(Date.from(NOW.minusSeconds(3)));
+
+        recorder.record("order.placed", LocalDateTime.of(2026, 3, 10, 12, 0, 0), properties);
+
+        assertThat(lag("occurred").totalTime(TimeUnit.SECONDS)).isEqualTo(10.0);
+        assertThat(lag("enqueued").totalTime(TimeUnit.SECONDS)).isEqualTo(3.0);
+    }
+
+    @Test
+    void record_InAnotherDefaultZone_ReadsOccurredAtAsUtc() {
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+        try {
+            recorder = new EventLagRecorder(meterRegistry, Clock.fixed(NOW, ZoneId.systemDefault()));
+
+            recorder.record("order.placed", LocalDateTime.of(2026, 3, 10, 12, 0, 0), new MessageProperties());
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+
+        assertThat(lag("occurred").totalTime(TimeUnit.SECONDS)).isEqualTo(10.0);
+    }
+
+    @Test
+    void record_WithBrokerTimestampHeader_PrefersItOverPublishTimestamp() {
+        MessageProperties properties = new MessageProperties();
+        properties.setTimestamp(Date.from(NOW.minusSeconds(3)));
+        properties.setHeader(EventLagRecorder.BROKER_TIMESTAMP_HEADER, NOW.minusSeconds(2).toEpochMilli());
+
+        recorder.record("order.placed", null, properties);
+
+        assertThat(lag("enqueued").totalTime(TimeUnit.SECONDS)).isEqualTo(2.0);
+        assertThat(meterRegistry.find(EventLagRecorder.LAG_TIMER).tag("since", "occurred").timer()).isNull();
+    }
+
+    @Test
+    void record_WithOccurredAtInTheFuture_RecordsZeroLag() {
+        recorder.record("order.placed", LocalDateTime.of(2026, 3, 10, 12, 0, 30), new MessageProperties());
+
+        assertThat(lag("occurred").count()).isEqualTo(1);
+        assertThat(lag("occurred").totalTime(TimeUnit.MILLISECONDS)).isZero();
+        assertThat(meterRegistry.find(EventLagRecorder.LAG_TIMER).tag("since", "enqueued").timer()).isNull();
+    }
+
+    private Timer lag(String since) {
+        return meterRegistry.get(EventLagRecorder.LAG_TIMER)
+                .tags("event.type", "order.placed", "since", since)
+                .timer();
+    }
+}
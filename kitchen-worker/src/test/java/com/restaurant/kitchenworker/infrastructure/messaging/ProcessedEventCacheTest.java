@@ -0,0 +1,65 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProcessedEventCache.
+ *
+ * Verifies duplicate detection inside the TTL window, expiry, and that the number of
+ * tracked ids never exceeds the configured bound.
+ */
+class ProcessedEventCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ProcessedEventCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ProcessedEventCache(meterRegistry, 3, 1000, now::get);
+    }
+
+    @Test
+    void isDuplicate_WithinTtl_ReturnsTrueAndCountsDuplicate() {
+        UUID eventId = UUID.randomUUID();
+        cache.markProcessed(eventId);
+
+        assertThat(cache.isDuplicate(eventId)).isTrue();
+        assertThat(cache.isDuplicate(UUID.randomUUID())).isFalse();
+        assertThat(meterRegistry.counter("kitchen.events.duplicates").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void isDuplicate_AfterTtl_ReturnsFalseAndEvictsEntry() {
+        UUID eventId = UUID.randomUUID();
+        cache.markProcessed(eventId);
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertThat(cache.isDuplicate(eventId)).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void markProcessed_WhenFull_EvictsOldestEntries() {
+        UUID first = UUID.randomUUID();
+        cache.markProcessed(first);
+        for (int i = 0; i < 10; i++) {
+            now.incrementAndGet();
+            cache.markProcessed(UUID.randomUUID());
+        }
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.isDuplicate(first)).isFalse();
+        assertThat(meterRegistry.get("kitchen.events.dedup.entries").gauge().value()).isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,114 @@
+package com.restaurant.kitchenworker.infrastructure.messaging;
+
+import com.restaurant.kitchenworker.exception.InvalidEventContractException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for TieredRetryMessageRecoverer.
+ *
+ * Verifies that failed messages are moved through the retry tiers by header count
+ * and end up in the Dead Letter Exchange once the tiers are exhausted.
+ */
+@ExtendWith(MockitoExtension.class)
+class TieredRetryMessageRecovererTest {
+
+    private static final String QUEUE = "order.placed.queue";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TieredRetryMessageRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recoverer = new TieredRetryMessageRecoverer(
+                rabbitTemplate, meterRegistry, List.of(1000L, 5000L), "order.dlx", "order.placed.failed");
+    }
+
+    @Test
+    void recover_WithFirstFailure_PublishesToFirstTier() {
+        Message message = message(null);
+
+        recoverer.recover(message, failure(new RuntimeException("Database error")));
+
+        verify(rabbitTemplate).send("", "order.placed.queue.retry.1", message);
+        assertThat(message.getMessageProperties().getHeaders())
+                .containsEntry(TieredRetryMessageRecoverer.RETRY_COUNT_HEADER, 1);
+        assertThat(meterRegistry.counter("rabbitmq.retry.scheduled", "queue", QUEUE, "tier", "1").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void recover_WithRetryCountHeader_PublishesToNextTier() {
+        Message message = message(1);
+
+        recoverer.recover(message, failure(new RuntimeException("Database error")));
+
+        verify(rabbitTemplate).send("", "order.placed.queue.retry.2", message);
+        assertThat(message.getMessageProperties().getHeaders())
+                .containsEntry(TieredRetryMessageRecoverer.RETRY_COUNT_HEADER, 2);
+    }
+
+    @Test
+    void recover_AfterLastTier_PublishesToDeadLetterExchange() {
+        Message message = message(2);
+
+        recoverer.recover(message, failure(new RuntimeException("Database error")));
+
+        ArgumentCaptor<Message> captor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq("order.dlx"), eq("order.placed.failed"), captor.capture());
+        assertThat(captor.getValue().getMessageProperties().getHeaders())
+                .containsEntry(TieredRetryMessageRecoverer.ORIGINAL_QUEUE_HEADER, QUEUE)
+                .containsEntry(TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER,
+                        "RuntimeException: Database error");
+        assertThat(meterRegistry.counter("rabbitmq.retry.dead.lettered", "queue", QUEUE, "reason", "exhausted").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void recover_WithContractViolation_SkipsRetryTiers() {
+        Message message = message(null);
+        InvalidEventContractException contractError = new InvalidEventContractException("orderId is required");
+
+        recoverer.recover(message, failure(new AmqpRejectAndDontRequeueException(contractError.getMessage(), contractError)));
+
+        verify(rabbitTemplate).send("order.dlx", "order.placed.failed", message);
+        assertThat(message.getMessageProperties().getHeaders())
+                .containsEntry(TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER,
+                        "InvalidEventContractException: orderId is required");
+        assertThat(meterRegistry.counter("rabbitmq.retry.dead.lettered", "queue", QUEUE, "reason", "rejected").count())
+                .isEqualTo(1.0);
+    }
+
+    private Message message(Integer retryCount) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(QUEUE);
+        if (retryCount != null) {
+            properties.setHeader(TieredRetryMessageRecoverer.RETRY_COUNT_HEADER, retryCount);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+
+    private ListenerExecutionFailedException failure(Throwable cause) {
+        return new ListenerExecutionFailedException("Listener threw exception", cause);
+    }
+}
@@ -4,20 +4,27 @@ import com.restaurant.kitchenworker.application.command.OrderPlacedCommand;
 import com.restaurant.kitchenworker.event.OrderPlacedEvent;
 import com.restaurant.kitchenworker.event.OrderPlacedEventValidator;
 import com.restaurant.kitchenworker.exception.UnsupportedEventVersionException;
+import com.restaurant.kitchenworker.infrastructure.messaging.EventLagRecorder;
+import com.restaurant.kitchenworker.infrastructure.messaging.ProcessedEventCache;
 import com.restaurant.kitchenworker.service.OrderProcessingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
 
@@ -37,11 +44,21 @@ class OrderEventListenerTest {
 
     @Mock
     private OrderPlacedEventValidator eventValidator;
+
+    @Mock
+    private ProcessedEventCache processedEventCache;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private EventLagRecorder lagRecorder;
     
     @InjectMocks
     private OrderEventListener orderEventListener;
     
     private OrderPlacedEvent testEvent;
+    private Message testMessage;
     
     @BeforeEach
     void setUp() {
@@ -66,6 +83,7 @@ class OrderEventListenerTest {
                         .createdAt(createdAt)
                         .build())
                 .build();
+        testMessage = new Message(new byte[0], new MessageProperties());
     }
     
     /**
@@ -81,7 +99,7 @@ class OrderEventListenerTest {
         doNothing().when(orderProcessingService).processOrder(any(OrderPlacedCommand.class));
         
         // Act
-        orderEventListener.handleOrderPlacedEvent(testEvent);
+        orderEventListener.handleOrderPlacedEvent(testEvent, testMessage);
         
         // Assert
         verify(eventValidator, times(1)).validate(testEvent);
@@ -100,7 +118,7 @@ class OrderEventListenerTest {
         doNothing().when(orderProcessingService).processOrder(any(OrderPlacedCommand.class));
         
         // Act
-        orderEventListener.handleOrderPlacedEvent(testEvent);
+        orderEventListener.handleOrderPlacedEvent(testEvent, testMessage);
         
         // Assert - verify the event passed to the service has the correct data
         verify(orderProcessingService).processOrder(argThat(command ->
@@ -124,7 +142,7 @@ class OrderEventListenerTest {
         doThrow(testException).when(orderProcessingService).processOrder(any(OrderPlacedCommand.class));
         
         // Act & Assert
-        assertThatThrownBy(() -> orderEventListener.handleOrderPlacedEvent(testEvent))
+        assertThatThrownBy(() -> orderEventListener.handleOrderPlacedEvent(testEvent, testMessage))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Processing failed");
 
@@ -135,9 +153,52 @@ class OrderEventListenerTest {
     void handleOrderPlacedEvent_WithUnsupportedVersion_ShouldRejectWithoutRequeue() {
         doThrow(new UnsupportedEventVersionException(2)).when(eventValidator).validate(testEvent);
 
-        assertThatThrownBy(() -> orderEventListener.handleOrderPlacedEvent(testEvent))
+        assertThatThrownBy(() -> orderEventListener.handleOrderPlacedEvent(testEvent, testMessage))
                 .isInstanceOf(AmqpRejectAndDontRequeueException.class);
 
         verify(orderProcessingService, never()).processOrder(any(OrderPlacedCommand.class));
+        assertThat(consumed("REJECTED")).isEqualTo(1.0);
+    }
+
+    @Test
+    void handleOrderPlacedEvent_WithRecentlyProcessedEventId_ShouldSkipProcessing() {
+        when(processedEventCache.isDuplicate(testEvent.getEventId())).thenReturn(true);
+
+        orderEventListener.handleOrderPlacedEvent(testEvent, testMessage);
+
+        verify(orderProcessingService, never()).processOrder(any(OrderPlacedCommand.class));
+        verify(processedEventCache, never()).markProcessed(any());
+        verifyNoInteractions(lagRecorder);
+        assertThat(consumed("DUPLICATE")).isEqualTo(1.0);
+    }
+
+    @Test
+    void handleOrderPlacedEvent_AfterSuccessfulProcessing_ShouldRecordEventId() {
+        orderEventListener.handleOrderPlacedEvent(testEvent, testMessage);
+
+        verify(processedEventCache).markProcessed(testEvent.getEventId());
+        verify(lagRecorder).record("order.placed", testEvent.getOccurredAt(), testMessage.getMessageProperties());
+        assertThat(consumed("SUCCESS")).isEqualTo(1.0);
+        assertThat(meterRegistry.get(OrderEventListener.PROCESSING_TIMER)
+                .tags("event.type", "order.placed", "outcome", "SUCCESS", "exception", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void handleOrderPlacedEvent_WhenProcessingFails_ShouldNotRecordEventId() {
+        doThrow(new RuntimeException("Processing failed")).when(orderProcessingService).processOrder(any(OrderPlacedCommand.class));
+
+        assertThatThrownBy(() -> orderEventListener.handleOrderPlacedEvent(testEvent, testMessage))
+                .isInstanceOf(RuntimeException.class);
+
+        verify(processedEventCache, never()).markProcessed(any());
+        assertThat(consumed("ERROR")).isEqualTo(1.0);
+        assertThat(meterRegistry.get(OrderEventListener.PROCESSING_TIMER)
+                .tags("outcome", "ERROR", "exception", "RuntimeException").timer().count()).isEqualTo(1);
+    }
+
+    private double consumed(String outcome) {
+        return meterRegistry.counter(OrderEventListener.CONSUMED_COUNTER,
+                "event.type", "order.placed", "outcome", outcome).count();
     }
 }
@@ -0,0 +1,216 @@
+package com.restaurant.kitchenworker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.restaurant.kitchenworker.dto.DeadLetterMessageDTO;
+import com.restaurant.kitchenworker.dto.DeadLetterPageDTO;
+import com.restaurant.kitchenworker.dto.ReplayJobDTO;
+import com.restaurant.kitchenworker.dto.ReplayRequestDTO;
+import com.restaurant.kitchenworker.event.OrderPlacedEvent;
+import com.restaurant.kitchenworker.event.OrderPlacedEventValidator;
+import com.restaurant.kitchenworker.infrastructure.messaging.DeadLetterQueueInspector;
+import com.restaurant.kitchenworker.infrastructure.messaging.TieredRetryMessageRecoverer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for DeadLetterReplayService.
+ *
+ * Verifies DLQ browsing filters and paging, that the time window compares UTC times in any
+ * default zone, replay routing back to the source queue, and that a dry-run only validates
+ * events without republishing anything.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayServiceTest {
+
+    private static final String MAIN_QUEUE = "order.placed.queue";
+
+    @Mock
+    private DeadLetterQueueInspector inspector;
+
+    private ObjectMapper objectMapper;
+    private DeadLetterReplayService service;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new DeadLetterReplayService(
+                inspector, new OrderPlacedEventValidator(), objectMapper, MAIN_QUEUE, 1000, 2, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void browse_FiltersByReasonAndPages() throws Exception {
+        List<Message> messages = List.of(
+                message(event(5), "RuntimeException: Database error"),
+                message(event(6), "InvalidEventContractException: orderId is required"),
+                message(event(7), "RuntimeException: Database timeout"));
+        when(inspector.depth()).thenReturn(3L);
+        when(inspector.browse(1000)).thenReturn(messages);
+
+        DeadLetterPageDTO page = service.browse(new DeadLetterFilter(null, "database", null, null), 1, 10);
+
+        assertThat(page.getScanned()).isEqualTo(3);
+        assertThat(page.getMatched()).isEqualTo(2);
+        assertThat(page.getMessages()).hasSize(1);
+        assertThat(page.getMessages().get(0).getPosition()).isEqualTo(2L);
+        assertThat(page.getMessages().get(0).getTableId()).isEqualTo(7);
+        assertThat(page.getMessages().get(0).getOriginalQueue()).isEqualTo(MAIN_QUEUE);
+    }
+
+    @Test
+    void browse_ReportsUndecodableBodies() {
+        Message broken = new Message("not-json".getBytes(), new MessageProperties());
+        when(inspector.depth()).thenReturn(1L);
+        when(inspector.browse(1000)).thenReturn(List.of(broken));
+
+        DeadLetterPageDTO page = service.browse(new DeadLetterFilter(null, null, null, null), 0, 10);
+
+        assertThat(page.getMessages()).singleElement()
+                .satisfies(summary -> assertThat(summary.getDecodeError()).isNotNull());
+    }
+
+    @Test
+    void browse_InAnotherDefaultZone_FiltersCreatedAtFallbackAsUtc() throws Exception {
+        OrderPlacedEvent stamped = event(5);
+        OrderPlacedEvent sameInstant = withoutOccurredAt(event(6), LocalDateTime.of(2026, 1, 10, 17, 30));
+        OrderPlacedEvent earlier = withoutOccurredAt(event(7), LocalDateTime.of(2026, 1, 10, 12, 0));
+        List<Message> messages = List.of(
+                message(stamped, "e"), message(sameInstant, "e"), message(earlier, "e"));
+        when(inspector.depth()).thenReturn(3L);
+        when(inspector.browse(1000)).thenReturn(messages);
+        DeadLetterFilter utcWindow = new DeadLetterFilter(
+                null, null, LocalDateTime.of(2026, 1, 10, 11, 0), LocalDateTime.of(2026, 1, 10, 13, 0));
+
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+        DeadLetterPageDTO page;
+        try {
+            page = service.browse(utcWindow, 0, 10);
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+
+        assertThat(page.getMatched()).isEqualTo(2);
+        assertThat(page.getMessages()).extracting(DeadLetterMessageDTO::getTableId).containsExactly(5, 6);
+        assertThat(page.getMessages()).extracting(DeadLetterMessageDTO::getOccurredAt)
+                .containsOnly(LocalDateTime.of(2026, 1, 10, 12, 0));
+    }
+
+    @Test
+    void startReplay_WithSelectedEventIds_RoutesOnlyThoseToTheirSourceQueue() throws Exception {
+        OrderPlacedEvent selected = event(5);
+        List<Message> messages = List.of(message(event(6), "RuntimeException: x"), message(selected, "RuntimeException: y"));
+        List<String> routes = new ArrayList<>();
+        doAnswer(invocation -> {
+            Function<Message, String> router = invocation.getArgument(0);
+            messages.forEach(message -> routes.add(router.apply(message)));
+            ((IntConsumer) invocation.getArgument(3)).accept(1);
+            return null;
+        }).when(inspector).replay(any(), anyInt(), anyInt(), any());
+
+        ReplayJobDTO job = awaitCompletion(service.startReplay(
+                ReplayRequestDTO.builder().eventIds(List.of(selected.getEventId())).build()));
+
+        assertThat(routes).containsExactly(null, MAIN_QUEUE);
+        assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        assertThat(job.getScanned()).isEqualTo(2);
+        assertThat(job.getMatched()).isEqualTo(1);
+        assertThat(job.getReplayed()).isEqualTo(1);
+    }
+
+    @Test
+    void startReplay_DryRun_ValidatesWithoutRouting() throws Exception {
+        OrderPlacedEvent invalid = event(0);
+        List<Message> messages = List.of(message(event(3), "e"), message(invalid, "e"));
+        List<String> routes = new ArrayList<>();
+        doAnswer(invocation -> {
+            Function<Message, String> router = invocation.getArgument(0);
+            messages.forEach(message -> routes.add(router.apply(message)));
+            return null;
+        }).when(inspector).replay(any(), anyInt(), anyInt(), any());
+
+        ReplayJobDTO job = awaitCompletion(service.startReplay(
+                ReplayRequestDTO.builder().all(true).dryRun(true).build()));
+
+        assertThat(routes).containsOnlyNulls();
+        assertThat(job.getValid()).isEqualTo(1);
+        assertThat(job.getInvalid()).isEqualTo(1);
+        assertThat(job.getInvalidSamples()).singleElement()
+                .asString().contains(invalid.getEventId().toString(), "tableId must be a positive integer");
+    }
+
+    @Test
+    void startReplay_WithoutSelection_IsRejected() {
+        assertThatThrownBy(() -> service.startReplay(new ReplayRequestDTO()))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(inspector, never()).replay(any(), anyInt(), anyInt(), any());
+    }
+
+    private ReplayJobDTO awaitCompletion(ReplayJobDTO started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ReplayJobDTO job = started;
+        while ("RUNNING".equals(job.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = service.findJob(started.getJobId()).orElseThrow();
+        }
+        return job;
+    }
+
+    private OrderPlacedEvent event(int tableId) {
+        return OrderPlacedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType("order.placed")
+                .eventVersion(1)
+                .occurredAt(LocalDateTime.of(2026, 1, 10, 12, 0))
+                .payload(OrderPlacedEvent.Payload.builder()
+                        .orderId(UUID.randomUUID())
+                        .tableId(tableId)
+                        .items(List.of(new OrderPlacedEvent.OrderItemEventData(1L, 2)))
+                        .createdAt(LocalDateTime.of(2026, 1, 10, 12, 0))
+                        .build())
+                .build();
+    }
+
+    /** A legacy event without occurredAt, whose order was created at the given server-local time. */
+    private OrderPlacedEvent withoutOccurredAt(OrderPlacedEvent event, LocalDateTime createdAt) {
+        event.setOccurredAt(null);
+        event.getPayload().setCreatedAt(createdAt);
+        return event;
+    }
+
+    private Message message(OrderPlacedEvent event, String reason) throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER, reason);
+        properties.setHeader(TieredRetryMessageRecoverer.ORIGINAL_QUEUE_HEADER, MAIN_QUEUE);
+        return new Message(objectMapper.writeValueAsBytes(event), properties);
+    }
+}
@@ -0,0 +1,41 @@
+package com.restaurant.orderservice.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives the requests it is mapped to their own async timeout instead of the MVC default, so
+ * a long streamed download does not raise the timeout of every other async request.
+ *
+ * A streamed body is written by a Callable once the handler returns; the timeout is set on
+ * the request right before that Callable starts.
+ */
+public class AsyncRequestTimeoutInterceptor implements HandlerInterceptor {
+
+    private final long timeoutMs;
+
+    public AsyncRequestTimeoutInterceptor(Duration timeout) {
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(this, new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                if (webRequest instanceof AsyncWebRequest asyncRequest) {
+                    asyncRequest.setTimeout(timeoutMs);
+                }
+            }
+        });
+        return true;
+    }
+}
@@ -2,23 +2,30 @@ package com.restaurant.orderservice.config;
 
 import com.restaurant.orderservice.security.KitchenSecurityInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+
 /**
  * Global CORS configuration for the Order Service.
  * Allows the local frontend to call the API during development.
+ * Also gives the streamed /orders/export pages their own async timeout.
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
     private final KitchenSecurityInterceptor kitchenSecurityInterceptor;
+    private final Duration exportTimeout;
 
     @Autowired
-    public WebConfig(KitchenSecurityInterceptor kitchenSecurityInterceptor) {
+    public WebConfig(KitchenSecurityInterceptor kitchenSecurityInterceptor,
+                     @Value("${orders.export.timeout}") Duration exportTimeout) {
         this.kitchenSecurityInterceptor = kitchenSecurityInterceptor;
+        this.exportTimeout = exportTimeout;
     }
 
     @Override
@@ -57,5 +64,6 @@ public class WebConfig implements WebMvcConfigurer {
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(kitchenSecurityInterceptor).addPathPatterns("/**");
+        registry.addInterceptor(new AsyncRequestTimeoutInterceptor(exportTimeout)).addPathPatterns("/orders/export");
     }
 }
@@ -0,0 +1,66 @@
+package com.restaurant.orderservice.controller;
+
+import com.restaurant.orderservice.service.OrderExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * REST Controller for the bulk order export used to rebuild downstream projections.
+ * Requires the kitchen token, like the other order listing endpoints.
+ */
+@RestController
+@RequestMapping("/orders/export")
+@Tag(name = "Order export", description = "Cursor-paginated NDJSON export of orders with their items")
+public class OrderExportController {
+
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final OrderExportService orderExportService;
+
+    @Autowired
+    public OrderExportController(OrderExportService orderExportService) {
+        this.orderExportService = orderExportService;
+    }
+
+    @GetMapping
+    @Operation(
+            summary = "Export a page of orders",
+            description = "Streams up to limit active orders with their items as NDJSON, one order per line, "
+                    + "in (createdAt, id) order. Request the next page with the createdAt and id of the "
+                    + "last line; a page with fewer lines than the limit is the last one."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page streamed"),
+            @ApiResponse(responseCode = "400", description = "Limit out of range or incomplete cursor")
+    })
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @Parameter(description = "createdAt of the last order of the previous page")
+            @RequestParam(name = "afterCreatedAt", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterCreatedAt,
+            @Parameter(description = "id of the last order of the previous page")
+            @RequestParam(name = "afterId", required = false) UUID afterId,
+            @Parameter(description = "Maximum number of orders in the page", example = "10000")
+            @RequestParam(name = "limit", defaultValue = "10000") int limit) {
+        try {
+            StreamingResponseBody body = orderExportService.exportPage(afterCreatedAt, afterId, limit);
+            return ResponseEntity.ok().contentType(NDJSON).body(body);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
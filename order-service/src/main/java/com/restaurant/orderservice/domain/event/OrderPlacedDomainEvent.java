@@ -25,6 +25,7 @@ public class OrderPlacedDomainEvent {
     private UUID eventId;
     private String eventType;
     private Integer eventVersion;
+    /** When the event happened, in UTC; consumers measure their lag from it. */
     private LocalDateTime occurredAt;
     private UUID orderId;
     private Integer tableId;
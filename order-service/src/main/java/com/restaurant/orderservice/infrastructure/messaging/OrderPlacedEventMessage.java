@@ -26,6 +26,7 @@ public class OrderPlacedEventMessage implements Serializable {
     private UUID eventId;
     private String eventType;
     private Integer eventVersion;
+    /** When the event happened, in UTC; consumers measure their lag from it. */
     private LocalDateTime occurredAt;
     private Payload payload;
 
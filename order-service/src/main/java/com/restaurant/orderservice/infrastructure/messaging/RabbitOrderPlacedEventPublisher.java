@@ -3,20 +3,39 @@ package com.restaurant.orderservice.infrastructure.messaging;
 import com.restaurant.orderservice.application.port.out.OrderPlacedEventPublisherPort;
 import com.restaurant.orderservice.domain.event.OrderPlacedDomainEvent;
 import com.restaurant.orderservice.exception.EventPublicationException;
+import com.restaurant.orderservice.infrastructure.metrics.MetricTags;
+import com.restaurant.orderservice.infrastructure.web.CorrelationIdFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
+
 /**
  * RabbitMQ adapter for the order placed event output port.
+ * Each publish is timed as {@value #PUBLISH_TIMER}, tagged with the event type and the outcome
+ * of the send ({@link MetricTags}).
+ *
+ * Messages carry the publish time in the AMQP timestamp property, which consumers use to
+ * measure broker lag, and the correlation id of the request that placed the order in the
+ * {@value #CORRELATION_ID_HEADER} header and the correlation-id property (the event id when
+ * there is no request context).
  */
 @Component
 @Slf4j
 public class RabbitOrderPlacedEventPublisher implements OrderPlacedEventPublisherPort {
 
+    static final String PUBLISH_TIMER = "events.published";
+    public static final String CORRELATION_ID_HEADER = "x-correlation-id";
+
     private final RabbitTemplate rabbitTemplate;
     private final OrderPlacedEventMessageMapper messageMapper;
+    private final MeterRegistry meterRegistry;
 
     @Value("${rabbitmq.exchange.name}")
     private String exchangeName;
@@ -25,28 +44,43 @@ public class RabbitOrderPlacedEventPublisher implements OrderPlacedEventPublishe
     private String orderPlacedRoutingKey;
 
     public RabbitOrderPlacedEventPublisher(RabbitTemplate rabbitTemplate,
-                                           OrderPlacedEventMessageMapper messageMapper) {
+                                           OrderPlacedEventMessageMapper messageMapper,
+                                           MeterRegistry meterRegistry) {
         this.rabbitTemplate = rabbitTemplate;
         this.messageMapper = messageMapper;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     public void publish(OrderPlacedDomainEvent domainEvent) {
         OrderPlacedEventMessage message = messageMapper.toMessage(domainEvent);
+        String correlationId = correlationIdFor(message);
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             rabbitTemplate.convertAndSend(exchangeName, orderPlacedRoutingKey, message, amqpMessage -> {
-                amqpMessage.getMessageProperties().setHeader("eventType", message.getEventType());
-                amqpMessage.getMessageProperties().setHeader("eventVersion", message.getEventVersion());
+                MessageProperties properties = amqpMessage.getMessageProperties();
+                properties.setHeader("eventType", message.getEventType());
+                properties.setHeader("eventVersion", message.getEventVersion());
+                properties.setHeader(CORRELATION_ID_HEADER, correlationId);
+                properties.setCorrelationId(correlationId);
+                properties.setTimestamp(new Date());
                 return amqpMessage;
             });
+            sample.stop(meterRegistry.timer(PUBLISH_TIMER,
+                    "event.type", message.getEventType(),
+                    MetricTags.OUTCOME, MetricTags.SUCCESS, MetricTags.EXCEPTION, MetricTags.NONE));
 
             log.info(
-                    "Successfully published order.placed event: eventId={}, orderId={}, version={}",
+                    "Successfully published order.placed event: eventId={}, orderId={}, version={}, correlationId={}",
                     message.getEventId(),
                     message.getPayload() != null ? message.getPayload().getOrderId() : message.getOrderId(),
-                    message.getEventVersion()
+                    message.getEventVersion(),
+                    correlationId
             );
         } catch (Exception ex) {
+            sample.stop(meterRegistry.timer(PUBLISH_TIMER,
+                    "event.type", message.getEventType(),
+                    MetricTags.OUTCOME, MetricTags.ERROR, MetricTags.EXCEPTION, MetricTags.exception(ex)));
             log.error(
                     "Failed to publish order.placed event: eventId={}, orderId={}, error={}",
                     message.getEventId(),
@@ -61,4 +95,12 @@ public class RabbitOrderPlacedEventPublisher implements OrderPlacedEventPublishe
             );
         }
     }
+
+    private static String correlationIdFor(OrderPlacedEventMessage message) {
+        String correlationId = MDC.get(CorrelationIdFilter.MDC_KEY);
+        if (correlationId != null) {
+            return correlationId;
+        }
+        return message.getEventId() != null ? message.getEventId().toString() : null;
+    }
 }
@@ -0,0 +1,68 @@
+package com.restaurant.orderservice.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Times the public methods of the JdbcTemplate repositories under
+ * {@value #REPOSITORY_TIMER}, the timer Spring Boot already records for the Spring Data
+ * repositories, with the same repository, method, outcome and exception tags (see
+ * {@link RepositoryOutcomeTagsProvider}).
+ *
+ * Spring Data repositories are left to Boot so their calls are not counted twice.
+ */
+@Component
+public class RepositoryMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    static final String REPOSITORY_TIMER = "spring.data.repository.invocations";
+
+    public RepositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers())
+                        && method.getDeclaringClass() != Object.class;
+            }
+        };
+        pointcut.setClassFilter(RepositoryMetricsPostProcessor::isJdbcRepository);
+
+        MethodInterceptor timing = invocation -> {
+            Timer.Sample sample = Timer.start();
+            Throwable failure = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable ex) {
+                failure = ex;
+                throw ex;
+            } finally {
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry != null) {
+                    sample.stop(registry.timer(REPOSITORY_TIMER,
+                            "repository", invocation.getMethod().getDeclaringClass().getSimpleName(),
+                            "method", invocation.getMethod().getName(),
+                            MetricTags.OUTCOME, failure == null ? MetricTags.SUCCESS : MetricTags.ERROR,
+                            MetricTags.EXCEPTION, MetricTags.exception(failure)));
+                }
+            }
+        };
+
+        this.advisor = new DefaultPointcutAdvisor(pointcut, timing);
+        setProxyTargetClass(true);
+    }
+
+    static boolean isJdbcRepository(Class<?> type) {
+        return AnnotatedElementUtils.hasAnnotation(type, Repository.class)
+                && !org.springframework.data.repository.Repository.class.isAssignableFrom(type);
+    }
+}
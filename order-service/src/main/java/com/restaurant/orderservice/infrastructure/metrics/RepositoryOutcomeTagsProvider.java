@@ -0,0 +1,27 @@
+package com.restaurant.orderservice.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tags Boot's Spring Data repository timer with {@link MetricTags} instead of Boot's default
+ * state and exception=None, so it reads like the other meters and like the JdbcTemplate
+ * repositories timed by {@link RepositoryMetricsPostProcessor} under the same name.
+ */
+@Component
+public class RepositoryOutcomeTagsProvider implements RepositoryTagsProvider {
+
+    @Override
+    public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+        RepositoryMethodInvocationResult result = invocation.getResult();
+        return Tags.of(
+                "repository", invocation.getRepositoryInterface().getSimpleName(),
+                "method", invocation.getMethod().getName(),
+                MetricTags.OUTCOME, result != null ? result.getState().name() : MetricTags.SUCCESS,
+                MetricTags.EXCEPTION, MetricTags.exception(result != null ? result.getError() : null));
+    }
+}
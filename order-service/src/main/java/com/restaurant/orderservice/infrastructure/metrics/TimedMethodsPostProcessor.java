@@ -0,0 +1,63 @@
+package com.restaurant.orderservice.infrastructure.metrics;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Times the methods annotated with Micrometer's {@link Timed} under the annotation's name and
+ * extra tags, plus the {@link MetricTags} outcome and exception.
+ *
+ * The timing advice is put in front of the advisors the bean is already proxied with, so a
+ * {@code @Transactional} method is timed from outside its transaction and the time includes
+ * the flush and commit, which Micrometer's TimedAspect would not guarantee.
+ */
+@Component
+public class TimedMethodsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public TimedMethodsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        MethodInterceptor timing = invocation -> {
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            Timed timed = findTimed(invocation);
+            if (registry == null || timed == null) {
+                return invocation.proceed();
+            }
+            Timer.Sample sample = Timer.start(registry);
+            Throwable failure = null;
+            try {
+                return invocation.proceed();
+            } catch (Throwable ex) {
+                failure = ex;
+                throw ex;
+            } finally {
+                sample.stop(registry.timer(timed.value(), Tags.of(timed.extraTags()).and(
+                        MetricTags.OUTCOME, failure == null ? MetricTags.SUCCESS : MetricTags.ERROR,
+                        MetricTags.EXCEPTION, MetricTags.exception(failure))));
+            }
+        };
+
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, Timed.class, true), timing);
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static Timed findTimed(MethodInvocation invocation) {
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : invocation.getMethod().getDeclaringClass();
+        Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        return AnnotatedElementUtils.findMergedAnnotation(method, Timed.class);
+    }
+}
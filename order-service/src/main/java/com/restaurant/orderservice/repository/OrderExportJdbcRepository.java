@@ -0,0 +1,139 @@
+package com.restaurant.orderservice.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads pages of active orders with their items for the bulk export, in (created_at, id)
+ * order, through idx_orders_created_at_id.
+ *
+ * One statement returns the page's orders joined with their items, read with a fetch size,
+ * so inside a transaction the PostgreSQL driver holds at most {@link #FETCH_SIZE} rows. The
+ * rows of an order are consecutive and are passed on as one {@link ExportedOrder}. When the
+ * consumer fails, e.g. because the client went away, the statement is cancelled before the
+ * error is rethrown.
+ */
+@Repository
+public class OrderExportJdbcRepository {
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final String PAGE =
+            "SELECT o.id, o.table_id, o.status, o.created_at, o.updated_at, i.product_id, i.quantity "
+                    + "FROM (SELECT id, table_id, status, created_at, updated_at FROM orders "
+                    + "WHERE deleted = false %s ORDER BY created_at, id LIMIT ?) o "
+                    + "LEFT JOIN order_items i ON i.order_id = o.id "
+                    + "ORDER BY o.created_at, o.id, i.id";
+    private static final String AFTER_CURSOR = "AND (created_at, id) > (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderExportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Passes up to {@code limit} active orders created after the cursor to the consumer, in
+     * (created_at, id) order; without a cursor the page starts at the oldest order. Must run
+     * inside a transaction for the driver to use a cursor.
+     *
+     * @return number of orders passed on
+     */
+    public int forEachOrder(LocalDateTime afterCreatedAt, UUID afterId, int limit, Consumer<ExportedOrder> consumer) {
+        boolean cursor = afterCreatedAt != null;
+        OrderGrouper grouper = new OrderGrouper(consumer);
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    String.format(PAGE, cursor ? AFTER_CURSOR : ""));
+            statement.setFetchSize(FETCH_SIZE);
+            int index = 1;
+            if (cursor) {
+                statement.setTimestamp(index++, Timestamp.valueOf(afterCreatedAt));
+                statement.setObject(index++, afterId);
+            }
+            statement.setInt(index, limit);
+            return statement;
+        }, grouper);
+        grouper.finish();
+        return grouper.orders;
+    }
+
+    /**
+     * Collects consecutive rows of one order and passes the order on when the next one starts.
+     */
+    private static final class OrderGrouper implements RowCallbackHandler {
+
+        private final Consumer<ExportedOrder> consumer;
+        private ExportedOrder current;
+        private int orders;
+
+        private OrderGrouper(Consumer<ExportedOrder> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            UUID id = rs.getObject(1, UUID.class);
+            if (current == null || !current.getId().equals(id)) {
+                try {
+                    finish();
+                } catch (RuntimeException e) {
+                    rs.getStatement().cancel();
+                    throw e;
+                }
+                current = new ExportedOrder(id, rs.getInt(2), rs.getString(3),
+                        rs.getTimestamp(4).toLocalDateTime(), rs.getTimestamp(5).toLocalDateTime(), new ArrayList<>());
+            }
+            long productId = rs.getLong(6);
+            if (!rs.wasNull()) {
+                current.getItems().add(new ExportedItem(productId, rs.getInt(7)));
+            }
+        }
+
+        private void finish() {
+            if (current != null) {
+                ExportedOrder order = current;
+                current = null;
+                orders++;
+                consumer.accept(order);
+            }
+        }
+    }
+
+    /**
+     * One active order and its items, as exported.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExportedOrder {
+        private UUID id;
+        private Integer tableId;
+        private String status;
+        private LocalDateTime createdAt;
+        private LocalDateTime updatedAt;
+        private List<ExportedItem> items;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ExportedItem {
+        private Long productId;
+        private Integer quantity;
+    }
+}
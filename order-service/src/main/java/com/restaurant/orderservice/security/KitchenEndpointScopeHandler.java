@@ -24,7 +24,7 @@ public class KitchenEndpointScopeHandler extends AbstractKitchenSecurityHandler
         if ("OPTIONS".equalsIgnoreCase(method)) {
             return false;
         }
-        if ("GET".equalsIgnoreCase(method) && "/orders".equals(uri)) {
+        if ("GET".equalsIgnoreCase(method) && ("/orders".equals(uri) || "/orders/export".equals(uri))) {
             return true;
         }
         if ("DELETE".equalsIgnoreCase(method) && "/orders".equals(uri)) {
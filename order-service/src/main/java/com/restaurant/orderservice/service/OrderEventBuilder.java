@@ -6,6 +6,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -40,7 +41,7 @@ public class OrderEventBuilder {
                 .eventId(UUID.randomUUID())
                 .eventType(OrderPlacedDomainEvent.EVENT_TYPE)
                 .eventVersion(OrderPlacedDomainEvent.CURRENT_VERSION)
-                .occurredAt(LocalDateTime.now())
+                .occurredAt(LocalDateTime.now(ZoneOffset.UTC))
                 .orderId(order.getId())
                 .tableId(order.getTableId())
                 .items(eventItems)
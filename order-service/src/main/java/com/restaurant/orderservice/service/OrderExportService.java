@@ -0,0 +1,115 @@
+package com.restaurant.orderservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.orderservice.repository.OrderExportJdbcRepository;
+import com.restaurant.orderservice.repository.OrderExportJdbcRepository.ExportedItem;
+import com.restaurant.orderservice.repository.OrderExportJdbcRepository.ExportedOrder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Bulk export of active orders with their items as NDJSON, one order per line, for consumers
+ * that rebuild their projections from order history (e.g. the report-service rebuild).
+ *
+ * The export is cursor-paginated: a page holds up to {@code limit} orders in (createdAt, id)
+ * order, and the next page is requested with the createdAt and id of the last line. A page
+ * with fewer lines than the limit is the last one. Items carry what order.placed events
+ * carry, so a projection built from the export matches one built from the events.
+ *
+ * Lines are written as they are read from a database cursor inside a read-only transaction,
+ * so memory does not depend on the page size.
+ */
+@Service
+@Slf4j
+public class OrderExportService {
+
+    public static final int MAX_LIMIT = 50_000;
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderExportJdbcRepository exportRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderExportService(OrderExportJdbcRepository exportRepository,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager) {
+        this.exportRepository = exportRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Validates the page request now and returns a body that writes the page when the response
+     * is streamed.
+     *
+     * @throws IllegalArgumentException when the limit is out of range or the cursor is incomplete
+     */
+    public StreamingResponseBody exportPage(LocalDateTime afterCreatedAt, UUID afterId, int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        if ((afterCreatedAt == null) != (afterId == null)) {
+            throw new IllegalArgumentException("afterCreatedAt and afterId must be given together");
+        }
+        return out -> write(afterCreatedAt, afterId, limit, out);
+    }
+
+    void write(LocalDateTime afterCreatedAt, UUID afterId, int limit, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Lines are separated by the '\n' written after each order, not by Jackson's default ' '
+        generator.setRootValueSeparator(null);
+        Integer written;
+        try {
+            written = transactionTemplate.execute(status -> exportRepository.forEachOrder(
+                    afterCreatedAt, afterId, limit, order -> {
+                        try {
+                            writeLine(generator, order);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            log.info("Order export after {} aborted: {}", afterId, e.getCause().getMessage());
+            throw e.getCause();
+        }
+        generator.flush();
+        writer.flush();
+        log.debug("Exported {} orders after ({}, {})", written, afterCreatedAt, afterId);
+    }
+
+    private static void writeLine(JsonGenerator generator, ExportedOrder order) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", order.getId().toString());
+        generator.writeNumberField("tableId", order.getTableId());
+        generator.writeStringField("status", order.getStatus());
+        generator.writeStringField("createdAt", order.getCreatedAt().toString());
+        generator.writeStringField("updatedAt", order.getUpdatedAt().toString());
+        generator.writeArrayFieldStart("items");
+        for (ExportedItem item : order.getItems()) {
+            generator.writeStartObject();
+            generator.writeNumberField("productId", item.getProductId());
+            generator.writeNumberField("quantity", item.getQuantity());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
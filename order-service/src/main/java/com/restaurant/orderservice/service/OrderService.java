@@ -10,12 +10,14 @@ import com.restaurant.orderservice.exception.OrderNotFoundException;
 import com.restaurant.orderservice.repository.OrderRepository;
 import com.restaurant.orderservice.service.command.OrderCommandExecutor;
 import com.restaurant.orderservice.service.command.PublishOrderPlacedEventCommand;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,11 +32,16 @@ import java.util.stream.Collectors;
  * - OrderEventBuilder: Event construction
  * - OrderPlacedEventPublisherPort: Event publishing abstraction
  * 
+ * Every public operation is timed as {@value #OPERATION_TIMER}, tagged with the operation
+ * name and its outcome, commit included (see TimedMethodsPostProcessor and METRICS.md).
+ * 
  * Validates Requirements: 2.1, 2.2, 2.3, 2.4, 2.5, 2.6, 2.7, 2.8, 3.1, 4.1, 4.2, 5.1, 5.2, 6.2
  */
 @Service
 @Slf4j
 public class OrderService {
+
+    static final String OPERATION_TIMER = "orders.operations";
     
     private final OrderRepository orderRepository;
     private final OrderValidator orderValidator;
@@ -90,6 +97,7 @@ public class OrderService {
      * - 2.8: Rejects order if items list is empty
      * - 3.1: Publishes "order.placed" event to RabbitMQ after successful creation
      */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "create"})
     @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
         log.info("Creating order for table {}", request.getTableId());
@@ -143,6 +151,7 @@ public class OrderService {
      * - 4.2: Returns complete order with all items, status, and timestamps
      * - SoftDelete: Excludes deleted orders (Copilot Instructions Section 4)
      */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "get"})
     @Transactional(readOnly = true)
     public OrderResponse getOrderById(UUID orderId) {
         log.info("Retrieving order by id: {}", orderId);
@@ -169,6 +178,7 @@ public class OrderService {
      * - 5.2: Returns only orders matching the specified status when provided
      * - Soft Delete: Excludes deleted orders (Copilot Instructions Section 4)
      */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "list"})
     @Transactional(readOnly = true)
     public List<OrderResponse> getOrders(List<OrderStatus> status) {
         log.info("Retrieving orders with status filter: {}", status);
@@ -203,6 +213,7 @@ public class OrderService {
      * - Security: Validates status transition before applying (Copilot Instructions Section 4)
      * - Soft Delete: Only updates active orders (Copilot Instructions Section 4)
      */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "update_status"})
     @Transactional
     public OrderResponse updateOrderStatus(UUID orderId, OrderStatus newStatus) {
         log.info("Updating order status: orderId={}, newStatus={}", orderId, newStatus);
@@ -238,6 +249,7 @@ public class OrderService {
      * @param orderId UUID of the order to delete
      * @throws OrderNotFoundException if the order does not exist or is already deleted
      */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "delete"})
     @Transactional
     public void deleteOrder(UUID orderId) {
         log.info("Soft-deleting order: orderId={}", orderId);
@@ -266,6 +278,7 @@ public class OrderService {
      *
      * @return number of soft-deleted orders
      */
+    @Timed(value = OPERATION_TIMER, extraTags = {"operation", "delete_all"})
     @Transactional
     public long deleteAllOrders() {
         List<Order> activeOrders = orderRepository.findAllActive();
@@ -301,7 +314,7 @@ public class OrderService {
                 .eventId(UUID.randomUUID())
                 .eventType(OrderPlacedDomainEvent.EVENT_TYPE)
                 .eventVersion(OrderPlacedDomainEvent.CURRENT_VERSION)
-                .occurredAt(LocalDateTime.now())
+                .occurredAt(LocalDateTime.now(ZoneOffset.UTC))
                 .orderId(order.getId())
                 .tableId(order.getTableId())
                 .items(eventItems)
@@ -0,0 +1,3 @@
+-- Keyset pagination of GET /orders/export: pages are read in (created_at, id) order,
+-- each starting right after the last order of the previous page.
+CREATE INDEX idx_orders_created_at_id ON orders (created_at, id) WHERE deleted = false;
@@ -0,0 +1,49 @@
+package com.restaurant.orderservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncRequestTimeoutInterceptorTest {
+
+    private static final long DEFAULT_TIMEOUT_MS = 30_000;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private WebAsyncManager asyncManager;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/orders/export");
+        request.setAsyncSupported(true);
+        response = new MockHttpServletResponse();
+        StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(request, response);
+        asyncWebRequest.setTimeout(DEFAULT_TIMEOUT_MS);
+        asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(asyncWebRequest);
+    }
+
+    @Test
+    void preHandle_setsTimeoutWhenStreamingStarts() throws Exception {
+        new AsyncRequestTimeoutInterceptor(Duration.ofMinutes(5)).preHandle(request, response, new Object());
+
+        asyncManager.startCallableProcessing(() -> "written");
+
+        assertThat(request.getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(5).toMillis());
+    }
+
+    @Test
+    void withoutInterceptor_keepsDefaultTimeout() throws Exception {
+        asyncManager.startCallableProcessing(() -> "written");
+
+        assertThat(request.getAsyncContext().getTimeout()).isEqualTo(DEFAULT_TIMEOUT_MS);
+    }
+}
@@ -2,10 +2,15 @@ package com.restaurant.orderservice.infrastructure.messaging;
 
 import com.restaurant.orderservice.domain.event.OrderPlacedDomainEvent;
 import com.restaurant.orderservice.exception.EventPublicationException;
+import com.restaurant.orderservice.infrastructure.web.CorrelationIdFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.slf4j.MDC;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -24,12 +29,15 @@ import static org.mockito.Mockito.verify;
 class RabbitOrderPlacedEventPublisherTest {
 
     private RabbitTemplate rabbitTemplate;
+    private SimpleMeterRegistry meterRegistry;
     private RabbitOrderPlacedEventPublisher publisher;
 
     @BeforeEach
     void setUp() {
         rabbitTemplate = mock(RabbitTemplate.class);
-        publisher = new RabbitOrderPlacedEventPublisher(rabbitTemplate, new OrderPlacedEventMessageMapper());
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new RabbitOrderPlacedEventPublisher(
+                rabbitTemplate, new OrderPlacedEventMessageMapper(), meterRegistry);
         ReflectionTestUtils.setField(publisher, "exchangeName", "restaurant.exchange");
         ReflectionTestUtils.setField(publisher, "orderPlacedRoutingKey", "order.placed");
     }
@@ -44,6 +52,9 @@ class RabbitOrderPlacedEventPublisherTest {
         assertThatThrownBy(() -> publisher.publish(event))
                 .isInstanceOf(EventPublicationException.class)
                 .hasMessageContaining("Unable to publish order.placed event");
+        assertThat(meterRegistry.get(RabbitOrderPlacedEventPublisher.PUBLISH_TIMER)
+                .tags("event.type", "order.placed", "outcome", "ERROR", "exception", "RuntimeException")
+                .timer().count()).isEqualTo(1);
     }
 
     @Test
@@ -65,6 +76,48 @@ class RabbitOrderPlacedEventPublisherTest {
         assertThat(sent.getEventVersion()).isEqualTo(OrderPlacedDomainEvent.CURRENT_VERSION);
         assertThat(sent.getPayload()).isNotNull();
         assertThat(sent.getPayload().getOrderId()).isEqualTo(event.getOrderId());
+        assertThat(meterRegistry.get(RabbitOrderPlacedEventPublisher.PUBLISH_TIMER)
+                .tags("event.type", "order.placed", "outcome", "SUCCESS", "exception", "none")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publish_withRequestCorrelationId_stampsHeadersAndTimestamp() {
+        OrderPlacedDomainEvent event = sampleDomainEvent();
+        MDC.put(CorrelationIdFilter.MDC_KEY, "req-42");
+        try {
+            publisher.publish(event);
+        } finally {
+            MDC.remove(CorrelationIdFilter.MDC_KEY);
+        }
+
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate).convertAndSend(
+                eq("restaurant.exchange"), eq("order.placed"), any(Object.class), postProcessor.capture());
+        MessageProperties properties = postProcessor.getValue()
+                .postProcessMessage(new Message(new byte[0], new MessageProperties()))
+                .getMessageProperties();
+
+        assertThat(properties.getHeaders())
+                .containsEntry(RabbitOrderPlacedEventPublisher.CORRELATION_ID_HEADER, "req-42");
+        assertThat(properties.getCorrelationId()).isEqualTo("req-42");
+        assertThat(properties.getTimestamp()).isNotNull();
+    }
+
+    @Test
+    void publish_withoutRequestContext_usesEventIdAsCorrelationId() {
+        OrderPlacedDomainEvent event = sampleDomainEvent();
+
+        publisher.publish(event);
+
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate).convertAndSend(
+                eq("restaurant.exchange"), eq("order.placed"), any(Object.class), postProcessor.capture());
+        MessageProperties properties = postProcessor.getValue()
+                .postProcessMessage(new Message(new byte[0], new MessageProperties()))
+                .getMessageProperties();
+
+        assertThat(properties.getCorrelationId()).isEqualTo(event.getEventId().toString());
     }
 
     private OrderPlacedDomainEvent sampleDomainEvent() {
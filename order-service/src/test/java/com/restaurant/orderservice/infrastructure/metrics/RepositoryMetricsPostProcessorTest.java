@@ -0,0 +1,61 @@
+package com.restaurant.orderservice.infrastructure.metrics;
+
+import com.restaurant.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.stereotype.Repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RepositoryMetricsPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RepositoryMetricsPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        postProcessor = new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void jdbcRepository_callsAreTimedWithOutcome() {
+        SampleJdbcRepository repository = (SampleJdbcRepository) postProcessor
+                .postProcessAfterInitialization(new SampleJdbcRepository(), "sampleJdbcRepository");
+
+        repository.count();
+        assertThatThrownBy(repository::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(RepositoryMetricsPostProcessor.REPOSITORY_TIMER)
+                .tags("repository", "SampleJdbcRepository", "method", "count", "outcome", "SUCCESS", "exception", "none")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(RepositoryMetricsPostProcessor.REPOSITORY_TIMER)
+                .tags("method", "fail", "outcome", "ERROR", "exception", "IllegalStateException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void isJdbcRepository_leavesSpringDataRepositoriesAndOtherBeansToBoot() {
+        assertThat(RepositoryMetricsPostProcessor.isJdbcRepository(SampleJdbcRepository.class)).isTrue();
+        assertThat(RepositoryMetricsPostProcessor.isJdbcRepository(OrderRepository.class)).isFalse();
+        assertThat(RepositoryMetricsPostProcessor.isJdbcRepository(String.class)).isFalse();
+    }
+
+    @Repository
+    static class SampleJdbcRepository {
+
+        public long count() {
+            return 42;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("query failed");
+        }
+    }
+}
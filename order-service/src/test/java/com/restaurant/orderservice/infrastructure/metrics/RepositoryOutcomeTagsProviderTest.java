@@ -0,0 +1,50 @@
+package com.restaurant.orderservice.infrastructure.metrics;
+
+import com.restaurant.orderservice.repository.OrderRepository;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult.State;
+
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RepositoryOutcomeTagsProviderTest {
+
+    private final RepositoryOutcomeTagsProvider tagsProvider = new RepositoryOutcomeTagsProvider();
+
+    @Test
+    void repositoryTags_useOutcomeAndLowerCaseNone() throws Exception {
+        Iterable<Tag> tags = tagsProvider.repositoryTags(invocation(State.SUCCESS, null));
+
+        assertThat(tags).containsExactlyInAnyOrderElementsOf(Tags.of(
+                "repository", "OrderRepository", "method", "findAll", "outcome", "SUCCESS", "exception", "none"));
+    }
+
+    @Test
+    void repositoryTags_whenCallFails_useExceptionSimpleName() throws Exception {
+        Iterable<Tag> tags = tagsProvider.repositoryTags(
+                invocation(State.ERROR, new IllegalStateException("query failed")));
+
+        assertThat(tags).contains(Tag.of("outcome", "ERROR"), Tag.of("exception", "IllegalStateException"));
+    }
+
+    private RepositoryMethodInvocation invocation(State state, Throwable error) throws Exception {
+        Method method = OrderRepository.class.getMethod("findAll");
+        RepositoryMethodInvocationResult result = new RepositoryMethodInvocationResult() {
+            @Override
+            public State getState() {
+                return state;
+            }
+
+            @Override
+            public Throwable getError() {
+                return error;
+            }
+        };
+        return new RepositoryMethodInvocation(OrderRepository.class, method, result, 1_000);
+    }
+}
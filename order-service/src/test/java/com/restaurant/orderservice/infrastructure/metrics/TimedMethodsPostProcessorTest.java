@@ -0,0 +1,100 @@
+package com.restaurant.orderservice.infrastructure.metrics;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimedMethodsPostProcessorTest {
+
+    private static final String TIMER = "sample.operations";
+
+    private MockClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private TimedMethodsPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MockClock();
+        meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock);
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        postProcessor = new TimedMethodsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    void timedMethod_includesTimeSpentInExistingAdvisors() {
+        ProxyFactory proxyFactory = new ProxyFactory(new SampleService(clock));
+        proxyFactory.setProxyTargetClass(true);
+        MethodInterceptor commit = invocation -> {
+            Object result = invocation.proceed();
+            clock.add(Duration.ofMillis(300));
+            return result;
+        };
+        proxyFactory.addAdvice(commit);
+        SampleService service = (SampleService) postProcessor
+                .postProcessAfterInitialization(proxyFactory.getProxy(), "sampleService");
+
+        service.create();
+
+        assertThat(meterRegistry.get(TIMER)
+                .tags("operation", "create", "outcome", "SUCCESS", "exception", "none")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(400);
+    }
+
+    @Test
+    void timedMethod_whenItFails_isTaggedWithTheException() {
+        SampleService service = (SampleService) postProcessor
+                .postProcessAfterInitialization(new SampleService(clock), "sampleService");
+
+        assertThatThrownBy(service::fail).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.get(TIMER)
+                .tags("operation", "fail", "outcome", "ERROR", "exception", "IllegalStateException")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void untimedMethod_isNotRecorded() {
+        SampleService service = (SampleService) postProcessor
+                .postProcessAfterInitialization(new SampleService(clock), "sampleService");
+
+        service.untimed();
+
+        assertThat(meterRegistry.find(TIMER).timers()).isEmpty();
+    }
+
+    static class SampleService {
+
+        private final MockClock clock;
+
+        SampleService(MockClock clock) {
+            this.clock = clock;
+        }
+
+        @Timed(value = TIMER, extraTags = {"operation", "create"})
+        public void create() {
+            clock.add(Duration.ofMillis(100));
+        }
+
+        @Timed(value = TIMER, extraTags = {"operation", "fail"})
+        public void fail() {
+            throw new IllegalStateException("insert failed");
+        }
+
+        public void untimed() {
+        }
+    }
+}
@@ -31,6 +31,15 @@ class KitchenSecurityInterceptorTest {
                 .hasMessageContaining("required");
     }
 
+    @Test
+    void preHandle_deniesOrderExportWhenTokenMissing() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/export");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, new MockHttpServletResponse(), new Object()))
+                .isInstanceOf(KitchenAccessDeniedException.class)
+                .hasMessageContaining("required");
+    }
+
     @Test
     void preHandle_deniesProtectedEndpointWhenTokenInvalid() {
         MockHttpServletRequest request = new MockHttpServletRequest("PATCH", "/orders/123/status");
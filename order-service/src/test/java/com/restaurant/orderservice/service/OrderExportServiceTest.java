@@ -0,0 +1,101 @@
+package com.restaurant.orderservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.orderservice.repository.OrderExportJdbcRepository;
+import com.restaurant.orderservice.repository.OrderExportJdbcRepository.ExportedItem;
+import com.restaurant.orderservice.repository.OrderExportJdbcRepository.ExportedOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderExportService.
+ *
+ * Tests the NDJSON lines of an export page and the validation of page requests.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderExportServiceTest {
+
+    @Mock
+    private OrderExportJdbcRepository exportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportService(exportRepository, objectMapper, transactionManager);
+    }
+
+    @Test
+    void write_withOrders_writesOneJsonLinePerOrder() throws Exception {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        UUID emptyOrderId = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2026, 2, 19, 10, 30);
+        LocalDateTime afterCreatedAt = createdAt.minusHours(1);
+        UUID afterId = UUID.randomUUID();
+        when(exportRepository.forEachOrder(eq(afterCreatedAt), eq(afterId), eq(2), any())).thenAnswer(invocation -> {
+            Consumer<ExportedOrder> consumer = invocation.getArgument(3);
+            consumer.accept(new ExportedOrder(orderId, 5, "READY", createdAt, createdAt.plusMinutes(20),
+                    List.of(new ExportedItem(1L, 2), new ExportedItem(3L, 1))));
+            consumer.accept(new ExportedOrder(emptyOrderId, 2, "PENDING", createdAt, createdAt, List.of()));
+            return 2;
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        orderExportService.write(afterCreatedAt, afterId, 2, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines).allMatch(line -> line.startsWith("{"));
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asText()).isEqualTo(orderId.toString());
+        assertThat(first.get("tableId").asInt()).isEqualTo(5);
+        assertThat(first.get("status").asText()).isEqualTo("READY");
+        assertThat(first.get("createdAt").asText()).isEqualTo("2026-02-19T10:30");
+        assertThat(first.get("updatedAt").asText()).isEqualTo("2026-02-19T10:50");
+        assertThat(first.get("items")).hasSize(2);
+        assertThat(first.get("items").get(0).get("productId").asLong()).isEqualTo(1L);
+        assertThat(first.get("items").get(0).get("quantity").asInt()).isEqualTo(2);
+        assertThat(objectMapper.readTree(lines[1]).get("items")).isEmpty();
+    }
+
+    @Test
+    void exportPage_withLimitOutOfRange_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> orderExportService.exportPage(null, null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderExportService.exportPage(null, null, OrderExportService.MAX_LIMIT + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void exportPage_withHalfCursor_throwsIllegalArgumentException() {
+        assertThatThrownBy(() -> orderExportService.exportPage(LocalDateTime.now(), null, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("together");
+        verifyNoInteractions(exportRepository);
+    }
+}
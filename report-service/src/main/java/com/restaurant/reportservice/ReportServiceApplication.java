@@ -3,6 +3,7 @@ package com.restaurant.reportservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.time.Clock;
 
@@ -13,6 +14,7 @@ import java.time.Clock;
  * reporting projections in an independent database.
  */
 @SpringBootApplication
+@EnableScheduling
 public class ReportServiceApplication {
 
     public static void main(String[] args) {
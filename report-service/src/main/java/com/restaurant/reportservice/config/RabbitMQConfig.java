@@ -3,18 +3,25 @@ package com.restaurant.reportservice.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.restaurant.reportservice.infrastructure.messaging.AdaptiveListenerController;
+import com.restaurant.reportservice.infrastructure.messaging.TieredRetryMessageRecoverer;
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * RabbitMQ configuration for report-service.
- * Declares queues, exchanges, bindings, and DLQ configuration.
+ * Declares queues, exchanges, bindings, retry tier queues, DLQ configuration,
+ * and the adaptive listener container factory.
  */
 @Configuration
 public class RabbitMQConfig {
@@ -40,6 +47,15 @@ public class RabbitMQConfig {
     @Value("${rabbitmq.dlq.exchange}")
     private String dlxName;
 
+    @Value("${rabbitmq.retry.tier-delays-ms}")
+    private List<Long> retryTierDelays;
+
+    @Value("${rabbitmq.listener.batch.size}")
+    private int batchSize;
+
+    @Value("${rabbitmq.listener.batch.receive-timeout-ms}")
+    private long batchReceiveTimeoutMs;
+
     @Bean
     public TopicExchange orderExchange() {
         return new TopicExchange(exchangeName);
@@ -61,6 +77,18 @@ public class RabbitMQConfig {
                 .build();
     }
 
+    /**
+     * Delay queues for each retry tier of both report queues. Every tier expires messages
+     * after its TTL and dead-letters them back to the source queue via the default exchange.
+     */
+    @Bean
+    public Declarables reportRetryQueues() {
+        List<Queue> queues = new ArrayList<>();
+        queues.addAll(retryQueues(queueName));
+        queues.addAll(retryQueues(orderReadyQueueName));
+        return new Declarables(queues);
+    }
+
     @Bean
     public Queue reportDlq() {
         return new Queue(dlqName, true);
@@ -103,14 +131,42 @@ public class RabbitMQConfig {
         return new Jackson2JsonMessageConverter(objectMapper);
     }
 
+    /**
+     * Listener container factory for both report listeners. Boot's configurer applies the
+     * spring.rabbitmq.listener.simple settings (retry with TieredRetryMessageRecoverer and the
+     * JSON converter above), then each container is handed to the AdaptiveListenerController,
+     * which owns its concurrency and prefetch.
+     *
+     * Consumers collect up to {@code rabbitmq.listener.batch.size} deliveries and hand them to
+     * the listener as one List; a partial batch is released once no message arrives for
+     * {@code receive-timeout-ms}, which bounds the extra projection delay under low traffic.
+     * The configurer is only missing when
+     * RabbitAutoConfiguration is excluded, and then no listener containers are created.
+     */
     @Bean
-    @ConditionalOnBean(ConnectionFactory.class)
     public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
-            ConnectionFactory connectionFactory,
-            Jackson2JsonMessageConverter messageConverter) {
+            ObjectProvider<SimpleRabbitListenerContainerFactoryConfigurer> configurer,
+            ObjectProvider<ConnectionFactory> connectionFactory,
+            AdaptiveListenerController adaptiveListenerController) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
-        factory.setConnectionFactory(connectionFactory);
-        factory.setMessageConverter(messageConverter);
+        configurer.ifAvailable(c -> c.configure(factory, connectionFactory.getObject()));
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(batchReceiveTimeoutMs);
+        factory.setContainerCustomizer(adaptiveListenerController::register);
         return factory;
     }
+
+    private List<Queue> retryQueues(String sourceQueue) {
+        List<Queue> queues = new ArrayList<>();
+        for (int tier = 1; tier <= retryTierDelays.size(); tier++) {
+            queues.add(QueueBuilder.durable(TieredRetryMessageRecoverer.retryQueueName(sourceQueue, tier))
+                    .ttl(retryTierDelays.get(tier - 1).intValue())
+                    .deadLetterExchange("")
+                    .deadLetterRoutingKey(sourceQueue)
+                    .build());
+        }
+        return queues;
+    }
 }
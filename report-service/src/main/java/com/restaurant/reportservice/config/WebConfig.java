@@ -0,0 +1,32 @@
+package com.restaurant.reportservice.config;
+
+import com.restaurant.reportservice.security.AdminTokenInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.time.Duration;
+
+/**
+ * Registers the admin token check in front of the /admin endpoints, and the longer async
+ * timeout of the streamed /reports/export download.
+ */
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final AdminTokenInterceptor adminTokenInterceptor;
+    private final Duration exportTimeout;
+
+    public WebConfig(AdminTokenInterceptor adminTokenInterceptor,
+                     @Value("${report.export.timeout}") Duration exportTimeout) {
+        this.adminTokenInterceptor = adminTokenInterceptor;
+        this.exportTimeout = exportTimeout;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(adminTokenInterceptor).addPathPatterns("/admin/**");
+        registry.addInterceptor(new AsyncRequestTimeoutInterceptor(exportTimeout)).addPathPatterns("/reports/export");
+    }
+}
@@ -0,0 +1,37 @@
+package com.restaurant.reportservice.controller;
+
+import com.restaurant.reportservice.dto.PartitionPruningDTO;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.service.ReportPartitionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Admin endpoint showing which monthly partitions a report over a range reads. Protected by
+ * the admin token checked in AdminTokenInterceptor.
+ */
+@RestController
+@RequestMapping("/admin/partitions")
+@RequiredArgsConstructor
+public class PartitionAdminController {
+
+    private final ReportPartitionService partitionService;
+
+    @GetMapping("/pruning")
+    public ResponseEntity<PartitionPruningDTO> pruning(
+            @RequestParam("startDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam("endDate") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        try {
+            return ResponseEntity.ok(partitionService.explainPruning(startDate, endDate));
+        } catch (InvalidDateRangeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
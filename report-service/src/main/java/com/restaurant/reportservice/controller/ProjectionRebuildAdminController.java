@@ -0,0 +1,42 @@
+package com.restaurant.reportservice.controller;
+
+import com.restaurant.reportservice.dto.ProjectionRebuildJobDTO;
+import com.restaurant.reportservice.service.ProjectionRebuildService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+/**
+ * Admin endpoints to rebuild the report projection from the order-service export and follow
+ * the rebuild. Protected by the admin token checked in AdminTokenInterceptor.
+ */
+@RestController
+@RequestMapping("/admin/projection/rebuild")
+@RequiredArgsConstructor
+public class ProjectionRebuildAdminController {
+
+    private final ProjectionRebuildService rebuildService;
+
+    @PostMapping
+    public ResponseEntity<ProjectionRebuildJobDTO> rebuild() {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(rebuildService.startRebuild());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ProjectionRebuildJobDTO> getRebuildJob(@PathVariable UUID jobId) {
+        return rebuildService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -1,21 +1,49 @@
 package com.restaurant.reportservice.controller;
 
+import com.restaurant.reportservice.dto.DistinctCountResponseDTO;
+import com.restaurant.reportservice.dto.FulfillmentResponseDTO;
+import com.restaurant.reportservice.dto.ReportJobDTO;
 import com.restaurant.reportservice.dto.ReportResponseDTO;
+import com.restaurant.reportservice.dto.TimeSeriesResponseDTO;
+import com.restaurant.reportservice.dto.TopProductsResponseDTO;
+import com.restaurant.reportservice.enums.ExportFormat;
+import com.restaurant.reportservice.enums.ProductRanking;
+import com.restaurant.reportservice.enums.TimeBucket;
 import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.exception.ReportJobQueueFullException;
+import com.restaurant.reportservice.service.DistinctCountService;
+import com.restaurant.reportservice.service.FulfillmentLatencyService;
+import com.restaurant.reportservice.service.ReportExportService;
+import com.restaurant.reportservice.service.ReportJobService;
 import com.restaurant.reportservice.service.ReportService;
+import com.restaurant.reportservice.service.TimeSeriesReportService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.UUID;
 
 /**
  * REST controller for report generation.
- * Accepts date range parameters and returns aggregated sales data.
+ * Accepts date range parameters and returns aggregated sales data, as totals or as a
+ * time series in hourly or daily buckets, or as the top N products by quantity or revenue.
+ * {@code /reports/export} streams the raw item lines of READY orders as a file download, and
+ * {@code /reports/fulfillment} returns placement-to-READY time percentiles.
+ * {@code /reports/distinct} estimates how many distinct tables and products a range saw.
+ * {@code /reports/jobs} computes the totals report of a large range in the background.
  */
 @RestController
 @RequestMapping("/reports")
@@ -23,6 +51,11 @@ import java.time.format.DateTimeParseException;
 public class ReportController {
 
     private final ReportService reportService;
+    private final TimeSeriesReportService timeSeriesReportService;
+    private final ReportExportService reportExportService;
+    private final FulfillmentLatencyService fulfillmentLatencyService;
+    private final DistinctCountService distinctCountService;
+    private final ReportJobService reportJobService;
 
     @GetMapping
     public ResponseEntity<ReportResponseDTO> getReport(
@@ -39,4 +72,107 @@ public class ReportController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobDTO> submitJob(
+            @RequestParam("startDate") String startDateStr,
+            @RequestParam("endDate") String endDateStr) {
+        try {
+            LocalDate startDate = LocalDate.parse(startDateStr);
+            LocalDate endDate = LocalDate.parse(endDateStr);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.submit(startDate, endDate));
+        } catch (DateTimeParseException | InvalidDateRangeException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (ReportJobQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ReportJobDTO> getJob(@PathVariable("jobId") UUID jobId) {
+        return reportJobService.findJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/timeseries")
+    public ResponseEntity<TimeSeriesResponseDTO> getTimeSeries(
+            @RequestParam("startDate") String startDateStr,
+            @RequestParam("endDate") String endDateStr,
+            @RequestParam(value = "bucket", defaultValue = "DAY") String bucketStr,
+            @RequestParam(value = "byProduct", defaultValue = "false") boolean byProduct) {
+        try {
+            LocalDate startDate = LocalDate.parse(startDateStr);
+            LocalDate endDate = LocalDate.parse(endDateStr);
+            TimeBucket bucket = TimeBucket.valueOf(bucketStr.toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(timeSeriesReportService.generateTimeSeries(startDate, endDate, bucket, byProduct));
+        } catch (DateTimeParseException | IllegalArgumentException | InvalidDateRangeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/top-products")
+    public ResponseEntity<TopProductsResponseDTO> getTopProducts(
+            @RequestParam("startDate") String startDateStr,
+            @RequestParam("endDate") String endDateStr,
+            @RequestParam(value = "n", defaultValue = "10") int n,
+            @RequestParam(value = "by", defaultValue = "quantity") String rankingStr) {
+        try {
+            LocalDate startDate = LocalDate.parse(startDateStr);
+            LocalDate endDate = LocalDate.parse(endDateStr);
+            ProductRanking ranking = ProductRanking.valueOf(rankingStr.toUpperCase(Locale.ROOT));
+            return ResponseEntity.ok(reportService.generateTopProducts(startDate, endDate, n, ranking));
+        } catch (DateTimeParseException | IllegalArgumentException | InvalidDateRangeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/fulfillment")
+    public ResponseEntity<FulfillmentResponseDTO> getFulfillment(
+            @RequestParam("startDate") String startDateStr,
+            @RequestParam("endDate") String endDateStr) {
+        try {
+            LocalDate startDate = LocalDate.parse(startDateStr);
+            LocalDate endDate = LocalDate.parse(endDateStr);
+            return ResponseEntity.ok(fulfillmentLatencyService.generateReport(startDate, endDate));
+        } catch (DateTimeParseException | InvalidDateRangeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/distinct")
+    public ResponseEntity<DistinctCountResponseDTO> getDistinctCounts(
+            @RequestParam("startDate") String startDateStr,
+            @RequestParam("endDate") String endDateStr) {
+        try {
+            LocalDate startDate = LocalDate.parse(startDateStr);
+            LocalDate endDate = LocalDate.parse(endDateStr);
+            return ResponseEntity.ok(distinctCountService.generateReport(startDate, endDate));
+        } catch (DateTimeParseException | InvalidDateRangeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam("startDate") String startDateStr,
+            @RequestParam("endDate") String endDateStr,
+            @RequestParam(value = "format", defaultValue = "csv") String formatStr,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        try {
+            LocalDate startDate = LocalDate.parse(startDateStr);
+            LocalDate endDate = LocalDate.parse(endDateStr);
+            ExportFormat format = ExportFormat.valueOf(formatStr.toUpperCase(Locale.ROOT));
+            StreamingResponseBody body = reportExportService.export(startDate, endDate, format, gzip);
+
+            String filename = "report-" + startDate + "_" + endDate + "." + format.getExtension() + (gzip ? ".gz" : "");
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getMediaType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(body);
+        } catch (DateTimeParseException | IllegalArgumentException | InvalidDateRangeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
 }
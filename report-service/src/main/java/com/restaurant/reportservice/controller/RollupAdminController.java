@@ -0,0 +1,42 @@
+package com.restaurant.reportservice.controller;
+
+import com.restaurant.reportservice.dto.RollupRebuildDTO;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.service.DailySalesRollupBackfillService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Admin endpoint to rebuild the daily sales rollup. Without dates every day that has READY
+ * orders is rebuilt. Protected by the admin token checked in AdminTokenInterceptor.
+ */
+@RestController
+@RequestMapping("/admin/rollups")
+@RequiredArgsConstructor
+public class RollupAdminController {
+
+    private final DailySalesRollupBackfillService backfillService;
+
+    @PostMapping("/daily-sales/rebuild")
+    public ResponseEntity<RollupRebuildDTO> rebuildDailySales(
+            @RequestParam(value = "startDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(value = "endDate", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (startDate == null && endDate == null) {
+            return ResponseEntity.ok(backfillService.rebuildAll());
+        }
+        try {
+            return ResponseEntity.ok(backfillService.rebuild(startDate, endDate));
+        } catch (InvalidDateRangeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
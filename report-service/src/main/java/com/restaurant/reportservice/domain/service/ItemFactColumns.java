@@ -0,0 +1,556 @@
+package com.restaurant.reportservice.domain.service;
+
+import com.restaurant.reportservice.domain.model.ProductSummary;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Facts of READY orders kept column by column in parallel primitive arrays: one row per order
+ * (creation day and hour) and one row per item (creation day and hour, product, table,
+ * quantity and price in cents). Days are epoch days. Queries are single passes over the
+ * arrays that compare ints and add longs, without objects per row.
+ *
+ * Prices are kept in cents, rounded half up like the NUMERIC(10, 2) column they come from;
+ * {@link #NO_PRICE} marks an item without a price. The revenue of a summary has scale 2 when
+ * any of its items had a price and scale 0 otherwise, as summing the prices as BigDecimals
+ * would.
+ *
+ * Rows are in arrival order, not by day. {@link #evictBefore} removes the days before a cutoff
+ * and ignores rows added for them afterwards. With a byte limit, a row that takes the columns
+ * over it evicts the oldest days until they fit again, so rows added newest first stop being
+ * kept once the limit is reached.
+ *
+ * Not thread-safe: the caller guards writes against concurrent reads. Reads may run in
+ * parallel on the common fork-join pool.
+ */
+public final class ItemFactColumns {
+
+    public static final long NO_PRICE = Long.MIN_VALUE;
+    public static final int BYTES_PER_ORDER = Integer.BYTES + Byte.BYTES;
+    public static final int BYTES_PER_ITEM = Integer.BYTES + Byte.BYTES + Long.BYTES + Integer.BYTES
+            + Integer.BYTES + Long.BYTES;
+
+    static final int CHUNK_SIZE = 1 << 16;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int QUANTITY = 0;
+    private static final int CENTS = 1;
+    private static final int PRICED = 2;
+    private static final int PRODUCT = 3;
+
+    private int orders;
+    private int[] orderDay = new int[INITIAL_CAPACITY];
+    private byte[] orderHour = new byte[INITIAL_CAPACITY];
+
+    private int items;
+    private int[] itemDay = new int[INITIAL_CAPACITY];
+    private byte[] itemHour = new byte[INITIAL_CAPACITY];
+    private long[] productId = new long[INITIAL_CAPACITY];
+    private int[] tableId = new int[INITIAL_CAPACITY];
+    private int[] quantity = new int[INITIAL_CAPACITY];
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+
+    private final LongOpenHashMap<ProductName> productNames = new LongOpenHashMap<>();
+    private final long maxBytes;
+    private int floorDay = Integer.MIN_VALUE;
+
+    public ItemFactColumns() {
+        this(Long.MAX_VALUE);
+    }
+
+    public ItemFactColumns(long maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be positive");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    public void addOrder(LocalDateTime createdAt) {
+        int day = (int) createdAt.toLocalDate().toEpochDay();
+        if (day < floorDay) {
+            return;
+        }
+        addOrderRow(day, (byte) createdAt.getHour());
+    }
+
+    /**
+     * Adds an item of a READY order created at {@code createdAt}. The first non-null name
+     * seen for a product is the one reported.
+     */
+    public void addItem(LocalDateTime createdAt, int table, long product, String productName,
+                        int itemQuantity, BigDecimal price) {
+        int day = (int) createdAt.toLocalDate().toEpochDay();
+        if (day < floorDay) {
+            return;
+        }
+        ensureItemCapacity();
+        itemDay[items] = day;
+        itemHour[items] = (byte) createdAt.getHour();
+        productId[items] = product;
+        tableId[items] = table;
+        quantity[items] = itemQuantity;
+        priceCents[items] = price == null
+                ? NO_PRICE
+                : price.setScale(MoneySum.CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        items++;
+        nameProduct(product, productName);
+        fitInLimit();
+    }
+
+    /**
+     * Appends all rows of {@code other}, e.g. facts read for a batch of orders.
+     */
+    public void addAll(ItemFactColumns other) {
+        for (int i = 0; i < other.orders; i++) {
+            if (other.orderDay[i] >= floorDay) {
+                addOrderRow(other.orderDay[i], other.orderHour[i]);
+            }
+        }
+        for (int i = 0; i < other.items; i++) {
+            if (other.itemDay[i] >= floorDay) {
+                addItemRow(other, i);
+            }
+        }
+    }
+
+    /**
+     * Summary of the orders and items created between the two days, inclusive. Products are
+     * listed by ascending product id, like every report source. With {@code parallel} the items
+     * are scanned in chunks on the common pool and the partial totals merged in chunk order.
+     */
+    public ReportSummary summarize(LocalDate startDate, LocalDate endDate, boolean parallel) {
+        int first = (int) startDate.toEpochDay();
+        int last = (int) endDate.toEpochDay();
+
+        long readyOrders = 0;
+        for (int i = 0; i < orders; i++) {
+            int day = orderDay[i];
+            if (day >= first && day <= last) {
+                readyOrders++;
+            }
+        }
+
+        int chunks = (items + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream chunkIndexes = IntStream.range(0, chunks);
+        LongOpenHashMap<long[]> totals = (parallel ? chunkIndexes.parallel() : chunkIndexes)
+                .mapToObj(chunk -> sumChunk(chunk, first, last))
+                .reduce(ItemFactColumns::merge)
+                .orElseGet(LongOpenHashMap::new);
+
+        long revenueCents = 0;
+        boolean anyPriced = false;
+        List<ProductSummary> breakdown = new ArrayList<>(totals.size());
+        for (long[] product : totals.values()) {
+            revenueCents = Math.addExact(revenueCents, product[CENTS]);
+            anyPriced |= product[PRICED] != 0;
+            breakdown.add(ProductSummary.builder()
+                    .productId(product[PRODUCT])
+                    .productName(nameOf(product[PRODUCT]))
+                    .quantitySold(Math.toIntExact(product[QUANTITY]))
+                    .totalAccumulated(money(product[CENTS], product[PRICED] != 0))
+                    .build());
+        }
+        breakdown.sort(Comparator.comparing(ProductSummary::getProductId));
+
+        return ReportSummary.builder()
+                .totalReadyOrders(Math.toIntExact(readyOrders))
+                .totalRevenue(money(revenueCents, anyPriced))
+                .productBreakdown(breakdown)
+                .build();
+    }
+
+    /**
+     * Orders, items and revenue in cents per bucket between the two days, inclusive. Buckets
+     * are days, or hours when {@code hourly}, counted from the start of {@code startDate}.
+     */
+    public BucketTotals bucketTotals(LocalDate startDate, LocalDate endDate, boolean hourly) {
+        int first = (int) startDate.toEpochDay();
+        int last = (int) endDate.toEpochDay();
+        int perDay = hourly ? 24 : 1;
+        BucketTotals totals = new BucketTotals(Math.multiplyExact(last - first + 1, perDay));
+
+        for (int i = 0; i < orders; i++) {
+            int day = orderDay[i];
+            if (day >= first && day <= last) {
+                totals.orders[(day - first) * perDay + (hourly ? orderHour[i] : 0)]++;
+            }
+        }
+        for (int i = 0; i < items; i++) {
+            int day = itemDay[i];
+            if (day >= first && day <= last) {
+                int bucket = (day - first) * perDay + (hourly ? itemHour[i] : 0);
+                totals.items[bucket] += quantity[i];
+                long price = priceCents[i];
+                if (price != NO_PRICE) {
+                    totals.cents[bucket] = Math.addExact(totals.cents[bucket], Math.multiplyExact(price, quantity[i]));
+                }
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Removes the rows of the days before {@code cutoff} and ignores rows added for them later.
+     */
+    public void evictBefore(LocalDate cutoff) {
+        int cutoffDay = (int) cutoff.toEpochDay();
+        if (cutoffDay <= floorDay) {
+            return;
+        }
+        floorDay = cutoffDay;
+
+        int keptOrders = 0;
+        for (int i = 0; i < orders; i++) {
+            if (orderDay[i] >= cutoffDay) {
+                orderDay[keptOrders] = orderDay[i];
+                orderHour[keptOrders] = orderHour[i];
+                keptOrders++;
+            }
+        }
+        orders = keptOrders;
+
+        int keptItems = 0;
+        for (int i = 0; i < items; i++) {
+            if (itemDay[i] >= cutoffDay) {
+                itemDay[keptItems] = itemDay[i];
+                itemHour[keptItems] = itemHour[i];
+                productId[keptItems] = productId[i];
+                tableId[keptItems] = tableId[i];
+                quantity[keptItems] = quantity[i];
+                priceCents[keptItems] = priceCents[i];
+                keptItems++;
+            }
+        }
+        items = keptItems;
+        trim();
+    }
+
+    /**
+     * The first day rows are kept for, or null when no day has been evicted.
+     */
+    public LocalDate firstDay() {
+        return floorDay == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(floorDay);
+    }
+
+    /**
+     * The earliest day from which the rows fit in {@code maxBytes}, or null when they already
+     * do. Evicting before the returned day frees at least the excess.
+     */
+    LocalDate cutoffToFit(long maxBytes) {
+        if (estimatedBytes() <= maxBytes || orders + items == 0) {
+            return null;
+        }
+        int minDay = Integer.MAX_VALUE;
+        int maxDay = Integer.MIN_VALUE;
+        for (int i = 0; i < orders; i++) {
+            minDay = Math.min(minDay, orderDay[i]);
+            maxDay = Math.max(maxDay, orderDay[i]);
+        }
+        for (int i = 0; i < items; i++) {
+            minDay = Math.min(minDay, itemDay[i]);
+            maxDay = Math.max(maxDay, itemDay[i]);
+        }
+        long[] bytesByDay = new long[maxDay - minDay + 1];
+        for (int i = 0; i < orders; i++) {
+            bytesByDay[orderDay[i] - minDay] += BYTES_PER_ORDER;
+        }
+        for (int i = 0; i < items; i++) {
+            bytesByDay[itemDay[i] - minDay] += BYTES_PER_ITEM;
+        }
+
+        long kept = 0;
+        for (int day = bytesByDay.length - 1; day >= 0; day--) {
+            if (kept + bytesByDay[day] > maxBytes) {
+                return LocalDate.ofEpochDay(minDay + day + 1L);
+            }
+            kept += bytesByDay[day];
+        }
+        return LocalDate.ofEpochDay(minDay);
+    }
+
+    /**
+     * Bytes taken by the stored rows, not counting unused capacity or product names.
+     */
+    public long estimatedBytes() {
+        return (long) orders * BYTES_PER_ORDER + (long) items * BYTES_PER_ITEM;
+    }
+
+    public int orderCount() {
+        return orders;
+    }
+
+    public int itemCount() {
+        return items;
+    }
+
+    /**
+     * Size of {@link #writeTo} output.
+     */
+    public long serializedBytes() {
+        long bytes = 3L * Integer.BYTES + estimatedBytes() + Integer.BYTES;
+        for (ProductName name : productNames.values()) {
+            bytes += Long.BYTES + Integer.BYTES + name.name.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Writes the rows column by column, then the product names, in the buffer's byte order.
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(floorDay).putInt(orders).putInt(items);
+        putInts(buffer, orderDay, orders);
+        buffer.put(orderHour, 0, orders);
+        putInts(buffer, itemDay, items);
+        buffer.put(itemHour, 0, items);
+        putLongs(buffer, productId, items);
+        putInts(buffer, tableId, items);
+        putInts(buffer, quantity, items);
+        putLongs(buffer, priceCents, items);
+        buffer.putInt(productNames.size());
+        for (ProductName name : productNames.values()) {
+            byte[] utf8 = name.name.getBytes(StandardCharsets.UTF_8);
+            buffer.putLong(name.productId).putInt(utf8.length).put(utf8);
+        }
+    }
+
+    /**
+     * Reads columns written by {@link #writeTo}, limited to {@code maxBytes} from then on.
+     */
+    public static ItemFactColumns readFrom(ByteBuffer buffer, long maxBytes) {
+        ItemFactColumns columns = new ItemFactColumns(maxBytes);
+        columns.floorDay = buffer.getInt();
+        int orderCount = buffer.getInt();
+        int itemCount = buffer.getInt();
+        int orderCapacity = Math.max(INITIAL_CAPACITY, orderCount);
+        int itemCapacity = Math.max(INITIAL_CAPACITY, itemCount);
+
+        columns.orderDay = getInts(buffer, orderCount, orderCapacity);
+        columns.orderHour = new byte[orderCapacity];
+        buffer.get(columns.orderHour, 0, orderCount);
+        columns.orders = orderCount;
+
+        columns.itemDay = getInts(buffer, itemCount, itemCapacity);
+        columns.itemHour = new byte[itemCapacity];
+        buffer.get(columns.itemHour, 0, itemCount);
+        columns.productId = getLongs(buffer, itemCount, itemCapacity);
+        columns.tableId = getInts(buffer, itemCount, itemCapacity);
+        columns.quantity = getInts(buffer, itemCount, itemCapacity);
+        columns.priceCents = getLongs(buffer, itemCount, itemCapacity);
+        columns.items = itemCount;
+
+        int names = buffer.getInt();
+        for (int i = 0; i < names; i++) {
+            long product = buffer.getLong();
+            byte[] utf8 = new byte[buffer.getInt()];
+            buffer.get(utf8);
+            columns.nameProduct(product, new String(utf8, StandardCharsets.UTF_8));
+        }
+        columns.fitInLimit();
+        return columns;
+    }
+
+    private LongOpenHashMap<long[]> sumChunk(int chunk, int first, int last) {
+        LongOpenHashMap<long[]> totals = new LongOpenHashMap<>();
+        int end = Math.min(items, (chunk + 1) * CHUNK_SIZE);
+        for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+            int day = itemDay[i];
+            if (day < first || day > last) {
+                continue;
+            }
+            long product = productId[i];
+            long[] total = totals.get(product);
+            if (total == null) {
+                total = new long[]{0, 0, 0, product};
+                totals.putAbsent(product, total);
+            }
+            total[QUANTITY] += quantity[i];
+            long price = priceCents[i];
+            if (price != NO_PRICE) {
+                total[CENTS] = Math.addExact(total[CENTS], Math.multiplyExact(price, quantity[i]));
+                total[PRICED] = 1;
+            }
+        }
+        return totals;
+    }
+
+    private static LongOpenHashMap<long[]> merge(LongOpenHashMap<long[]> ours, LongOpenHashMap<long[]> theirs) {
+        for (long[] total : theirs.values()) {
+            long[] existing = ours.get(total[PRODUCT]);
+            if (existing == null) {
+                ours.putAbsent(total[PRODUCT], total);
+            } else {
+                existing[QUANTITY] += total[QUANTITY];
+                existing[CENTS] = Math.addExact(existing[CENTS], total[CENTS]);
+                existing[PRICED] |= total[PRICED];
+            }
+        }
+        return ours;
+    }
+
+    private static BigDecimal money(long cents, boolean priced) {
+        return priced ? BigDecimal.valueOf(cents, MoneySum.CENTS_SCALE) : BigDecimal.ZERO;
+    }
+
+    private void addOrderRow(int day, byte hour) {
+        ensureOrderCapacity();
+        orderDay[orders] = day;
+        orderHour[orders] = hour;
+        orders++;
+        fitInLimit();
+    }
+
+    private void addItemRow(ItemFactColumns other, int row) {
+        ensureItemCapacity();
+        long product = other.productId[row];
+        itemDay[items] = other.itemDay[row];
+        itemHour[items] = other.itemHour[row];
+        productId[items] = product;
+        tableId[items] = other.tableId[row];
+        quantity[items] = other.quantity[row];
+        priceCents[items] = other.priceCents[row];
+        items++;
+        ProductName name = other.productNames.get(product);
+        if (name != null) {
+            nameProduct(product, name.name);
+        }
+        fitInLimit();
+    }
+
+    private void nameProduct(long product, String name) {
+        if (name != null && productNames.get(product) == null) {
+            productNames.putAbsent(product, new ProductName(product, name));
+        }
+    }
+
+    private String nameOf(long product) {
+        ProductName name = productNames.get(product);
+        return name == null ? null : name.name;
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values, int count) {
+        buffer.asIntBuffer().put(values, 0, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+    }
+
+    private static void putLongs(ByteBuffer buffer, long[] values, int count) {
+        buffer.asLongBuffer().put(values, 0, count);
+        buffer.position(buffer.position() + count * Long.BYTES);
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count, int capacity) {
+        int[] values = new int[capacity];
+        buffer.asIntBuffer().get(values, 0, count);
+        buffer.position(buffer.position() + count * Integer.BYTES);
+        return values;
+    }
+
+    private static long[] getLongs(ByteBuffer buffer, int count, int capacity) {
+        long[] values = new long[capacity];
+        buffer.asLongBuffer().get(values, 0, count);
+        buffer.position(buffer.position() + count * Long.BYTES);
+        return values;
+    }
+
+    private void fitInLimit() {
+        if (estimatedBytes() > maxBytes) {
+            evictBefore(cutoffToFit(maxBytes));
+        }
+    }
+
+    private void ensureOrderCapacity() {
+        if (orders == orderDay.length) {
+            int capacity = grow(orders);
+            orderDay = Arrays.copyOf(orderDay, capacity);
+            orderHour = Arrays.copyOf(orderHour, capacity);
+        }
+    }
+
+    private void ensureItemCapacity() {
+        if (items == itemDay.length) {
+            int capacity = grow(items);
+            itemDay = Arrays.copyOf(itemDay, capacity);
+            itemHour = Arrays.copyOf(itemHour, capacity);
+            productId = Arrays.copyOf(productId, capacity);
+            tableId = Arrays.copyOf(tableId, capacity);
+            quantity = Arrays.copyOf(quantity, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+        }
+    }
+
+    /**
+     * Gives back capacity when less than half of it is used after an eviction.
+     */
+    private void trim() {
+        if (orders < orderDay.length / 2 && orderDay.length > INITIAL_CAPACITY) {
+            int capacity = Math.max(INITIAL_CAPACITY, orders + (orders >> 1));
+            orderDay = Arrays.copyOf(orderDay, capacity);
+            orderHour = Arrays.copyOf(orderHour, capacity);
+        }
+        if (items < itemDay.length / 2 && itemDay.length > INITIAL_CAPACITY) {
+            int capacity = Math.max(INITIAL_CAPACITY, items + (items >> 1));
+            itemDay = Arrays.copyOf(itemDay, capacity);
+            itemHour = Arrays.copyOf(itemHour, capacity);
+            productId = Arrays.copyOf(productId, capacity);
+            tableId = Arrays.copyOf(tableId, capacity);
+            quantity = Arrays.copyOf(quantity, capacity);
+            priceCents = Arrays.copyOf(priceCents, capacity);
+        }
+    }
+
+    private static int grow(int size) {
+        return Math.addExact(size, Math.max(INITIAL_CAPACITY, size >> 1));
+    }
+
+    private static final class ProductName {
+        private final long productId;
+        private final String name;
+
+        ProductName(long productId, String name) {
+            this.productId = productId;
+            this.name = name;
+        }
+    }
+
+    /**
+     * Per-bucket totals, indexed by bucket from the start of the range.
+     */
+    public static final class BucketTotals {
+        private final long[] orders;
+        private final long[] items;
+        private final long[] cents;
+
+        BucketTotals(int buckets) {
+            this.orders = new long[buckets];
+            this.items = new long[buckets];
+            this.cents = new long[buckets];
+        }
+
+        public int size() {
+            return orders.length;
+        }
+
+        public long orders(int bucket) {
+            return orders[bucket];
+        }
+
+        public long items(int bucket) {
+            return items[bucket];
+        }
+
+        public long revenueCents(int bucket) {
+            return cents[bucket];
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.restaurant.reportservice.domain.service;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+
+/**
+ * Creation and compact encoding of the latency histograms kept per hour.
+ *
+ * Histograms record milliseconds with two significant digits, so every percentile read back
+ * is within 1% of the exact value, and they resize to fit whatever the longest time is.
+ * Histograms with the same settings add together exactly, which lets a range be answered by
+ * merging its hours.
+ */
+public final class LatencyHistograms {
+
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    private LatencyHistograms() {
+    }
+
+    public static Histogram empty() {
+        Histogram histogram = new Histogram(SIGNIFICANT_DIGITS);
+        histogram.setAutoResize(true);
+        return histogram;
+    }
+
+    public static byte[] encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    public static Histogram decode(byte[] encoded) {
+        try {
+            Histogram histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0);
+            histogram.setAutoResize(true);
+            return histogram;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt latency histogram", e);
+        }
+    }
+}
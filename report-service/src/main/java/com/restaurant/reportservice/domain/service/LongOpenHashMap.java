@@ -0,0 +1,112 @@
+package com.restaurant.reportservice.domain.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Insertion-ordered map from product ids to values, with the ids kept in a primitive
+ * {@code long[]} probed linearly. Lookups do not box keys or allocate entries, which keeps
+ * the per-item cost of report aggregation free of garbage. A null id is kept in its own slot.
+ * Entries cannot be removed.
+ */
+final class LongOpenHashMap<V> {
+
+    private static final int EMPTY = 0;
+
+    private long[] keys;
+    private int[] positions; // 1-based index into values, EMPTY for a free bucket
+    private int mask;
+    private int nullKeyPosition = EMPTY;
+    private final List<V> values = new ArrayList<>();
+
+    LongOpenHashMap() {
+        this(16);
+    }
+
+    LongOpenHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    V get(Long key) {
+        if (key == null) {
+            return nullKeyPosition == EMPTY ? null : values.get(nullKeyPosition - 1);
+        }
+        return get(key.longValue());
+    }
+
+    V get(long key) {
+        for (int bucket = bucket(key); ; bucket = (bucket + 1) & mask) {
+            int position = positions[bucket];
+            if (position == EMPTY) {
+                return null;
+            }
+            if (keys[bucket] == key) {
+                return values.get(position - 1);
+            }
+        }
+    }
+
+    /**
+     * Adds a value for a key that is not in the map yet.
+     */
+    void putAbsent(Long key, V value) {
+        if (key == null) {
+            values.add(value);
+            nullKeyPosition = values.size();
+            return;
+        }
+        putAbsent(key.longValue(), value);
+    }
+
+    void putAbsent(long key, V value) {
+        values.add(value);
+        insert(key, values.size());
+        if (values.size() * 2 > positions.length) {
+            rehash(positions.length << 1);
+        }
+    }
+
+    /**
+     * Values in the order their keys were first added.
+     */
+    List<V> values() {
+        return Collections.unmodifiableList(values);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    private void insert(long key, int position) {
+        int bucket = bucket(key);
+        while (positions[bucket] != EMPTY) {
+            bucket = (bucket + 1) & mask;
+        }
+        keys[bucket] = key;
+        positions[bucket] = position;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldPositions = positions;
+        allocate(capacity);
+        for (int bucket = 0; bucket < oldPositions.length; bucket++) {
+            if (oldPositions[bucket] != EMPTY) {
+                insert(oldKeys[bucket], oldPositions[bucket]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        positions = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int bucket(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,69 @@
+package com.restaurant.reportservice.domain.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Exact running sum of money amounts, kept as a {@code long} of cents while the amounts have
+ * at most two decimals and the total fits. Amounts with more decimals, and anything that
+ * would overflow, go to a {@link BigDecimal} remainder instead, so the sum never loses
+ * precision.
+ *
+ * {@link #toBigDecimal()} returns the same value and scale that adding the amounts as
+ * BigDecimals would: the scale is the largest scale among the amounts, 0 for an empty sum.
+ */
+final class MoneySum {
+
+    static final int CENTS_SCALE = 2;
+
+    private long cents;
+    private int scale;
+    private BigDecimal remainder;
+
+    /**
+     * Adds an amount given in cents, {@code amountScale} being the scale it had as a BigDecimal.
+     */
+    void addCents(long amountCents, int amountScale) {
+        long sum = cents + amountCents;
+        if (((cents ^ sum) & (amountCents ^ sum)) < 0) {
+            addExact(BigDecimal.valueOf(amountCents, CENTS_SCALE).setScale(amountScale, RoundingMode.UNNECESSARY));
+            return;
+        }
+        cents = sum;
+        if (amountScale > scale) {
+            scale = amountScale;
+        }
+    }
+
+    void addExact(BigDecimal amount) {
+        remainder = remainder == null ? amount : remainder.add(amount);
+    }
+
+    void add(BigDecimal amount) {
+        if (fitsInCents(amount)) {
+            addCents(amount.movePointRight(CENTS_SCALE).longValueExact(), amount.scale());
+        } else {
+            addExact(amount);
+        }
+    }
+
+    void add(MoneySum other) {
+        addCents(other.cents, other.scale);
+        if (other.remainder != null) {
+            addExact(other.remainder);
+        }
+    }
+
+    BigDecimal toBigDecimal() {
+        BigDecimal value = BigDecimal.valueOf(cents, CENTS_SCALE).setScale(scale, RoundingMode.UNNECESSARY);
+        return remainder == null ? value : value.add(remainder);
+    }
+
+    /**
+     * Whether the amount has at most two decimals and a cents value that fits in a long.
+     */
+    static boolean fitsInCents(BigDecimal amount) {
+        return amount.scale() >= 0 && amount.scale() <= CENTS_SCALE
+                && amount.precision() - amount.scale() <= 16;
+    }
+}
@@ -0,0 +1,171 @@
+package com.restaurant.reportservice.domain.service;
+
+import com.restaurant.reportservice.domain.model.OrderItemReport;
+import com.restaurant.reportservice.domain.model.OrderReport;
+import com.restaurant.reportservice.domain.model.ProductSummary;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Running totals of a report, fed one READY order or item at a time, or whole summaries.
+ * Holds one entry per distinct product, so its size does not depend on how many orders or
+ * items were added. The summary lists products by ascending product id, the order the SQL
+ * and rollup report sources return.
+ *
+ * Adding an item does not allocate: revenue is summed in cents ({@link MoneySum}), products
+ * are found in a {@link LongOpenHashMap}, and each product remembers the cents of the last
+ * price it saw, so a BigDecimal price is only converted when it changes. BigDecimals are
+ * built once per product when the summary is produced.
+ *
+ * Not thread-safe: parallel aggregation gives each worker its own accumulator and merges them.
+ */
+public class ReportAccumulator {
+
+    private final LongOpenHashMap<ProductAccumulator> products = new LongOpenHashMap<>();
+    private final MoneySum totalRevenue = new MoneySum();
+    private long readyOrders;
+
+    public void addReadyOrders(long count) {
+        this.readyOrders += count;
+    }
+
+    /**
+     * Counts the order and adds its items when it is READY; other orders are ignored.
+     */
+    public void addOrder(OrderReport order) {
+        if (order.getStatus() == OrderStatus.READY) {
+            readyOrders++;
+            List<OrderItemReport> items = order.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                addItem(items.get(i));
+            }
+        }
+    }
+
+    public void addItem(OrderItemReport item) {
+        ProductAccumulator product = productFor(item.getProductId(), item.getProductName());
+        int quantity = item.getQuantity();
+        product.quantitySold = Math.addExact(product.quantitySold, quantity);
+
+        BigDecimal price = item.getPrice();
+        if (price == null) {
+            return; // adds 0 with scale 0, which leaves both sums unchanged
+        }
+        if (product.convertPrice(price)) {
+            long lineCents = product.lastPriceCents * quantity;
+            if (Math.multiplyHigh(product.lastPriceCents, quantity) == (lineCents >> 63)) {
+                product.revenue.addCents(lineCents, price.scale());
+                totalRevenue.addCents(lineCents, price.scale());
+                return;
+            }
+        }
+        BigDecimal lineTotal = price.multiply(BigDecimal.valueOf(quantity));
+        product.revenue.addExact(lineTotal);
+        totalRevenue.addExact(lineTotal);
+    }
+
+    /**
+     * Adds a summary computed elsewhere, e.g. the summary of a single day.
+     */
+    public void addSummary(ReportSummary summary) {
+        readyOrders += summary.getTotalReadyOrders();
+        totalRevenue.add(summary.getTotalRevenue());
+        for (ProductSummary productSummary : summary.getProductBreakdown()) {
+            ProductAccumulator product = productFor(productSummary.getProductId(), productSummary.getProductName());
+            product.quantitySold = Math.addExact(product.quantitySold, productSummary.getQuantitySold());
+            product.revenue.add(productSummary.getTotalAccumulated());
+        }
+    }
+
+    /**
+     * Adds the totals of an accumulator that saw the input following this one's. Merging is
+     * associative, so any split of the input merged back gives the same summary as one
+     * sequential pass.
+     * {@code other} must not be used afterwards.
+     */
+    public ReportAccumulator merge(ReportAccumulator other) {
+        readyOrders += other.readyOrders;
+        totalRevenue.add(other.totalRevenue);
+        for (ProductAccumulator theirs : other.products.values()) {
+            ProductAccumulator ours = products.get(theirs.productId);
+            if (ours == null) {
+                products.putAbsent(theirs.productId, theirs);
+            } else {
+                ours.merge(theirs);
+            }
+        }
+        return this;
+    }
+
+    public ReportSummary toSummary() {
+        List<ProductSummary> productBreakdown = new ArrayList<>(products.size());
+        for (ProductAccumulator product : products.values()) {
+            productBreakdown.add(product.toSummary());
+        }
+        productBreakdown.sort(Comparator.comparing(ProductSummary::getProductId));
+
+        return ReportSummary.builder()
+                .totalReadyOrders(Math.toIntExact(readyOrders))
+                .totalRevenue(totalRevenue.toBigDecimal())
+                .productBreakdown(productBreakdown)
+                .build();
+    }
+
+    private ProductAccumulator productFor(Long productId, String productName) {
+        ProductAccumulator product = products.get(productId);
+        if (product == null) {
+            product = new ProductAccumulator(productId, productName);
+            products.putAbsent(productId, product);
+        }
+        return product;
+    }
+
+    private static class ProductAccumulator {
+        private final Long productId;
+        private final String productName;
+        private final MoneySum revenue = new MoneySum();
+        private long quantitySold;
+        private BigDecimal lastPrice;
+        private long lastPriceCents;
+
+        ProductAccumulator(Long productId, String productName) {
+            this.productId = productId;
+            this.productName = productName;
+        }
+
+        /**
+         * Leaves the price in cents in {@code lastPriceCents}, converting it only when it differs
+         * from the previous one. Returns false when the price has no exact value in cents.
+         */
+        boolean convertPrice(BigDecimal price) {
+            if (price.equals(lastPrice)) {
+                return true;
+            }
+            if (!MoneySum.fitsInCents(price)) {
+                return false;
+            }
+            lastPriceCents = price.movePointRight(MoneySum.CENTS_SCALE).longValueExact();
+            lastPrice = price;
+            return true;
+        }
+
+        void merge(ProductAccumulator other) {
+            quantitySold = Math.addExact(quantitySold, other.quantitySold);
+            revenue.add(other.revenue);
+        }
+
+        ProductSummary toSummary() {
+            return ProductSummary.builder()
+                    .productId(productId)
+                    .productName(productName)
+                    .quantitySold(Math.toIntExact(quantitySold))
+                    .totalAccumulated(revenue.toBigDecimal())
+                    .build();
+        }
+    }
+}
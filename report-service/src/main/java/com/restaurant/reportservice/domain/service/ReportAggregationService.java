@@ -4,81 +4,97 @@ import com.restaurant.reportservice.domain.model.OrderItemReport;
 import com.restaurant.reportservice.domain.model.OrderReport;
 import com.restaurant.reportservice.domain.model.ProductSummary;
 import com.restaurant.reportservice.domain.model.ReportSummary;
-import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.enums.ProductRanking;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.math.BigDecimal;
-import java.util.*;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
 
 /**
  * Domain service for aggregating order data into report summaries.
  * Pure business logic: filters READY orders, sums revenue, and groups by product.
+ *
+ * Lists of at least {@code report.aggregation.parallel-threshold} orders are reduced in
+ * parallel on the common fork-join pool. Each worker fills its own {@link ReportAccumulator}
+ * and the partial results are merged in list order, so the summary, product order included,
+ * is identical to the sequential one.
+ *
+ * Top-N selection keeps a min-heap of at most N products, so ranking a breakdown of P
+ * products costs O(P log N) and never sorts or copies the whole breakdown.
  */
 @Component
 public class ReportAggregationService {
 
-    public ReportSummary aggregate(List<OrderReport> orders) {
-        List<OrderReport> readyOrders = orders.stream()
-                .filter(order -> order.getStatus() == OrderStatus.READY)
-                .collect(Collectors.toList());
-
-        int totalReadyOrders = readyOrders.size();
+    static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
 
-        BigDecimal totalRevenue = readyOrders.stream()
-                .flatMap(order -> order.getItems().stream())
-                .map(item -> {
-                    BigDecimal price = item.getPrice() != null ? item.getPrice() : BigDecimal.ZERO;
-                    return price.multiply(BigDecimal.valueOf(item.getQuantity()));
-                })
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    private final int parallelThreshold;
 
-        Map<Long, ProductAccumulator> productMap = new LinkedHashMap<>();
-        readyOrders.stream()
-                .flatMap(order -> order.getItems().stream())
-                .forEach(item -> productMap
-                        .computeIfAbsent(item.getProductId(),
-                                id -> new ProductAccumulator(id, item.getProductName()))
-                        .accumulate(item));
+    public ReportAggregationService() {
+        this(DEFAULT_PARALLEL_THRESHOLD);
+    }
 
-        List<ProductSummary> productBreakdown = productMap.values().stream()
-                .map(ProductAccumulator::toSummary)
-                .collect(Collectors.toList());
+    @Autowired
+    public ReportAggregationService(@Value("${report.aggregation.parallel-threshold}") int parallelThreshold) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("report.aggregation.parallel-threshold must be positive");
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
 
-        return ReportSummary.builder()
-                .totalReadyOrders(totalReadyOrders)
-                .totalRevenue(totalRevenue)
-                .productBreakdown(productBreakdown)
-                .build();
+    public ReportSummary aggregate(List<OrderReport> orders) {
+        Stream<OrderReport> stream = orders.size() >= parallelThreshold ? orders.parallelStream() : orders.stream();
+        return stream
+                .collect(ReportAccumulator::new, ReportAccumulator::addOrder, ReportAccumulator::merge)
+                .toSummary();
     }
 
-    private static class ProductAccumulator {
-        private final Long productId;
-        private final String productName;
-        private int quantitySold;
-        private BigDecimal totalAccumulated;
+    /**
+     * Aggregates the items of READY orders as they are read, without collecting them.
+     * The caller has already filtered by status and counted the orders.
+     */
+    public ReportSummary aggregate(long readyOrders, Stream<OrderItemReport> readyItems) {
+        ReportAccumulator accumulator = new ReportAccumulator();
+        accumulator.addReadyOrders(readyOrders);
+        readyItems.forEach(accumulator::addItem);
+        return accumulator.toSummary();
+    }
 
-        ProductAccumulator(Long productId, String productName) {
-            this.productId = productId;
-            this.productName = productName;
-            this.quantitySold = 0;
-            this.totalAccumulated = BigDecimal.ZERO;
+    /**
+     * The {@code n} best products by {@code ranking}, best first. Ties are broken by ascending
+     * product id, the same order the database uses for {@code ORDER BY ... LIMIT}.
+     */
+    public List<ProductSummary> topProducts(Collection<ProductSummary> products, int n, ProductRanking ranking) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive");
         }
-
-        void accumulate(OrderItemReport item) {
-            this.quantitySold += item.getQuantity();
-            BigDecimal price = item.getPrice() != null ? item.getPrice() : BigDecimal.ZERO;
-            this.totalAccumulated = this.totalAccumulated
-                    .add(price.multiply(BigDecimal.valueOf(item.getQuantity())));
+        Comparator<ProductSummary> bestFirst = rankingOrder(ranking);
+        PriorityQueue<ProductSummary> worstFirst = new PriorityQueue<>(Math.min(n, products.size()) + 1,
+                bestFirst.reversed());
+        for (ProductSummary product : products) {
+            if (worstFirst.size() < n) {
+                worstFirst.offer(product);
+            } else if (bestFirst.compare(product, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.offer(product);
+            }
         }
+        List<ProductSummary> top = new ArrayList<>(worstFirst);
+        top.sort(bestFirst);
+        return top;
+    }
 
-        ProductSummary toSummary() {
-            return ProductSummary.builder()
-                    .productId(productId)
-                    .productName(productName)
-                    .quantitySold(quantitySold)
-                    .totalAccumulated(totalAccumulated)
-                    .build();
-        }
+    static Comparator<ProductSummary> rankingOrder(ProductRanking ranking) {
+        Comparator<ProductSummary> byMetric = switch (ranking) {
+            case QUANTITY -> Comparator.comparing(ProductSummary::getQuantitySold);
+            case REVENUE -> Comparator.comparing(ProductSummary::getTotalAccumulated);
+        };
+        return byMetric.reversed()
+                .thenComparing(ProductSummary::getProductId, Comparator.nullsLast(Comparator.naturalOrder()));
     }
 }
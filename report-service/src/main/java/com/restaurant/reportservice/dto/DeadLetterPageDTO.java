@@ -0,0 +1,28 @@
+package com.restaurant.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of filtered Dead Letter Queue messages.
+ * Only the first {@code scanned} messages of the queue are considered; {@code queueDepth}
+ * tells whether the scan covered the whole queue.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterPageDTO {
+    private Long queueDepth;
+    private Integer scanned;
+    private Integer matched;
+    private Integer offset;
+    private Integer limit;
+    @Builder.Default
+    private List<DeadLetterMessageDTO> messages = new ArrayList<>();
+}
@@ -0,0 +1,26 @@
+package com.restaurant.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Estimated number of distinct tables served and distinct products sold by the READY orders
+ * placed in a range. {@code relativeStandardError} is the standard error of both estimates as
+ * a fraction of the true count, e.g. 0.016 at precision 12.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctCountResponseDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long tablesServed;
+    private Long productsSold;
+    private Integer precision;
+    private Double relativeStandardError;
+}
@@ -0,0 +1,27 @@
+package com.restaurant.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Placement-to-READY time percentiles, in milliseconds, of the orders placed in a range.
+ * Percentiles are null when no order of the range has been fulfilled.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FulfillmentResponseDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Long orders;
+    private Long p50Ms;
+    private Long p90Ms;
+    private Long p95Ms;
+    private Long p99Ms;
+    private Long maxMs;
+}
@@ -0,0 +1,24 @@
+package com.restaurant.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Partitions of report_orders and report_order_items read by a report over a range, out of
+ * all existing partitions.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionPruningDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer partitions;
+    private List<String> scannedPartitions;
+}
@@ -0,0 +1,30 @@
+package com.restaurant.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Progress of a projection rebuild from the order-service export.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectionRebuildJobDTO {
+    private UUID jobId;
+    private String status;
+    private String phase;
+    private long pages;
+    private long ordersRead;
+    private long ordersCopied;
+    private long itemsCopied;
+    private long caughtUp;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+}
@@ -0,0 +1,34 @@
+package com.restaurant.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Status of an asynchronous report job. {@code result} is set once the job is COMPLETED;
+ * {@code stored} tells whether it was read from a previous job's persisted result.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobDTO {
+    private UUID jobId;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int completedChunks;
+    private int totalChunks;
+    private double progress;
+    private boolean stored;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    private ReportResponseDTO result;
+}
@@ -15,6 +15,7 @@ import java.util.List;
 public class ReportResponseDTO {
     private Integer totalReadyOrders;
     private BigDecimal totalRevenue;
+    /** One entry per product sold, by ascending productId whatever the report source. */
     @Builder.Default
     private List<ProductBreakdownDTO> productBreakdown = new java.util.ArrayList<>();
 
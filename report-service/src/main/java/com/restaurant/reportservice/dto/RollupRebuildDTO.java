@@ -0,0 +1,22 @@
+package com.restaurant.reportservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Outcome of a daily sales rollup rebuild. Dates are null when there was nothing to rebuild.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRebuildDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Integer days;
+    private Long productRows;
+}
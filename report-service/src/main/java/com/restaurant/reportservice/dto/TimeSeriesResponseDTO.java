@@ -0,0 +1,43 @@
+package com.restaurant.reportservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.restaurant.reportservice.enums.TimeBucket;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sales of READY orders per time bucket. Without a product breakdown every bucket of the
+ * range is present, empty ones with zeros; with it only product/bucket pairs that sold.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeSeriesResponseDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private TimeBucket bucket;
+    @Builder.Default
+    private List<PointDTO> points = new java.util.ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PointDTO {
+        private LocalDateTime bucketStart;
+        private Long productId;
+        private String productName;
+        private Long orders;
+        private Long items;
+        private BigDecimal revenue;
+    }
+}
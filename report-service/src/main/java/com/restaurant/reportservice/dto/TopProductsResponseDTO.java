@@ -0,0 +1,23 @@
+package com.restaurant.reportservice.dto;
+
+import com.restaurant.reportservice.enums.ProductRanking;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopProductsResponseDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private ProductRanking by;
+    private Integer n;
+    @Builder.Default
+    private List<ReportResponseDTO.ProductBreakdownDTO> products = new java.util.ArrayList<>();
+}
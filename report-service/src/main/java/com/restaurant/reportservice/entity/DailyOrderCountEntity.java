@@ -0,0 +1,35 @@
+package com.restaurant.reportservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Number of READY orders created on one day. Kept apart from the product rollup because an
+ * order with several products would otherwise be counted once per product.
+ */
+@Entity
+@Table(name = "report_daily_orders")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyOrderCountEntity {
+    @Id
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "ready_orders", nullable = false)
+    private Integer readyOrders;
+
+    @Override
+    public String toString() {
+        return "DailyOrderCountEntity{day=" + day + ", readyOrders=" + readyOrders + "}";
+    }
+}
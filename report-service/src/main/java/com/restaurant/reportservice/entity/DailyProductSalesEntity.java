@@ -0,0 +1,62 @@
+package com.restaurant.reportservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One row of the daily product-sales rollup: everything sold of one product in READY orders
+ * created on one day. Maintained by DailySalesRollupJdbcRepository, read by the report.
+ */
+@Entity
+@Table(name = "report_daily_product_sales")
+@IdClass(DailyProductSalesEntity.Key.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyProductSalesEntity {
+    @Id
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Id
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "product_name", nullable = true)
+    private String productName;
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    @Column(name = "orders", nullable = false)
+    private Integer orders;
+
+    @Override
+    public String toString() {
+        return "DailyProductSalesEntity{day=" + day + ", productId=" + productId + ", quantity=" + quantity + "}";
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private Long productId;
+    }
+}
@@ -0,0 +1,38 @@
+package com.restaurant.reportservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * HyperLogLog sketches of the tables served and the products sold on one day, encoded by
+ * {@code HyperLogLog.toBytes()}. Written and read through DailySketchJdbcRepository.
+ */
+@Entity
+@Table(name = "report_daily_sketches")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySketchEntity {
+    @Id
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "tables", nullable = false, length = 65_600)
+    private byte[] tables;
+
+    @Column(name = "products", nullable = false, length = 65_600)
+    private byte[] products;
+
+    @Override
+    public String toString() {
+        return "DailySketchEntity{day=" + day + "}";
+    }
+}
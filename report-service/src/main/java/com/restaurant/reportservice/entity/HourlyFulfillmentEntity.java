@@ -0,0 +1,38 @@
+package com.restaurant.reportservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fulfillment times of the orders placed in one hour, as a compressed HdrHistogram.
+ * Written and read through FulfillmentHistogramJdbcRepository.
+ */
+@Entity
+@Table(name = "report_hourly_fulfillment")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HourlyFulfillmentEntity {
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "orders", nullable = false)
+    private Long orders;
+
+    @Column(name = "histogram", nullable = false, length = 1_048_576)
+    private byte[] histogram;
+
+    @Override
+    public String toString() {
+        return "HourlyFulfillmentEntity{bucketStart=" + bucketStart + ", orders=" + orders + "}";
+    }
+}
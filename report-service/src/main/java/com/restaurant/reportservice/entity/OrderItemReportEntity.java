@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
@@ -38,6 +39,19 @@ public class OrderItemReportEntity {
     @JoinColumn(name = "order_id", nullable = false)
     private OrderReportEntity order;
 
+    /**
+     * Creation time of the order, the partition key of report_order_items.
+     */
+    @Column(name = "order_created_at", nullable = false, updatable = false)
+    private LocalDateTime orderCreatedAt;
+
+    @PrePersist
+    void copyOrderCreatedAt() {
+        if (orderCreatedAt == null && order != null) {
+            orderCreatedAt = order.getCreatedAt();
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
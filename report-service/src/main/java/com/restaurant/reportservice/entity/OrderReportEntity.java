@@ -7,6 +7,9 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,12 +19,23 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "report_orders")
+@FilterDef(name = OrderReportEntity.ITEMS_CREATED_BETWEEN, parameters = {
+        @ParamDef(name = "startDate", type = LocalDateTime.class),
+        @ParamDef(name = "endDate", type = LocalDateTime.class)
+})
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderReportEntity {
+
+    /**
+     * Restricts loaded items to the given creation range. Every item of an order in the range
+     * passes it; it only lets PostgreSQL prune the report_order_items partitions of a fetch join.
+     */
+    public static final String ITEMS_CREATED_BETWEEN = "itemsCreatedBetween";
+
     @Id
     private UUID id;
 
@@ -38,7 +52,15 @@ public class OrderReportEntity {
     @Column(name = "received_at", nullable = false)
     private LocalDateTime receivedAt;
 
+    /**
+     * When the projection moved the order to READY; null while PENDING and for orders that
+     * were already READY before the column existed.
+     */
+    @Column(name = "ready_at")
+    private LocalDateTime readyAt;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Filter(name = ITEMS_CREATED_BETWEEN, condition = "order_created_at BETWEEN :startDate AND :endDate")
     @Builder.Default
     private List<OrderItemReportEntity> items = new ArrayList<>();
 
@@ -0,0 +1,57 @@
+package com.restaurant.reportservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Report of a closed date range computed by a report job, as the JSON of ReportResponseDTO.
+ * {@code computedAt} and {@code result} are null while the job that claimed the range runs.
+ */
+@Entity
+@Table(name = "report_job_results")
+@IdClass(ReportJobResultEntity.Key.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportJobResultEntity {
+    @Id
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Id
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @Column(name = "computed_at")
+    private LocalDateTime computedAt;
+
+    @Column(name = "result", length = 16_777_216)
+    private byte[] result;
+
+    @Override
+    public String toString() {
+        return "ReportJobResultEntity{startDate=" + startDate + ", endDate=" + endDate
+                + ", computedAt=" + computedAt + "}";
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private LocalDate startDate;
+        private LocalDate endDate;
+    }
+}
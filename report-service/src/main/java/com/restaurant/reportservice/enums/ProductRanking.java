@@ -0,0 +1,9 @@
+package com.restaurant.reportservice.enums;
+
+/**
+ * What top-product reports rank products by.
+ */
+public enum ProductRanking {
+    QUANTITY,
+    REVENUE
+}
@@ -0,0 +1,15 @@
+package com.restaurant.reportservice.enums;
+
+/**
+ * Where ReportService reads report data from, selected with {@code report.source}.
+ */
+public enum ReportSource {
+    /** Daily product-sales rollup: cost grows with days x products. */
+    ROLLUP,
+    /** READY orders and their items, aggregated in memory. */
+    ORDERS,
+    /** READY order items streamed from a cursor into running per-product totals. */
+    STREAM,
+    /** READY order items grouped by product in the database. */
+    SQL
+}
@@ -0,0 +1,9 @@
+package com.restaurant.reportservice.enums;
+
+/**
+ * Width of the buckets of a sales time series.
+ */
+public enum TimeBucket {
+    HOUR,
+    DAY
+}
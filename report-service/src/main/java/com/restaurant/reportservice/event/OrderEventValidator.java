@@ -0,0 +1,54 @@
+package com.restaurant.reportservice.event;
+
+import com.restaurant.reportservice.exception.InvalidEventContractException;
+import com.restaurant.reportservice.exception.UnsupportedEventVersionException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checks the order.placed and order.ready contracts the report projection relies on.
+ * Used by the DLQ dry-run to tell which dead-lettered events could be replayed safely.
+ */
+@Component
+public class OrderEventValidator {
+
+    private static final int SUPPORTED_VERSION = 1;
+
+    public void validate(OrderPlacedEvent event) {
+        if (event == null) {
+            throw new InvalidEventContractException("Event payload is null");
+        }
+        validateVersion(event.getEventVersion());
+        if (event.getEventType() != null && !"order.placed".equals(event.getEventType())) {
+            throw new InvalidEventContractException("Unexpected eventType: " + event.getEventType());
+        }
+        if (event.getPayload() == null || event.getPayload().getOrderId() == null) {
+            throw new InvalidEventContractException("orderId is required");
+        }
+        Integer tableId = event.getPayload().getTableId();
+        if (tableId == null || tableId <= 0) {
+            throw new InvalidEventContractException("tableId must be a positive integer");
+        }
+    }
+
+    public void validate(OrderReadyEvent event) {
+        if (event == null) {
+            throw new InvalidEventContractException("Event payload is null");
+        }
+        validateVersion(event.getEventVersion());
+        if (event.getEventType() != null && !"order.ready".equals(event.getEventType())) {
+            throw new InvalidEventContractException("Unexpected eventType: " + event.getEventType());
+        }
+        if (event.getPayload() == null || event.getPayload().getOrderId() == null) {
+            throw new InvalidEventContractException("orderId is required");
+        }
+    }
+
+    private void validateVersion(Integer version) {
+        if (version == null) {
+            throw new InvalidEventContractException("Event version is missing");
+        }
+        if (version != SUPPORTED_VERSION) {
+            throw new UnsupportedEventVersionException(version);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.restaurant.reportservice.exception;
+
+public class ReportJobQueueFullException extends RuntimeException {
+    public ReportJobQueueFullException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
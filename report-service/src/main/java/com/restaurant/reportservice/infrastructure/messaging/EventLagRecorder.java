@@ -0,0 +1,82 @@
+package com.restaurant.reportservice.infrastructure.messaging;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+/**
+ * Records how long an event took to be applied, as the {@value #LAG_TIMER} timer tagged with
+ * the event type and the starting point:
+ * - since=occurred: from the event's occurredAt, stamped by the producer when the order changed
+ * - since=enqueued: from the moment the message reached the broker
+ *
+ * occurredAt carries no zone: producers stamp it in UTC and it is read as UTC here, whatever
+ * the default zone of this service or of its clock.
+ *
+ * The enqueue time is the {@value #BROKER_TIMESTAMP_HEADER} header added by the broker's
+ * message timestamp plugin when it is enabled, otherwise the AMQP timestamp property the
+ * publisher sets just before sending.
+ *
+ * The timer publishes a percentile histogram for Prometheus and a decaying p50/p95/p99, so the
+ * current p99 can be alerted on directly.
+ */
+@Component
+public class EventLagRecorder {
+
+    public static final String LAG_TIMER = "events.lag";
+    public static final String BROKER_TIMESTAMP_HEADER = "timestamp_in_ms";
+
+    private static final Duration MAX_EXPECTED_LAG = Duration.ofHours(1);
+
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    public EventLagRecorder(MeterRegistry meterRegistry, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    /**
+     * Records the lag of one applied event. Missing timestamps are skipped, and a timestamp
+     * ahead of the local clock counts as no lag.
+     */
+    public void record(String eventType, LocalDateTime occurredAt, MessageProperties properties) {
+        long now = clock.millis();
+        if (occurredAt != null) {
+            long occurredAtMs = occurredAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+            timer(eventType, "occurred").record(Duration.ofMillis(Math.max(0, now - occurredAtMs)));
+        }
+        Long enqueuedAtMs = enqueuedAt(properties);
+        if (enqueuedAtMs != null) {
+            timer(eventType, "enqueued").record(Duration.ofMillis(Math.max(0, now - enqueuedAtMs)));
+        }
+    }
+
+    private Timer timer(String eventType, String since) {
+        return Timer.builder(LAG_TIMER)
+                .tags("event.type", eventType, "since", since)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_LAG)
+                .register(meterRegistry);
+    }
+
+    private static Long enqueuedAt(MessageProperties properties) {
+        if (properties == null) {
+            return null;
+        }
+        Object header = properties.getHeaders().get(BROKER_TIMESTAMP_HEADER);
+        if (header instanceof Number number) {
+            return number.longValue();
+        }
+        Date timestamp = properties.getTimestamp();
+        return timestamp != null ? timestamp.getTime() : null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.restaurant.reportservice.infrastructure.metrics;
+
+/**
+ * Tag keys and values shared by every meter of the service, in Spring Boot's own vocabulary
+ * (see http.server.requests): {@value #OUTCOME} in upper case, and {@value #EXCEPTION} with
+ * the simple class name of the failure, or {@value #NONE}.
+ */
+public final class MetricTags {
+
+    public static final String OUTCOME = "outcome";
+    public static final String EXCEPTION = "exception";
+
+    public static final String SUCCESS = "SUCCESS";
+    public static final String ERROR = "ERROR";
+    public static final String REJECTED = "REJECTED";
+    public static final String NONE = "none";
+
+    private MetricTags() {
+    }
+
+    public static String exception(Throwable ex) {
+        return ex == null ? NONE : ex.getClass().getSimpleName();
+    }
+}
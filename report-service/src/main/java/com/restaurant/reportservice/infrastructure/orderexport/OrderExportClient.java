@@ -0,0 +1,96 @@
+package com.restaurant.reportservice.infrastructure.orderexport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads pages of the order-service bulk export, authenticated with the kitchen token.
+ *
+ * A page is parsed line by line as it is received, so memory does not depend on the page size.
+ */
+@Component
+public class OrderExportClient {
+
+    private static final String EXPORT_PATH = "/orders/export";
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String tokenHeader;
+    private final String token;
+    private final Duration requestTimeout;
+
+    public OrderExportClient(ObjectMapper objectMapper,
+                             @Value("${report.rebuild.order-service-url}") String baseUrl,
+                             @Value("${report.rebuild.token-header}") String tokenHeader,
+                             @Value("${report.rebuild.token}") String token,
+                             @Value("${report.rebuild.request-timeout-ms}") long requestTimeoutMs) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.tokenHeader = tokenHeader;
+        this.token = token;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    /**
+     * Hands each order of the page after the cursor to the consumer, in (createdAt, id) order.
+     * Without a cursor the first page is read.
+     *
+     * @return number of orders read; fewer than {@code limit} means it was the last page
+     * @throws IllegalStateException when order-service does not answer the page
+     */
+    public int readPage(LocalDateTime afterCreatedAt, UUID afterId, int limit, Consumer<ExportedOrder> consumer) {
+        StringBuilder uri = new StringBuilder(baseUrl).append(EXPORT_PATH).append("?limit=").append(limit);
+        if (afterCreatedAt != null) {
+            uri.append("&afterCreatedAt=").append(URLEncoder.encode(afterCreatedAt.toString(), StandardCharsets.UTF_8))
+                    .append("&afterId=").append(afterId);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(uri.toString()))
+                .timeout(requestTimeout)
+                .header(tokenHeader, token)
+                .GET()
+                .build();
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("order-service answered " + response.statusCode()
+                            + " to the export page after " + afterId);
+                }
+                int read = 0;
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isBlank()) {
+                        consumer.accept(objectMapper.readValue(line, ExportedOrder.class));
+                        read++;
+                    }
+                }
+                return read;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the order export after " + afterId, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the order export", e);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.restaurant.reportservice.infrastructure.snapshot;
+
+import com.restaurant.reportservice.domain.service.ItemFactColumns;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Binary snapshot of the columnar store on local disk, written and read through a
+ * memory-mapped {@link FileChannel}, so the columns are copied in bulk between the arrays and
+ * the page cache.
+ *
+ * The file holds a header (magic, format version, payload length and CRC-32) and a payload:
+ * the watermark, the first covered day, the retention and memory limit the store ran with,
+ * the ids of the orders added after the watermark, then the columns. A snapshot is written to
+ * a temporary file in the same directory and renamed over the previous one, so a crash while
+ * writing leaves the previous snapshot intact. A file with another version, a wrong length or
+ * a checksum mismatch is ignored.
+ */
+@Component
+@Slf4j
+public class ColumnarSnapshotFile {
+
+    static final int MAGIC = 0x52434F4C; // "RCOL"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES * 2;
+
+    private final Path path;
+
+    public ColumnarSnapshotFile(@Value("${report.columnar.snapshot.path}") Path path) {
+        this.path = path;
+    }
+
+    public void write(Snapshot snapshot) throws IOException {
+        long payloadBytes = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES
+                + Integer.BYTES + (long) snapshot.getRecentOrderIds().size() * Long.BYTES * 2
+                + snapshot.getColumns().serializedBytes();
+        if (HEADER_BYTES + payloadBytes > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot of " + payloadBytes + " bytes is too large to map");
+        }
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES + payloadBytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.position(HEADER_BYTES);
+            writePayload(buffer, snapshot);
+
+            ByteBuffer payload = buffer.duplicate().position(HEADER_BYTES);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            buffer.putInt(0, MAGIC).putInt(Integer.BYTES, VERSION)
+                    .putLong(Integer.BYTES * 2, payloadBytes).putLong(Integer.BYTES * 2 + Long.BYTES, crc.getValue());
+            buffer.force();
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * The stored snapshot, empty when there is none or it cannot be used.
+     */
+    public Optional<Snapshot> read(long maxBytes) {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring columnar snapshot {} of {} bytes", path, size);
+                return Optional.empty();
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != size - HEADER_BYTES) {
+                log.warn("Ignoring columnar snapshot {} with an unknown format", path);
+                return Optional.empty();
+            }
+            long expectedCrc = buffer.getLong();
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != expectedCrc) {
+                log.warn("Ignoring columnar snapshot {} with a checksum mismatch", path);
+                return Optional.empty();
+            }
+            return Optional.of(readPayload(buffer, maxBytes));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not read columnar snapshot {}: {}", path, ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Removes the stored snapshot, if any, so the next load reads the database.
+     */
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete columnar snapshot {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private static void writePayload(ByteBuffer buffer, Snapshot snapshot) {
+        LocalDateTime watermark = snapshot.getWatermark();
+        buffer.putLong(watermark.toEpochSecond(ZoneOffset.UTC)).putInt(watermark.getNano());
+        buffer.putLong(snapshot.getFirstCoveredDay().toEpochDay());
+        buffer.putInt(snapshot.getRetentionDays());
+        buffer.putLong(snapshot.getMaxBytes());
+        buffer.putInt(snapshot.getRecentOrderIds().size());
+        for (UUID id : snapshot.getRecentOrderIds()) {
+            buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+        }
+        snapshot.getColumns().writeTo(buffer);
+    }
+
+    private static Snapshot readPayload(ByteBuffer buffer, long maxBytes) {
+        LocalDateTime watermark = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        LocalDate firstCoveredDay = LocalDate.ofEpochDay(buffer.getLong());
+        int retentionDays = buffer.getInt();
+        long storedMaxBytes = buffer.getLong();
+        int recent = buffer.getInt();
+        List<UUID> recentOrderIds = new ArrayList<>(recent);
+        for (int i = 0; i < recent; i++) {
+            recentOrderIds.add(new UUID(buffer.getLong(), buffer.getLong()));
+        }
+        ItemFactColumns columns = ItemFactColumns.readFrom(buffer, maxBytes);
+        return new Snapshot(watermark, firstCoveredDay, retentionDays, storedMaxBytes, recentOrderIds, columns);
+    }
+
+    /**
+     * Columns as of {@code watermark}: every order that became READY before it is included,
+     * as are the orders of {@code recentOrderIds}, which became READY after it.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Snapshot {
+        private LocalDateTime watermark;
+        private LocalDate firstCoveredDay;
+        private int retentionDays;
+        private long maxBytes;
+        private List<UUID> recentOrderIds;
+        private ItemFactColumns columns;
+    }
+}
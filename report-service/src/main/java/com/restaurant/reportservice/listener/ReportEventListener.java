@@ -1,56 +1,155 @@
 package com.restaurant.reportservice.listener;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.restaurant.reportservice.application.command.OrderPlacedCommand;
 import com.restaurant.reportservice.application.command.OrderReadyCommand;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.event.OrderEventValidator;
 import com.restaurant.reportservice.event.OrderPlacedEvent;
 import com.restaurant.reportservice.event.OrderReadyEvent;
 import com.restaurant.reportservice.exception.InvalidEventContractException;
 import com.restaurant.reportservice.exception.UnsupportedEventVersionException;
+import com.restaurant.reportservice.infrastructure.messaging.EventLagRecorder;
+import com.restaurant.reportservice.infrastructure.messaging.TieredRetryMessageRecoverer;
+import com.restaurant.reportservice.infrastructure.metrics.MetricTags;
 import com.restaurant.reportservice.service.OrderEventProcessingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * AMQP event listener for order events.
- * Maps events to commands and delegates to processing service.
- * Catches domain exceptions and rejects messages to DLQ without requeue.
+ * AMQP batch listener for order events.
+ * Decodes and validates each message of a delivery batch, maps the valid events to commands
+ * and hands them to the processing service as one batch.
+ *
+ * Messages that cannot be decoded or break the event contract are rejected to the DLQ one by
+ * one without holding back the rest of the batch. If the batch write fails, the events are
+ * retried one at a time so only the failing ones go to the retry tiers.
+ *
+ * Each delivery batch is timed as {@value #PROCESSING_TIMER} with its outcome, and every
+ * message is counted in {@value #CONSUMED_COUNTER} as SUCCESS, REJECTED or ERROR (see
+ * {@link MetricTags}). Once an event has been written, its lag since occurredAt and since it
+ * was enqueued goes to {@link EventLagRecorder}.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ReportEventListener {
 
+    static final String PROCESSING_TIMER = "events.processing";
+    static final String CONSUMED_COUNTER = "events.consumed";
+
     private final OrderEventProcessingService orderEventProcessingService;
+    private final OrderEventValidator eventValidator;
+    private final ObjectMapper objectMapper;
+    private final TieredRetryMessageRecoverer messageRecoverer;
+    private final MeterRegistry meterRegistry;
+    private final EventLagRecorder lagRecorder;
 
     @RabbitListener(queues = "${rabbitmq.queue.name}")
-    public void handleOrderPlacedEvent(OrderPlacedEvent event) {
+    public void handleOrderPlacedEvents(List<Message> messages) {
+        handleBatch("order.placed", messages, OrderPlacedEvent.class, eventValidator::validate,
+                OrderPlacedEvent::getOccurredAt, this::mapToPlacedCommand,
+                orderEventProcessingService::processOrderPlacedBatch,
+                orderEventProcessingService::processOrderPlaced);
+    }
+
+    @RabbitListener(queues = "${rabbitmq.queue.order-ready.name}")
+    public void handleOrderReadyEvents(List<Message> messages) {
+        handleBatch("order.ready", messages, OrderReadyEvent.class, eventValidator::validate,
+                OrderReadyEvent::getOccurredAt, this::mapToReadyCommand,
+                orderEventProcessingService::processOrderReadyBatch,
+                orderEventProcessingService::processOrderReady);
+    }
+
+    private <E, C> void handleBatch(String eventType, List<Message> messages, Class<E> eventClass,
+                                    Consumer<E> validator, Function<E, LocalDateTime> occurredAt,
+                                    Function<E, C> mapper,
+                                    Consumer<List<C>> batchProcessor, Consumer<C> singleProcessor) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        RuntimeException failure = null;
         try {
-            OrderPlacedCommand command = mapToPlacedCommand(event);
-            orderEventProcessingService.processOrderPlaced(command);
-        } catch (UnsupportedEventVersionException | InvalidEventContractException e) {
-            log.error("Rejecting order.placed event: {}", e.getMessage());
-            throw new AmqpRejectAndDontRequeueException(e.getMessage(), e);
+            processBatch(eventType, messages, eventClass, validator, occurredAt, mapper,
+                    batchProcessor, singleProcessor);
+        } catch (RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            sample.stop(meterRegistry.timer(PROCESSING_TIMER, "event.type", eventType,
+                    MetricTags.OUTCOME, failure == null ? MetricTags.SUCCESS : MetricTags.ERROR,
+                    MetricTags.EXCEPTION, MetricTags.exception(failure)));
         }
     }
 
-    @RabbitListener(queues = "${rabbitmq.queue.order-ready.name}")
-    public void handleOrderReadyEvent(OrderReadyEvent event) {
+    private <E, C> void processBatch(String eventType, List<Message> messages, Class<E> eventClass,
+                                     Consumer<E> validator, Function<E, LocalDateTime> occurredAt,
+                                     Function<E, C> mapper,
+                                     Consumer<List<C>> batchProcessor, Consumer<C> singleProcessor) {
+        List<Message> accepted = new ArrayList<>(messages.size());
+        List<LocalDateTime> occurred = new ArrayList<>(messages.size());
+        List<C> commands = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                E event = objectMapper.readValue(message.getBody(), eventClass);
+                validator.accept(event);
+                commands.add(mapper.apply(event));
+                accepted.add(message);
+                occurred.add(occurredAt.apply(event));
+            } catch (IOException e) {
+                log.error("Rejecting unreadable {} message: {}", eventType, e.getMessage());
+                consumed(eventType, MetricTags.REJECTED, 1);
+                messageRecoverer.recover(message, new MessageConversionException("Unreadable " + eventType + " event", e));
+            } catch (UnsupportedEventVersionException | InvalidEventContractException e) {
+                log.error("Rejecting {} event: {}", eventType, e.getMessage());
+                consumed(eventType, MetricTags.REJECTED, 1);
+                messageRecoverer.recover(message, new AmqpRejectAndDontRequeueException(e.getMessage(), e));
+            }
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
+
         try {
-            OrderReadyCommand command = mapToReadyCommand(event);
-            orderEventProcessingService.processOrderReady(command);
-        } catch (UnsupportedEventVersionException | InvalidEventContractException e) {
-            log.error("Rejecting order.ready event: {}", e.getMessage());
-            throw new AmqpRejectAndDontRequeueException(e.getMessage(), e);
+            batchProcessor.accept(commands);
+            consumed(eventType, MetricTags.SUCCESS, commands.size());
+            for (int i = 0; i < accepted.size(); i++) {
+                lagRecorder.record(eventType, occurred.get(i), accepted.get(i).getMessageProperties());
+            }
+        } catch (RuntimeException batchFailure) {
+            log.warn("Batch of {} {} events failed, processing them one by one: {}",
+                    commands.size(), eventType, batchFailure.getMessage());
+            for (int i = 0; i < commands.size(); i++) {
+                try {
+                    singleProcessor.accept(commands.get(i));
+                    consumed(eventType, MetricTags.SUCCESS, 1);
+                    lagRecorder.record(eventType, occurred.get(i), accepted.get(i).getMessageProperties());
+                } catch (RuntimeException e) {
+                    consumed(eventType, MetricTags.ERROR, 1);
+                    messageRecoverer.recover(accepted.get(i), e);
+                }
+            }
         }
     }
 
+    private void consumed(String eventType, String outcome, int count) {
+        meterRegistry.counter(CONSUMED_COUNTER, "event.type", eventType, MetricTags.OUTCOME, outcome).increment(count);
+    }
+
     private OrderPlacedCommand mapToPlacedCommand(OrderPlacedEvent event) {
         OrderPlacedEvent.Payload payload = event.getPayload();
 
@@ -0,0 +1,23 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.entity.DailyOrderCountEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyOrderCountRepository extends JpaRepository<DailyOrderCountEntity, LocalDate> {
+
+    @Query("SELECT COALESCE(SUM(c.readyOrders), 0) FROM DailyOrderCountEntity c "
+            + "WHERE c.day BETWEEN :startDay AND :endDay")
+    long sumReadyOrdersBetween(@Param("startDay") LocalDate startDay, @Param("endDay") LocalDate endDay);
+
+    /**
+     * The count of each day of a range that had READY orders.
+     */
+    List<DailyOrderCountEntity> findByDayBetween(LocalDate startDay, LocalDate endDay);
+}
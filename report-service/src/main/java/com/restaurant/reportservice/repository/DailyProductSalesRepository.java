@@ -0,0 +1,63 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.entity.DailyProductSalesEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSalesEntity, DailyProductSalesEntity.Key> {
+
+    @Query("SELECT s.productId AS productId, MAX(s.productName) AS productName, "
+            + "SUM(s.quantity) AS quantity, SUM(s.revenue) AS revenue "
+            + "FROM DailyProductSalesEntity s WHERE s.day BETWEEN :startDay AND :endDay "
+            + "GROUP BY s.productId ORDER BY s.productId")
+    List<ProductSalesTotal> sumByProductBetween(@Param("startDay") LocalDate startDay,
+                                                @Param("endDay") LocalDate endDay);
+
+    /**
+     * The per-product rows of each day of a range, by day and product.
+     */
+    List<DailyProductSalesEntity> findByDayBetweenOrderByDayAscProductIdAsc(LocalDate startDay, LocalDate endDay);
+
+    /**
+     * The best-selling products of a range by quantity, at most {@code page.getPageSize()} rows.
+     */
+    @Query("SELECT s.productId AS productId, MAX(s.productName) AS productName, "
+            + "SUM(s.quantity) AS quantity, SUM(s.revenue) AS revenue "
+            + "FROM DailyProductSalesEntity s WHERE s.day BETWEEN :startDay AND :endDay "
+            + "GROUP BY s.productId ORDER BY SUM(s.quantity) DESC, s.productId")
+    List<ProductSalesTotal> findTopByQuantityBetween(@Param("startDay") LocalDate startDay,
+                                                     @Param("endDay") LocalDate endDay,
+                                                     Pageable page);
+
+    /**
+     * The best-selling products of a range by revenue, at most {@code page.getPageSize()} rows.
+     */
+    @Query("SELECT s.productId AS productId, MAX(s.productName) AS productName, "
+            + "SUM(s.quantity) AS quantity, SUM(s.revenue) AS revenue "
+            + "FROM DailyProductSalesEntity s WHERE s.day BETWEEN :startDay AND :endDay "
+            + "GROUP BY s.productId ORDER BY SUM(s.revenue) DESC, s.productId")
+    List<ProductSalesTotal> findTopByRevenueBetween(@Param("startDay") LocalDate startDay,
+                                                    @Param("endDay") LocalDate endDay,
+                                                    Pageable page);
+
+    /**
+     * Sales of one product summed over a range of days.
+     */
+    interface ProductSalesTotal {
+        Long getProductId();
+
+        String getProductName();
+
+        Long getQuantity();
+
+        BigDecimal getRevenue();
+    }
+}
@@ -0,0 +1,123 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Writes of the daily sales rollup (report_daily_product_sales and report_daily_orders).
+ *
+ * {@link #applyReadyOrders} adds orders that just became READY to the rollup and must run in
+ * the same transaction as the status change, so an order is counted exactly once. Its upserts
+ * use PostgreSQL syntax and touch rows in key order, which keeps concurrent consumers from
+ * deadlocking on the rollup rows of busy days.
+ *
+ * {@link #rebuildDay} recomputes one day from report_orders with portable SQL. It locks the
+ * day's orders first, so no READY transition of that day can add to the rollup while the
+ * day is being replaced.
+ */
+@Repository
+public class DailySalesRollupJdbcRepository {
+
+    static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private static final String ADD_PRODUCT_SALES =
+            "INSERT INTO report_daily_product_sales (day, product_id, product_name, quantity, revenue, orders) "
+                    + "SELECT CAST(o.created_at AS DATE), i.product_id, MAX(i.product_name), SUM(i.quantity), "
+                    + "SUM(i.quantity * COALESCE(i.price, 0)), COUNT(DISTINCT o.id) "
+                    + "FROM report_orders o JOIN report_order_items i "
+                    + "ON i.order_id = o.id AND i.order_created_at = o.created_at "
+                    + "WHERE o.id IN (%s) "
+                    + "GROUP BY CAST(o.created_at AS DATE), i.product_id ORDER BY 1, 2 "
+                    + "ON CONFLICT (day, product_id) DO UPDATE SET "
+                    + "quantity = report_daily_product_sales.quantity + EXCLUDED.quantity, "
+                    + "revenue = report_daily_product_sales.revenue + EXCLUDED.revenue, "
+                    + "orders = report_daily_product_sales.orders + EXCLUDED.orders, "
+                    + "product_name = COALESCE(report_daily_product_sales.product_name, EXCLUDED.product_name)";
+    private static final String ADD_ORDER_COUNTS =
+            "INSERT INTO report_daily_orders (day, ready_orders) "
+                    + "SELECT CAST(created_at AS DATE), COUNT(*) FROM report_orders "
+                    + "WHERE id IN (%s) GROUP BY CAST(created_at AS DATE) ORDER BY 1 "
+                    + "ON CONFLICT (day) DO UPDATE SET "
+                    + "ready_orders = report_daily_orders.ready_orders + EXCLUDED.ready_orders";
+
+    private static final String LOCK_DAY_ORDERS =
+            "SELECT id FROM report_orders WHERE created_at >= ? AND created_at < ? FOR UPDATE";
+    private static final String DELETE_DAY_PRODUCT_SALES = "DELETE FROM report_daily_product_sales WHERE day = ?";
+    private static final String DELETE_DAY_ORDERS = "DELETE FROM report_daily_orders WHERE day = ?";
+    private static final String REBUILD_DAY_PRODUCT_SALES =
+            "INSERT INTO report_daily_product_sales (day, product_id, product_name, quantity, revenue, orders) "
+                    + "SELECT CAST(? AS DATE), i.product_id, MAX(i.product_name), SUM(i.quantity), "
+                    + "SUM(i.quantity * COALESCE(i.price, 0)), COUNT(DISTINCT o.id) "
+                    + "FROM report_orders o JOIN report_order_items i ON i.order_id = o.id "
+                    + "WHERE o.status = ? AND o.created_at >= ? AND o.created_at < ? "
+                    + "AND i.order_created_at >= ? AND i.order_created_at < ? "
+                    + "GROUP BY i.product_id";
+    private static final String REBUILD_DAY_ORDERS =
+            "INSERT INTO report_daily_orders (day, ready_orders) "
+                    + "SELECT CAST(? AS DATE), COUNT(*) FROM report_orders "
+                    + "WHERE status = ? AND created_at >= ? AND created_at < ? HAVING COUNT(*) > 0";
+    private static final String READY_DAY_RANGE =
+            "SELECT MIN(created_at), MAX(created_at) FROM report_orders WHERE status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailySalesRollupJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the given orders, which must have just moved to READY in the current transaction,
+     * to the rollup of the day they were created.
+     */
+    public void applyReadyOrders(List<UUID> orderIds) {
+        for (int from = 0; from < orderIds.size(); from += MAX_IDS_PER_STATEMENT) {
+            List<UUID> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + MAX_IDS_PER_STATEMENT));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = chunk.toArray();
+            jdbcTemplate.update(String.format(ADD_PRODUCT_SALES, placeholders), args);
+            jdbcTemplate.update(String.format(ADD_ORDER_COUNTS, placeholders), args);
+        }
+    }
+
+    /**
+     * Replaces the rollup rows of one day with values recomputed from report_orders.
+     *
+     * @return number of product rows written for the day
+     */
+    public int rebuildDay(LocalDate day) {
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        String ready = OrderStatus.READY.name();
+
+        jdbcTemplate.queryForList(LOCK_DAY_ORDERS, UUID.class, start, end);
+        jdbcTemplate.update(DELETE_DAY_PRODUCT_SALES, day);
+        jdbcTemplate.update(DELETE_DAY_ORDERS, day);
+        int products = jdbcTemplate.update(REBUILD_DAY_PRODUCT_SALES, day, ready, start, end, start, end);
+        jdbcTemplate.update(REBUILD_DAY_ORDERS, day, ready, start, end);
+        return products;
+    }
+
+    /**
+     * First and last creation day of READY orders, empty when there are none.
+     */
+    public Optional<DateRange> findReadyDayRange() {
+        DateRange range = jdbcTemplate.queryForObject(READY_DAY_RANGE, (rs, rowNum) -> {
+            Timestamp first = rs.getTimestamp(1);
+            Timestamp last = rs.getTimestamp(2);
+            if (first == null || last == null) {
+                return null;
+            }
+            return DateRange.of(first.toLocalDateTime().toLocalDate(), last.toLocalDateTime().toLocalDate());
+        }, OrderStatus.READY.name());
+        return Optional.ofNullable(range);
+    }
+}
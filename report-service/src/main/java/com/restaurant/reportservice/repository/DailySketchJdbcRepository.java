@@ -0,0 +1,177 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.domain.service.HyperLogLog;
+import com.restaurant.reportservice.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Per-day HyperLogLog sketches of tables served and products sold (report_daily_sketches).
+ *
+ * {@link #addReadyOrders} follows the hourly fulfillment histograms: missing days are created
+ * with ON CONFLICT DO NOTHING (PostgreSQL syntax) and the days are locked in key order before
+ * their sketches are merged and rewritten. {@link #rebuildDay} recomputes a day from
+ * report_orders with portable SQL, under the lock the rollup rebuild already holds. Stub
+ * orders projected from order.ready alone carry table 0 and are not counted as a table.
+ */
+@Repository
+public class DailySketchJdbcRepository {
+
+    static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private static final String ORDER_KEYS =
+            "SELECT CAST(o.created_at AS DATE), o.table_id, i.product_id "
+                    + "FROM report_orders o LEFT JOIN report_order_items i "
+                    + "ON i.order_id = o.id AND i.order_created_at = o.created_at "
+                    + "WHERE o.id IN (%s)";
+    private static final String INSERT_MISSING =
+            "INSERT INTO report_daily_sketches (day, tables, products) VALUES %s ON CONFLICT (day) DO NOTHING";
+    private static final String LOCK_DAYS =
+            "SELECT day, tables, products FROM report_daily_sketches WHERE day IN (%s) ORDER BY day FOR UPDATE";
+    private static final String UPDATE_DAY = "UPDATE report_daily_sketches SET tables = ?, products = ? WHERE day = ?";
+
+    private static final String DELETE_DAY = "DELETE FROM report_daily_sketches WHERE day = ?";
+    private static final String INSERT_DAY = "INSERT INTO report_daily_sketches (day, tables, products) VALUES (?, ?, ?)";
+    private static final String DAY_TABLES =
+            "SELECT DISTINCT table_id FROM report_orders "
+                    + "WHERE status = ? AND created_at >= ? AND created_at < ? AND table_id > 0";
+    private static final String DAY_PRODUCTS =
+            "SELECT DISTINCT i.product_id FROM report_orders o JOIN report_order_items i ON i.order_id = o.id "
+                    + "WHERE o.status = ? AND o.created_at >= ? AND o.created_at < ? "
+                    + "AND i.order_created_at >= ? AND i.order_created_at < ?";
+    private static final String SKETCHES_BETWEEN =
+            "SELECT tables, products FROM report_daily_sketches WHERE day BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailySketchJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the tables and products of the given orders, which must have just moved to READY in
+     * the current transaction, to the sketches of the day they were created.
+     */
+    public void addReadyOrders(List<UUID> orderIds, int precision) {
+        SortedMap<LocalDate, DaySketches> byDay = new TreeMap<>();
+        for (int from = 0; from < orderIds.size(); from += MAX_IDS_PER_STATEMENT) {
+            List<UUID> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + MAX_IDS_PER_STATEMENT));
+            jdbcTemplate.query(String.format(ORDER_KEYS, placeholders(chunk.size())), rs -> {
+                DaySketches day = byDay.computeIfAbsent(rs.getObject(1, LocalDate.class),
+                        d -> DaySketches.empty(precision));
+                int tableId = rs.getInt(2);
+                if (tableId > 0) {
+                    day.getTables().add(tableId);
+                }
+                long productId = rs.getLong(3);
+                if (!rs.wasNull()) {
+                    day.getProducts().add(productId);
+                }
+            }, chunk.toArray());
+        }
+        merge(byDay, precision);
+    }
+
+    /**
+     * Replaces the sketches of one day with sketches of its READY orders.
+     */
+    public void rebuildDay(LocalDate day, int precision) {
+        String ready = OrderStatus.READY.name();
+        Timestamp start = Timestamp.valueOf(day.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(day.plusDays(1).atStartOfDay());
+        DaySketches sketches = DaySketches.empty(precision);
+        jdbcTemplate.query(DAY_TABLES, rs -> {
+            sketches.getTables().add(rs.getLong(1));
+        }, ready, start, end);
+        jdbcTemplate.query(DAY_PRODUCTS, rs -> {
+            sketches.getProducts().add(rs.getLong(1));
+        }, ready, start, end, start, end);
+
+        jdbcTemplate.update(DELETE_DAY, Date.valueOf(day));
+        if (sketches.getTables().estimate() > 0 || sketches.getProducts().estimate() > 0) {
+            jdbcTemplate.update(INSERT_DAY, Date.valueOf(day),
+                    sketches.getTables().toBytes(), sketches.getProducts().toBytes());
+        }
+    }
+
+    /**
+     * The sketches of the days in the inclusive range merged into one pair, empty when no day
+     * has any. The merged precision is the lowest among the days.
+     */
+    public Optional<DaySketches> sumBetween(LocalDate startDate, LocalDate endDate) {
+        DaySketches[] total = {null};
+        jdbcTemplate.query(SKETCHES_BETWEEN, rs -> {
+            DaySketches day = new DaySketches(HyperLogLog.fromBytes(rs.getBytes(1)), HyperLogLog.fromBytes(rs.getBytes(2)));
+            total[0] = total[0] == null ? day : total[0].merge(day);
+        }, Date.valueOf(startDate), Date.valueOf(endDate));
+        return Optional.ofNullable(total[0]);
+    }
+
+    private void merge(SortedMap<LocalDate, DaySketches> byDay, int precision) {
+        if (byDay.isEmpty()) {
+            return;
+        }
+        List<Object> days = new ArrayList<>(byDay.size());
+        List<Object> missingArgs = new ArrayList<>(byDay.size() * 3);
+        byte[] empty = new HyperLogLog(precision).toBytes();
+        for (LocalDate day : byDay.keySet()) {
+            days.add(Date.valueOf(day));
+            Collections.addAll(missingArgs, Date.valueOf(day), empty, empty);
+        }
+        jdbcTemplate.update(String.format(INSERT_MISSING,
+                String.join(", ", Collections.nCopies(days.size(), "(?, ?, ?)"))), missingArgs.toArray());
+
+        List<Object[]> updates = new ArrayList<>(days.size());
+        jdbcTemplate.query(String.format(LOCK_DAYS, placeholders(days.size())), rs -> {
+            LocalDate day = rs.getObject(1, LocalDate.class);
+            DaySketches stored = new DaySketches(HyperLogLog.fromBytes(rs.getBytes(2)), HyperLogLog.fromBytes(rs.getBytes(3)));
+            DaySketches merged = stored.merge(byDay.get(day));
+            updates.add(new Object[]{merged.getTables().toBytes(), merged.getProducts().toBytes(), Date.valueOf(day)});
+        }, days.toArray());
+        jdbcTemplate.batchUpdate(UPDATE_DAY, updates);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * Sketch of the tables served and sketch of the products sold.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DaySketches {
+        private HyperLogLog tables;
+        private HyperLogLog products;
+
+        static DaySketches empty(int precision) {
+            return new DaySketches(new HyperLogLog(precision), new HyperLogLog(precision));
+        }
+
+        /**
+         * Union with {@code other}, at the lower precision of the two.
+         */
+        DaySketches merge(DaySketches other) {
+            return new DaySketches(union(tables, other.tables), union(products, other.products));
+        }
+
+        private static HyperLogLog union(HyperLogLog a, HyperLogLog b) {
+            return a.getPrecision() <= b.getPrecision() ? a.merge(b) : b.merge(a);
+        }
+    }
+}
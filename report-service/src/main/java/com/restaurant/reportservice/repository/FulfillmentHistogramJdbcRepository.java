@@ -0,0 +1,83 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.domain.service.LatencyHistograms;
+import org.HdrHistogram.Histogram;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Hourly fulfillment histograms (report_hourly_fulfillment).
+ *
+ * {@link #add} merges new samples into the stored histograms. It first creates missing rows
+ * with ON CONFLICT DO NOTHING (PostgreSQL syntax), then locks the rows in key order before
+ * reading and rewriting them, so concurrent consumers serialize on an hour without losing
+ * samples or deadlocking. {@link #sumBetween} merges stored histograms row by row, keeping
+ * a single histogram in memory whatever the length of the range.
+ */
+@Repository
+public class FulfillmentHistogramJdbcRepository {
+
+    private static final String INSERT_MISSING =
+            "INSERT INTO report_hourly_fulfillment (bucket_start, orders, histogram) VALUES %s "
+                    + "ON CONFLICT (bucket_start) DO NOTHING";
+    private static final String LOCK_HOURS =
+            "SELECT bucket_start, histogram FROM report_hourly_fulfillment "
+                    + "WHERE bucket_start IN (%s) ORDER BY bucket_start FOR UPDATE";
+    private static final String UPDATE_HOUR =
+            "UPDATE report_hourly_fulfillment SET orders = ?, histogram = ? WHERE bucket_start = ?";
+    private static final String HISTOGRAMS_BETWEEN =
+            "SELECT histogram FROM report_hourly_fulfillment WHERE bucket_start >= ? AND bucket_start < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FulfillmentHistogramJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds each histogram to the stored one of its hour. Must run inside a transaction.
+     */
+    public void add(SortedMap<LocalDateTime, Histogram> samplesByHour) {
+        if (samplesByHour.isEmpty()) {
+            return;
+        }
+        List<Object> hours = new ArrayList<>(samplesByHour.size());
+        List<Object> missingArgs = new ArrayList<>(samplesByHour.size() * 2);
+        byte[] empty = LatencyHistograms.encode(LatencyHistograms.empty());
+        for (LocalDateTime hour : samplesByHour.keySet()) {
+            hours.add(Timestamp.valueOf(hour));
+            Collections.addAll(missingArgs, Timestamp.valueOf(hour), empty);
+        }
+        jdbcTemplate.update(String.format(INSERT_MISSING,
+                String.join(", ", Collections.nCopies(hours.size(), "(?, 0, ?)"))), missingArgs.toArray());
+
+        List<Object[]> updates = new ArrayList<>(hours.size());
+        jdbcTemplate.query(String.format(LOCK_HOURS, String.join(", ", Collections.nCopies(hours.size(), "?"))),
+                rs -> {
+                    LocalDateTime hour = rs.getTimestamp(1).toLocalDateTime();
+                    Histogram stored = LatencyHistograms.decode(rs.getBytes(2));
+                    stored.add(samplesByHour.get(hour));
+                    updates.add(new Object[]{stored.getTotalCount(), LatencyHistograms.encode(stored),
+                            Timestamp.valueOf(hour)});
+                }, hours.toArray());
+        jdbcTemplate.batchUpdate(UPDATE_HOUR, updates);
+    }
+
+    /**
+     * All samples of the hours starting in [start, end), merged into one histogram.
+     */
+    public Histogram sumBetween(LocalDateTime start, LocalDateTime end) {
+        Histogram total = LatencyHistograms.empty();
+        jdbcTemplate.query(HISTOGRAMS_BETWEEN, rs -> {
+            total.add(LatencyHistograms.decode(rs.getBytes(1)));
+        }, Timestamp.valueOf(start), Timestamp.valueOf(end));
+        return total;
+    }
+}
@@ -0,0 +1,160 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.domain.service.ItemFactColumns;
+import com.restaurant.reportservice.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Reads the facts of READY orders into {@link ItemFactColumns}: their creation time, and the
+ * table, product, quantity and price of each of their items.
+ *
+ * {@link #loadReadySince} reads every READY order from a day on with a fetch size, so inside
+ * a transaction the PostgreSQL driver streams the rows instead of holding them all. Both
+ * queries bound the partition keys, so only the months of the window are scanned.
+ * {@link #loadReady} reads the orders of a batch that just moved to READY, and
+ * {@link #loadReadyChangedSince} those that moved to READY after a snapshot was taken, through
+ * idx_report_orders_ready_at.
+ */
+@Repository
+public class ItemFactJdbcRepository {
+
+    static final int FETCH_SIZE = 10_000;
+    static final int MAX_IDS_PER_STATEMENT = 1000;
+
+    private static final String READY_ORDERS_SINCE =
+            "SELECT created_at FROM report_orders WHERE status = ? AND created_at >= ? ORDER BY created_at DESC";
+    private static final String READY_ITEMS_SINCE =
+            "SELECT o.created_at, o.table_id, i.product_id, i.product_name, i.quantity, i.price "
+                    + "FROM report_orders o JOIN report_order_items i "
+                    + "ON i.order_id = o.id AND i.order_created_at = o.created_at AND i.order_created_at >= ? "
+                    + "WHERE o.status = ? AND o.created_at >= ? ORDER BY o.created_at DESC";
+    private static final String READY_ORDERS_CHANGED_SINCE =
+            "SELECT id, created_at FROM report_orders WHERE status = ? AND ready_at >= ? AND created_at >= ?";
+    private static final String READY_ITEMS_CHANGED_SINCE =
+            "SELECT o.created_at, o.table_id, i.product_id, i.product_name, i.quantity, i.price, o.id "
+                    + "FROM report_orders o JOIN report_order_items i "
+                    + "ON i.order_id = o.id AND i.order_created_at = o.created_at AND i.order_created_at >= ? "
+                    + "WHERE o.status = ? AND o.ready_at >= ? AND o.created_at >= ?";
+    private static final String READY_ORDERS_BY_ID =
+            "SELECT id, created_at FROM report_orders WHERE status = ? AND id IN (%s)";
+    private static final String READY_ITEMS_BY_ID =
+            "SELECT o.created_at, o.table_id, i.product_id, i.product_name, i.quantity, i.price "
+                    + "FROM report_orders o JOIN report_order_items i "
+                    + "ON i.order_id = o.id AND i.order_created_at = o.created_at "
+                    + "WHERE o.status = ? AND o.id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ItemFactJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the READY orders created at or after {@code since}, and their items, newest first,
+     * so columns with a byte limit keep the most recent days. Must run inside a transaction
+     * for the driver to use a cursor.
+     */
+    public void loadReadySince(LocalDateTime since, ItemFactColumns target) {
+        Timestamp start = Timestamp.valueOf(since);
+        String ready = OrderStatus.READY.name();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(READY_ORDERS_SINCE);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setString(1, ready);
+            statement.setTimestamp(2, start);
+            return statement;
+        }, (RowCallbackHandler) rs -> target.addOrder(rs.getTimestamp(1).toLocalDateTime()));
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(READY_ITEMS_SINCE);
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setTimestamp(1, start);
+            statement.setString(2, ready);
+            statement.setTimestamp(3, start);
+            return statement;
+        }, itemAdder(target));
+    }
+
+    /**
+     * Adds the orders created at or after {@code createdSince} that moved to READY at or after
+     * {@code readySince}, and their items, except the orders in {@code skip}. Orders that were
+     * READY before ready_at was recorded are never returned.
+     *
+     * @return number of orders added
+     */
+    public int loadReadyChangedSince(LocalDateTime readySince, LocalDateTime createdSince, Set<UUID> skip,
+                                     ItemFactColumns target) {
+        Timestamp readyStart = Timestamp.valueOf(readySince);
+        Timestamp createdStart = Timestamp.valueOf(createdSince);
+        String ready = OrderStatus.READY.name();
+        int[] added = {0};
+        jdbcTemplate.query(READY_ORDERS_CHANGED_SINCE, (RowCallbackHandler) rs -> {
+            if (!skip.contains(rs.getObject(1, UUID.class))) {
+                target.addOrder(rs.getTimestamp(2).toLocalDateTime());
+                added[0]++;
+            }
+        }, ready, readyStart, createdStart);
+        RowCallbackHandler items = itemAdder(target);
+        jdbcTemplate.query(READY_ITEMS_CHANGED_SINCE, (RowCallbackHandler) rs -> {
+            if (!skip.contains(rs.getObject(7, UUID.class))) {
+                items.processRow(rs);
+            }
+        }, createdStart, ready, readyStart, createdStart);
+        return added[0];
+    }
+
+    /**
+     * Adds those of the given orders that are READY, and their items.
+     */
+    public void loadReady(List<UUID> orderIds, ItemFactColumns target) {
+        for (int from = 0; from < orderIds.size(); from += MAX_IDS_PER_STATEMENT) {
+            List<UUID> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + MAX_IDS_PER_STATEMENT));
+            Object[] args = readyAnd(chunk);
+            jdbcTemplate.query(String.format(READY_ORDERS_BY_ID, placeholders(chunk.size())),
+                    (RowCallbackHandler) rs -> target.addOrder(rs.getTimestamp(2).toLocalDateTime()), args);
+            jdbcTemplate.query(String.format(READY_ITEMS_BY_ID, placeholders(chunk.size())),
+                    itemAdder(target), args);
+        }
+    }
+
+    /**
+     * Those of the given orders that are READY as seen by the current transaction.
+     */
+    public Set<UUID> findReadyIds(List<UUID> orderIds) {
+        Set<UUID> ready = new HashSet<>();
+        for (int from = 0; from < orderIds.size(); from += MAX_IDS_PER_STATEMENT) {
+            List<UUID> chunk = orderIds.subList(from, Math.min(orderIds.size(), from + MAX_IDS_PER_STATEMENT));
+            jdbcTemplate.query(String.format(READY_ORDERS_BY_ID, placeholders(chunk.size())),
+                    (RowCallbackHandler) rs -> ready.add(rs.getObject(1, UUID.class)), readyAnd(chunk));
+        }
+        return ready;
+    }
+
+    private static RowCallbackHandler itemAdder(ItemFactColumns target) {
+        return rs -> target.addItem(rs.getTimestamp(1).toLocalDateTime(), rs.getInt(2), rs.getLong(3),
+                rs.getString(4), rs.getInt(5), rs.getBigDecimal(6));
+    }
+
+    private static Object[] readyAnd(List<UUID> ids) {
+        Object[] args = new Object[ids.size() + 1];
+        args[0] = OrderStatus.READY.name();
+        for (int i = 0; i < ids.size(); i++) {
+            args[i + 1] = ids.get(i);
+        }
+        return args;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.enums.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Reads the item lines of READY orders for export, one row at a time from a cursor.
+ *
+ * The statement uses a fetch size, so inside a transaction the PostgreSQL driver keeps at
+ * most {@link #FETCH_SIZE} rows in memory whatever the size of the range. When the consumer
+ * fails, e.g. because the client went away, the running statement is cancelled before the
+ * error is rethrown, so the database stops producing rows nobody will read.
+ */
+@Repository
+public class OrderLineExportJdbcRepository {
+
+    static final int FETCH_SIZE = 1000;
+
+    private static final String READY_LINES =
+            "SELECT o.id, o.table_id, o.created_at, i.product_id, i.product_name, i.quantity, i.price "
+                    + "FROM report_orders o JOIN report_order_items i ON i.order_id = o.id "
+                    + "AND i.order_created_at >= ? AND i.order_created_at < ? "
+                    + "WHERE o.status = ? AND o.created_at >= ? AND o.created_at < ? "
+                    + "ORDER BY o.created_at, o.id, i.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderLineExportJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Passes each item line of READY orders created between the two days, inclusive, to the
+     * consumer, ordered by creation time and order. Must run inside a transaction for the
+     * driver to use a cursor.
+     */
+    public void forEachReadyLine(LocalDate startDate, LocalDate endDate, Consumer<OrderLine> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(READY_LINES);
+            Timestamp start = Timestamp.valueOf(startDate.atStartOfDay());
+            Timestamp end = Timestamp.valueOf(endDate.plusDays(1).atStartOfDay());
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setTimestamp(1, start);
+            statement.setTimestamp(2, end);
+            statement.setString(3, OrderStatus.READY.name());
+            statement.setTimestamp(4, start);
+            statement.setTimestamp(5, end);
+            return statement;
+        }, cancellingOnFailure(consumer));
+    }
+
+    private static RowCallbackHandler cancellingOnFailure(Consumer<OrderLine> consumer) {
+        return rs -> {
+            OrderLine line = toLine(rs);
+            try {
+                consumer.accept(line);
+            } catch (RuntimeException e) {
+                rs.getStatement().cancel();
+                throw e;
+            }
+        };
+    }
+
+    private static OrderLine toLine(ResultSet rs) throws SQLException {
+        return new OrderLine(
+                rs.getObject(1, UUID.class),
+                rs.getInt(2),
+                rs.getTimestamp(3).toLocalDateTime(),
+                rs.getLong(4),
+                rs.getString(5),
+                rs.getInt(6),
+                rs.getBigDecimal(7));
+    }
+
+    /**
+     * One item of a READY order, as exported.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderLine {
+        private UUID orderId;
+        private Integer tableId;
+        private LocalDateTime createdAt;
+        private Long productId;
+        private String productName;
+        private Integer quantity;
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,219 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.application.command.OrderPlacedCommand;
+import com.restaurant.reportservice.application.command.OrderReadyCommand;
+import com.restaurant.reportservice.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based writes of the report projection used by the batch listeners.
+ *
+ * Every method issues multi-row statements (PostgreSQL syntax), so a batch of events costs a
+ * handful of round trips instead of a select and an insert per event. report_orders is
+ * partitioned by month and its primary key includes created_at, so idempotency is enforced
+ * by the primary key of report_order_keys instead: an order is only written by the statement
+ * that registered its id there, and RETURNING tells the caller which orders that was. The
+ * partitions of the months written must exist; see ReportPartitionService.
+ */
+@Repository
+public class OrderProjectionJdbcRepository {
+
+    /**
+     * Rows per multi-row statement, keeping the bind parameters well below the PostgreSQL limit.
+     */
+    static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private static final String REGISTER_KEYS = "INSERT INTO report_order_keys (id, created_at) VALUES ";
+    private static final String ON_CONFLICT_SKIP = " ON CONFLICT (id) DO NOTHING RETURNING id";
+    private static final String INSERT_ORDERS =
+            "INSERT INTO report_orders (id, table_id, status, created_at, received_at) VALUES ";
+    private static final String INSERT_READY_ORDERS =
+            "INSERT INTO report_orders (id, table_id, status, created_at, received_at, ready_at) VALUES ";
+    private static final String MARK_READY =
+            "UPDATE report_orders o SET status = ?, ready_at = ? FROM report_order_keys k "
+                    + "WHERE k.id IN (%s) AND o.id = k.id AND o.created_at = k.created_at "
+                    + "AND o.status <> ? RETURNING o.id";
+    private static final String INSERT_ITEMS =
+            "INSERT INTO report_order_items (order_id, order_created_at, product_id, product_name, quantity, price) VALUES ";
+    private static final String TWO_PARAMS = "(?, ?)";
+    private static final String FIVE_PARAMS = "(?, ?, ?, ?, ?)";
+    private static final String SIX_PARAMS = "(?, ?, ?, ?, ?, ?)";
+    private static final String CREATED_AT =
+            "SELECT id, created_at FROM report_order_keys WHERE id IN (%s)";
+    private static final String CREATED_DAYS =
+            "SELECT DISTINCT CAST(created_at AS DATE) FROM report_order_keys WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OrderProjectionJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Inserts the orders as PENDING, skipping ids that already exist.
+     *
+     * @return ids of the orders inserted by this call
+     */
+    public List<UUID> insertOrdersIfAbsent(List<OrderPlacedCommand> orders, LocalDateTime receivedAt) {
+        List<UUID> inserted = new ArrayList<>();
+        for (List<OrderPlacedCommand> chunk : chunks(orders)) {
+            Set<UUID> registered = new HashSet<>(registerKeys(chunk.stream()
+                    .map(order -> new Object[]{order.getOrderId(), order.getCreatedAt()})
+                    .collect(Collectors.toList())));
+            List<Object> args = new ArrayList<>(registered.size() * 5);
+            for (OrderPlacedCommand order : chunk) {
+                if (registered.contains(order.getOrderId())) {
+                    Collections.addAll(args, order.getOrderId(), order.getTableId(),
+                            OrderStatus.PENDING.name(), order.getCreatedAt(), receivedAt);
+                    inserted.add(order.getOrderId());
+                }
+            }
+            if (!args.isEmpty()) {
+                jdbcTemplate.update(INSERT_ORDERS + rows(args.size() / 5, FIVE_PARAMS), args.toArray());
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Registers one order id written through JPA. Fails on a duplicate id, which the caller
+     * has already ruled out by looking the order up.
+     */
+    public void registerOrder(UUID orderId, LocalDateTime createdAt) {
+        jdbcTemplate.update(REGISTER_KEYS + TWO_PARAMS, orderId, createdAt);
+    }
+
+    /**
+     * Inserts the items of the given orders. Callers pass only orders returned by
+     * {@link #insertOrdersIfAbsent}, so items are never written twice.
+     *
+     * @return number of item rows inserted
+     */
+    public int insertItems(List<OrderPlacedCommand> orders) {
+        List<Object[]> rows = new ArrayList<>();
+        for (OrderPlacedCommand order : orders) {
+            if (order.getItems() == null) {
+                continue;
+            }
+            for (OrderPlacedCommand.OrderItemCommand item : order.getItems()) {
+                rows.add(new Object[]{order.getOrderId(), order.getCreatedAt(), item.getProductId(),
+                        item.getProductName(), item.getQuantity(), item.getPrice()});
+            }
+        }
+        int inserted = 0;
+        for (List<Object[]> chunk : chunks(rows)) {
+            List<Object> args = new ArrayList<>(chunk.size() * 6);
+            chunk.forEach(row -> Collections.addAll(args, row));
+            inserted += jdbcTemplate.update(INSERT_ITEMS + rows(chunk.size(), SIX_PARAMS), args.toArray());
+        }
+        return inserted;
+    }
+
+    /**
+     * Moves the orders to READY: unknown ones are created as READY stubs (table 0, created at
+     * the ready timestamp) so a later order.placed for them is skipped like any other
+     * duplicate, and the others are updated in place, in the partition their registered
+     * creation time points to. Either way ready_at is set to {@code receivedAt}.
+     *
+     * @return ids of the orders that became READY with this call
+     */
+    public List<UUID> markReady(List<OrderReadyCommand> orders, LocalDateTime receivedAt) {
+        List<UUID> transitioned = new ArrayList<>();
+        for (List<OrderReadyCommand> chunk : chunks(orders)) {
+            Set<UUID> stubs = new HashSet<>(registerKeys(chunk.stream()
+                    .map(order -> new Object[]{order.getOrderId(), order.getUpdatedAt()})
+                    .collect(Collectors.toList())));
+            List<Object> stubArgs = new ArrayList<>(stubs.size() * 6);
+            List<Object> existing = new ArrayList<>(chunk.size() - stubs.size());
+            for (OrderReadyCommand order : chunk) {
+                if (stubs.contains(order.getOrderId())) {
+                    Collections.addAll(stubArgs, order.getOrderId(), 0,
+                            OrderStatus.READY.name(), order.getUpdatedAt(), receivedAt, receivedAt);
+                    transitioned.add(order.getOrderId());
+                } else {
+                    existing.add(order.getOrderId());
+                }
+            }
+            if (!stubArgs.isEmpty()) {
+                jdbcTemplate.update(INSERT_READY_ORDERS + rows(stubs.size(), SIX_PARAMS), stubArgs.toArray());
+            }
+            if (!existing.isEmpty()) {
+                List<Object> args = new ArrayList<>(existing.size() + 3);
+                args.add(OrderStatus.READY.name());
+                args.add(receivedAt);
+                args.addAll(existing);
+                args.add(OrderStatus.READY.name());
+                transitioned.addAll(jdbcTemplate.queryForList(
+                        String.format(MARK_READY, placeholders(existing.size())), UUID.class, args.toArray()));
+            }
+        }
+        return transitioned;
+    }
+
+    /**
+     * Distinct creation days of the given orders, the days whose reports they belong to.
+     */
+    public List<LocalDate> findCreatedDays(List<UUID> orderIds) {
+        Set<LocalDate> days = new TreeSet<>();
+        for (List<UUID> chunk : chunks(orderIds)) {
+            days.addAll(jdbcTemplate.queryForList(
+                    String.format(CREATED_DAYS, placeholders(chunk.size())), LocalDate.class, chunk.toArray()));
+        }
+        return new ArrayList<>(days);
+    }
+
+    /**
+     * Creation time of each of the given orders that exists.
+     */
+    public Map<UUID, LocalDateTime> findCreatedAt(List<UUID> orderIds) {
+        Map<UUID, LocalDateTime> createdAt = new HashMap<>();
+        for (List<UUID> chunk : chunks(orderIds)) {
+            jdbcTemplate.query(String.format(CREATED_AT, placeholders(chunk.size())), rs -> {
+                createdAt.put(rs.getObject(1, UUID.class), rs.getTimestamp(2).toLocalDateTime());
+            }, chunk.toArray());
+        }
+        return createdAt;
+    }
+
+    /**
+     * Inserts the (id, created_at) pairs into report_order_keys, skipping ids already there.
+     *
+     * @return ids registered by this call
+     */
+    private List<UUID> registerKeys(List<Object[]> keys) {
+        List<Object> args = new ArrayList<>(keys.size() * 2);
+        keys.forEach(key -> Collections.addAll(args, key));
+        return jdbcTemplate.queryForList(
+                REGISTER_KEYS + rows(keys.size(), TWO_PARAMS) + ON_CONFLICT_SKIP, UUID.class, args.toArray());
+    }
+
+    private static String rows(int count, String params) {
+        return String.join(", ", Collections.nCopies(count, params));
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += MAX_ROWS_PER_STATEMENT) {
+            chunks.add(values.subList(from, Math.min(values.size(), from + MAX_ROWS_PER_STATEMENT)));
+        }
+        return chunks;
+    }
+}
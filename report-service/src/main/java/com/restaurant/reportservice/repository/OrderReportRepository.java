@@ -1,16 +1,49 @@
 package com.restaurant.reportservice.repository;
 
+import com.restaurant.reportservice.domain.model.OrderItemReport;
 import com.restaurant.reportservice.entity.OrderReportEntity;
 import com.restaurant.reportservice.enums.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderReportRepository extends JpaRepository<OrderReportEntity, UUID> {
+public interface OrderReportRepository extends JpaRepository<OrderReportEntity, UUID>, ReportOrderQueries {
+
+    /**
+     * Rows the JDBC driver fetches per round trip when streaming. PostgreSQL only honours it
+     * inside a transaction; outside one the whole result set is buffered.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
     List<OrderReportEntity> findByStatus(OrderStatus status);
-    List<OrderReportEntity> findByStatusAndCreatedAtBetween(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate);
+
+    long countByStatusAndCreatedAtBetween(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Streams the items of the matching orders as read-only values, fetched from a server-side
+     * cursor. No entity is loaded, so the persistence context stays empty however many rows are
+     * read. The stream must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.restaurant.reportservice.domain.model.OrderItemReport("
+            + "i.productId, i.productName, i.quantity, i.price) "
+            + "FROM OrderItemReportEntity i JOIN i.order o "
+            + "WHERE o.status = :status AND o.createdAt BETWEEN :startDate AND :endDate "
+            + "AND i.orderCreatedAt BETWEEN :startDate AND :endDate")
+    Stream<OrderItemReport> streamItemsByStatusAndCreatedAtBetween(@Param("status") OrderStatus status,
+                                                                   @Param("startDate") LocalDateTime startDate,
+                                                                   @Param("endDate") LocalDateTime endDate);
 }
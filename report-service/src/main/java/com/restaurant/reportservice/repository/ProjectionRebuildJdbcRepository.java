@@ -0,0 +1,165 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.infrastructure.orderexport.ExportedOrder;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Bulk writes of a projection rebuild (PostgreSQL only), through the functions of the V9
+ * migration.
+ *
+ * Orders are loaded with COPY into report_order_keys_rebuild, report_orders_rebuild and
+ * report_order_items_rebuild, which have no keys or indexes until {@link #index}, so each
+ * batch costs three round trips and no index maintenance. Batches may be copied concurrently,
+ * each on its own connection. {@link #swap} makes the rebuilt tables the live ones.
+ */
+@Repository
+public class ProjectionRebuildJdbcRepository {
+
+    private static final String PREPARE = "SELECT report_prepare_projection_rebuild(?)";
+    private static final String ENSURE_MONTHS =
+            "SELECT report_ensure_month_partitions(?, ?, 'report_orders_rebuild', 'report_order_items_rebuild')";
+    private static final String INDEX = "SELECT report_index_projection_rebuild()";
+    private static final String SWAP = "SELECT report_swap_projection_rebuild(?)";
+    private static final String DISCARD =
+            "DROP TABLE IF EXISTS report_order_items_rebuild, report_orders_rebuild, report_order_keys_rebuild";
+    private static final String COPY_KEYS = "COPY report_order_keys_rebuild (id, created_at) FROM STDIN (FORMAT csv)";
+    private static final String COPY_ORDERS =
+            "COPY report_orders_rebuild (id, table_id, status, created_at, received_at, ready_at) "
+                    + "FROM STDIN (FORMAT csv)";
+    private static final String COPY_ITEMS =
+            "COPY report_order_items_rebuild (order_id, order_created_at, product_id, product_name, quantity, price) "
+                    + "FROM STDIN (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProjectionRebuildJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates empty rebuild tables, with partitions from the first live month to {@code lastMonth},
+     * dropping those of a previous rebuild.
+     */
+    public void prepare(YearMonth lastMonth) {
+        jdbcTemplate.queryForObject(PREPARE, Object.class, Date.valueOf(lastMonth.atDay(1)));
+    }
+
+    /**
+     * Creates the missing partitions of the rebuild tables for each month in the inclusive range.
+     */
+    public void ensureMonths(YearMonth first, YearMonth last) {
+        jdbcTemplate.queryForObject(ENSURE_MONTHS, Integer.class,
+                Date.valueOf(first.atDay(1)), Date.valueOf(last.atDay(1)));
+    }
+
+    /**
+     * Copies the orders and their items into the rebuild tables. The partitions of their months
+     * must exist.
+     *
+     * @return number of items copied
+     */
+    public long copy(List<ExportedOrder> orders, LocalDateTime receivedAt) {
+        String keys = keysCsv(orders);
+        String rows = ordersCsv(orders, receivedAt);
+        String items = itemsCsv(orders);
+        Long copied = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                copyManager.copyIn(COPY_KEYS, new StringReader(keys));
+                copyManager.copyIn(COPY_ORDERS, new StringReader(rows));
+                return copyManager.copyIn(COPY_ITEMS, new StringReader(items));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return copied != null ? copied : 0;
+    }
+
+    /**
+     * Adds the keys and indexes to the loaded rebuild tables.
+     */
+    public void index() {
+        jdbcTemplate.queryForObject(INDEX, Object.class);
+    }
+
+    /**
+     * Catches the rebuild tables up with what the live projection received since
+     * {@code caughtUpSince} and swaps them in; the previous tables are kept as *_retired.
+     *
+     * @return number of orders copied or updated by the catch-up
+     */
+    public int swap(LocalDateTime caughtUpSince) {
+        Integer caughtUp = jdbcTemplate.queryForObject(SWAP, Integer.class, Timestamp.valueOf(caughtUpSince));
+        return caughtUp != null ? caughtUp : 0;
+    }
+
+    /**
+     * Drops the rebuild tables, e.g. after a failed rebuild.
+     */
+    public void discard() {
+        jdbcTemplate.execute(DISCARD);
+    }
+
+    static String keysCsv(List<ExportedOrder> orders) {
+        StringBuilder csv = new StringBuilder(orders.size() * 64);
+        for (ExportedOrder order : orders) {
+            csv.append(order.getId()).append(',').append(order.getCreatedAt()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Orders that are not READY are projected as PENDING, as by the events; READY orders get
+     * their last update as ready_at.
+     */
+    static String ordersCsv(List<ExportedOrder> orders, LocalDateTime receivedAt) {
+        StringBuilder csv = new StringBuilder(orders.size() * 128);
+        for (ExportedOrder order : orders) {
+            boolean ready = OrderStatus.READY.name().equals(order.getStatus());
+            csv.append(order.getId()).append(',')
+                    .append(order.getTableId()).append(',')
+                    .append(ready ? OrderStatus.READY : OrderStatus.PENDING).append(',')
+                    .append(order.getCreatedAt()).append(',')
+                    .append(receivedAt).append(',');
+            if (ready && order.getUpdatedAt() != null) {
+                csv.append(order.getUpdatedAt());
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+
+    static String itemsCsv(List<ExportedOrder> orders) {
+        StringBuilder csv = new StringBuilder(orders.size() * 128);
+        for (ExportedOrder order : orders) {
+            for (ExportedOrder.Item item : order.getItems()) {
+                csv.append(order.getId()).append(',')
+                        .append(order.getCreatedAt()).append(',')
+                        .append(item.getProductId()).append(',');
+                if (item.getProductName() != null) {
+                    csv.append('"').append(item.getProductName().replace("\"", "\"\"")).append('"');
+                }
+                csv.append(',').append(item.getQuantity()).append(',');
+                if (item.getPrice() != null) {
+                    csv.append(item.getPrice().toPlainString());
+                }
+                csv.append('\n');
+            }
+        }
+        return csv.toString();
+    }
+}
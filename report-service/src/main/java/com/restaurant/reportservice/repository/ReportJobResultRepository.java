@@ -0,0 +1,32 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.entity.ReportJobResultEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReportJobResultRepository extends JpaRepository<ReportJobResultEntity, ReportJobResultEntity.Key> {
+
+    /**
+     * Stores the result of a claimed range. Returns 0 when the claim was deleted in the
+     * meantime, i.e. when the range changed while the job was reading it.
+     */
+    @Modifying
+    @Query("UPDATE ReportJobResultEntity r SET r.result = :result, r.computedAt = :computedAt "
+            + "WHERE r.startDate = :startDate AND r.endDate = :endDate AND r.computedAt IS NULL")
+    int complete(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                 @Param("result") byte[] result, @Param("computedAt") LocalDateTime computedAt);
+
+    /**
+     * Deletes the results and claims of every range that overlaps {@code firstDay..lastDay}.
+     */
+    @Modifying
+    @Query("DELETE FROM ReportJobResultEntity r WHERE r.startDate <= :lastDay AND r.endDate >= :firstDay")
+    int deleteOverlapping(@Param("firstDay") LocalDate firstDay, @Param("lastDay") LocalDate lastDay);
+}
@@ -0,0 +1,33 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.entity.OrderReportEntity;
+import com.restaurant.reportservice.enums.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Queries of {@link OrderReportRepository} that need the Hibernate session or combine several
+ * statements, implemented in {@link ReportOrderQueriesImpl}.
+ */
+public interface ReportOrderQueries {
+
+    /**
+     * Loads the matching orders together with their items in a single LEFT JOIN query, so
+     * walking {@code getItems()} afterwards issues no further SELECTs. The entities are
+     * loaded read-only, without dirty-checking snapshots, and the item join is restricted to
+     * the same creation range so only the partitions of the range are read.
+     */
+    List<OrderReportEntity> findByStatusAndCreatedAtBetween(OrderStatus status,
+                                                            LocalDateTime startDate,
+                                                            LocalDateTime endDate);
+
+    /**
+     * Report summary computed by the database: one row per product plus an order count, both
+     * filtered through idx_report_orders_status_created. Orders without items still count.
+     */
+    ReportSummary summarizeByStatusAndCreatedAtBetween(OrderStatus status,
+                                                       LocalDateTime startDate,
+                                                       LocalDateTime endDate);
+}
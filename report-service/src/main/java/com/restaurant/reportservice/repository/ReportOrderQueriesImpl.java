@@ -0,0 +1,99 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.domain.model.ProductSummary;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.entity.OrderReportEntity;
+import com.restaurant.reportservice.enums.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the order fetch join with {@link OrderReportEntity#ITEMS_CREATED_BETWEEN} enabled, so
+ * Hibernate adds the item creation range to the join condition. The filter is disabled again
+ * before returning and does not affect other queries of the session.
+ *
+ * The summary runs an order count and a per-product sum and assembles them into a
+ * {@link ReportSummary}.
+ */
+class ReportOrderQueriesImpl implements ReportOrderQueries {
+
+    private static final String ORDERS_WITH_ITEMS =
+            "SELECT o FROM OrderReportEntity o LEFT JOIN FETCH o.items "
+                    + "WHERE o.status = :status AND o.createdAt BETWEEN :startDate AND :endDate";
+
+    private static final String ORDER_COUNT =
+            "SELECT COUNT(o) FROM OrderReportEntity o "
+                    + "WHERE o.status = :status AND o.createdAt BETWEEN :startDate AND :endDate";
+
+    private static final String SALES_BY_PRODUCT =
+            "SELECT i.productId, MAX(i.productName), SUM(i.quantity), SUM(i.quantity * COALESCE(i.price, 0)) "
+                    + "FROM OrderItemReportEntity i JOIN i.order o "
+                    + "WHERE o.status = :status AND o.createdAt BETWEEN :startDate AND :endDate "
+                    + "AND i.orderCreatedAt BETWEEN :startDate AND :endDate "
+                    + "GROUP BY i.productId ORDER BY i.productId";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<OrderReportEntity> findByStatusAndCreatedAtBetween(OrderStatus status,
+                                                                   LocalDateTime startDate,
+                                                                   LocalDateTime endDate) {
+        Session session = entityManager.unwrap(Session.class);
+        session.enableFilter(OrderReportEntity.ITEMS_CREATED_BETWEEN)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate);
+        try {
+            return entityManager.createQuery(ORDERS_WITH_ITEMS, OrderReportEntity.class)
+                    .setParameter("status", status)
+                    .setParameter("startDate", startDate)
+                    .setParameter("endDate", endDate)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultList();
+        } finally {
+            session.disableFilter(OrderReportEntity.ITEMS_CREATED_BETWEEN);
+        }
+    }
+
+    @Override
+    public ReportSummary summarizeByStatusAndCreatedAtBetween(OrderStatus status,
+                                                              LocalDateTime startDate,
+                                                              LocalDateTime endDate) {
+        long orders = entityManager.createQuery(ORDER_COUNT, Long.class)
+                .setParameter("status", status)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getSingleResult();
+        List<Object[]> sales = entityManager.createQuery(SALES_BY_PRODUCT, Object[].class)
+                .setParameter("status", status)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .getResultList();
+
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        List<ProductSummary> breakdown = new ArrayList<>(sales.size());
+        for (Object[] product : sales) {
+            BigDecimal revenue = (BigDecimal) product[3];
+            totalRevenue = totalRevenue.add(revenue);
+            breakdown.add(ProductSummary.builder()
+                    .productId((Long) product[0])
+                    .productName((String) product[1])
+                    .quantitySold(Math.toIntExact(((Number) product[2]).longValue()))
+                    .totalAccumulated(revenue)
+                    .build());
+        }
+
+        return ReportSummary.builder()
+                .totalReadyOrders(Math.toIntExact(orders))
+                .totalRevenue(totalRevenue)
+                .productBreakdown(breakdown)
+                .build();
+    }
+}
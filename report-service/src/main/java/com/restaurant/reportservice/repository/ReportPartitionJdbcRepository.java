@@ -0,0 +1,93 @@
+package com.restaurant.reportservice.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.reportservice.enums.OrderStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Monthly partitions of report_orders and report_order_items (PostgreSQL only).
+ *
+ * Partitions are created by the report_ensure_month_partitions function of the V7 migration,
+ * which skips months that already exist and serializes concurrent callers. The pruning check
+ * explains the statement Hibernate issues for
+ * {@link ReportOrderQueries#findByStatusAndCreatedAtBetween} and lists the partitions the plan
+ * still reads.
+ */
+@Repository
+public class ReportPartitionJdbcRepository {
+
+    private static final String ENSURE_MONTHS = "SELECT report_ensure_month_partitions(?, ?)";
+    private static final String PARTITIONS =
+            "SELECT child.relname FROM pg_inherits inh "
+                    + "JOIN pg_class parent ON parent.oid = inh.inhparent "
+                    + "JOIN pg_class child ON child.oid = inh.inhrelid "
+                    + "WHERE parent.relname IN ('report_orders', 'report_order_items') ORDER BY 1";
+    private static final String EXPLAIN_ORDERS_WITH_ITEMS =
+            "EXPLAIN (FORMAT JSON) SELECT o.id, i.id "
+                    + "FROM report_orders o LEFT JOIN report_order_items i ON i.order_id = o.id "
+                    + "AND i.order_created_at BETWEEN ? AND ? "
+                    + "WHERE o.status = ? AND o.created_at BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public ReportPartitionJdbcRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates the missing partitions of each month in the inclusive range.
+     *
+     * @return number of months created by this call
+     */
+    public int ensureMonths(YearMonth first, YearMonth last) {
+        Integer created = jdbcTemplate.queryForObject(ENSURE_MONTHS, Integer.class,
+                Date.valueOf(first.atDay(1)), Date.valueOf(last.atDay(1)));
+        return created != null ? created : 0;
+    }
+
+    /**
+     * Names of all partitions of both tables.
+     */
+    public List<String> findPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS, String.class);
+    }
+
+    /**
+     * Partitions the planner keeps for a report over the creation range, in name order.
+     */
+    public Set<String> findScannedPartitions(OrderStatus status, LocalDateTime startDate, LocalDateTime endDate) {
+        Timestamp start = Timestamp.valueOf(startDate);
+        Timestamp end = Timestamp.valueOf(endDate);
+        String plan = jdbcTemplate.queryForObject(EXPLAIN_ORDERS_WITH_ITEMS, String.class,
+                start, end, status.name(), start, end);
+        Set<String> relations = new TreeSet<>();
+        try {
+            collectRelations(objectMapper.readTree(plan), relations);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable query plan", e);
+        }
+        return relations;
+    }
+
+    private static void collectRelations(JsonNode node, Set<String> relations) {
+        if (node.has("Relation Name")) {
+            relations.add(node.get("Relation Name").asText());
+        }
+        for (JsonNode child : node) {
+            collectRelations(child, relations);
+        }
+    }
+}
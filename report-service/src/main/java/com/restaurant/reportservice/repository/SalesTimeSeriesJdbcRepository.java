@@ -0,0 +1,91 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.dto.TimeSeriesResponseDTO;
+import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.enums.TimeBucket;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Sales of READY orders grouped into hourly or daily buckets, each series computed by one
+ * grouped query over report_orders and report_order_items.
+ *
+ * Buckets are built from CAST(created_at AS DATE) and EXTRACT(HOUR FROM created_at), which
+ * PostgreSQL and H2 both support, and the range filter goes through
+ * idx_report_orders_status_created. Rows come back ordered by bucket (and product).
+ */
+@Repository
+public class SalesTimeSeriesJdbcRepository {
+
+    private static final String TOTALS =
+            "SELECT CAST(o.created_at AS DATE), %s, COUNT(DISTINCT o.id), "
+                    + "COALESCE(SUM(i.quantity), 0), COALESCE(SUM(i.quantity * COALESCE(i.price, 0)), 0) "
+                    + "FROM report_orders o LEFT JOIN report_order_items i ON i.order_id = o.id "
+                    + "AND i.order_created_at >= ? AND i.order_created_at < ? "
+                    + "WHERE o.status = ? AND o.created_at >= ? AND o.created_at < ? "
+                    + "GROUP BY CAST(o.created_at AS DATE)%s ORDER BY 1, 2";
+    private static final String BY_PRODUCT =
+            "SELECT CAST(o.created_at AS DATE), %s, COUNT(DISTINCT o.id), "
+                    + "SUM(i.quantity), SUM(i.quantity * COALESCE(i.price, 0)), "
+                    + "i.product_id, MAX(i.product_name) "
+                    + "FROM report_orders o JOIN report_order_items i ON i.order_id = o.id "
+                    + "AND i.order_created_at >= ? AND i.order_created_at < ? "
+                    + "WHERE o.status = ? AND o.created_at >= ? AND o.created_at < ? "
+                    + "GROUP BY CAST(o.created_at AS DATE)%s, i.product_id ORDER BY 1, 2, 6";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesTimeSeriesJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Orders, items and revenue per bucket between the two days, inclusive. Buckets without
+     * READY orders are not returned.
+     */
+    public List<TimeSeriesResponseDTO.PointDTO> findTotals(LocalDate startDate, LocalDate endDate, TimeBucket bucket) {
+        return jdbcTemplate.query(sql(TOTALS, bucket), pointMapper(false), rangeArgs(startDate, endDate));
+    }
+
+    /**
+     * Orders containing the product, its items and its revenue per bucket and product.
+     */
+    public List<TimeSeriesResponseDTO.PointDTO> findByProduct(LocalDate startDate, LocalDate endDate, TimeBucket bucket) {
+        return jdbcTemplate.query(sql(BY_PRODUCT, bucket), pointMapper(true), rangeArgs(startDate, endDate));
+    }
+
+    private static String sql(String template, TimeBucket bucket) {
+        return bucket == TimeBucket.HOUR
+                ? String.format(template, "EXTRACT(HOUR FROM o.created_at)", ", EXTRACT(HOUR FROM o.created_at)")
+                : String.format(template, "0", "");
+    }
+
+    private static Object[] rangeArgs(LocalDate startDate, LocalDate endDate) {
+        Timestamp start = Timestamp.valueOf(startDate.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(endDate.plusDays(1).atStartOfDay());
+        return new Object[]{start, end, OrderStatus.READY.name(), start, end};
+    }
+
+    private static RowMapper<TimeSeriesResponseDTO.PointDTO> pointMapper(boolean byProduct) {
+        return (rs, rowNum) -> {
+            LocalDateTime bucketStart = rs.getObject(1, LocalDate.class).atTime(rs.getInt(2), 0);
+            TimeSeriesResponseDTO.PointDTO point = TimeSeriesResponseDTO.PointDTO.builder()
+                    .bucketStart(bucketStart)
+                    .orders(rs.getLong(3))
+                    .items(rs.getLong(4))
+                    .revenue(rs.getBigDecimal(5))
+                    .build();
+            if (byProduct) {
+                point.setProductId(rs.getLong(6));
+                point.setProductName(rs.getString(7));
+            }
+            return point;
+        };
+    }
+}
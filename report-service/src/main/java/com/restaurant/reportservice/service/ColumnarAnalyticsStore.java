@@ -0,0 +1,485 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.ItemFactColumns;
+import com.restaurant.reportservice.dto.TimeSeriesResponseDTO;
+import com.restaurant.reportservice.enums.TimeBucket;
+import com.restaurant.reportservice.infrastructure.snapshot.ColumnarSnapshotFile;
+import com.restaurant.reportservice.repository.ItemFactJdbcRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Optional in-memory copy of the READY orders of the last {@code report.columnar.retention-days}
+ * days, kept as {@link ItemFactColumns}, so reports and time series over recent days are
+ * answered without a database round trip.
+ *
+ * At startup the window is read from report_orders in one REPEATABLE READ transaction. Orders
+ * that move to READY afterwards are handed over after their transaction commits and read by a
+ * single background thread, which also does the load, so all writes to the columns happen on
+ * it and the listeners never wait for the store. Orders that became READY while the store was
+ * loading are kept aside; at the end of the load those already seen by its snapshot are
+ * dropped and the rest read. This relies on after-commit callbacks running before the load
+ * ends, which they do unless a listener thread stalls for the whole load.
+ *
+ * The store never holds more than {@code report.columnar.max-memory-mb} of rows: when it would,
+ * the oldest days are evicted and ranges starting before the first kept day are no longer
+ * covered. Days that fall out of the retention window are evicted daily. Ranges of at least
+ * {@code report.columnar.parallel-threshold} items are summed in parallel.
+ *
+ * Every {@code report.columnar.snapshot.interval-ms}, and at shutdown, the columns are written
+ * to a {@link ColumnarSnapshotFile} with a watermark {@code report.columnar.snapshot.overlap-ms}
+ * before the time of writing, and the ids of the orders added since the watermark. At startup a
+ * snapshot taken with the same retention and memory limit replaces the full load: the columns
+ * are mapped back in and only the orders whose ready_at is at or after the watermark, minus
+ * those ids, are read, so startup no longer depends on how many days the window holds. This
+ * assumes a projection transaction commits, and its orders are added, within the overlap of
+ * setting ready_at; an order that took longer would be missing until the next full load.
+ *
+ * Disabled by default ({@code report.columnar.enabled}); while disabled, loading or after a
+ * failed load, {@link #covers} is false and callers use their usual source.
+ */
+@Component
+@Slf4j
+public class ColumnarAnalyticsStore {
+
+    private final ItemFactJdbcRepository itemFactRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final TransactionTemplate readTransaction;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int retentionDays;
+    private final long maxBytes;
+    private final int parallelThreshold;
+    private final ColumnarSnapshotFile snapshotFile;
+    private final boolean snapshotEnabled;
+    private final Duration snapshotOverlap;
+    private final Executor writer;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ItemFactColumns columns;
+    private final List<UUID> pending = new ArrayList<>();
+    private volatile boolean ready;
+    private volatile LocalDate firstCoveredDay;
+
+    // Only used on the writer thread: when the columns were last loaded or restored, and the
+    // orders added since then, at most an overlap ago
+    private LocalDateTime loadedAt;
+    private final Deque<RecentAppend> recentAppends = new ArrayDeque<>();
+
+    @Autowired
+    public ColumnarAnalyticsStore(ItemFactJdbcRepository itemFactRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  Clock clock,
+                                  @Value("${report.columnar.enabled}") boolean enabled,
+                                  @Value("${report.columnar.retention-days}") int retentionDays,
+                                  @Value("${report.columnar.max-memory-mb}") long maxMemoryMb,
+                                  @Value("${report.columnar.parallel-threshold}") int parallelThreshold,
+                                  ColumnarSnapshotFile snapshotFile,
+                                  @Value("${report.columnar.snapshot.enabled}") boolean snapshotEnabled,
+                                  @Value("${report.columnar.snapshot.overlap-ms}") long snapshotOverlapMs) {
+        this(itemFactRepository, transactionManager, meterRegistry, clock, enabled, retentionDays, maxMemoryMb,
+                parallelThreshold, snapshotFile, snapshotEnabled, snapshotOverlapMs,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "columnar-store");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    /**
+     * With the executor that runs the load and the appends, which must run one task at a time.
+     */
+    ColumnarAnalyticsStore(ItemFactJdbcRepository itemFactRepository,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           Clock clock,
+                           boolean enabled,
+                           int retentionDays,
+                           long maxMemoryMb,
+                           int parallelThreshold,
+                           ColumnarSnapshotFile snapshotFile,
+                           boolean snapshotEnabled,
+                           long snapshotOverlapMs,
+                           Executor writer) {
+        if (retentionDays <= 0 || maxMemoryMb <= 0) {
+            throw new IllegalArgumentException("report.columnar.retention-days and max-memory-mb must be positive");
+        }
+        this.itemFactRepository = itemFactRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.retentionDays = retentionDays;
+        this.maxBytes = maxMemoryMb * 1024 * 1024;
+        this.parallelThreshold = parallelThreshold;
+        this.snapshotFile = snapshotFile;
+        this.snapshotEnabled = snapshotEnabled;
+        this.snapshotOverlap = Duration.ofMillis(snapshotOverlapMs);
+        this.columns = new ItemFactColumns(maxBytes);
+        this.writer = writer;
+        Gauge.builder("report.columnar.orders", this, store -> store.read(ItemFactColumns::orderCount))
+                .register(meterRegistry);
+        Gauge.builder("report.columnar.items", this, store -> store.read(ItemFactColumns::itemCount))
+                .register(meterRegistry);
+        Gauge.builder("report.columnar.bytes", this, store -> store.read(ItemFactColumns::estimatedBytes))
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (enabled) {
+            writer.execute(this::loadWindow);
+        }
+    }
+
+    /**
+     * Evicts the days that left the retention window, or retries a load that failed.
+     */
+    @Scheduled(cron = "${report.columnar.evict-cron}")
+    public void evictExpired() {
+        if (enabled) {
+            writer.execute(() -> {
+                if (!ready) {
+                    loadWindow();
+                    return;
+                }
+                evictBefore(windowStart());
+            });
+        }
+    }
+
+    /**
+     * Drops the snapshot and loads the window again, e.g. after the projection was rebuilt.
+     * Callers use their usual source until the load ends.
+     */
+    public void reload() {
+        if (enabled) {
+            writer.execute(() -> {
+                ready = false;
+                if (snapshotEnabled) {
+                    snapshotFile.delete();
+                }
+                loadWindow();
+            });
+        }
+    }
+
+    /**
+     * Writes a snapshot of the columns, once they are loaded and at least an overlap old.
+     */
+    @Scheduled(fixedDelayString = "${report.columnar.snapshot.interval-ms}",
+            initialDelayString = "${report.columnar.snapshot.interval-ms}")
+    public void saveSnapshot() {
+        if (enabled && snapshotEnabled) {
+            writer.execute(this::writeSnapshot);
+        }
+    }
+
+    /**
+     * Adds orders that just moved to READY, after the current transaction commits when there
+     * is one. Must be called by the transaction that changed their status, so each order is
+     * added once.
+     */
+    public void recordReady(List<UUID> orderIds) {
+        if (!enabled || orderIds.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = List.copyOf(orderIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(ids);
+            }
+        });
+    }
+
+    /**
+     * Whether the store holds every day of a range starting at {@code range.startDate}.
+     */
+    public boolean covers(DateRange range) {
+        LocalDate first = firstCoveredDay;
+        return ready && first != null && !range.getStartDate().isBefore(first);
+    }
+
+    public ReportSummary summarize(DateRange range) {
+        lock.readLock().lock();
+        try {
+            return columns.summarize(range.getStartDate(), range.getEndDate(),
+                    columns.itemCount() >= parallelThreshold);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orders, items and revenue of the buckets of the range that have READY orders, in bucket order.
+     */
+    public List<TimeSeriesResponseDTO.PointDTO> findTotals(DateRange range, TimeBucket bucket) {
+        boolean hourly = bucket == TimeBucket.HOUR;
+        ItemFactColumns.BucketTotals totals;
+        lock.readLock().lock();
+        try {
+            totals = columns.bucketTotals(range.getStartDate(), range.getEndDate(), hourly);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        ChronoUnit step = hourly ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        List<TimeSeriesResponseDTO.PointDTO> points = new ArrayList<>();
+        for (int i = 0; i < totals.size(); i++) {
+            if (totals.orders(i) > 0) {
+                points.add(TimeSeriesResponseDTO.PointDTO.builder()
+                        .bucketStart(range.getStartDate().atStartOfDay().plus(i, step))
+                        .orders(totals.orders(i))
+                        .items(totals.items(i))
+                        .revenue(BigDecimal.valueOf(totals.revenueCents(i), 2))
+                        .build());
+            }
+        }
+        return points;
+    }
+
+    /**
+     * Writes a last snapshot, waiting a bounded time for it and any running load.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (writer instanceof ExecutorService executor) {
+            saveSnapshot();
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void loadWindow() {
+        LocalDate start = windowStart();
+        Optional<ColumnarSnapshotFile.Snapshot> snapshot = snapshotEnabled
+                ? snapshotFile.read(maxBytes).filter(this::matchesConfiguration)
+                : Optional.empty();
+        ItemFactColumns loaded = snapshot.map(ColumnarSnapshotFile.Snapshot::getColumns)
+                .orElseGet(() -> new ItemFactColumns(maxBytes));
+        LocalDate first = snapshot.map(stored -> stored.getFirstCoveredDay().isAfter(start)
+                ? stored.getFirstCoveredDay() : start).orElse(start);
+        loaded.evictBefore(start);
+        try {
+            int[] replayed = {0};
+            List<UUID> newer = snapshotTransaction.execute(status -> {
+                if (snapshot.isPresent()) {
+                    replayed[0] = itemFactRepository.loadReadyChangedSince(snapshot.get().getWatermark(),
+                            first.atStartOfDay(), Set.copyOf(snapshot.get().getRecentOrderIds()), loaded);
+                } else {
+                    itemFactRepository.loadReadySince(start.atStartOfDay(), loaded);
+                }
+                List<UUID> queued = takePending();
+                Set<UUID> seen = itemFactRepository.findReadyIds(queued);
+                queued.removeIf(seen::contains);
+                return queued;
+            });
+            lock.writeLock().lock();
+            try {
+                columns = loaded;
+                firstCoveredDay = first;
+                updateCoverage();
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            loadedAt = LocalDateTime.now(clock);
+            recentAppends.clear();
+            append(newer);
+            if (snapshot.isPresent()) {
+                log.info("Restored the columnar store from its snapshot at {} and read {} READY orders since "
+                                + "({} orders, {} items from {}, {} bytes)", snapshot.get().getWatermark(), replayed[0],
+                        loaded.orderCount(), loaded.itemCount(), first, loaded.estimatedBytes());
+            } else {
+                log.info("Loaded {} READY orders and {} items since {} into the columnar store ({} bytes)",
+                        loaded.orderCount(), loaded.itemCount(), start, loaded.estimatedBytes());
+            }
+        } catch (RuntimeException ex) {
+            takePending();
+            log.warn("Could not load the columnar store, reports use the database: {}", ex.getMessage());
+        }
+    }
+
+    private boolean matchesConfiguration(ColumnarSnapshotFile.Snapshot snapshot) {
+        if (snapshot.getRetentionDays() != retentionDays || snapshot.getMaxBytes() != maxBytes) {
+            log.info("Ignoring the columnar snapshot taken with another retention or memory limit");
+            return false;
+        }
+        return true;
+    }
+
+    private void writeSnapshot() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime watermark = now.minus(snapshotOverlap);
+        // Orders loaded with the columns have no entry in recentAppends, so they must all be older than the watermark
+        if (!ready || loadedAt == null || loadedAt.isAfter(watermark)) {
+            return;
+        }
+        pruneRecentAppends(now);
+        List<UUID> recent = new ArrayList<>();
+        recentAppends.forEach(appended -> recent.addAll(appended.orderIds));
+        // The columns only change on this thread, so they can be written without the lock
+        try {
+            snapshotFile.write(new ColumnarSnapshotFile.Snapshot(watermark, firstCoveredDay, retentionDays, maxBytes,
+                    recent, columns));
+            log.debug("Wrote a columnar snapshot of {} orders at {}", columns.orderCount(), watermark);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not write the columnar snapshot: {}", ex.getMessage());
+        }
+    }
+
+    private void pruneRecentAppends(LocalDateTime now) {
+        LocalDateTime oldest = now.minus(snapshotOverlap);
+        while (!recentAppends.isEmpty() && recentAppends.peekFirst().appendedAt.isBefore(oldest)) {
+            recentAppends.pollFirst();
+        }
+    }
+
+    private void enqueue(List<UUID> ids) {
+        synchronized (pending) {
+            pending.addAll(ids);
+        }
+        writer.execute(() -> {
+            List<UUID> batch = takePending();
+            if (ready) {
+                append(batch);
+            }
+        });
+    }
+
+    private void append(List<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        ItemFactColumns batch = new ItemFactColumns();
+        try {
+            readTransaction.executeWithoutResult(status -> itemFactRepository.loadReady(orderIds, batch));
+        } catch (RuntimeException ex) {
+            // The store would now miss these orders, so stop answering until it is reloaded
+            ready = false;
+            log.warn("Could not add {} READY orders to the columnar store, reloading later: {}",
+                    orderIds.size(), ex.getMessage());
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            columns.addAll(batch);
+            updateCoverage();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (snapshotEnabled) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            recentAppends.addLast(new RecentAppend(now, orderIds));
+            pruneRecentAppends(now);
+        }
+    }
+
+    private void evictBefore(LocalDate cutoff) {
+        lock.writeLock().lock();
+        try {
+            columns.evictBefore(cutoff);
+            updateCoverage();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the first covered day past the days the columns evicted, to their retention
+     * cutoff or because they reached the memory limit.
+     */
+    private void updateCoverage() {
+        LocalDate evictedBefore = columns.firstDay();
+        if (evictedBefore != null && evictedBefore.isAfter(firstCoveredDay)) {
+            if (evictedBefore.isAfter(windowStart())) {
+                log.warn("Columnar store reached {} bytes, now covering days from {}", maxBytes, evictedBefore);
+            }
+            firstCoveredDay = evictedBefore;
+        }
+    }
+
+    private List<UUID> takePending() {
+        synchronized (pending) {
+            List<UUID> taken = new ArrayList<>(pending);
+            pending.clear();
+            return taken;
+        }
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now(clock).minusDays(retentionDays - 1L);
+    }
+
+    private static final class RecentAppend {
+        private final LocalDateTime appendedAt;
+        private final List<UUID> orderIds;
+
+        private RecentAppend(LocalDateTime appendedAt, List<UUID> orderIds) {
+            this.appendedAt = appendedAt;
+            this.orderIds = orderIds;
+        }
+    }
+
+    private long read(ToLongFunction<ItemFactColumns> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.applyAsLong(columns);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
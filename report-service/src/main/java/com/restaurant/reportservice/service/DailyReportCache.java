@@ -0,0 +1,207 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * LRU cache of single-day report summaries, keyed by the creation day of the orders.
+ *
+ * Only days before today are cached; today is still receiving orders and is always computed
+ * live. A cached day is dropped when an order of that day becomes READY, after the projecting
+ * transaction commits. A summary computed while such an invalidation happened is not stored,
+ * since it may have read the day before the change was visible.
+ *
+ * A range is read with {@link #getAll}, which loads all of its missing days at once, so a
+ * cold range costs the loader one call rather than one per day.
+ *
+ * At most {@code report.cache.max-days} days are kept; 0 disables the cache.
+ */
+@Component
+public class DailyReportCache {
+
+    private static final ReportSummary EMPTY_DAY = ReportSummary.builder()
+            .totalReadyOrders(0)
+            .totalRevenue(BigDecimal.ZERO)
+            .productBreakdown(List.of())
+            .build();
+
+    private final int maxDays;
+    private final Clock clock;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final LinkedHashMap<LocalDate, ReportSummary> summaries = new LinkedHashMap<>(16, 0.75f, true);
+    private long invalidations;
+
+    public DailyReportCache(MeterRegistry meterRegistry, Clock clock,
+                            @Value("${report.cache.max-days}") int maxDays) {
+        if (maxDays < 0) {
+            throw new IllegalArgumentException("report.cache.max-days must not be negative");
+        }
+        this.maxDays = maxDays;
+        this.clock = clock;
+        this.hitCounter = meterRegistry.counter("report.cache.hits");
+        this.missCounter = meterRegistry.counter("report.cache.misses");
+        Gauge.builder("report.cache.entries", this, DailyReportCache::size).register(meterRegistry);
+        Gauge.builder("report.cache.hit.ratio", this, DailyReportCache::hitRatio).register(meterRegistry);
+    }
+
+    /**
+     * Whether the range is small enough to be assembled day by day without evicting its own days.
+     */
+    public boolean covers(DateRange range) {
+        return ChronoUnit.DAYS.between(range.getStartDate(), range.getEndDate()) < maxDays;
+    }
+
+    /**
+     * Returns the summary of one day, from the cache when possible, otherwise from the loader.
+     */
+    public ReportSummary get(LocalDate day, Function<LocalDate, ReportSummary> loader) {
+        if (!day.isBefore(LocalDate.now(clock))) {
+            return loader.apply(day);
+        }
+        long generation;
+        synchronized (this) {
+            ReportSummary cached = summaries.get(day);
+            if (cached != null) {
+                hitCounter.increment();
+                return cached;
+            }
+            missCounter.increment();
+            generation = invalidations;
+        }
+
+        ReportSummary summary = loader.apply(day);
+        synchronized (this) {
+            if (generation == invalidations) {
+                summaries.put(day, summary);
+                while (summaries.size() > maxDays) {
+                    summaries.remove(summaries.keySet().iterator().next());
+                }
+            }
+        }
+        return summary;
+    }
+
+    /**
+     * Returns the summary of every day of the range, in day order. The days missing from the
+     * cache are loaded with a single call to the loader, over the span from the first to the
+     * last missing day; a day the loader returns nothing for had no READY orders.
+     */
+    public List<ReportSummary> getAll(DateRange range, Function<DateRange, Map<LocalDate, ReportSummary>> loader) {
+        LocalDate today = LocalDate.now(clock);
+        Map<LocalDate, ReportSummary> found = new HashMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        long generation;
+        synchronized (this) {
+            for (LocalDate day = range.getStartDate(); !day.isAfter(range.getEndDate()); day = day.plusDays(1)) {
+                ReportSummary cached = day.isBefore(today) ? summaries.get(day) : null;
+                if (cached != null) {
+                    hitCounter.increment();
+                    found.put(day, cached);
+                } else {
+                    if (day.isBefore(today)) {
+                        missCounter.increment();
+                    }
+                    missing.add(day);
+                }
+            }
+            generation = invalidations;
+        }
+
+        if (!missing.isEmpty()) {
+            DateRange span = DateRange.of(missing.get(0), missing.get(missing.size() - 1));
+            Map<LocalDate, ReportSummary> loaded = loader.apply(span);
+            synchronized (this) {
+                for (LocalDate day : missing) {
+                    ReportSummary summary = loaded.getOrDefault(day, EMPTY_DAY);
+                    found.put(day, summary);
+                    if (generation == invalidations && day.isBefore(today)) {
+                        summaries.put(day, summary);
+                    }
+                }
+                while (summaries.size() > maxDays) {
+                    summaries.remove(summaries.keySet().iterator().next());
+                }
+            }
+        }
+
+        List<ReportSummary> days = new ArrayList<>(found.size());
+        for (LocalDate day = range.getStartDate(); !day.isAfter(range.getEndDate()); day = day.plusDays(1)) {
+            days.add(found.get(day));
+        }
+        return days;
+    }
+
+    /**
+     * How many days of the range {@link #getAll} would have to load.
+     */
+    public synchronized int missingDays(DateRange range) {
+        LocalDate today = LocalDate.now(clock);
+        int missing = 0;
+        for (LocalDate day = range.getStartDate(); !day.isAfter(range.getEndDate()); day = day.plusDays(1)) {
+            if (!day.isBefore(today) || !summaries.containsKey(day)) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Drops the given days, after the current transaction commits when there is one.
+     */
+    public void invalidate(Collection<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(days);
+            return;
+        }
+        List<LocalDate> pending = List.copyOf(days);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(pending);
+            }
+        });
+    }
+
+    public synchronized void clear() {
+        invalidations++;
+        summaries.clear();
+    }
+
+    public synchronized int size() {
+        return summaries.size();
+    }
+
+    private synchronized void evict(Collection<LocalDate> days) {
+        invalidations++;
+        days.forEach(summaries::remove);
+    }
+
+    private double hitRatio() {
+        double hits = hitCounter.count();
+        double total = hits + missCounter.count();
+        return total == 0 ? 0 : hits / total;
+    }
+}
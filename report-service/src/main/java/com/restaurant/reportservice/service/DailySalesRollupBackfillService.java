@@ -0,0 +1,93 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.dto.RollupRebuildDTO;
+import com.restaurant.reportservice.repository.DailySalesRollupJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rebuilds the daily sales rollup from the report_orders projection.
+ *
+ * History is backfilled by the V3 migration; this job repairs a range of days, or all of
+ * them, e.g. after orders were corrected by hand or replayed from the DLQ. Each day is
+ * rebuilt in its own transaction, so a long range never holds locks on more than one day,
+ * and its cached report is dropped once that transaction commits. The day's distinct-count
+ * sketches are rebuilt in the same transaction, which is also how days projected before the
+ * sketches existed get theirs. Stored job reports covering the day are deleted
+ * after that commit as well.
+ */
+@Service
+@Slf4j
+public class DailySalesRollupBackfillService {
+
+    private final DailySalesRollupJdbcRepository rollupRepository;
+    private final DateRangeFilter dateRangeFilter;
+    private final DailyReportCache reportCache;
+    private final DistinctCountService distinctCountService;
+    private final StoredReportInvalidator storedReportInvalidator;
+    private final TransactionTemplate transactionTemplate;
+
+    public DailySalesRollupBackfillService(DailySalesRollupJdbcRepository rollupRepository,
+                                           DateRangeFilter dateRangeFilter,
+                                           DailyReportCache reportCache,
+                                           DistinctCountService distinctCountService,
+                                           StoredReportInvalidator storedReportInvalidator,
+                                           PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.dateRangeFilter = dateRangeFilter;
+        this.reportCache = reportCache;
+        this.distinctCountService = distinctCountService;
+        this.storedReportInvalidator = storedReportInvalidator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Rebuilds every day between the first and the last READY order.
+     */
+    public RollupRebuildDTO rebuildAll() {
+        Optional<DateRange> range = rollupRepository.findReadyDayRange();
+        if (range.isEmpty()) {
+            return RollupRebuildDTO.builder().days(0).productRows(0L).build();
+        }
+        return rebuild(range.get().getStartDate(), range.get().getEndDate());
+    }
+
+    /**
+     * Rebuilds the rollup of each day in the inclusive range.
+     *
+     * @throws com.restaurant.reportservice.exception.InvalidDateRangeException when the range is invalid
+     */
+    public RollupRebuildDTO rebuild(LocalDate startDate, LocalDate endDate) {
+        DateRange range = dateRangeFilter.validateAndCreate(startDate, endDate);
+        int days = 0;
+        long productRows = 0;
+        for (LocalDate day = range.getStartDate(); !day.isAfter(range.getEndDate()); day = day.plusDays(1)) {
+            LocalDate current = day;
+            Integer rows = transactionTemplate.execute(status -> {
+                reportCache.invalidate(List.of(current));
+                int dayRows = rollupRepository.rebuildDay(current);
+                distinctCountService.rebuildDay(current);
+                storedReportInvalidator.invalidate(current, current);
+                return dayRows;
+            });
+            productRows += rows != null ? rows : 0;
+            days++;
+        }
+        log.info("Rebuilt daily sales rollup for {} days ({} to {}), {} product rows",
+                days, range.getStartDate(), range.getEndDate(), productRows);
+        return RollupRebuildDTO.builder()
+                .startDate(range.getStartDate())
+                .endDate(range.getEndDate())
+                .days(days)
+                .productRows(productRows)
+                .build();
+    }
+}
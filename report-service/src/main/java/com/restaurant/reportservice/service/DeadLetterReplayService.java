@@ -0,0 +1,348 @@
+package com.restaurant.reportservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.reportservice.dto.DeadLetterMessageDTO;
+import com.restaurant.reportservice.dto.DeadLetterPageDTO;
+import com.restaurant.reportservice.dto.ReplayJobDTO;
+import com.restaurant.reportservice.dto.ReplayRequestDTO;
+import com.restaurant.reportservice.event.OrderEventValidator;
+import com.restaurant.reportservice.event.OrderPlacedEvent;
+import com.restaurant.reportservice.event.OrderReadyEvent;
+import com.restaurant.reportservice.infrastructure.messaging.DeadLetterQueueInspector;
+import com.restaurant.reportservice.infrastructure.messaging.TieredRetryMessageRecoverer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin operations on the report Dead Letter Queue: browsing decoded order.placed and
+ * order.ready messages and replaying them back to the queue they failed on.
+ *
+ * Replays run asynchronously on a single background thread, one job at a time, and expose
+ * their progress through {@link #findJob(UUID)}. A dry-run scans the same selection but only
+ * runs {@link OrderEventValidator} on each event, leaving the DLQ untouched.
+ */
+@Service
+@Slf4j
+public class DeadLetterReplayService {
+
+    private static final int MAX_RETAINED_JOBS = 20;
+    private static final int MAX_INVALID_SAMPLES = 20;
+
+    private final DeadLetterQueueInspector inspector;
+    private final OrderEventValidator eventValidator;
+    private final ObjectMapper objectMapper;
+    private final String placedQueueName;
+    private final String readyQueueName;
+    private final int maxScan;
+    private final int defaultBatchSize;
+    private final int defaultRatePerSecond;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dlq-replay");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean replayRunning = new AtomicBoolean();
+    private final Map<UUID, ReplayJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, ReplayJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    public DeadLetterReplayService(DeadLetterQueueInspector inspector,
+                                   OrderEventValidator eventValidator,
+                                   ObjectMapper objectMapper,
+                                   @Value("${rabbitmq.queue.name}") String placedQueueName,
+                                   @Value("${rabbitmq.queue.order-ready.name}") String readyQueueName,
+                                   @Value("${admin.dlq.max-scan}") int maxScan,
+                                   @Value("${admin.dlq.replay.batch-size}") int defaultBatchSize,
+                                   @Value("${admin.dlq.replay.rate-per-second}") int defaultRatePerSecond) {
+        this.inspector = inspector;
+        this.eventValidator = eventValidator;
+        this.objectMapper = objectMapper;
+        this.placedQueueName = placedQueueName;
+        this.readyQueueName = readyQueueName;
+        this.maxScan = maxScan;
+        this.defaultBatchSize = defaultBatchSize;
+        this.defaultRatePerSecond = defaultRatePerSecond;
+    }
+
+    /**
+     * Returns one page of the DLQ messages matching the filter, in queue order.
+     * Only the first {@code admin.dlq.max-scan} messages of the queue are inspected.
+     */
+    public DeadLetterPageDTO browse(DeadLetterFilter filter, int offset, int limit) {
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("offset must be >= 0 and limit must be > 0");
+        }
+        long depth = inspector.depth();
+        List<Message> messages = inspector.browse(maxScan);
+
+        List<DeadLetterMessageDTO> matches = new ArrayList<>();
+        for (int i = 0; i < messages.size(); i++) {
+            DeadLetterMessageDTO summary = summarize(i, messages.get(i));
+            if (filter.matches(summary)) {
+                matches.add(summary);
+            }
+        }
+
+        int fromIndex = Math.min(offset, matches.size());
+        int toIndex = (int) Math.min((long) fromIndex + limit, matches.size());
+        return DeadLetterPageDTO.builder()
+                .queueDepth(depth)
+                .scanned(messages.size())
+                .matched(matches.size())
+                .offset(offset)
+                .limit(limit)
+                .messages(new ArrayList<>(matches.subList(fromIndex, toIndex)))
+                .build();
+    }
+
+    /**
+     * Starts an asynchronous replay (or dry-run) of the selected DLQ messages.
+     *
+     * @throws IllegalArgumentException when the request selects nothing explicitly or has invalid pacing
+     * @throws IllegalStateException    when another replay is still running
+     */
+    public ReplayJobDTO startReplay(ReplayRequestDTO request) {
+        DeadLetterFilter filter = new DeadLetterFilter(
+                request.getEventIds(), request.getReason(), request.getFrom(), request.getTo());
+        if (filter.isEmpty() && !request.isAll()) {
+            throw new IllegalArgumentException("Select messages with eventIds, reason or from/to, or set all=true");
+        }
+        int batchSize = request.getBatchSize() != null ? request.getBatchSize() : defaultBatchSize;
+        int ratePerSecond = request.getRatePerSecond() != null ? request.getRatePerSecond() : defaultRatePerSecond;
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be > 0");
+        }
+        if (!replayRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A DLQ replay is already running");
+        }
+
+        ReplayJob job = new ReplayJob(request.isDryRun());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, filter, batchSize, ratePerSecond));
+        } catch (RuntimeException ex) {
+            replayRunning.set(false);
+            throw ex;
+        }
+        log.info("Started DLQ {} job {} (batchSize={}, ratePerSecond={})",
+                job.dryRun ? "dry-run" : "replay", job.id, batchSize, ratePerSecond);
+        return job.toDTO();
+    }
+
+    public Optional<ReplayJobDTO> findJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ReplayJob::toDTO);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ReplayJob job, DeadLetterFilter filter, int batchSize, int ratePerSecond) {
+        try {
+            inspector.replay(message -> route(job, filter, message), batchSize, ratePerSecond, job.replayed::addAndGet);
+            job.finish("COMPLETED", null);
+            log.info("DLQ job {} completed: scanned={}, matched={}, replayed={}, invalid={}",
+                    job.id, job.scanned.get(), job.matched.get(), job.replayed.get(), job.invalid.get());
+        } catch (RuntimeException ex) {
+            job.finish("FAILED", ex.getMessage());
+            log.error("DLQ job {} failed after replaying {} messages", job.id, job.replayed.get(), ex);
+        } finally {
+            replayRunning.set(false);
+        }
+    }
+
+    private String route(ReplayJob job, DeadLetterFilter filter, Message message) {
+        long position = job.scanned.getAndIncrement();
+        DecodedEvent event = readEvent(message);
+        DeadLetterMessageDTO summary = summarize(position, message, event);
+        if (!filter.matches(summary)) {
+            return null;
+        }
+        job.matched.incrementAndGet();
+        if (job.dryRun) {
+            validate(job, summary, event);
+            return null;
+        }
+        if (summary.getOriginalQueue() != null) {
+            return summary.getOriginalQueue();
+        }
+        return event != null && event.ready != null ? readyQueueName : placedQueueName;
+    }
+
+    private void validate(ReplayJob job, DeadLetterMessageDTO summary, DecodedEvent event) {
+        String problem = summary.getDecodeError();
+        if (problem == null) {
+            try {
+                if (event.ready != null) {
+                    eventValidator.validate(event.ready);
+                } else {
+                    eventValidator.validate(event.placed);
+                }
+                job.valid.incrementAndGet();
+                return;
+            } catch (RuntimeException ex) {
+                problem = ex.getMessage();
+            }
+        }
+        job.invalid.incrementAndGet();
+        if (job.invalidSamples.size() < MAX_INVALID_SAMPLES) {
+            job.invalidSamples.add("position " + summary.getPosition() + " (eventId=" + summary.getEventId() + "): " + problem);
+        }
+    }
+
+    private DeadLetterMessageDTO summarize(long position, Message message) {
+        return summarize(position, message, readEvent(message));
+    }
+
+    private DeadLetterMessageDTO summarize(long position, Message message, DecodedEvent event) {
+        MessageProperties properties = message.getMessageProperties();
+        Map<String, Object> headers = properties.getHeaders();
+        Object retryCount = headers.get(TieredRetryMessageRecoverer.RETRY_COUNT_HEADER);
+        Object reason = headers.get(TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER);
+        Object originalQueue = headers.get(TieredRetryMessageRecoverer.ORIGINAL_QUEUE_HEADER);
+
+        DeadLetterMessageDTO.DeadLetterMessageDTOBuilder summary = DeadLetterMessageDTO.builder()
+                .position(position)
+                .retryCount(retryCount instanceof Number number ? number.intValue() : null)
+                .errorReason(reason != null ? reason.toString() : null)
+                .originalQueue(originalQueue != null && !originalQueue.toString().isBlank()
+                        ? originalQueue.toString() : null);
+        if (event == null) {
+            return summary.decodeError("Body is not a readable order event").build();
+        }
+        if (event.ready != null) {
+            OrderReadyEvent ready = event.ready;
+            return summary
+                    .eventId(ready.getEventId())
+                    .eventType(ready.getEventType())
+                    .eventVersion(ready.getEventVersion())
+                    .orderId(ready.getPayload() != null ? ready.getPayload().getOrderId() : null)
+                    .occurredAt(ready.getOccurredAt())
+                    .build();
+        }
+        OrderPlacedEvent placed = event.placed;
+        OrderPlacedEvent.Payload payload = placed.getPayload();
+        LocalDateTime occurredAt = placed.getOccurredAt();
+        if (occurredAt == null && payload != null) {
+            occurredAt = serverLocalToUtc(payload.getCreatedAt());
+        }
+        return summary
+                .eventId(placed.getEventId())
+                .eventType(placed.getEventType())
+                .eventVersion(placed.getEventVersion())
+                .orderId(payload != null ? payload.getOrderId() : null)
+                .tableId(payload != null ? payload.getTableId() : null)
+                .itemCount(payload != null && payload.getItems() != null ? payload.getItems().size() : 0)
+                .occurredAt(occurredAt)
+                .build();
+    }
+
+    /**
+     * Order createdAt is server-local time, while occurredAt and the filter window are UTC;
+     * shifts the createdAt fallback to UTC so one DLQ listing never mixes both.
+     */
+    private static LocalDateTime serverLocalToUtc(LocalDateTime serverLocal) {
+        return serverLocal == null ? null
+                : serverLocal.atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private DecodedEvent readEvent(Message message) {
+        try {
+            JsonNode tree = objectMapper.readTree(message.getBody());
+            if (tree == null || !tree.isObject()) {
+                return null;
+            }
+            if ("order.ready".equals(tree.path("eventType").asText())) {
+                return new DecodedEvent(null, objectMapper.treeToValue(tree, OrderReadyEvent.class));
+            }
+            return new DecodedEvent(objectMapper.treeToValue(tree, OrderPlacedEvent.class), null);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * A decoded DLQ body; exactly one of the two events is set.
+     */
+    private static final class DecodedEvent {
+        private final OrderPlacedEvent placed;
+        private final OrderReadyEvent ready;
+
+        private DecodedEvent(OrderPlacedEvent placed, OrderReadyEvent ready) {
+            this.placed = placed;
+            this.ready = ready;
+        }
+    }
+
+    /**
+     * Mutable progress of one job; written by the replay thread and read by request threads.
+     */
+    private static final class ReplayJob {
+        private final UUID id = UUID.randomUUID();
+        private final boolean dryRun;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong scanned = new AtomicLong();
+        private final AtomicLong matched = new AtomicLong();
+        private final AtomicLong replayed = new AtomicLong();
+        private final AtomicLong valid = new AtomicLong();
+        private final AtomicLong invalid = new AtomicLong();
+        private final List<String> invalidSamples = new CopyOnWriteArrayList<>();
+        private volatile String status = "RUNNING";
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private ReplayJob(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        private void finish(String finalStatus, String failure) {
+            this.error = failure;
+            this.finishedAt = LocalDateTime.now();
+            this.status = finalStatus;
+        }
+
+        private ReplayJobDTO toDTO() {
+            return ReplayJobDTO.builder()
+                    .jobId(id)
+                    .status(status)
+                    .dryRun(dryRun)
+                    .scanned(scanned.get())
+                    .matched(matched.get())
+                    .replayed(replayed.get())
+                    .valid(valid.get())
+                    .invalid(invalid.get())
+                    .invalidSamples(new ArrayList<>(invalidSamples))
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.domain.service.HyperLogLog;
+import com.restaurant.reportservice.dto.DistinctCountResponseDTO;
+import com.restaurant.reportservice.repository.DailySketchJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Approximate distinct counts of the tables served and the products sold over a date range.
+ *
+ * Each day keeps a HyperLogLog sketch of its table ids and one of its product ids, updated
+ * when orders move to READY. A report merges the sketches of the days in the range, so it
+ * reads one small row per day however many orders were placed, and a table or product seen
+ * on several days is still counted once. Estimates are within
+ * {@link HyperLogLog#relativeStandardError(int)} of the true count about two times in three.
+ */
+@Service
+public class DistinctCountService {
+
+    private final DailySketchJdbcRepository sketchRepository;
+    private final DateRangeFilter dateRangeFilter;
+    private final int precision;
+
+    public DistinctCountService(DailySketchJdbcRepository sketchRepository,
+                                DateRangeFilter dateRangeFilter,
+                                @Value("${report.sketch.precision}") int precision) {
+        new HyperLogLog(precision); // rejects an out-of-range precision at startup
+        this.sketchRepository = sketchRepository;
+        this.dateRangeFilter = dateRangeFilter;
+        this.precision = precision;
+    }
+
+    /**
+     * Adds orders that just moved to READY to the sketches of their day. Must run in the
+     * transaction that changed their status, so each order is added exactly once.
+     */
+    public void recordReady(List<UUID> orderIds) {
+        if (!orderIds.isEmpty()) {
+            sketchRepository.addReadyOrders(orderIds, precision);
+        }
+    }
+
+    /**
+     * Recomputes the sketches of one day from its READY orders, at the configured precision.
+     */
+    public void rebuildDay(LocalDate day) {
+        sketchRepository.rebuildDay(day, precision);
+    }
+
+    @Transactional(readOnly = true)
+    public DistinctCountResponseDTO generateReport(LocalDate startDate, LocalDate endDate) {
+        DateRange range = dateRangeFilter.validateAndCreate(startDate, endDate);
+        Optional<DailySketchJdbcRepository.DaySketches> sketches =
+                sketchRepository.sumBetween(range.getStartDate(), range.getEndDate());
+        int reportPrecision = sketches.map(s -> s.getTables().getPrecision()).orElse(precision);
+
+        return DistinctCountResponseDTO.builder()
+                .startDate(range.getStartDate())
+                .endDate(range.getEndDate())
+                .tablesServed(sketches.map(s -> s.getTables().estimate()).orElse(0L))
+                .productsSold(sketches.map(s -> s.getProducts().estimate()).orElse(0L))
+                .precision(reportPrecision)
+                .relativeStandardError(HyperLogLog.relativeStandardError(reportPrecision))
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package com.restaurant.reportservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.reportservice.enums.ExportFormat;
+import com.restaurant.reportservice.repository.OrderLineExportJdbcRepository.OrderLine;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+
+/**
+ * Writes exported order lines in one {@link ExportFormat}, one line of output per order line.
+ * Nothing is kept between lines, so memory does not depend on how many lines are written.
+ */
+abstract class ExportLineWriter {
+
+    protected final Writer writer;
+
+    protected ExportLineWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    static ExportLineWriter of(ExportFormat format, Writer writer, ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(writer);
+            case NDJSON -> new Ndjson(writer, objectMapper);
+        };
+    }
+
+    abstract void writeHeader() throws IOException;
+
+    abstract void write(OrderLine line) throws IOException;
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    static BigDecimal lineTotal(OrderLine line) {
+        return line.getPrice() == null ? null : line.getPrice().multiply(BigDecimal.valueOf(line.getQuantity()));
+    }
+
+    /**
+     * RFC 4180 CSV with a header row. Only product names are quoted, when they need it.
+     */
+    private static class Csv extends ExportLineWriter {
+
+        Csv(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void writeHeader() throws IOException {
+            writer.write("order_id,table_id,created_at,product_id,product_name,quantity,price,line_total\r\n");
+        }
+
+        @Override
+        void write(OrderLine line) throws IOException {
+            writer.write(line.getOrderId().toString());
+            writer.write(',');
+            writer.write(Integer.toString(line.getTableId()));
+            writer.write(',');
+            writer.write(line.getCreatedAt().toString());
+            writer.write(',');
+            writer.write(Long.toString(line.getProductId()));
+            writer.write(',');
+            writeText(line.getProductName());
+            writer.write(',');
+            writer.write(Integer.toString(line.getQuantity()));
+            writer.write(',');
+            writeAmount(line.getPrice());
+            writer.write(',');
+            writeAmount(lineTotal(line));
+            writer.write("\r\n");
+        }
+
+        private void writeText(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                    && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private void writeAmount(BigDecimal amount) throws IOException {
+            if (amount != null) {
+                writer.write(amount.toPlainString());
+            }
+        }
+    }
+
+    /**
+     * One JSON object per line, written with a streaming generator.
+     */
+    private static class Ndjson extends ExportLineWriter {
+
+        private final JsonGenerator generator;
+
+        Ndjson(Writer writer, ObjectMapper objectMapper) throws IOException {
+            super(writer);
+            this.generator = objectMapper.getFactory().createGenerator(writer)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated by the '\n' written after each object, not by Jackson's default ' '
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void writeHeader() {
+            // NDJSON has no header
+        }
+
+        @Override
+        void write(OrderLine line) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("orderId", line.getOrderId().toString());
+            generator.writeNumberField("tableId", line.getTableId());
+            generator.writeStringField("createdAt", line.getCreatedAt().toString());
+            generator.writeNumberField("productId", line.getProductId());
+            generator.writeStringField("productName", line.getProductName());
+            generator.writeNumberField("quantity", line.getQuantity());
+            generator.writeNumberField("price", line.getPrice());
+            generator.writeNumberField("lineTotal", lineTotal(line));
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
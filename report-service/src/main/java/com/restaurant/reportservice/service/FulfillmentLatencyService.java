@@ -0,0 +1,93 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.domain.service.LatencyHistograms;
+import com.restaurant.reportservice.dto.FulfillmentResponseDTO;
+import com.restaurant.reportservice.repository.FulfillmentHistogramJdbcRepository;
+import com.restaurant.reportservice.repository.OrderProjectionJdbcRepository;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Order fulfillment latency: the time from order.placed ({@code createdAt}) to order.ready
+ * ({@code updatedAt}) of each order.
+ *
+ * Times are recorded once per order, when it moves to READY, into the histogram of the hour
+ * it was placed in. Reports merge the histograms of the hours in the range instead of
+ * scanning orders, so their cost depends on the number of hours, not of orders.
+ */
+@Service
+public class FulfillmentLatencyService {
+
+    private final OrderProjectionJdbcRepository projectionJdbcRepository;
+    private final FulfillmentHistogramJdbcRepository histogramRepository;
+    private final DateRangeFilter dateRangeFilter;
+
+    public FulfillmentLatencyService(OrderProjectionJdbcRepository projectionJdbcRepository,
+                                     FulfillmentHistogramJdbcRepository histogramRepository,
+                                     DateRangeFilter dateRangeFilter) {
+        this.projectionJdbcRepository = projectionJdbcRepository;
+        this.histogramRepository = histogramRepository;
+        this.dateRangeFilter = dateRangeFilter;
+    }
+
+    /**
+     * Records the fulfillment time of orders that just moved to READY, keyed by order id with
+     * the time they became READY. Must run in the transaction that changed their status, so
+     * each order is recorded exactly once. Orders projected straight as READY, without an
+     * order.placed event, have no placement time and are skipped.
+     */
+    public void recordReady(Map<UUID, LocalDateTime> readyAtByOrder) {
+        if (readyAtByOrder.isEmpty()) {
+            return;
+        }
+        Map<UUID, LocalDateTime> createdAtByOrder =
+                projectionJdbcRepository.findCreatedAt(new ArrayList<>(readyAtByOrder.keySet()));
+
+        SortedMap<LocalDateTime, Histogram> samplesByHour = new TreeMap<>();
+        readyAtByOrder.forEach((orderId, readyAt) -> {
+            LocalDateTime createdAt = createdAtByOrder.get(orderId);
+            if (createdAt == null || readyAt == null || createdAt.equals(readyAt)) {
+                return;
+            }
+            long millis = Math.max(0, Duration.between(createdAt, readyAt).toMillis());
+            samplesByHour.computeIfAbsent(createdAt.truncatedTo(ChronoUnit.HOURS), hour -> LatencyHistograms.empty())
+                    .recordValue(millis);
+        });
+        histogramRepository.add(samplesByHour);
+    }
+
+    @Transactional(readOnly = true)
+    public FulfillmentResponseDTO generateReport(LocalDate startDate, LocalDate endDate) {
+        DateRange range = dateRangeFilter.validateAndCreate(startDate, endDate);
+        Histogram histogram = histogramRepository.sumBetween(
+                range.getStartDate().atStartOfDay(), range.getEndDate().plusDays(1).atStartOfDay());
+
+        FulfillmentResponseDTO.FulfillmentResponseDTOBuilder report = FulfillmentResponseDTO.builder()
+                .startDate(range.getStartDate())
+                .endDate(range.getEndDate())
+                .orders(histogram.getTotalCount());
+        if (histogram.getTotalCount() == 0) {
+            return report.build();
+        }
+        return report
+                .p50Ms(histogram.getValueAtPercentile(50))
+                .p90Ms(histogram.getValueAtPercentile(90))
+                .p95Ms(histogram.getValueAtPercentile(95))
+                .p99Ms(histogram.getValueAtPercentile(99))
+                .maxMs(histogram.getMaxValue())
+                .build();
+    }
+}
@@ -5,31 +5,133 @@ import com.restaurant.reportservice.application.command.OrderReadyCommand;
 import com.restaurant.reportservice.entity.OrderItemReportEntity;
 import com.restaurant.reportservice.entity.OrderReportEntity;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.repository.DailySalesRollupJdbcRepository;
+import com.restaurant.reportservice.repository.OrderProjectionJdbcRepository;
 import com.restaurant.reportservice.repository.OrderReportRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Clock;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Application service that processes order events and persists them
  * into the report projection database. Implements idempotent upsert behavior.
+ *
+ * The batch methods are the normal path for the listeners and write a whole delivery batch
+ * with set-based statements. The single-event methods go through JPA and are used to isolate
+ * the failing event when a batch cannot be written.
+ *
+ * Both READY paths add the orders that actually changed status to the daily sales rollup in
+ * the same transaction, so redelivered order.ready events never count an order twice, and
+ * drop the cached and stored job reports of the days those orders belong to once it commits.
+ * order.placed events only add PENDING orders, which reports ignore, so they leave the cache
+ * alone. The fulfillment time of each transitioned order is recorded in the same transaction,
+ * so it is counted once too, and so are its table and products in the daily distinct-count
+ * sketches. After the transaction commits they are also handed to the in-memory
+ * {@link ColumnarAnalyticsStore}.
+ *
+ * Before any order is written, the monthly partitions of its creation time are created if
+ * they do not exist yet. Orders written through JPA register their id in report_order_keys
+ * like the batch statements do, so both paths stay idempotent across partitions.
  */
 @Service
 @Slf4j
 public class OrderEventProcessingService {
 
     private final OrderReportRepository orderReportRepository;
+    private final OrderProjectionJdbcRepository projectionJdbcRepository;
+    private final DailySalesRollupJdbcRepository rollupRepository;
+    private final DailyReportCache reportCache;
+    private final StoredReportInvalidator storedReportInvalidator;
+    private final FulfillmentLatencyService fulfillmentLatencyService;
+    private final DistinctCountService distinctCountService;
+    private final ReportPartitionService partitionService;
+    private final ColumnarAnalyticsStore columnarStore;
     private final Clock clock;
 
-    public OrderEventProcessingService(OrderReportRepository orderReportRepository, Clock clock) {
+    public OrderEventProcessingService(OrderReportRepository orderReportRepository,
+                                       OrderProjectionJdbcRepository projectionJdbcRepository,
+                                       DailySalesRollupJdbcRepository rollupRepository,
+                                       DailyReportCache reportCache,
+                                       StoredReportInvalidator storedReportInvalidator,
+                                       FulfillmentLatencyService fulfillmentLatencyService,
+                                       DistinctCountService distinctCountService,
+                                       ReportPartitionService partitionService,
+                                       ColumnarAnalyticsStore columnarStore,
+                                       Clock clock) {
         this.orderReportRepository = orderReportRepository;
+        this.projectionJdbcRepository = projectionJdbcRepository;
+        this.rollupRepository = rollupRepository;
+        this.reportCache = reportCache;
+        this.storedReportInvalidator = storedReportInvalidator;
+        this.fulfillmentLatencyService = fulfillmentLatencyService;
+        this.distinctCountService = distinctCountService;
+        this.partitionService = partitionService;
+        this.columnarStore = columnarStore;
         this.clock = clock;
     }
 
+    /**
+     * Projects a batch of order.placed events in one transaction. Orders that already exist are
+     * skipped, and items are only written for the orders inserted by this batch.
+     */
+    @Transactional
+    public void processOrderPlacedBatch(List<OrderPlacedCommand> commands) {
+        List<OrderPlacedCommand> orders = distinctByOrderId(commands, OrderPlacedCommand::getOrderId);
+        if (orders.isEmpty()) {
+            return;
+        }
+        partitionService.ensurePartitionsFor(orders.stream().map(OrderPlacedCommand::getCreatedAt).toList());
+        Set<UUID> inserted = new HashSet<>(
+                projectionJdbcRepository.insertOrdersIfAbsent(orders, LocalDateTime.now(clock)));
+
+        List<OrderPlacedCommand> newOrders = new ArrayList<>(inserted.size());
+        for (OrderPlacedCommand order : orders) {
+            if (inserted.contains(order.getOrderId())) {
+                newOrders.add(order);
+            }
+        }
+        int items = newOrders.isEmpty() ? 0 : projectionJdbcRepository.insertItems(newOrders);
+        log.info("Projected {} order.placed events: {} new orders, {} items, {} skipped (idempotent)",
+                commands.size(), newOrders.size(), items, commands.size() - newOrders.size());
+    }
+
+    /**
+     * Applies a batch of order.ready events in one transaction with a single upsert.
+     */
+    @Transactional
+    public void processOrderReadyBatch(List<OrderReadyCommand> commands) {
+        List<OrderReadyCommand> orders = distinctByOrderId(commands, OrderReadyCommand::getOrderId);
+        if (orders.isEmpty()) {
+            return;
+        }
+        partitionService.ensurePartitionsFor(orders.stream().map(OrderReadyCommand::getUpdatedAt).toList());
+        List<UUID> transitioned = projectionJdbcRepository.markReady(orders, LocalDateTime.now(clock));
+        if (!transitioned.isEmpty()) {
+            rollupRepository.applyReadyOrders(transitioned);
+            distinctCountService.recordReady(transitioned);
+            columnarStore.recordReady(transitioned);
+            invalidateReports(projectionJdbcRepository.findCreatedDays(transitioned));
+            fulfillmentLatencyService.recordReady(readyAtOf(orders, transitioned));
+        }
+        log.info("Projected {} order.ready events: {} orders moved to READY",
+                commands.size(), transitioned.size());
+    }
+
     @Transactional
     public void processOrderPlaced(OrderPlacedCommand command) {
         Optional<OrderReportEntity> existing = orderReportRepository.findById(command.getOrderId());
@@ -46,6 +148,8 @@ public class OrderEventProcessingService {
                 .receivedAt(LocalDateTime.now(clock))
                 .build();
 
+        partitionService.ensurePartitionsFor(Collections.singletonList(order.getCreatedAt()));
+        projectionJdbcRepository.registerOrder(order.getId(), order.getCreatedAt());
         if (command.getItems() != null) {
             command.getItems().forEach(item -> {
                 OrderItemReportEntity itemEntity = OrderItemReportEntity.builder()
@@ -67,8 +171,18 @@ public class OrderEventProcessingService {
         Optional<OrderReportEntity> existing = orderReportRepository.findById(command.getOrderId());
         if (existing.isPresent()) {
             OrderReportEntity order = existing.get();
+            boolean transitioned = order.getStatus() != OrderStatus.READY;
+            if (transitioned) {
+                order.setReadyAt(LocalDateTime.now(clock));
+            }
             order.setStatus(OrderStatus.READY);
             orderReportRepository.save(order);
+            if (transitioned) {
+                addToRollup(order);
+                if (command.getUpdatedAt() != null) {
+                    fulfillmentLatencyService.recordReady(Map.of(order.getId(), command.getUpdatedAt()));
+                }
+            }
             log.info("Updated order {} to READY", command.getOrderId());
         } else {
             OrderReportEntity order = OrderReportEntity.builder()
@@ -78,8 +192,55 @@ public class OrderEventProcessingService {
                     .createdAt(command.getUpdatedAt())
                     .receivedAt(LocalDateTime.now(clock))
                     .build();
+            order.setReadyAt(order.getReceivedAt());
+            partitionService.ensurePartitionsFor(Collections.singletonList(order.getCreatedAt()));
+            projectionJdbcRepository.registerOrder(order.getId(), order.getCreatedAt());
             orderReportRepository.save(order);
+            addToRollup(order);
             log.info("Created order {} directly as READY (upsert)", command.getOrderId());
         }
     }
+
+    private void addToRollup(OrderReportEntity order) {
+        // The rollup and sketch statements read report_orders, so the status change must reach the DB first.
+        orderReportRepository.flush();
+        rollupRepository.applyReadyOrders(List.of(order.getId()));
+        distinctCountService.recordReady(List.of(order.getId()));
+        columnarStore.recordReady(List.of(order.getId()));
+        invalidateReports(List.of(order.getCreatedAt().toLocalDate()));
+    }
+
+    /**
+     * Drops the cached days and deletes the stored job reports of every range that spans
+     * from the first to the last of them, both once the transaction commits.
+     */
+    private void invalidateReports(List<LocalDate> days) {
+        if (days.isEmpty()) {
+            return;
+        }
+        reportCache.invalidate(days);
+        storedReportInvalidator.invalidate(Collections.min(days), Collections.max(days));
+    }
+
+    private static Map<UUID, LocalDateTime> readyAtOf(List<OrderReadyCommand> orders, List<UUID> transitioned) {
+        Set<UUID> ids = new HashSet<>(transitioned);
+        Map<UUID, LocalDateTime> readyAt = new HashMap<>();
+        for (OrderReadyCommand order : orders) {
+            if (ids.contains(order.getOrderId()) && order.getUpdatedAt() != null) {
+                readyAt.put(order.getOrderId(), order.getUpdatedAt());
+            }
+        }
+        return readyAt;
+    }
+
+    /**
+     * Keeps the first command per order, since one multi-row statement may not touch the same row twice.
+     */
+    private static <T> List<T> distinctByOrderId(List<T> commands, Function<T, UUID> orderId) {
+        Map<UUID, T> distinct = new LinkedHashMap<>();
+        for (T command : commands) {
+            distinct.putIfAbsent(orderId.apply(command), command);
+        }
+        return new ArrayList<>(distinct.values());
+    }
 }
@@ -0,0 +1,330 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.dto.ProjectionRebuildJobDTO;
+import com.restaurant.reportservice.infrastructure.orderexport.ExportedOrder;
+import com.restaurant.reportservice.infrastructure.orderexport.OrderExportClient;
+import com.restaurant.reportservice.repository.ProjectionRebuildJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rebuilds the report projection (report_order_keys, report_orders, report_order_items) from
+ * the order-service bulk export, e.g. after events were lost or the projection was damaged.
+ *
+ * The export is read page by page on a background thread and split into batches that
+ * {@code report.rebuild.workers} threads COPY into empty, unindexed *_rebuild tables; at most
+ * two batches per worker are in flight, so a slow database holds back the reads instead of
+ * filling the heap. Once every page is copied the keys and indexes are built and the rebuilt
+ * tables are swapped in, in one transaction that first copies what the live projection
+ * received since the rebuild started (minus a margin for events already in flight), so no
+ * event is lost. The previous tables are kept as *_retired until the next rebuild.
+ *
+ * Afterwards the daily sales rollup and sketches are rebuilt and the report cache and
+ * columnar store reloaded, since they were derived from the previous tables. One rebuild
+ * runs at a time; a failed one drops its tables and leaves the live projection untouched.
+ */
+@Service
+@Slf4j
+public class ProjectionRebuildService {
+
+    private static final int MAX_RETAINED_JOBS = 20;
+    static final Duration CATCH_UP_MARGIN = Duration.ofMinutes(5);
+
+    private final OrderExportClient exportClient;
+    private final ProjectionRebuildJdbcRepository rebuildRepository;
+    private final DailySalesRollupBackfillService rollupBackfillService;
+    private final DailyReportCache reportCache;
+    private final ColumnarAnalyticsStore columnarStore;
+    private final Clock clock;
+    private final int pageSize;
+    private final int batchSize;
+    private final int workers;
+    private final int monthsAhead;
+    private final Executor coordinator;
+    private final Executor copiers;
+
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+    private final Map<UUID, RebuildJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, RebuildJob> eldest) {
+            return size() > MAX_RETAINED_JOBS;
+        }
+    });
+
+    @Autowired
+    public ProjectionRebuildService(OrderExportClient exportClient,
+                                    ProjectionRebuildJdbcRepository rebuildRepository,
+                                    DailySalesRollupBackfillService rollupBackfillService,
+                                    DailyReportCache reportCache,
+                                    ColumnarAnalyticsStore columnarStore,
+                                    Clock clock,
+                                    @Value("${report.rebuild.page-size}") int pageSize,
+                                    @Value("${report.rebuild.batch-size}") int batchSize,
+                                    @Value("${report.rebuild.workers}") int workers,
+                                    @Value("${report.partitions.months-ahead}") int monthsAhead) {
+        this(exportClient, rebuildRepository, rollupBackfillService, reportCache, columnarStore, clock,
+                pageSize, batchSize, workers, monthsAhead,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "projection-rebuild");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                copyWorkers(workers));
+    }
+
+    /**
+     * With the executor that runs the jobs and the one that copies their batches.
+     */
+    ProjectionRebuildService(OrderExportClient exportClient,
+                             ProjectionRebuildJdbcRepository rebuildRepository,
+                             DailySalesRollupBackfillService rollupBackfillService,
+                             DailyReportCache reportCache,
+                             ColumnarAnalyticsStore columnarStore,
+                             Clock clock,
+                             int pageSize,
+                             int batchSize,
+                             int workers,
+                             int monthsAhead,
+                             Executor coordinator,
+                             Executor copiers) {
+        if (pageSize <= 0 || batchSize <= 0 || workers <= 0) {
+            throw new IllegalArgumentException("report.rebuild.page-size, batch-size and workers must be positive");
+        }
+        this.exportClient = exportClient;
+        this.rebuildRepository = rebuildRepository;
+        this.rollupBackfillService = rollupBackfillService;
+        this.reportCache = reportCache;
+        this.columnarStore = columnarStore;
+        this.clock = clock;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.monthsAhead = monthsAhead;
+        this.coordinator = coordinator;
+        this.copiers = copiers;
+    }
+
+    private static ExecutorService copyWorkers(int workers) {
+        AtomicInteger threads = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "projection-rebuild-copy-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts an asynchronous rebuild.
+     *
+     * @throws IllegalStateException when another rebuild is still running
+     */
+    public ProjectionRebuildJobDTO startRebuild() {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("A projection rebuild is already running");
+        }
+        RebuildJob job = new RebuildJob(LocalDateTime.now(clock));
+        jobs.put(job.id, job);
+        try {
+            coordinator.execute(() -> run(job));
+        } catch (RuntimeException ex) {
+            rebuildRunning.set(false);
+            throw ex;
+        }
+        log.info("Started projection rebuild {} (pageSize={}, batchSize={}, workers={})",
+                job.id, pageSize, batchSize, workers);
+        return job.toDTO();
+    }
+
+    public Optional<ProjectionRebuildJobDTO> findJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(RebuildJob::toDTO);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (coordinator instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        if (copiers instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(RebuildJob job) {
+        try {
+            job.phase = "PREPARING";
+            YearMonth lastMonth = YearMonth.from(job.startedAt).plusMonths(monthsAhead);
+            rebuildRepository.prepare(lastMonth);
+            Set<YearMonth> knownMonths = new HashSet<>();
+            for (YearMonth month = YearMonth.from(job.startedAt); !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                knownMonths.add(month);
+            }
+
+            job.phase = "COPYING";
+            copyExport(job, knownMonths);
+
+            job.phase = "INDEXING";
+            rebuildRepository.index();
+
+            job.phase = "SWAPPING";
+            job.caughtUp.set(rebuildRepository.swap(job.startedAt.minus(CATCH_UP_MARGIN)));
+
+            job.phase = "REFRESHING";
+            rollupBackfillService.rebuildAll();
+            reportCache.clear();
+            columnarStore.reload();
+
+            job.finish("COMPLETED", null, LocalDateTime.now(clock));
+            log.info("Projection rebuild {} completed: {} orders and {} items copied, {} caught up",
+                    job.id, job.ordersCopied.get(), job.itemsCopied.get(), job.caughtUp.get());
+        } catch (RuntimeException ex) {
+            job.finish("FAILED", ex.getMessage(), LocalDateTime.now(clock));
+            log.error("Projection rebuild {} failed while {} after copying {} orders",
+                    job.id, job.phase, job.ordersCopied.get(), ex);
+            if (!"REFRESHING".equals(job.phase)) {
+                discard(job);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.finish("FAILED", "Interrupted", LocalDateTime.now(clock));
+            log.warn("Projection rebuild {} interrupted while {}", job.id, job.phase);
+        } finally {
+            rebuildRunning.set(false);
+        }
+    }
+
+    /**
+     * Reads every page and hands its batches to the copy workers, then waits for the last ones.
+     */
+    private void copyExport(RebuildJob job, Set<YearMonth> knownMonths) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(workers * 2);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        LocalDateTime afterCreatedAt = null;
+        UUID afterId = null;
+        int read;
+        do {
+            List<ExportedOrder> page = new ArrayList<>();
+            read = exportClient.readPage(afterCreatedAt, afterId, pageSize, page::add);
+            job.pages.incrementAndGet();
+            job.ordersRead.addAndGet(read);
+            for (int from = 0; from < page.size() && failure.get() == null; from += batchSize) {
+                List<ExportedOrder> batch = page.subList(from, Math.min(page.size(), from + batchSize));
+                ensureMonths(batch, knownMonths);
+                inFlight.acquire();
+                copiers.execute(() -> {
+                    try {
+                        job.itemsCopied.addAndGet(rebuildRepository.copy(batch, job.startedAt));
+                        job.ordersCopied.addAndGet(batch.size());
+                    } catch (RuntimeException ex) {
+                        failure.compareAndSet(null, ex);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            if (!page.isEmpty()) {
+                ExportedOrder last = page.get(page.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+            }
+        } while (read == pageSize && failure.get() == null);
+        // Wait for the batches in flight, so a failed rebuild does not drop tables they write to
+        inFlight.acquire(workers * 2);
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private void ensureMonths(List<ExportedOrder> batch, Set<YearMonth> knownMonths) {
+        YearMonth first = null;
+        YearMonth last = null;
+        for (ExportedOrder order : batch) {
+            YearMonth month = YearMonth.from(order.getCreatedAt());
+            if (!knownMonths.contains(month)) {
+                first = first == null || month.isBefore(first) ? month : first;
+                last = last == null || month.isAfter(last) ? month : last;
+            }
+        }
+        if (first != null) {
+            rebuildRepository.ensureMonths(first, last);
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                knownMonths.add(month);
+            }
+        }
+    }
+
+    private void discard(RebuildJob job) {
+        try {
+            rebuildRepository.discard();
+        } catch (RuntimeException ex) {
+            log.warn("Could not drop the tables of failed projection rebuild {}: {}", job.id, ex.getMessage());
+        }
+    }
+
+    /**
+     * Mutable progress of one job; written by the rebuild threads and read by request threads.
+     */
+    private static final class RebuildJob {
+        private final UUID id = UUID.randomUUID();
+        private final LocalDateTime startedAt;
+        private final AtomicLong pages = new AtomicLong();
+        private final AtomicLong ordersRead = new AtomicLong();
+        private final AtomicLong ordersCopied = new AtomicLong();
+        private final AtomicLong itemsCopied = new AtomicLong();
+        private final AtomicLong caughtUp = new AtomicLong();
+        private volatile String status = "RUNNING";
+        private volatile String phase = "QUEUED";
+        private volatile String error;
+        private volatile LocalDateTime finishedAt;
+
+        private RebuildJob(LocalDateTime startedAt) {
+            this.startedAt = startedAt;
+        }
+
+        private void finish(String finalStatus, String failure, LocalDateTime finishedAt) {
+            this.error = failure;
+            this.finishedAt = finishedAt;
+            this.status = finalStatus;
+        }
+
+        private ProjectionRebuildJobDTO toDTO() {
+            return ProjectionRebuildJobDTO.builder()
+                    .jobId(id)
+                    .status(status)
+                    .phase(phase)
+                    .pages(pages.get())
+                    .ordersRead(ordersRead.get())
+                    .ordersCopied(ordersCopied.get())
+                    .itemsCopied(itemsCopied.get())
+                    .caughtUp(caughtUp.get())
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.restaurant.reportservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.enums.ExportFormat;
+import com.restaurant.reportservice.repository.OrderLineExportJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the item lines of READY orders as CSV or NDJSON, optionally gzipped.
+ *
+ * Lines are written to the response as they are read from a database cursor, inside a
+ * read-only transaction, so memory stays constant however many lines the range holds.
+ * When the client disconnects the next write fails, the query is cancelled and the
+ * transaction rolled back.
+ */
+@Service
+@Slf4j
+public class ReportExportService {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OrderLineExportJdbcRepository exportRepository;
+    private final DateRangeFilter dateRangeFilter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReportExportService(OrderLineExportJdbcRepository exportRepository,
+                               DateRangeFilter dateRangeFilter,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
+        this.exportRepository = exportRepository;
+        this.dateRangeFilter = dateRangeFilter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Validates the range now and returns a body that writes the export when the response is
+     * streamed.
+     *
+     * @throws com.restaurant.reportservice.exception.InvalidDateRangeException when the range is invalid
+     */
+    public StreamingResponseBody export(LocalDate startDate, LocalDate endDate, ExportFormat format, boolean gzip) {
+        DateRange range = dateRangeFilter.validateAndCreate(startDate, endDate);
+        return out -> write(range, format, gzip, out);
+    }
+
+    void write(DateRange range, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                compressed != null ? compressed : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ExportLineWriter lines = ExportLineWriter.of(format, writer, objectMapper);
+        long[] written = {0};
+
+        lines.writeHeader();
+        try {
+            transactionTemplate.executeWithoutResult(status -> exportRepository.forEachReadyLine(
+                    range.getStartDate(), range.getEndDate(), line -> {
+                        try {
+                            lines.write(line);
+                            written[0]++;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        } catch (UncheckedIOException e) {
+            log.info("Export {}..{} aborted after {} lines: {}",
+                    range.getStartDate(), range.getEndDate(), written[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+        lines.flush();
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} lines for {}..{} as {}", written[0], range.getStartDate(), range.getEndDate(), format);
+    }
+}
@@ -0,0 +1,301 @@
+package com.restaurant.reportservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.domain.service.ReportAccumulator;
+import com.restaurant.reportservice.dto.ReportJobDTO;
+import com.restaurant.reportservice.dto.ReportResponseDTO;
+import com.restaurant.reportservice.entity.ReportJobResultEntity;
+import com.restaurant.reportservice.exception.ReportJobQueueFullException;
+import com.restaurant.reportservice.repository.ReportJobResultRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous report jobs for date ranges too large to compute inside an HTTP request.
+ *
+ * Jobs run on a fixed pool of {@code report.jobs.concurrency} threads behind a queue of
+ * {@code report.jobs.queue-capacity} jobs, which bounds the projection DB connections they
+ * can hold; submissions beyond that are rejected. A job walks its range in chunks of
+ * {@code report.jobs.chunk-days} days, each read in its own short transaction, and reports
+ * the chunks done as progress. Submitting a range that already has an unfinished job returns
+ * that job.
+ *
+ * Reports of closed ranges (ending before today) are persisted in report_job_results, so a
+ * later job for the same range completes immediately. The range is claimed with an empty row
+ * before it is read; a READY transition or rollup rebuild on any day of the range deletes
+ * that row, and the result is then returned but not stored.
+ */
+@Service
+@Slf4j
+public class ReportJobService {
+
+    private static final int MAX_RETAINED_JOBS = 100;
+
+    private final ReportService reportService;
+    private final ReportJobResultRepository resultRepository;
+    private final DateRangeFilter dateRangeFilter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int chunkDays;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<UUID, ReportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<UUID, ReportJob> eldest) {
+            return size() > MAX_RETAINED_JOBS && eldest.getValue().isFinished();
+        }
+    });
+
+    public ReportJobService(ReportService reportService,
+                            ReportJobResultRepository resultRepository,
+                            DateRangeFilter dateRangeFilter,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            Clock clock,
+                            @Value("${report.jobs.concurrency}") int concurrency,
+                            @Value("${report.jobs.queue-capacity}") int queueCapacity,
+                            @Value("${report.jobs.chunk-days}") int chunkDays) {
+        if (concurrency <= 0 || queueCapacity <= 0 || chunkDays <= 0) {
+            throw new IllegalArgumentException(
+                    "report.jobs.concurrency, queue-capacity and chunk-days must be positive");
+        }
+        this.reportService = reportService;
+        this.resultRepository = resultRepository;
+        this.dateRangeFilter = dateRangeFilter;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.chunkDays = chunkDays;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "report-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Starts a report job for the range, or returns the unfinished job already computing it.
+     * A closed range with a stored result returns a job that is already COMPLETED.
+     *
+     * @throws com.restaurant.reportservice.exception.InvalidDateRangeException when the range is invalid
+     * @throws com.restaurant.reportservice.exception.ReportJobQueueFullException when the job queue is full
+     */
+    public ReportJobDTO submit(LocalDate startDate, LocalDate endDate) {
+        DateRange range = dateRangeFilter.validateAndCreate(startDate, endDate);
+        boolean closed = range.getEndDate().isBefore(LocalDate.now(clock));
+
+        Optional<ReportResponseDTO> stored = closed ? findStored(range) : Optional.empty();
+        ReportJob job = new ReportJob(range, chunkCount(range), LocalDateTime.now(clock));
+        if (stored.isPresent()) {
+            job.stored = true;
+            job.start(job.submittedAt);
+            job.complete(stored.get(), job.submittedAt);
+            jobs.put(job.id, job);
+            return job.toDTO();
+        }
+
+        synchronized (jobs) {
+            for (ReportJob running : jobs.values()) {
+                if (!running.isFinished() && running.range.equals(range)) {
+                    return running.toDTO();
+                }
+            }
+            try {
+                executor.execute(() -> run(job, closed));
+            } catch (RejectedExecutionException ex) {
+                throw new ReportJobQueueFullException("Report job queue is full", ex);
+            }
+            jobs.put(job.id, job);
+            log.info("Queued report job {} for {} to {} ({} chunks)",
+                    job.id, range.getStartDate(), range.getEndDate(), job.totalChunks);
+            return job.toDTO();
+        }
+    }
+
+    public Optional<ReportJobDTO> findJob(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(ReportJob::toDTO);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ReportJob job, boolean closed) {
+        job.start(LocalDateTime.now(clock));
+        try {
+            if (closed) {
+                claim(job.range);
+            }
+            ReportAccumulator accumulator = new ReportAccumulator();
+            for (LocalDate from = job.range.getStartDate(); !from.isAfter(job.range.getEndDate());
+                 from = from.plusDays(chunkDays)) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new IllegalStateException("Report job interrupted");
+                }
+                LocalDate to = min(from.plusDays(chunkDays - 1L), job.range.getEndDate());
+                accumulator.addSummary(reportService.summarize(from, to));
+                job.completedChunks.incrementAndGet();
+            }
+            ReportResponseDTO result = reportService.toResponse(accumulator.toSummary());
+            if (closed) {
+                store(job.range, result);
+            }
+            job.complete(result, LocalDateTime.now(clock));
+            log.info("Report job {} completed: {} chunks", job.id, job.totalChunks);
+        } catch (RuntimeException ex) {
+            job.fail(ex.getMessage(), LocalDateTime.now(clock));
+            log.error("Report job {} failed after {} of {} chunks",
+                    job.id, job.completedChunks.get(), job.totalChunks, ex);
+        }
+    }
+
+    private Optional<ReportResponseDTO> findStored(DateRange range) {
+        return resultRepository.findById(new ReportJobResultEntity.Key(range.getStartDate(), range.getEndDate()))
+                .filter(row -> row.getComputedAt() != null)
+                .map(row -> read(row.getResult()));
+    }
+
+    /**
+     * Inserts the empty row that a later invalidation deletes, unless a job elsewhere
+     * already claimed the range.
+     */
+    private void claim(DateRange range) {
+        ReportJobResultEntity.Key key = new ReportJobResultEntity.Key(range.getStartDate(), range.getEndDate());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!resultRepository.existsById(key)) {
+                    resultRepository.saveAndFlush(ReportJobResultEntity.builder()
+                            .startDate(range.getStartDate())
+                            .endDate(range.getEndDate())
+                            .build());
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            log.debug("Range {} to {} was claimed concurrently", range.getStartDate(), range.getEndDate());
+        }
+    }
+
+    private void store(DateRange range, ReportResponseDTO result) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(result);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize report", ex);
+        }
+        Integer stored = transactionTemplate.execute(status -> resultRepository.complete(
+                range.getStartDate(), range.getEndDate(), json, LocalDateTime.now(clock)));
+        if (stored == null || stored == 0) {
+            log.info("Report for {} to {} changed while it was computed, not stored",
+                    range.getStartDate(), range.getEndDate());
+        }
+    }
+
+    private ReportResponseDTO read(byte[] json) {
+        try {
+            return objectMapper.readValue(json, ReportResponseDTO.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot read stored report", ex);
+        }
+    }
+
+    private int chunkCount(DateRange range) {
+        long days = ChronoUnit.DAYS.between(range.getStartDate(), range.getEndDate()) + 1;
+        return Math.toIntExact((days + chunkDays - 1) / chunkDays);
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Mutable state of one job; written by its worker thread and read by request threads.
+     */
+    private static final class ReportJob {
+        private final UUID id = UUID.randomUUID();
+        private final DateRange range;
+        private final int totalChunks;
+        private final LocalDateTime submittedAt;
+        private final AtomicInteger completedChunks = new AtomicInteger();
+        private volatile String status = "QUEUED";
+        private volatile boolean stored;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+        private volatile ReportResponseDTO result;
+
+        private ReportJob(DateRange range, int totalChunks, LocalDateTime submittedAt) {
+            this.range = range;
+            this.totalChunks = totalChunks;
+            this.submittedAt = submittedAt;
+        }
+
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private void start(LocalDateTime now) {
+            this.startedAt = now;
+            this.status = "RUNNING";
+        }
+
+        private void complete(ReportResponseDTO report, LocalDateTime now) {
+            this.result = report;
+            this.completedChunks.set(totalChunks);
+            this.finishedAt = now;
+            this.status = "COMPLETED";
+        }
+
+        private void fail(String failure, LocalDateTime now) {
+            this.error = failure;
+            this.finishedAt = now;
+            this.status = "FAILED";
+        }
+
+        private ReportJobDTO toDTO() {
+            int completed = completedChunks.get();
+            return ReportJobDTO.builder()
+                    .jobId(id)
+                    .status(status)
+                    .startDate(range.getStartDate())
+                    .endDate(range.getEndDate())
+                    .completedChunks(completed)
+                    .totalChunks(totalChunks)
+                    .progress((double) completed / totalChunks)
+                    .stored(stored)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .error(error)
+                    .result(result)
+                    .build();
+        }
+    }
+}
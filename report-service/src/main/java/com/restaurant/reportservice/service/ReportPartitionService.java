@@ -0,0 +1,136 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.dto.PartitionPruningDTO;
+import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.repository.ReportPartitionJdbcRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the monthly partitions of report_orders and report_order_items ahead of the data.
+ *
+ * At startup and then daily the partitions from the current month to
+ * {@code report.partitions.months-ahead} months later are created. Events created in any other
+ * month, e.g. replayed from the DLQ, get their partitions on demand before the projection
+ * writes them. Months known to exist are remembered, so the steady state costs no round trip.
+ *
+ * Partitions are created in their own short transaction: creating one locks the parent table,
+ * and a rolled-back batch must not take a partition it reported as created along with it.
+ *
+ * With {@code report.partitions.enabled=false} nothing is created, e.g. on databases without
+ * the V7 function; partitions must then be created by hand.
+ */
+@Service
+@Slf4j
+public class ReportPartitionService {
+
+    private final ReportPartitionJdbcRepository partitionRepository;
+    private final DateRangeFilter dateRangeFilter;
+    private final TransactionTemplate newTransaction;
+    private final Clock clock;
+    private final boolean enabled;
+    private final int monthsAhead;
+    private final Set<YearMonth> knownMonths = ConcurrentHashMap.newKeySet();
+
+    public ReportPartitionService(ReportPartitionJdbcRepository partitionRepository,
+                                  DateRangeFilter dateRangeFilter,
+                                  PlatformTransactionManager transactionManager,
+                                  Clock clock,
+                                  @Value("${report.partitions.enabled}") boolean enabled,
+                                  @Value("${report.partitions.months-ahead}") int monthsAhead) {
+        this.partitionRepository = partitionRepository;
+        this.dateRangeFilter = dateRangeFilter;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.clock = clock;
+        this.enabled = enabled;
+        this.monthsAhead = Math.max(0, monthsAhead);
+    }
+
+    /**
+     * Creates the partitions of the current month and the configured months ahead.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${report.partitions.cron}")
+    public void createUpcomingPartitions() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now(clock);
+        try {
+            ensureMonths(current, current.plusMonths(monthsAhead));
+        } catch (RuntimeException ex) {
+            log.warn("Could not create upcoming report partitions: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Makes sure the partitions of the months of the given creation times exist.
+     */
+    public void ensurePartitionsFor(Collection<LocalDateTime> createdAt) {
+        if (!enabled) {
+            return;
+        }
+        SortedSet<YearMonth> missing = new TreeSet<>();
+        for (LocalDateTime time : createdAt) {
+            if (time != null) {
+                YearMonth month = YearMonth.from(time);
+                if (!knownMonths.contains(month)) {
+                    missing.add(month);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            ensureMonths(missing.first(), missing.last());
+        }
+    }
+
+    /**
+     * All partitions and those a report over the inclusive range reads, to check that
+     * partition pruning works.
+     *
+     * @throws com.restaurant.reportservice.exception.InvalidDateRangeException when the range is invalid
+     */
+    public PartitionPruningDTO explainPruning(LocalDate startDate, LocalDate endDate) {
+        DateRange range = dateRangeFilter.validateAndCreate(startDate, endDate);
+        List<String> partitions = partitionRepository.findPartitions();
+        Set<String> scanned = partitionRepository.findScannedPartitions(OrderStatus.READY,
+                range.getStartDate().atStartOfDay(), range.getEndDate().atTime(23, 59, 59));
+        return PartitionPruningDTO.builder()
+                .startDate(range.getStartDate())
+                .endDate(range.getEndDate())
+                .partitions(partitions.size())
+                .scannedPartitions(scanned.stream().filter(partitions::contains).toList())
+                .build();
+    }
+
+    private void ensureMonths(YearMonth first, YearMonth last) {
+        Integer created = newTransaction.execute(status -> partitionRepository.ensureMonths(first, last));
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            knownMonths.add(month);
+        }
+        if (created != null && created > 0) {
+            log.info("Created report partitions for {} month(s) between {} and {}", created, first, last);
+        }
+    }
+}
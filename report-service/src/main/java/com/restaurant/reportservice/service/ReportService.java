@@ -3,44 +3,277 @@ package com.restaurant.reportservice.service;
 import com.restaurant.reportservice.domain.model.OrderItemReport;
 import com.restaurant.reportservice.domain.model.OrderReport;
 import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.model.ProductSummary;
 import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.ReportAccumulator;
 import com.restaurant.reportservice.domain.service.ReportAggregationService;
 import com.restaurant.reportservice.domain.service.DateRangeFilter;
 import com.restaurant.reportservice.dto.ReportResponseDTO;
+import com.restaurant.reportservice.dto.TopProductsResponseDTO;
+import com.restaurant.reportservice.entity.DailyOrderCountEntity;
+import com.restaurant.reportservice.entity.DailyProductSalesEntity;
 import com.restaurant.reportservice.entity.OrderReportEntity;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.enums.ProductRanking;
+import com.restaurant.reportservice.enums.ReportSource;
+import com.restaurant.reportservice.infrastructure.metrics.MetricTags;
+import com.restaurant.reportservice.repository.DailyOrderCountRepository;
+import com.restaurant.reportservice.repository.DailyProductSalesRepository;
 import com.restaurant.reportservice.repository.OrderReportRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Application service that orchestrates report generation.
  * Coordinates between repository, date filtering, and aggregation.
+ *
+ * By default the report is summed from the daily sales rollup, so its cost depends on the
+ * number of days and products in the range rather than on the number of orders. The
+ * in-memory aggregation over READY orders stays available with {@code report.source=ORDERS},
+ * and {@code report.source=STREAM} aggregates the same rows while reading them from a cursor,
+ * keeping memory bounded by the number of distinct products. {@code report.source=SQL} leaves
+ * the grouping to the database and only receives one row per product.
+ *
+ * Ranges that fit in {@link DailyReportCache} are assembled from per-day summaries, so
+ * repeated queries over closed days are answered without touching the database. The days
+ * missing from the cache are read together: with the rollup, a cold range costs two queries
+ * whatever its length.
+ *
+ * Top-product reports rank the same breakdown with a bounded heap and only return N
+ * products. Rollup ranges outside the cache are ranked by the database with
+ * {@code ORDER BY ... LIMIT} instead.
+ *
+ * When the optional {@link ColumnarAnalyticsStore} holds the whole range, the report is summed
+ * from its in-memory columns instead, whatever the configured source.
+ *
+ * Whatever the source, the product breakdown is listed by ascending product id: the SQL and
+ * rollup queries order by it, and the in-memory paths ({@link ReportAccumulator} and the
+ * columnar store) sort their products the same way.
+ *
+ * {@link #summarize} exposes the summary of a sub-range to ReportJobService, which splits
+ * very large ranges into chunks.
+ *
+ * {@link #generateReport} is timed as {@value #GENERATION_TIMER}, tagged with its outcome.
  */
 @Service
 public class ReportService {
 
+    static final int MAX_TOP_PRODUCTS = 1000;
+    static final int MAX_DAY_QUERIES = 31;
+    static final String GENERATION_TIMER = "report.generation";
+
     private final OrderReportRepository orderReportRepository;
     private final ReportAggregationService aggregationService;
     private final DateRangeFilter dateRangeFilter;
+    private final DailyProductSalesRepository dailyProductSalesRepository;
+    private final DailyOrderCountRepository dailyOrderCountRepository;
+    private final ReportSource source;
+    private final DailyReportCache reportCache;
+    private final ColumnarAnalyticsStore columnarStore;
+    private final MeterRegistry meterRegistry;
 
     public ReportService(OrderReportRepository orderReportRepository,
                          ReportAggregationService aggregationService,
-                         DateRangeFilter dateRangeFilter) {
+                         DateRangeFilter dateRangeFilter,
+                         DailyProductSalesRepository dailyProductSalesRepository,
+                         DailyOrderCountRepository dailyOrderCountRepository,
+                         @Value("${report.source}") ReportSource source,
+                         DailyReportCache reportCache,
+                         ColumnarAnalyticsStore columnarStore,
+                         MeterRegistry meterRegistry) {
         this.orderReportRepository = orderReportRepository;
         this.aggregationService = aggregationService;
         this.dateRangeFilter = dateRangeFilter;
+        this.dailyProductSalesRepository = dailyProductSalesRepository;
+        this.dailyOrderCountRepository = dailyOrderCountRepository;
+        this.source = source;
+        this.reportCache = reportCache;
+        this.columnarStore = columnarStore;
+        this.meterRegistry = meterRegistry;
     }
 
     @Transactional(readOnly = true)
     public ReportResponseDTO generateReport(LocalDate startDate, LocalDate endDate) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        RuntimeException failure = null;
+        try {
+            DateRange dateRange = dateRangeFilter.validateAndCreate(startDate, endDate);
+            return toResponse(summaryFor(dateRange));
+        } catch (RuntimeException ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            sample.stop(meterRegistry.timer(GENERATION_TIMER,
+                    MetricTags.OUTCOME, failure == null ? MetricTags.SUCCESS : MetricTags.ERROR,
+                    MetricTags.EXCEPTION, MetricTags.exception(failure)));
+        }
+    }
+
+    /**
+     * The summary of one part of a longer range, for report jobs that merge the parts
+     * themselves. Each call runs in its own read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public ReportSummary summarize(LocalDate startDate, LocalDate endDate) {
+        return summaryFor(dateRangeFilter.validateAndCreate(startDate, endDate));
+    }
+
+    @Transactional(readOnly = true)
+    public TopProductsResponseDTO generateTopProducts(LocalDate startDate, LocalDate endDate,
+                                                      int n, ProductRanking ranking) {
         DateRange dateRange = dateRangeFilter.validateAndCreate(startDate, endDate);
+        if (n <= 0 || n > MAX_TOP_PRODUCTS) {
+            throw new IllegalArgumentException("n must be between 1 and " + MAX_TOP_PRODUCTS);
+        }
+
+        List<ProductSummary> top = source == ReportSource.ROLLUP
+                && !columnarStore.covers(dateRange) && !reportCache.covers(dateRange)
+                ? topFromRollup(dateRange, n, ranking)
+                : aggregationService.topProducts(summaryFor(dateRange).getProductBreakdown(), n, ranking);
+
+        return TopProductsResponseDTO.builder()
+                .startDate(dateRange.getStartDate())
+                .endDate(dateRange.getEndDate())
+                .by(ranking)
+                .n(n)
+                .products(top.stream().map(this::toDTO).collect(Collectors.toList()))
+                .build();
+    }
+
+    private ReportSummary summaryFor(DateRange dateRange) {
+        if (columnarStore.covers(dateRange)) {
+            return columnarStore.summarize(dateRange);
+        }
+        return assemblesByDay(dateRange)
+                ? summarizeByDay(dateRange)
+                : summarize(dateRange);
+    }
+
+    /**
+     * Whether the range is assembled from per-day summaries. The rollup loads every missing
+     * day with one query per rollup table; the other sources need a query per missing day, so
+     * they only assemble by day when at most {@value #MAX_DAY_QUERIES} days are missing.
+     */
+    private boolean assemblesByDay(DateRange dateRange) {
+        return reportCache.covers(dateRange)
+                && (source == ReportSource.ROLLUP || reportCache.missingDays(dateRange) <= MAX_DAY_QUERIES);
+    }
+
+    /**
+     * Assembles the range from single-day summaries, loading the days missing from the cache
+     * together.
+     */
+    private ReportSummary summarizeByDay(DateRange dateRange) {
+        ReportAccumulator accumulator = new ReportAccumulator();
+        reportCache.getAll(dateRange, this::summarizeDays).forEach(accumulator::addSummary);
+        return accumulator.toSummary();
+    }
+
+    private Map<LocalDate, ReportSummary> summarizeDays(DateRange dateRange) {
+        if (source == ReportSource.ROLLUP) {
+            return summarizeRollupDays(dateRange);
+        }
+        Map<LocalDate, ReportSummary> days = new HashMap<>();
+        for (LocalDate day = dateRange.getStartDate(); !day.isAfter(dateRange.getEndDate()); day = day.plusDays(1)) {
+            days.put(day, summarize(DateRange.of(day, day)));
+        }
+        return days;
+    }
+
+    /**
+     * The summary of each day of the range that had READY orders, read from the rollup rows
+     * of the whole range at once.
+     */
+    private Map<LocalDate, ReportSummary> summarizeRollupDays(DateRange dateRange) {
+        Map<LocalDate, ReportSummary> days = new HashMap<>();
+        for (DailyOrderCountEntity count : dailyOrderCountRepository
+                .findByDayBetween(dateRange.getStartDate(), dateRange.getEndDate())) {
+            days.put(count.getDay(), ReportSummary.builder()
+                    .totalReadyOrders(count.getReadyOrders())
+                    .totalRevenue(BigDecimal.ZERO)
+                    .build());
+        }
+        for (DailyProductSalesEntity sales : dailyProductSalesRepository
+                .findByDayBetweenOrderByDayAscProductIdAsc(dateRange.getStartDate(), dateRange.getEndDate())) {
+            ReportSummary day = days.computeIfAbsent(sales.getDay(), d -> ReportSummary.builder()
+                    .totalReadyOrders(0)
+                    .totalRevenue(BigDecimal.ZERO)
+                    .build());
+            day.setTotalRevenue(day.getTotalRevenue().add(sales.getRevenue()));
+            day.getProductBreakdown().add(ProductSummary.builder()
+                    .productId(sales.getProductId())
+                    .productName(sales.getProductName())
+                    .quantitySold(Math.toIntExact(sales.getQuantity()))
+                    .totalAccumulated(sales.getRevenue())
+                    .build());
+        }
+        return days;
+    }
+
+    private ReportSummary summarize(DateRange dateRange) {
+        return switch (source) {
+            case ROLLUP -> summarizeRollup(dateRange);
+            case STREAM -> summarizeOrderStream(dateRange);
+            case ORDERS -> summarizeOrders(dateRange);
+            case SQL -> summarizeInDatabase(dateRange);
+        };
+    }
+
+    private ReportSummary summarizeRollup(DateRange dateRange) {
+        long readyOrders = dailyOrderCountRepository
+                .sumReadyOrdersBetween(dateRange.getStartDate(), dateRange.getEndDate());
+        List<DailyProductSalesRepository.ProductSalesTotal> totals = dailyProductSalesRepository
+                .sumByProductBetween(dateRange.getStartDate(), dateRange.getEndDate());
 
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        List<ProductSummary> breakdown = new ArrayList<>(totals.size());
+        for (DailyProductSalesRepository.ProductSalesTotal total : totals) {
+            totalRevenue = totalRevenue.add(total.getRevenue());
+            breakdown.add(toProductSummary(total));
+        }
+
+        return ReportSummary.builder()
+                .totalReadyOrders(Math.toIntExact(readyOrders))
+                .totalRevenue(totalRevenue)
+                .productBreakdown(breakdown)
+                .build();
+    }
+
+    private List<ProductSummary> topFromRollup(DateRange dateRange, int n, ProductRanking ranking) {
+        PageRequest firstN = PageRequest.of(0, n);
+        List<DailyProductSalesRepository.ProductSalesTotal> totals = switch (ranking) {
+            case QUANTITY -> dailyProductSalesRepository
+                    .findTopByQuantityBetween(dateRange.getStartDate(), dateRange.getEndDate(), firstN);
+            case REVENUE -> dailyProductSalesRepository
+                    .findTopByRevenueBetween(dateRange.getStartDate(), dateRange.getEndDate(), firstN);
+        };
+        return totals.stream().map(this::toProductSummary).collect(Collectors.toList());
+    }
+
+    private ProductSummary toProductSummary(DailyProductSalesRepository.ProductSalesTotal total) {
+        return ProductSummary.builder()
+                .productId(total.getProductId())
+                .productName(total.getProductName())
+                .quantitySold(Math.toIntExact(total.getQuantity()))
+                .totalAccumulated(total.getRevenue())
+                .build();
+    }
+
+    private ReportSummary summarizeOrders(DateRange dateRange) {
         LocalDateTime startDateTime = dateRange.getStartDate().atStartOfDay();
         LocalDateTime endDateTime = dateRange.getEndDate().atTime(23, 59, 59);
 
@@ -51,9 +284,27 @@ public class ReportService {
                 .map(this::toDomain)
                 .collect(Collectors.toList());
 
-        ReportSummary summary = aggregationService.aggregate(domainOrders);
+        return aggregationService.aggregate(domainOrders);
+    }
 
-        return toDTO(summary);
+    private ReportSummary summarizeOrderStream(DateRange dateRange) {
+        LocalDateTime startDateTime = dateRange.getStartDate().atStartOfDay();
+        LocalDateTime endDateTime = dateRange.getEndDate().atTime(23, 59, 59);
+
+        long readyOrders = orderReportRepository
+                .countByStatusAndCreatedAtBetween(OrderStatus.READY, startDateTime, endDateTime);
+        try (Stream<OrderItemReport> items = orderReportRepository
+                .streamItemsByStatusAndCreatedAtBetween(OrderStatus.READY, startDateTime, endDateTime)) {
+            return aggregationService.aggregate(readyOrders, items);
+        }
+    }
+
+    private ReportSummary summarizeInDatabase(DateRange dateRange) {
+        LocalDateTime startDateTime = dateRange.getStartDate().atStartOfDay();
+        LocalDateTime endDateTime = dateRange.getEndDate().atTime(23, 59, 59);
+
+        return orderReportRepository
+                .summarizeByStatusAndCreatedAtBetween(OrderStatus.READY, startDateTime, endDateTime);
     }
 
     private OrderReport toDomain(OrderReportEntity entity) {
@@ -76,14 +327,9 @@ public class ReportService {
                 .build();
     }
 
-    private ReportResponseDTO toDTO(ReportSummary summary) {
+    public ReportResponseDTO toResponse(ReportSummary summary) {
         List<ReportResponseDTO.ProductBreakdownDTO> breakdown = summary.getProductBreakdown().stream()
-                .map(ps -> ReportResponseDTO.ProductBreakdownDTO.builder()
-                        .productId(ps.getProductId())
-                        .productName(ps.getProductName())
-                        .quantitySold(ps.getQuantitySold())
-                        .totalAccumulated(ps.getTotalAccumulated())
-                        .build())
+                .map(this::toDTO)
                 .collect(Collectors.toList());
 
         return ReportResponseDTO.builder()
@@ -92,4 +338,13 @@ public class ReportService {
                 .productBreakdown(breakdown)
                 .build();
     }
+
+    private ReportResponseDTO.ProductBreakdownDTO toDTO(ProductSummary ps) {
+        return ReportResponseDTO.ProductBreakdownDTO.builder()
+                .productId(ps.getProductId())
+                .productName(ps.getProductName())
+                .quantitySold(ps.getQuantitySold())
+                .totalAccumulated(ps.getTotalAccumulated())
+                .build();
+    }
 }
@@ -0,0 +1,53 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.repository.ReportJobResultRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Deletes the stored job reports, and the claims of running jobs, that overlap changed days.
+ *
+ * The delete runs after the changing transaction commits, in a transaction of its own. Run
+ * inside the changing transaction it could precede the claim of a job that reads the day
+ * before the change is visible, and that job would then store a stale result for good.
+ */
+@Component
+public class StoredReportInvalidator {
+
+    private final ReportJobResultRepository jobResultRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public StoredReportInvalidator(ReportJobResultRepository jobResultRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.jobResultRepository = jobResultRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Deletes the reports overlapping {@code firstDay..lastDay}, after the current transaction
+     * commits when there is one.
+     */
+    public void invalidate(LocalDate firstDay, LocalDate lastDay) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            delete(firstDay, lastDay);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                delete(firstDay, lastDay);
+            }
+        });
+    }
+
+    private void delete(LocalDate firstDay, LocalDate lastDay) {
+        transactionTemplate.executeWithoutResult(status -> jobResultRepository.deleteOverlapping(firstDay, lastDay));
+    }
+}
@@ -0,0 +1,97 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.dto.TimeSeriesResponseDTO;
+import com.restaurant.reportservice.enums.TimeBucket;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.repository.SalesTimeSeriesJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Builds sales time series (orders, items and revenue per hour or day) for staffing and
+ * trend charts. One query returns the whole range, however many buckets it spans. Totals of
+ * ranges held by the {@link ColumnarAnalyticsStore} are computed from memory instead.
+ */
+@Service
+public class TimeSeriesReportService {
+
+    /**
+     * Longest range served with hourly buckets, about nine thousand points.
+     */
+    static final long MAX_HOURLY_DAYS = 366;
+
+    private final SalesTimeSeriesJdbcRepository timeSeriesRepository;
+    private final DateRangeFilter dateRangeFilter;
+    private final ColumnarAnalyticsStore columnarStore;
+
+    public TimeSeriesReportService(SalesTimeSeriesJdbcRepository timeSeriesRepository,
+                                   DateRangeFilter dateRangeFilter,
+                                   ColumnarAnalyticsStore columnarStore) {
+        this.timeSeriesRepository = timeSeriesRepository;
+        this.dateRangeFilter = dateRangeFilter;
+        this.columnarStore = columnarStore;
+    }
+
+    /**
+     * @throws InvalidDateRangeException when the range is invalid, or too long for hourly buckets
+     */
+    @Transactional(readOnly = true)
+    public TimeSeriesResponseDTO generateTimeSeries(LocalDate startDate, LocalDate endDate,
+                                                    TimeBucket bucket, boolean byProduct) {
+        DateRange range = dateRangeFilter.validateAndCreate(startDate, endDate);
+        if (bucket == TimeBucket.HOUR
+                && ChronoUnit.DAYS.between(range.getStartDate(), range.getEndDate()) >= MAX_HOURLY_DAYS) {
+            throw new InvalidDateRangeException("Hourly buckets are limited to " + MAX_HOURLY_DAYS + " days");
+        }
+
+        List<TimeSeriesResponseDTO.PointDTO> points = byProduct
+                ? timeSeriesRepository.findByProduct(range.getStartDate(), range.getEndDate(), bucket)
+                : withEmptyBuckets(range, bucket, columnarStore.covers(range)
+                        ? columnarStore.findTotals(range, bucket)
+                        : timeSeriesRepository.findTotals(range.getStartDate(), range.getEndDate(), bucket));
+
+        return TimeSeriesResponseDTO.builder()
+                .startDate(range.getStartDate())
+                .endDate(range.getEndDate())
+                .bucket(bucket)
+                .points(points)
+                .build();
+    }
+
+    /**
+     * Adds zero points for the buckets the query returned nothing for, so charts get a
+     * continuous axis. The query rows are ordered by bucket, so one merge pass is enough.
+     */
+    private List<TimeSeriesResponseDTO.PointDTO> withEmptyBuckets(DateRange range, TimeBucket bucket,
+                                                                 List<TimeSeriesResponseDTO.PointDTO> sold) {
+        ChronoUnit step = bucket == TimeBucket.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS;
+        LocalDateTime end = range.getEndDate().plusDays(1).atStartOfDay();
+        List<TimeSeriesResponseDTO.PointDTO> points = new ArrayList<>();
+        Iterator<TimeSeriesResponseDTO.PointDTO> rows = sold.iterator();
+        TimeSeriesResponseDTO.PointDTO next = rows.hasNext() ? rows.next() : null;
+        for (LocalDateTime start = range.getStartDate().atStartOfDay(); start.isBefore(end); start = start.plus(1, step)) {
+            if (next != null && next.getBucketStart().equals(start)) {
+                points.add(next);
+                next = rows.hasNext() ? rows.next() : null;
+            } else {
+                points.add(TimeSeriesResponseDTO.PointDTO.builder()
+                        .bucketStart(start)
+                        .orders(0L)
+                        .items(0L)
+                        .revenue(BigDecimal.ZERO)
+                        .build());
+            }
+        }
+        return points;
+    }
+}
@@ -0,0 +1,36 @@
+-- =============================================
+-- Flyway Migration V3: Daily sales rollup
+-- Per-day aggregates kept up to date when orders
+-- become READY, so reports read days x products
+-- rows instead of every order item. Existing
+-- READY orders are backfilled here.
+-- =============================================
+
+CREATE TABLE report_daily_product_sales (
+    day          DATE            NOT NULL,
+    product_id   BIGINT          NOT NULL,
+    product_name VARCHAR(255),
+    quantity     BIGINT          NOT NULL,
+    revenue      NUMERIC(14, 2)  NOT NULL,
+    orders       INTEGER         NOT NULL,
+    CONSTRAINT pk_report_daily_product_sales PRIMARY KEY (day, product_id)
+);
+
+CREATE TABLE report_daily_orders (
+    day          DATE            PRIMARY KEY,
+    ready_orders INTEGER         NOT NULL
+);
+
+INSERT INTO report_daily_product_sales (day, product_id, product_name, quantity, revenue, orders)
+SELECT CAST(o.created_at AS DATE), i.product_id, MAX(i.product_name), SUM(i.quantity),
+       SUM(i.quantity * COALESCE(i.price, 0)), COUNT(DISTINCT o.id)
+FROM report_orders o
+JOIN report_order_items i ON i.order_id = o.id
+WHERE o.status = 'READY'
+GROUP BY CAST(o.created_at AS DATE), i.product_id;
+
+INSERT INTO report_daily_orders (day, ready_orders)
+SELECT CAST(created_at AS DATE), COUNT(*)
+FROM report_orders
+WHERE status = 'READY'
+GROUP BY CAST(created_at AS DATE);
@@ -0,0 +1,13 @@
+-- =============================================
+-- Flyway Migration V4: Fulfillment latency
+-- One HdrHistogram per hour of placement with the
+-- placement-to-READY times (ms) of the orders
+-- placed in that hour, stored compressed so any
+-- range is answered by merging its hours.
+-- =============================================
+
+CREATE TABLE report_hourly_fulfillment (
+    bucket_start TIMESTAMP       PRIMARY KEY,
+    orders       BIGINT          NOT NULL,
+    histogram    BYTEA           NOT NULL
+);
@@ -0,0 +1,13 @@
+-- =============================================
+-- Flyway Migration V5: Distinct-count sketches
+-- Per-day HyperLogLog sketches of the tables
+-- served and the products sold by READY orders,
+-- merged to estimate distinct counts over any
+-- range. Backfilled by the rollup rebuild job.
+-- =============================================
+
+CREATE TABLE report_daily_sketches (
+    day          DATE            PRIMARY KEY,
+    tables       BYTEA           NOT NULL,
+    products     BYTEA           NOT NULL
+);
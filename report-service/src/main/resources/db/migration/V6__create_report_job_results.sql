@@ -0,0 +1,18 @@
+-- =============================================
+-- Flyway Migration V6: Report job results
+-- Reports computed by asynchronous report jobs
+-- over closed date ranges, as JSON. A row
+-- without computed_at is a job in progress; rows
+-- are deleted when an order of a day they cover
+-- becomes READY or the day is rebuilt.
+-- =============================================
+
+CREATE TABLE report_job_results (
+    start_date   DATE            NOT NULL,
+    end_date     DATE            NOT NULL,
+    computed_at  TIMESTAMP,
+    result       BYTEA,
+    PRIMARY KEY (start_date, end_date)
+);
+
+CREATE INDEX idx_report_job_results_end_date ON report_job_results (end_date);
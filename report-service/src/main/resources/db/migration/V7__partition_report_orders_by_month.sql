@@ -0,0 +1,101 @@
+-- =============================================
+-- Flyway Migration V7: Monthly partitions
+-- report_orders and report_order_items become
+-- range-partitioned by month of creation, so
+-- report queries only scan the months of their
+-- range. Items carry their order's created_at
+-- (order_created_at) as partition key.
+--
+-- A primary key of a partitioned table must
+-- include the partition key, so id uniqueness
+-- across months is kept by report_order_keys,
+-- which the projection writes first.
+--
+-- report_ensure_month_partitions creates the
+-- partitions of a range of months; the service
+-- calls it ahead of time and for late events.
+-- =============================================
+
+ALTER TABLE report_order_items RENAME TO report_order_items_unpartitioned;
+ALTER TABLE report_orders RENAME TO report_orders_unpartitioned;
+
+CREATE TABLE report_order_keys (
+    id          UUID            PRIMARY KEY,
+    created_at  TIMESTAMP       NOT NULL
+);
+
+CREATE TABLE report_orders (
+    id          UUID            NOT NULL,
+    table_id    INTEGER         NOT NULL,
+    status      VARCHAR(20)     NOT NULL,
+    created_at  TIMESTAMP       NOT NULL,
+    received_at TIMESTAMP       NOT NULL,
+    CONSTRAINT pk_report_orders PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE report_order_items (
+    id               BIGINT          NOT NULL DEFAULT nextval('report_order_items_id_seq'),
+    order_id         UUID            NOT NULL,
+    order_created_at TIMESTAMP       NOT NULL,
+    product_id       BIGINT          NOT NULL,
+    product_name     VARCHAR(255),
+    quantity         INTEGER         NOT NULL,
+    price            NUMERIC(10, 2),
+    CONSTRAINT pk_report_order_items PRIMARY KEY (id, order_created_at),
+    CONSTRAINT fk_report_order_items_order
+        FOREIGN KEY (order_id, order_created_at) REFERENCES report_orders (id, created_at)
+        ON DELETE CASCADE
+) PARTITION BY RANGE (order_created_at);
+
+ALTER SEQUENCE report_order_items_id_seq OWNED BY report_order_items.id;
+
+CREATE FUNCTION report_ensure_month_partitions(first_month DATE, last_month DATE)
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := CAST(date_trunc('month', first_month) AS DATE);
+    month_end   DATE;
+    suffix      TEXT;
+    created     INTEGER := 0;
+BEGIN
+    -- Consumers may ask for the same month concurrently
+    PERFORM pg_advisory_xact_lock(hashtext('report_ensure_month_partitions'));
+    WHILE month_start <= last_month LOOP
+        month_end := CAST(month_start + INTERVAL '1 month' AS DATE);
+        suffix := to_char(month_start, 'YYYY_MM');
+        IF to_regclass('report_orders_' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF report_orders FOR VALUES FROM (%L) TO (%L)',
+                           'report_orders_' || suffix, month_start, month_end);
+            created := created + 1;
+        END IF;
+        IF to_regclass('report_order_items_' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF report_order_items FOR VALUES FROM (%L) TO (%L)',
+                           'report_order_items_' || suffix, month_start, month_end);
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT report_ensure_month_partitions(
+           CAST(COALESCE(MIN(created_at), CURRENT_DATE) AS DATE),
+           CAST(GREATEST(COALESCE(MAX(created_at), CURRENT_DATE), CURRENT_DATE + INTERVAL '3 months') AS DATE))
+FROM report_orders_unpartitioned;
+
+INSERT INTO report_order_keys (id, created_at)
+SELECT id, created_at FROM report_orders_unpartitioned;
+
+INSERT INTO report_orders (id, table_id, status, created_at, received_at)
+SELECT id, table_id, status, created_at, received_at FROM report_orders_unpartitioned;
+
+INSERT INTO report_order_items (id, order_id, order_created_at, product_id, product_name, quantity, price)
+SELECT i.id, i.order_id, o.created_at, i.product_id, i.product_name, i.quantity, i.price
+FROM report_order_items_unpartitioned i
+JOIN report_orders_unpartitioned o ON o.id = i.order_id;
+
+DROP TABLE report_order_items_unpartitioned;
+DROP TABLE report_orders_unpartitioned;
+
+-- Built once on the loaded partitions; later partitions inherit them
+CREATE INDEX idx_report_orders_status_created ON report_orders (status, created_at);
+CREATE INDEX idx_report_order_items_order_id ON report_order_items (order_id, order_created_at);
@@ -0,0 +1,13 @@
+-- =============================================
+-- Flyway Migration V8: READY timestamp
+-- ready_at records when the projection moved an
+-- order to READY, so the columnar store can
+-- restore a snapshot and read only the orders
+-- that became READY after it. Orders already
+-- READY keep a null ready_at; they are older
+-- than any snapshot written from now on.
+-- =============================================
+
+ALTER TABLE report_orders ADD COLUMN ready_at TIMESTAMP;
+
+CREATE INDEX idx_report_orders_ready_at ON report_orders (ready_at);
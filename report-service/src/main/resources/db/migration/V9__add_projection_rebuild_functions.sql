@@ -0,0 +1,169 @@
+-- =============================================
+-- Flyway Migration V9: Projection rebuild
+-- The projection (report_order_keys,
+-- report_orders, report_order_items) can be
+-- rebuilt from the order-service export into
+-- *_rebuild tables and swapped in atomically.
+--
+-- report_ensure_month_partitions takes the
+-- tables to partition, defaulting to the live
+-- ones; partitions are named <table>_YYYY_MM.
+--
+-- The swap renames tables, partitions and
+-- parent indexes: live becomes *_retired,
+-- *_rebuild becomes live. Retired tables are
+-- kept until the next rebuild as a fallback.
+-- =============================================
+
+DROP FUNCTION report_ensure_month_partitions(DATE, DATE);
+
+CREATE FUNCTION report_ensure_month_partitions(first_month DATE, last_month DATE,
+                                               orders_table TEXT DEFAULT 'report_orders',
+                                               items_table TEXT DEFAULT 'report_order_items')
+RETURNS INTEGER AS $$
+DECLARE
+    month_start DATE := CAST(date_trunc('month', first_month) AS DATE);
+    month_end   DATE;
+    suffix      TEXT;
+    created     INTEGER := 0;
+BEGIN
+    -- Consumers may ask for the same month concurrently
+    PERFORM pg_advisory_xact_lock(hashtext('report_ensure_month_partitions'));
+    WHILE month_start <= last_month LOOP
+        month_end := CAST(month_start + INTERVAL '1 month' AS DATE);
+        suffix := to_char(month_start, 'YYYY_MM');
+        IF to_regclass(orders_table || '_' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           orders_table || '_' || suffix, orders_table, month_start, month_end);
+            created := created + 1;
+        END IF;
+        IF to_regclass(items_table || '_' || suffix) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           items_table || '_' || suffix, items_table, month_start, month_end);
+        END IF;
+        month_start := month_end;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Drops what a previous rebuild left and creates empty, unindexed *_rebuild tables, with the
+-- partitions of every month the live tables hold and up to last_month.
+CREATE FUNCTION report_prepare_projection_rebuild(last_month DATE)
+RETURNS VOID AS $$
+DECLARE
+    live_first DATE;
+    live_last  DATE;
+BEGIN
+    DROP TABLE IF EXISTS report_order_items_rebuild, report_orders_rebuild, report_order_keys_rebuild,
+        report_order_items_retired, report_orders_retired, report_order_keys_retired;
+
+    CREATE TABLE report_order_keys_rebuild (LIKE report_order_keys INCLUDING DEFAULTS);
+    CREATE TABLE report_orders_rebuild (LIKE report_orders INCLUDING DEFAULTS)
+        PARTITION BY RANGE (created_at);
+    CREATE TABLE report_order_items_rebuild (LIKE report_order_items INCLUDING DEFAULTS)
+        PARTITION BY RANGE (order_created_at);
+
+    SELECT CAST(MIN(created_at) AS DATE), CAST(MAX(created_at) AS DATE)
+    INTO live_first, live_last FROM report_order_keys;
+    PERFORM report_ensure_month_partitions(LEAST(COALESCE(live_first, last_month), last_month),
+                                           GREATEST(COALESCE(live_last, last_month), last_month),
+                                           'report_orders_rebuild', 'report_order_items_rebuild');
+END;
+$$ LANGUAGE plpgsql;
+
+-- Adds the keys and indexes of the live tables once the *_rebuild tables are loaded. Names
+-- carry a _rebuild suffix until the swap.
+CREATE FUNCTION report_index_projection_rebuild()
+RETURNS VOID AS $$
+BEGIN
+    ALTER TABLE report_order_keys_rebuild ADD CONSTRAINT report_order_keys_pkey_rebuild PRIMARY KEY (id);
+    ALTER TABLE report_orders_rebuild ADD CONSTRAINT pk_report_orders_rebuild PRIMARY KEY (id, created_at);
+    ALTER TABLE report_order_items_rebuild
+        ADD CONSTRAINT pk_report_order_items_rebuild PRIMARY KEY (id, order_created_at);
+    ALTER TABLE report_order_items_rebuild ADD CONSTRAINT fk_report_order_items_order
+        FOREIGN KEY (order_id, order_created_at) REFERENCES report_orders_rebuild (id, created_at)
+        ON DELETE CASCADE;
+    CREATE INDEX idx_report_orders_status_created_rebuild ON report_orders_rebuild (status, created_at);
+    CREATE INDEX idx_report_orders_ready_at_rebuild ON report_orders_rebuild (ready_at);
+    CREATE INDEX idx_report_order_items_order_id_rebuild ON report_order_items_rebuild (order_id, order_created_at);
+    ANALYZE report_order_keys_rebuild;
+    ANALYZE report_orders_rebuild;
+    ANALYZE report_order_items_rebuild;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Renames the three tables <base><from_suffix> to <base><to_suffix>, with their partitions
+-- and the indexes defined on them (a renamed key index renames its constraint).
+CREATE FUNCTION report_rename_projection(from_suffix TEXT, to_suffix TEXT)
+RETURNS VOID AS $$
+DECLARE
+    base     TEXT;
+    relation RECORD;
+BEGIN
+    FOREACH base IN ARRAY ARRAY['report_order_keys', 'report_orders', 'report_order_items'] LOOP
+        FOR relation IN
+            SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = to_regclass(base || from_suffix)
+        LOOP
+            EXECUTE format('ALTER TABLE %I RENAME TO %I', relation.relname,
+                           base || to_suffix || substr(relation.relname, length(base || from_suffix) + 1));
+        END LOOP;
+        FOR relation IN
+            SELECT c.relname FROM pg_index x JOIN pg_class c ON c.oid = x.indexrelid
+            WHERE x.indrelid = to_regclass(base || from_suffix)
+        LOOP
+            EXECUTE format('ALTER INDEX %I RENAME TO %I', relation.relname,
+                           left(relation.relname, length(relation.relname) - length(from_suffix)) || to_suffix);
+        END LOOP;
+        EXECUTE format('ALTER TABLE %I RENAME TO %I', base || from_suffix, base || to_suffix);
+    END LOOP;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Copies into the *_rebuild tables what the live projection received since caught_up_since
+-- (orders the export did not have, and READY transitions), then swaps them in. Writers wait
+-- on the lock for the duration and then write to the new tables.
+--
+-- Returns the number of orders copied or updated.
+CREATE FUNCTION report_swap_projection_rebuild(caught_up_since TIMESTAMP)
+RETURNS INTEGER AS $$
+DECLARE
+    missed  INTEGER;
+    updated INTEGER;
+BEGIN
+    LOCK TABLE report_order_keys, report_orders, report_order_items IN EXCLUSIVE MODE;
+
+    CREATE TEMPORARY TABLE report_rebuild_missed ON COMMIT DROP AS
+    SELECT o.* FROM report_orders o
+    WHERE o.received_at >= caught_up_since
+      AND NOT EXISTS (SELECT 1 FROM report_order_keys_rebuild k WHERE k.id = o.id);
+    GET DIAGNOSTICS missed = ROW_COUNT;
+
+    IF missed > 0 THEN
+        PERFORM report_ensure_month_partitions(CAST(MIN(created_at) AS DATE), CAST(MAX(created_at) AS DATE),
+                                               'report_orders_rebuild', 'report_order_items_rebuild')
+        FROM report_rebuild_missed;
+        INSERT INTO report_order_keys_rebuild (id, created_at)
+        SELECT id, created_at FROM report_rebuild_missed;
+        INSERT INTO report_orders_rebuild (id, table_id, status, created_at, received_at, ready_at)
+        SELECT id, table_id, status, created_at, received_at, ready_at FROM report_rebuild_missed;
+        INSERT INTO report_order_items_rebuild (id, order_id, order_created_at, product_id, product_name,
+                                                quantity, price)
+        SELECT i.id, i.order_id, i.order_created_at, i.product_id, i.product_name, i.quantity, i.price
+        FROM report_order_items i
+        JOIN report_rebuild_missed m ON i.order_id = m.id AND i.order_created_at = m.created_at;
+    END IF;
+
+    UPDATE report_orders_rebuild r SET status = o.status, ready_at = o.ready_at
+    FROM report_orders o
+    WHERE o.ready_at >= caught_up_since AND o.id = r.id AND r.status <> o.status;
+    GET DIAGNOSTICS updated = ROW_COUNT;
+
+    PERFORM report_rename_projection('', '_retired');
+    PERFORM report_rename_projection('_rebuild', '');
+    -- The sequence would otherwise be dropped with the retired items table
+    ALTER SEQUENCE report_order_items_id_seq OWNED BY report_order_items.id;
+    RETURN missed + updated;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,61 @@
+package com.restaurant.reportservice.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-endpoint async timeout.
+ * Verifies that only requests that went through the interceptor get its timeout.
+ */
+class AsyncRequestTimeoutInterceptorTest {
+
+    private static final long DEFAULT_TIMEOUT_MS = 30_000;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private WebAsyncManager asyncManager;
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest("GET", "/reports/export");
+        request.setAsyncSupported(true);
+        response = new MockHttpServletResponse();
+        StandardServletAsyncWebRequest asyncWebRequest = new StandardServletAsyncWebRequest(request, response);
+        asyncWebRequest.setTimeout(DEFAULT_TIMEOUT_MS);
+        asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(asyncWebRequest);
+    }
+
+    @Test
+    @DisplayName("Should start the streamed body with the configured timeout")
+    void shouldApplyTimeoutWhenAsyncStarts() throws Exception {
+        // Arrange
+        new AsyncRequestTimeoutInterceptor(Duration.ofMinutes(30)).preHandle(request, response, new Object());
+
+        // Act
+        asyncManager.startCallableProcessing(() -> "written");
+
+        // Assert
+        assertEquals(Duration.ofMinutes(30).toMillis(), request.getAsyncContext().getTimeout());
+    }
+
+    @Test
+    @DisplayName("Should leave the default timeout of other requests")
+    void shouldKeepDefaultTimeoutElsewhere() throws Exception {
+        // Act
+        asyncManager.startCallableProcessing(() -> "written");
+
+        // Assert
+        assertEquals(DEFAULT_TIMEOUT_MS, request.getAsyncContext().getTimeout());
+    }
+}
@@ -4,10 +4,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 
 import java.lang.reflect.Field;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,9 +28,10 @@ class RabbitMQConfigTest {
         setField("dlxName", "test.order.report.dlx");
         setField("orderReadyQueueName", "test.order.ready.report.queue");
         setField("routingKeyOrderReady", "order.ready");
+        setField("retryTierDelays", List.of(1000L, 10000L));
     }
 
-    private void setField(String fieldName, String value) throws Exception {
+    private void setField(String fieldName, Object value) throws Exception {
         Field field = RabbitMQConfig.class.getDeclaredField(fieldName);
         field.setAccessible(true);
         field.set(config, value);
@@ -87,4 +90,29 @@ class RabbitMQConfigTest {
         Binding binding = config.reportDlqBinding();
         assertEquals("test.order.report.dlq", binding.getRoutingKey());
     }
+
+    // --- Broker-side retry tiers ---
+
+    @Test
+    @DisplayName("reportRetryQueues should declare TTL tiers that dead-letter back to each source queue")
+    void reportRetryQueuesShouldDeadLetterBackToSourceQueue() {
+        Declarables declarables = config.reportRetryQueues();
+        List<Queue> queues = declarables.getDeclarablesByType(Queue.class);
+
+        assertEquals(4, queues.size());
+        Queue firstTier = queues.stream()
+                .filter(q -> q.getName().equals("test.order.placed.report.queue.retry.1"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(1000, firstTier.getArguments().get("x-message-ttl"));
+        assertEquals("", firstTier.getArguments().get("x-dead-letter-exchange"));
+        assertEquals("test.order.placed.report.queue", firstTier.getArguments().get("x-dead-letter-routing-key"));
+
+        Queue readySecondTier = queues.stream()
+                .filter(q -> q.getName().equals("test.order.ready.report.queue.retry.2"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(10000, readySecondTier.getArguments().get("x-message-ttl"));
+        assertEquals("test.order.ready.report.queue", readySecondTier.getArguments().get("x-dead-letter-routing-key"));
+    }
 }
@@ -1,24 +1,46 @@
 package com.restaurant.reportservice.controller;
 
+import com.restaurant.reportservice.domain.service.LatencyHistograms;
 import com.restaurant.reportservice.entity.OrderReportEntity;
 import com.restaurant.reportservice.entity.OrderItemReportEntity;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.repository.DailyOrderCountRepository;
+import com.restaurant.reportservice.repository.DailyProductSalesRepository;
 import com.restaurant.reportservice.repository.OrderReportRepository;
+import com.restaurant.reportservice.service.DailyReportCache;
+import com.restaurant.reportservice.service.DailySalesRollupBackfillService;
+import jakarta.persistence.EntityManagerFactory;
+import org.HdrHistogram.Histogram;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import com.jayway.jsonpath.JsonPath;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
@@ -36,9 +58,30 @@ class ReportControllerIntegrationTest {
     @Autowired
     private OrderReportRepository orderReportRepository;
 
+    @Autowired
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Autowired
+    private DailyOrderCountRepository dailyOrderCountRepository;
+
+    @Autowired
+    private DailySalesRollupBackfillService rollupBackfillService;
+
+    @Autowired
+    private DailyReportCache reportCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         orderReportRepository.deleteAll();
+        dailyProductSalesRepository.deleteAll();
+        dailyOrderCountRepository.deleteAll();
+        reportCache.clear();
+        jdbcTemplate.update("DELETE FROM report_hourly_fulfillment");
+        jdbcTemplate.update("DELETE FROM report_daily_sketches");
+        jdbcTemplate.update("DELETE FROM report_job_results");
     }
 
     @Test
@@ -50,6 +93,7 @@ class ReportControllerIntegrationTest {
                 createItem(1L, "Hamburguesa", 2, new BigDecimal("15.50"))
         );
         orderReportRepository.save(order);
+        rollUp();
 
         // Act & Assert
         mockMvc.perform(get("/reports")
@@ -119,6 +163,7 @@ class ReportControllerIntegrationTest {
 
         orderReportRepository.save(readyOrder);
         orderReportRepository.save(pendingOrder);
+        rollUp();
 
         // Act & Assert
         mockMvc.perform(get("/reports")
@@ -146,6 +191,7 @@ class ReportControllerIntegrationTest {
 
         orderReportRepository.save(inRange);
         orderReportRepository.save(outOfRange);
+        rollUp();
 
         // Act & Assert
         mockMvc.perform(get("/reports")
@@ -172,6 +218,7 @@ class ReportControllerIntegrationTest {
 
         orderReportRepository.save(order1);
         orderReportRepository.save(order2);
+        rollUp();
 
         // Act & Assert
         mockMvc.perform(get("/reports")
@@ -205,6 +252,7 @@ class ReportControllerIntegrationTest {
                 createItem(1L, "Hamburguesa", 1, new BigDecimal("15.50"))
         );
         orderReportRepository.save(order);
+        rollUp();
 
         // Act & Assert
         mockMvc.perform(get("/reports")
@@ -214,7 +262,417 @@ class ReportControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalReadyOrders", is(1)));
     }
 
+    @Test
+    @DisplayName("Should serve a closed day from the cache until it is rebuilt")
+    void shouldRefreshCachedDayAfterRebuild() throws Exception {
+        // Arrange
+        LocalDateTime orderDate = LocalDateTime.of(2026, 2, 15, 12, 0);
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, orderDate,
+                createItem(1L, "Hamburguesa", 1, new BigDecimal("15.50"))));
+        rollUp();
+        mockMvc.perform(get("/reports")
+                        .param("startDate", "2026-02-15")
+                        .param("endDate", "2026-02-15"))
+                .andExpect(jsonPath("$.totalReadyOrders", is(1)));
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, orderDate,
+                createItem(1L, "Hamburguesa", 1, new BigDecimal("15.50"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/reports")
+                        .param("startDate", "2026-02-15")
+                        .param("endDate", "2026-02-15"))
+                .andExpect(jsonPath("$.totalReadyOrders", is(1)));
+        rollUp();
+        mockMvc.perform(get("/reports")
+                        .param("startDate", "2026-02-15")
+                        .param("endDate", "2026-02-15"))
+                .andExpect(jsonPath("$.totalReadyOrders", is(2)))
+                .andExpect(jsonPath("$.productBreakdown[0].quantitySold", is(2)));
+    }
+
+    @Test
+    @DisplayName("Should return hourly buckets of READY orders for a day")
+    void shouldReturnHourlyTimeSeries() throws Exception {
+        // Arrange
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, 10),
+                createItem(1L, "Hamburguesa", 2, new BigDecimal("15.50"))));
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, 40),
+                createItem(1L, "Hamburguesa", 1, new BigDecimal("15.50")),
+                createItem(2L, "Gaseosa", 1, new BigDecimal("3.00"))));
+        orderReportRepository.save(createOrderEntity(OrderStatus.PENDING, LocalDateTime.of(2026, 2, 15, 12, 50),
+                createItem(1L, "Hamburguesa", 5, new BigDecimal("15.50"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/reports/timeseries")
+                        .param("startDate", "2026-02-15")
+                        .param("endDate", "2026-02-15")
+                        .param("bucket", "hour"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.bucket", is("HOUR")))
+                .andExpect(jsonPath("$.points", hasSize(24)))
+                .andExpect(jsonPath("$.points[12].bucketStart", is("2026-02-15T12:00:00")))
+                .andExpect(jsonPath("$.points[12].orders", is(2)))
+                .andExpect(jsonPath("$.points[12].items", is(4)))
+                .andExpect(jsonPath("$.points[12].revenue", is(49.50)))
+                .andExpect(jsonPath("$.points[13].orders", is(0)));
+    }
+
+    @Test
+    @DisplayName("Should break daily buckets down by product")
+    void shouldReturnDailyTimeSeriesByProduct() throws Exception {
+        // Arrange
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, 0),
+                createItem(1L, "Hamburguesa", 2, new BigDecimal("15.50")),
+                createItem(2L, "Gaseosa", 1, new BigDecimal("3.00"))));
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 16, 9, 0),
+                createItem(1L, "Hamburguesa", 1, new BigDecimal("15.50"))));
+
+        // Act & Assert
+        mockMvc.perform(get("/reports/timeseries")
+                        .param("startDate", "2026-02-15")
+                        .param("endDate", "2026-02-16")
+                        .param("bucket", "DAY")
+                        .param("byProduct", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points", hasSize(3)))
+                .andExpect(jsonPath("$.points[0].productId", is(1)))
+                .andExpect(jsonPath("$.points[0].items", is(2)))
+                .andExpect(jsonPath("$.points[1].productName", is("Gaseosa")))
+                .andExpect(jsonPath("$.points[2].bucketStart", is("2026-02-16T00:00:00")))
+                .andExpect(jsonPath("$.points[2].revenue", is(15.50)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown time bucket")
+    void shouldReturn400ForUnknownBucket() throws Exception {
+        mockMvc.perform(get("/reports/timeseries")
+                        .param("startDate", "2026-02-15")
+                        .param("endDate", "2026-02-15")
+                        .param("bucket", "WEEK"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should return only the top N products by revenue")
+    void shouldReturnTopProductsByRevenue() throws Exception {
+        // Arrange
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, 0),
+                createItem(1L, "Hamburguesa", 2, new BigDecimal("15.50")),
+                createItem(2L, "Gaseosa", 6, new BigDecimal("3.00")),
+                createItem(3L, "Pizza", 1, new BigDecimal("40.00"))));
+        rollUp();
+
+        // Act & Assert
+        mockMvc.perform(get("/reports/top-products")
+                        .param("startDate", "2026-02-01")
+                        .param("endDate", "2026-02-28")
+                        .param("n", "2")
+                        .param("by", "revenue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.by", is("REVENUE")))
+                .andExpect(jsonPath("$.products", hasSize(2)))
+                .andExpect(jsonPath("$.products[0].productName", is("Pizza")))
+                .andExpect(jsonPath("$.products[1].productName", is("Hamburguesa")));
+    }
+
+    @Test
+    @DisplayName("Should rank ranges longer than the cache in the database")
+    void shouldReturnTopProductsForLongRanges() throws Exception {
+        // Arrange
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2024, 6, 1, 12, 0),
+                createItem(1L, "Hamburguesa", 2, new BigDecimal("15.50")),
+                createItem(2L, "Gaseosa", 6, new BigDecimal("3.00"))));
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, 0),
+                createItem(1L, "Hamburguesa", 1, new BigDecimal("15.50")),
+                createItem(3L, "Pizza", 1, new BigDecimal("40.00"))));
+        rollUp();
+
+        // Act & Assert
+        mockMvc.perform(get("/reports/top-products")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2026-02-28")
+                        .param("n", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.by", is("QUANTITY")))
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.products[0].productId", is(2)))
+                .andExpect(jsonPath("$.products[0].quantitySold", is(6)));
+        assertEquals(0, reportCache.size());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown ranking or non-positive N")
+    void shouldReturn400ForInvalidTopProductsParameters() throws Exception {
+        mockMvc.perform(get("/reports/top-products")
+                        .param("startDate", "2026-02-01")
+                        .param("endDate", "2026-02-28")
+                        .param("by", "margin"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/top-products")
+                        .param("startDate", "2026-02-01")
+                        .param("endDate", "2026-02-28")
+                        .param("n", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should stream READY order lines as a CSV download")
+    void shouldExportCsv() throws Exception {
+        // Arrange
+        OrderReportEntity order = createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, 0),
+                createItem(1L, "Hamburguesa", 2, new BigDecimal("15.50")));
+        orderReportRepository.save(order);
+        orderReportRepository.save(createOrderEntity(OrderStatus.PENDING, LocalDateTime.of(2026, 2, 15, 13, 0),
+                createItem(2L, "Gaseosa", 1, new BigDecimal("3.00"))));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/reports/export")
+                        .param("startDate", "2026-02-01")
+                        .param("endDate", "2026-02-28"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", startsWith("text/csv")))
+                .andExpect(header().string("Content-Disposition",
+                        containsString("filename=\"report-2026-02-01_2026-02-28.csv\"")))
+                .andExpect(content().string(
+                        "order_id,table_id,created_at,product_id,product_name,quantity,price,line_total\r\n"
+                                + order.getId() + ",1,2026-02-15T12:00,1,Hamburguesa,2,15.50,31.00\r\n"));
+    }
+
+    @Test
+    @DisplayName("Should stream gzipped NDJSON when requested")
+    void shouldExportGzippedNdjson() throws Exception {
+        // Arrange
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, 0),
+                createItem(1L, "Hamburguesa", 2, new BigDecimal("15.50")),
+                createItem(2L, "Gaseosa", 1, new BigDecimal("3.00"))));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/reports/export")
+                        .param("startDate", "2026-02-15")
+                        .param("endDate", "2026-02-15")
+                        .param("format", "ndjson")
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        String ndjson = new String(new GZIPInputStream(new ByteArrayInputStream(body)).readAllBytes(),
+                StandardCharsets.UTF_8);
+        String[] lines = ndjson.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"productName\":\"Hamburguesa\""));
+        assertTrue(lines[1].contains("\"lineTotal\":3.00"));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown export format")
+    void shouldReturn400ForUnknownExportFormat() throws Exception {
+        mockMvc.perform(get("/reports/export")
+                        .param("startDate", "2026-02-01")
+                        .param("endDate", "2026-02-28")
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should compute a large range in a background job and store the result until the range changes")
+    void shouldRunReportJobAndReuseStoredResult() throws Exception {
+        // Arrange
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2025, 3, 10, 12, 0),
+                createItem(1L, "Burger", 2, new BigDecimal("10.00"))));
+        orderReportRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2025, 11, 20, 20, 0),
+                createItem(2L, "Fries", 1, new BigDecimal("4.00"))));
+        rollUp();
+
+        // Act
+        String jobId = JsonPath.read(mockMvc.perform(post("/reports/jobs")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2025-12-31"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.totalChunks", is(24)))
+                .andReturn().getResponse().getContentAsString(), "$.jobId");
+        awaitJob(jobId);
+
+        // Assert
+        mockMvc.perform(get("/reports/jobs/" + jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.progress", is(1.0)))
+                .andExpect(jsonPath("$.result.totalReadyOrders", is(2)))
+                .andExpect(jsonPath("$.result.totalRevenue", is(24.00)))
+                .andExpect(jsonPath("$.result.productBreakdown", hasSize(2)));
+        mockMvc.perform(post("/reports/jobs")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2025-12-31"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.stored", is(true)))
+                .andExpect(jsonPath("$.result.totalReadyOrders", is(2)));
+
+        rollUp();
+        mockMvc.perform(post("/reports/jobs")
+                        .param("startDate", "2024-01-01")
+                        .param("endDate", "2025-12-31"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.stored", is(false)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid job range and 404 for an unknown job")
+    void shouldRejectInvalidJobs() throws Exception {
+        mockMvc.perform(post("/reports/jobs")
+                        .param("startDate", "2025-12-31")
+                        .param("endDate", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reports/jobs/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return fulfillment percentiles merged from the hours of the range")
+    void shouldReturnFulfillmentPercentiles() throws Exception {
+        // Arrange
+        Histogram lunch = LatencyHistograms.empty();
+        Histogram dinner = LatencyHistograms.empty();
+        for (int minute = 1; minute <= 10; minute++) {
+            lunch.recordValue(minute * 60_000L);
+            dinner.recordValue((minute + 10) * 60_000L);
+        }
+        insertFulfillmentHour(LocalDateTime.of(2026, 2, 15, 12, 0), lunch);
+        insertFulfillmentHour(LocalDateTime.of(2026, 2, 15, 20, 0), dinner);
+        insertFulfillmentHour(LocalDateTime.of(2026, 2, 16, 0, 0), dinner);
+
+        // Act & Assert
+        mockMvc.perform(get("/reports/fulfillment")
+                        .param("startDate", "2026-02-15")
+                        .param("endDate", "2026-02-15"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orders", is(20)))
+                .andExpect(jsonPath("$.p50Ms", both(greaterThanOrEqualTo(600_000)).and(lessThan(606_000))))
+                .andExpect(jsonPath("$.maxMs", both(greaterThanOrEqualTo(1_200_000)).and(lessThan(1_212_000))));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid fulfillment range")
+    void shouldReturn400ForInvalidFulfillmentRange() throws Exception {
+        mockMvc.perform(get("/reports/fulfillment")
+                        .param("startDate", "2026-02-16")
+                        .param("endDate", "2026-02-15"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should count tables and products once across the days of the range")
+    void shouldReturnDistinctCounts() throws Exception {
+        // Arrange
+        OrderReportEntity monday = createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 16, 12, 0),
+                createItem(1L, "Burger", 1, new BigDecimal("10.00")),
+                createItem(2L, "Fries", 1, new BigDecimal("4.00")));
+        OrderReportEntity tuesday = createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 17, 13, 0),
+                createItem(2L, "Fries", 2, new BigDecimal("4.00")),
+                createItem(3L, "Soda", 1, new BigDecimal("2.50")));
+        tuesday.setTableId(5);
+        OrderReportEntity pending = createOrderEntity(OrderStatus.PENDING, LocalDateTime.of(2026, 2, 17, 14, 0),
+                createItem(4L, "Salad", 1, new BigDecimal("8.00")));
+        pending.setTableId(9);
+        orderReportRepository.save(monday);
+        orderReportRepository.save(tuesday);
+        orderReportRepository.save(pending);
+        rollUp();
+
+        // Act & Assert
+        mockMvc.perform(get("/reports/distinct")
+                        .param("startDate", "2026-02-16")
+                        .param("endDate", "2026-02-17"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tablesServed", is(2)))
+                .andExpect(jsonPath("$.productsSold", is(3)))
+                .andExpect(jsonPath("$.precision", is(12)))
+                .andExpect(jsonPath("$.relativeStandardError", closeTo(0.01625, 0.0001)));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an invalid distinct-count range")
+    void shouldReturn400ForInvalidDistinctRange() throws Exception {
+        mockMvc.perform(get("/reports/distinct")
+                        .param("startDate", "2026-02-17")
+                        .param("endDate", "2026-02-16"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * The in-memory ORDERS source, in a context of its own with the day cache disabled and
+     * Hibernate statistics on, to count the statements one report issues.
+     */
+    @Nested
+    @TestPropertySource(properties = {
+            "report.source=ORDERS",
+            "report.cache.max-days=0",
+            "spring.datasource.url=jdbc:h2:mem:orders-source;NON_KEYWORDS=DAY",
+            "spring.jpa.properties.hibernate.generate_statistics=true"
+    })
+    class OrdersSource {
+
+        @Autowired
+        private MockMvc ordersMockMvc;
+
+        @Autowired
+        private OrderReportRepository ordersRepository;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Test
+        @DisplayName("Should load orders and their items with a single query")
+        void shouldLoadItemsWithoutPerOrderQueries() throws Exception {
+            // Arrange
+            ordersRepository.deleteAll();
+            for (int i = 0; i < 20; i++) {
+                ordersRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, i),
+                        createItem(1L, "Hamburguesa", 1, new BigDecimal("15.50")),
+                        createItem(2L, "Gaseosa", 2, new BigDecimal("3.00"))));
+            }
+            ordersRepository.save(createOrderEntity(OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 13, 0)));
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.clear();
+
+            // Act & Assert
+            ordersMockMvc.perform(get("/reports")
+                            .param("startDate", "2026-02-15")
+                            .param("endDate", "2026-02-15"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalReadyOrders", is(21)))
+                    .andExpect(jsonPath("$.totalRevenue", is(430.00)))
+                    .andExpect(jsonPath("$.productBreakdown", hasSize(2)));
+            assertEquals(1, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getCollectionFetchCount());
+        }
+    }
+
     // Helper methods
+    private void rollUp() {
+        rollupBackfillService.rebuildAll();
+    }
+
+    private void awaitJob(String jobId) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String status = "QUEUED";
+        while (!status.equals("COMPLETED") && !status.equals("FAILED") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = JsonPath.read(mockMvc.perform(get("/reports/jobs/" + jobId))
+                    .andReturn().getResponse().getContentAsString(), "$.status");
+        }
+    }
+
     private OrderReportEntity createOrderEntity(OrderStatus status, LocalDateTime createdAt,
                                                 OrderItemReportEntity... items) {
         OrderReportEntity order = OrderReportEntity.builder()
@@ -232,6 +690,11 @@ class ReportControllerIntegrationTest {
         return order;
     }
 
+    private void insertFulfillmentHour(LocalDateTime hour, Histogram histogram) {
+        jdbcTemplate.update("INSERT INTO report_hourly_fulfillment (bucket_start, orders, histogram) VALUES (?, ?, ?)",
+                Timestamp.valueOf(hour), histogram.getTotalCount(), LatencyHistograms.encode(histogram));
+    }
+
     private OrderItemReportEntity createItem(Long productId, String productName,
                                              Integer quantity, BigDecimal price) {
         return OrderItemReportEntity.builder()
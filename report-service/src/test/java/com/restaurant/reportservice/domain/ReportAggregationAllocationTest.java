@@ -0,0 +1,89 @@
+package com.restaurant.reportservice.domain;
+
+import com.restaurant.reportservice.domain.model.OrderItemReport;
+import com.restaurant.reportservice.domain.model.OrderReport;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.ReportAggregationService;
+import com.restaurant.reportservice.enums.OrderStatus;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures the heap allocated by the aggregation hot loop on 1M items against a fixed budget
+ * of {@value #BYTES_PER_ITEM_BUDGET} bytes per item. The former BigDecimal loop allocated about
+ * 160 bytes per item; the new path allocates only per product, and the budget leaves room
+ * for whatever the JIT does not scalar-replace, so the check does not depend on escape
+ * analysis. Uses the per-thread allocation counter of the HotSpot ThreadMXBean. The
+ * comparison with the former implementation, in bytes per operation, is
+ * ReportAggregationServiceBenchmark ({@code -prof gc}) in the benchmarks module.
+ */
+class ReportAggregationAllocationTest {
+
+    private static final int ITEMS = 1_000_000;
+    private static final int ITEMS_PER_ORDER = 4;
+    private static final int PRODUCTS = 200;
+    private static final long BYTES_PER_ITEM_BUDGET = 16;
+
+    @Test
+    @DisplayName("Should aggregate 1M items within a per-item allocation budget")
+    void shouldStayWithinAllocationBudget() {
+        // Arrange
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        List<OrderReport> orders = orders(ITEMS);
+        ReportAggregationService aggregationService = new ReportAggregationService(Integer.MAX_VALUE);
+        aggregationService.aggregate(orders); // warm-up
+
+        // Act
+        long before = threads.getCurrentThreadAllocatedBytes();
+        ReportSummary summary = aggregationService.aggregate(orders);
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert
+        assertEquals(PRODUCTS, summary.getProductBreakdown().size());
+        assertTrue(allocated < ITEMS * BYTES_PER_ITEM_BUDGET,
+                "expected under " + BYTES_PER_ITEM_BUDGET + " bytes per item, allocated " + allocated + " bytes");
+    }
+
+    /**
+     * READY orders over {@link #PRODUCTS} products, with item fields shared the way rows mapped
+     * from the same menu share values.
+     */
+    private static List<OrderReport> orders(int items) {
+        BigDecimal[] prices = new BigDecimal[PRODUCTS];
+        for (int p = 0; p < PRODUCTS; p++) {
+            prices[p] = BigDecimal.valueOf(250 + p * 37L, 2);
+        }
+        List<OrderReport> orders = new ArrayList<>(items / ITEMS_PER_ORDER);
+        for (int i = 0; i < items; i += ITEMS_PER_ORDER) {
+            List<OrderItemReport> orderItems = new ArrayList<>(ITEMS_PER_ORDER);
+            for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                int product = (i * 7 + j * 13) % PRODUCTS;
+                orderItems.add(OrderItemReport.builder()
+                        .productId((long) product)
+                        .productName("Product " + product)
+                        .quantity(1 + j)
+                        .price(prices[product])
+                        .build());
+            }
+            orders.add(OrderReport.builder()
+                    .id(UUID.randomUUID())
+                    .tableId(1)
+                    .status(OrderStatus.READY)
+                    .items(orderItems)
+                    .build());
+        }
+        return orders;
+    }
+}
@@ -2,13 +2,18 @@ package com.restaurant.reportservice.domain;
 
 import com.restaurant.reportservice.domain.model.OrderReport;
 import com.restaurant.reportservice.domain.model.OrderItemReport;
+import com.restaurant.reportservice.domain.model.ProductSummary;
 import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.ReportAccumulator;
 import com.restaurant.reportservice.domain.service.ReportAggregationService;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.enums.ProductRanking;
 import net.jqwik.api.*;
+import net.jqwik.api.constraints.IntRange;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -22,6 +27,8 @@ import static org.junit.jupiter.api.Assertions.*;
 class ReportAggregationPropertyTest {
 
     private final ReportAggregationService aggregationService = new ReportAggregationService();
+    private final ReportAggregationService sequentialService = new ReportAggregationService(Integer.MAX_VALUE);
+    private final ReportAggregationService parallelService = new ReportAggregationService(1);
 
     @Property
     @Label("Total revenue should equal sum of all item prices × quantities for READY orders")
@@ -100,6 +107,71 @@ class ReportAggregationPropertyTest {
         assertTrue(summary.getProductBreakdown().isEmpty());
     }
 
+    @Property
+    @Label("Aggregating a stream of READY items should match aggregating the orders")
+    void streamedItemsShouldMatchOrderAggregation(@ForAll("mixedStatusOrders") List<OrderReport> orders) {
+        List<OrderReport> readyOrders = orders.stream()
+                .filter(order -> order.getStatus() == OrderStatus.READY)
+                .collect(Collectors.toList());
+
+        // Act
+        ReportSummary fromOrders = aggregationService.aggregate(orders);
+        ReportSummary fromStream = aggregationService.aggregate(readyOrders.size(),
+                readyOrders.stream().flatMap(order -> order.getItems().stream()));
+
+        // Assert
+        assertEquals(fromOrders, fromStream);
+    }
+
+    @Property
+    @Label("Parallel aggregation should give the same summary, product order included, as sequential")
+    void parallelAggregationShouldMatchSequential(@ForAll("mixedStatusOrders") List<OrderReport> orders) {
+        // Act
+        ReportSummary sequential = sequentialService.aggregate(orders);
+        ReportSummary parallel = parallelService.aggregate(orders);
+
+        // Assert
+        assertEquals(sequential, parallel);
+    }
+
+    @Property
+    @Label("Merging accumulators of any split of the orders should match one pass over all of them")
+    void mergedSplitShouldMatchSinglePass(@ForAll("mixedStatusOrders") List<OrderReport> orders,
+                                          @ForAll @IntRange(min = 0, max = 30) int splitAt) {
+        int split = Math.min(splitAt, orders.size());
+        ReportAccumulator left = new ReportAccumulator();
+        ReportAccumulator right = new ReportAccumulator();
+        orders.subList(0, split).forEach(left::addOrder);
+        orders.subList(split, orders.size()).forEach(right::addOrder);
+
+        // Act
+        ReportSummary merged = left.merge(right).toSummary();
+
+        // Assert
+        assertEquals(sequentialService.aggregate(orders), merged);
+    }
+
+    @Property
+    @Label("Top N from the bounded heap should equal the first N of the fully sorted breakdown")
+    void topProductsShouldMatchFullSort(@ForAll("mixedStatusOrders") List<OrderReport> orders,
+                                        @ForAll @IntRange(min = 1, max = 20) int n,
+                                        @ForAll ProductRanking ranking) {
+        List<ProductSummary> breakdown = aggregationService.aggregate(orders).getProductBreakdown();
+        Comparator<ProductSummary> byMetric = ranking == ProductRanking.QUANTITY
+                ? Comparator.comparing(ProductSummary::getQuantitySold)
+                : Comparator.comparing(ProductSummary::getTotalAccumulated);
+        List<ProductSummary> expected = breakdown.stream()
+                .sorted(byMetric.reversed().thenComparing(ProductSummary::getProductId))
+                .limit(n)
+                .collect(Collectors.toList());
+
+        // Act
+        List<ProductSummary> top = aggregationService.topProducts(breakdown, n, ranking);
+
+        // Assert
+        assertEquals(expected, top);
+    }
+
     // Providers for property-based testing
 
     @Provide
@@ -6,16 +6,19 @@ import com.restaurant.reportservice.domain.model.ReportSummary;
 import com.restaurant.reportservice.domain.model.ProductSummary;
 import com.restaurant.reportservice.domain.service.ReportAggregationService;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.enums.ProductRanking;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -185,6 +188,97 @@ class ReportAggregationServiceTest {
         assertEquals(new BigDecimal("46.50"), product.getTotalAccumulated());
     }
 
+    @Test
+    @DisplayName("Should list products by ascending product id, not in the order first seen")
+    void shouldListProductsByProductId() {
+        // Arrange
+        List<OrderReport> orders = Arrays.asList(
+                createOrder(OrderStatus.READY,
+                    createItem(3L, "Postre", 1, new BigDecimal("4.00")),
+                    createItem(1L, "Hamburguesa", 1, new BigDecimal("15.50"))
+                ),
+                createOrder(OrderStatus.READY,
+                    createItem(2L, "Papas", 1, new BigDecimal("5.00"))
+                )
+        );
+
+        // Act
+        ReportSummary summary = aggregationService.aggregate(orders);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), summary.getProductBreakdown().stream()
+                .map(ProductSummary::getProductId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should aggregate large order lists in parallel with the sequential result")
+    void shouldAggregateLargeListsInParallel() {
+        // Arrange
+        List<OrderReport> orders = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            orders.add(createOrder(i % 3 == 0 ? OrderStatus.PENDING : OrderStatus.READY,
+                    createItem((long) (i % 37), "Product " + (i % 37), 1 + i % 4, new BigDecimal("2.35")),
+                    createItem((long) (i % 11), "Product " + (i % 11), 1, new BigDecimal("10.10"))));
+        }
+
+        // Act
+        ReportSummary parallel = new ReportAggregationService(1_000).aggregate(orders);
+        ReportSummary sequential = new ReportAggregationService(Integer.MAX_VALUE).aggregate(orders);
+
+        // Assert
+        assertEquals(sequential, parallel);
+        assertEquals(13_333, parallel.getTotalReadyOrders());
+        assertEquals(37, parallel.getProductBreakdown().size());
+        assertEquals(0L, parallel.getProductBreakdown().get(0).getProductId());
+    }
+
+    @Test
+    @DisplayName("Should keep the N best products by quantity, ties by product id")
+    void shouldSelectTopProductsByQuantity() {
+        // Arrange
+        List<ProductSummary> products = Arrays.asList(
+                product(4L, 3, "9.00"),
+                product(2L, 7, "14.00"),
+                product(3L, 3, "30.00"),
+                product(1L, 1, "50.00"));
+
+        // Act
+        List<ProductSummary> top = aggregationService.topProducts(products, 3, ProductRanking.QUANTITY);
+
+        // Assert
+        assertEquals(Arrays.asList(2L, 3L, 4L), top.stream().map(ProductSummary::getProductId).toList());
+    }
+
+    @Test
+    @DisplayName("Should rank by revenue and return every product when N exceeds the breakdown")
+    void shouldSelectTopProductsByRevenue() {
+        // Arrange
+        List<ProductSummary> products = Arrays.asList(
+                product(1L, 1, "50.00"),
+                product(2L, 7, "14.00"),
+                product(3L, 3, "30.0"));
+
+        // Act
+        List<ProductSummary> top = aggregationService.topProducts(products, 10, ProductRanking.REVENUE);
+
+        // Assert
+        assertEquals(Arrays.asList(1L, 3L, 2L), top.stream().map(ProductSummary::getProductId).toList());
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive N")
+    void shouldRejectNonPositiveTopN() {
+        assertThrows(IllegalArgumentException.class,
+                () -> aggregationService.topProducts(Collections.emptyList(), 0, ProductRanking.QUANTITY));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive parallel threshold")
+    void shouldRejectNonPositiveParallelThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new ReportAggregationService(0));
+    }
+
     // Helper methods
     private OrderReport createOrder(OrderStatus status, OrderItemReport... items) {
         return OrderReport.builder()
@@ -212,4 +306,13 @@ class ReportAggregationServiceTest {
                 .findFirst()
                 .orElseThrow();
     }
+
+    private ProductSummary product(Long productId, int quantitySold, String revenue) {
+        return ProductSummary.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .quantitySold(quantitySold)
+                .totalAccumulated(new BigDecimal(revenue))
+                .build();
+    }
 }
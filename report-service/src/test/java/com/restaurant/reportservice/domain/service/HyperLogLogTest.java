@@ -0,0 +1,150 @@
+package com.restaurant.reportservice.domain.service;
+
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+import net.jqwik.api.constraints.Size;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the HyperLogLog distinct-count sketch.
+ * Verifies the error bound, lossless merging, precision folding and the compact encoding.
+ */
+class HyperLogLogTest {
+
+    @Test
+    @DisplayName("Should count small sets of tables exactly")
+    void shouldCountSmallSetsExactly() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog(12);
+
+        // Act
+        for (int round = 0; round < 50; round++) {
+            for (long table = 1; table <= 40; table++) {
+                sketch.add(table);
+            }
+        }
+
+        // Assert
+        assertEquals(40, sketch.estimate());
+        assertEquals(0, new HyperLogLog(12).estimate());
+    }
+
+    @Test
+    @DisplayName("Should estimate a million distinct values within three standard errors")
+    void shouldEstimateLargeCardinalityWithinBound() {
+        // Arrange
+        HyperLogLog sketch = new HyperLogLog(12);
+        int distinct = 1_000_000;
+
+        // Act
+        for (long value = 0; value < distinct; value++) {
+            sketch.add(value);
+        }
+
+        // Assert
+        double error = Math.abs(sketch.estimate() - distinct) / (double) distinct;
+        assertTrue(error < 3 * HyperLogLog.relativeStandardError(12), "relative error was " + error);
+    }
+
+    @Test
+    @DisplayName("Should encode a day's sketch sparsely and a saturated one in one byte per register")
+    void shouldPickEncodingBySize() {
+        // Arrange
+        HyperLogLog day = new HyperLogLog(12);
+        HyperLogLog saturated = new HyperLogLog(12);
+        for (long value = 0; value < 200; value++) {
+            day.add(value);
+        }
+        for (long value = 0; value < 100_000; value++) {
+            saturated.add(value);
+        }
+
+        // Act
+        byte[] dayBytes = day.toBytes();
+        byte[] saturatedBytes = saturated.toBytes();
+
+        // Assert
+        assertTrue(dayBytes.length <= 6 + 200 * 3, "encoded size was " + dayBytes.length + " bytes");
+        assertEquals(2 + 4096, saturatedBytes.length);
+        assertEquals(day, HyperLogLog.fromBytes(dayBytes));
+        assertEquals(saturated, HyperLogLog.fromBytes(saturatedBytes));
+    }
+
+    @Test
+    @DisplayName("Should reject precisions outside 4 to 16 and raising the precision")
+    void shouldRejectInvalidPrecision() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(3));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(17));
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(10).reduceTo(12));
+    }
+
+    @Property
+    @Label("Merging sketches of two sets should equal the sketch of their union")
+    void mergeShouldEqualSketchOfUnion(
+            @ForAll @Size(max = 300) List<Long> first,
+            @ForAll @Size(max = 300) List<Long> second) {
+        HyperLogLog union = new HyperLogLog(10);
+        HyperLogLog a = new HyperLogLog(10);
+        HyperLogLog b = new HyperLogLog(10);
+        first.forEach(value -> { a.add(value); union.add(value); });
+        second.forEach(value -> { b.add(value); union.add(value); });
+
+        // Act
+        HyperLogLog merged = HyperLogLog.fromBytes(a.toBytes()).merge(HyperLogLog.fromBytes(b.toBytes()));
+
+        // Assert
+        assertEquals(union, merged);
+    }
+
+    @Property
+    @Label("Folding a sketch to a lower precision should equal building it at that precision")
+    void reduceShouldEqualSketchBuiltAtLowerPrecision(
+            @ForAll @Size(max = 2000) List<Long> values,
+            @ForAll @IntRange(min = 4, max = 16) int high,
+            @ForAll @IntRange(min = 4, max = 16) int low) {
+        int from = Math.max(high, low);
+        int to = Math.min(high, low);
+        HyperLogLog precise = new HyperLogLog(from);
+        HyperLogLog coarse = new HyperLogLog(to);
+        values.forEach(value -> { precise.add(value); coarse.add(value); });
+
+        // Act
+        HyperLogLog reduced = precise.reduceTo(to);
+
+        // Assert
+        assertEquals(coarse, reduced);
+        assertEquals(coarse, new HyperLogLog(to).merge(precise));
+    }
+
+    @Property(tries = 50)
+    @Label("Estimates should stay within four standard errors of the distinct count")
+    void estimateShouldStayWithinErrorBound(
+            @ForAll @LongRange(min = 1, max = 50_000) long distinct,
+            @ForAll long offset) {
+        HyperLogLog sketch = new HyperLogLog(12);
+        Set<Long> values = new HashSet<>();
+        for (long i = 0; i < distinct; i++) {
+            values.add(offset + i * 7919);
+        }
+        values.forEach(sketch::add);
+
+        // Act
+        long estimate = sketch.estimate();
+
+        // Assert
+        double tolerance = 4 * HyperLogLog.relativeStandardError(12) * values.size() + 1;
+        assertTrue(Math.abs(estimate - values.size()) <= tolerance,
+                "estimate " + estimate + " for " + values.size() + " distinct values");
+    }
+}
@@ -0,0 +1,167 @@
+package com.restaurant.reportservice.domain.service;
+
+import com.restaurant.reportservice.domain.model.OrderItemReport;
+import com.restaurant.reportservice.domain.model.ProductSummary;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the columnar item facts.
+ * Verifies range summaries against the accumulator, buckets, eviction and the byte limit.
+ */
+class ItemFactColumnsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 15);
+
+    @Test
+    @DisplayName("Should summarize only the days of the range, with revenue in cents")
+    void shouldSummarizeRange() {
+        // Arrange
+        ItemFactColumns columns = new ItemFactColumns();
+        columns.addOrder(DAY.atTime(12, 0));
+        columns.addItem(DAY.atTime(12, 0), 3, 1L, "Pizza", 2, new BigDecimal("10.50"));
+        columns.addItem(DAY.atTime(12, 0), 3, 2L, "Soda", 1, null);
+        columns.addOrder(DAY.plusDays(1).atTime(9, 0));
+        columns.addItem(DAY.plusDays(1).atTime(9, 0), 4, 1L, null, 1, new BigDecimal("10.50"));
+
+        // Act
+        ReportSummary day = columns.summarize(DAY, DAY, false);
+        ReportSummary both = columns.summarize(DAY, DAY.plusDays(1), false);
+
+        // Assert
+        assertEquals(1, day.getTotalReadyOrders());
+        assertEquals(new BigDecimal("21.00"), day.getTotalRevenue());
+        assertEquals(2, day.getProductBreakdown().size());
+        assertEquals(BigDecimal.ZERO, day.getProductBreakdown().get(1).getTotalAccumulated());
+        assertEquals(2, both.getTotalReadyOrders());
+        assertEquals(new BigDecimal("31.50"), both.getTotalRevenue());
+        assertEquals("Pizza", both.getProductBreakdown().get(0).getProductName());
+        assertEquals(3, both.getProductBreakdown().get(0).getQuantitySold());
+    }
+
+    @Test
+    @DisplayName("Should match the accumulator sequentially and in parallel")
+    void shouldMatchAccumulator() {
+        // Arrange
+        Random random = new Random(42);
+        ItemFactColumns columns = new ItemFactColumns();
+        ReportAccumulator expected = new ReportAccumulator();
+        int items = ItemFactColumns.CHUNK_SIZE * 3 + 17;
+        for (int i = 0; i < items; i++) {
+            long productId = random.nextInt(50);
+            int quantity = 1 + random.nextInt(5);
+            BigDecimal price = BigDecimal.valueOf(100 + random.nextInt(5_000), 2);
+            columns.addItem(DAY.atTime(random.nextInt(24), 0), 1, productId, "P" + productId, quantity, price);
+            expected.addItem(OrderItemReport.builder()
+                    .productId(productId).productName("P" + productId).quantity(quantity).price(price).build());
+        }
+        ReportSummary accumulated = expected.toSummary();
+
+        // Act
+        ReportSummary sequential = columns.summarize(DAY, DAY, false);
+        ReportSummary parallel = columns.summarize(DAY, DAY, true);
+
+        // Assert
+        assertEquals(accumulated.getTotalRevenue(), sequential.getTotalRevenue());
+        assertEquals(byProduct(accumulated), byProduct(sequential));
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    @DisplayName("Should total orders, items and cents per hour")
+    void shouldTotalHourlyBuckets() {
+        // Arrange
+        ItemFactColumns columns = new ItemFactColumns();
+        columns.addOrder(DAY.atTime(12, 30));
+        columns.addOrder(DAY.atTime(12, 45));
+        columns.addItem(DAY.atTime(12, 30), 1, 1L, "Pizza", 2, new BigDecimal("5.00"));
+        columns.addOrder(DAY.plusDays(1).atTime(0, 10));
+
+        // Act
+        ItemFactColumns.BucketTotals hourly = columns.bucketTotals(DAY, DAY.plusDays(1), true);
+        ItemFactColumns.BucketTotals daily = columns.bucketTotals(DAY, DAY.plusDays(1), false);
+
+        // Assert
+        assertEquals(48, hourly.size());
+        assertEquals(2, hourly.orders(12));
+        assertEquals(2, hourly.items(12));
+        assertEquals(1_000, hourly.revenueCents(12));
+        assertEquals(1, hourly.orders(24));
+        assertEquals(2, daily.size());
+        assertEquals(2, daily.orders(0));
+    }
+
+    @Test
+    @DisplayName("Should evict days before the cutoff and ignore later rows for them")
+    void shouldEvictBeforeCutoff() {
+        // Arrange
+        ItemFactColumns columns = new ItemFactColumns();
+        for (int day = 0; day < 10; day++) {
+            columns.addOrder(DAY.plusDays(day).atStartOfDay());
+            columns.addItem(DAY.plusDays(day).atStartOfDay(), 1, day, "P", 1, BigDecimal.ONE);
+        }
+
+        // Act
+        columns.evictBefore(DAY.plusDays(7));
+        columns.addOrder(DAY.atTime(10, 0));
+
+        // Assert
+        assertEquals(3, columns.orderCount());
+        assertEquals(3, columns.itemCount());
+        assertEquals(DAY.plusDays(7), columns.firstDay());
+        assertEquals(3, columns.summarize(DAY, DAY.plusDays(9), false).getTotalReadyOrders());
+    }
+
+    @Test
+    @DisplayName("Should keep the newest days within the byte limit")
+    void shouldKeepNewestDaysWithinLimit() {
+        // Arrange
+        ItemFactColumns columns = new ItemFactColumns(ItemFactColumns.BYTES_PER_ITEM * 25L);
+
+        // Act: ten items per day, newest day first
+        for (int day = 9; day >= 0; day--) {
+            for (int i = 0; i < 10; i++) {
+                columns.addItem(DAY.plusDays(day).atStartOfDay(), 1, i, "P", 1, BigDecimal.ONE);
+            }
+        }
+
+        // Assert
+        assertEquals(DAY.plusDays(8), columns.firstDay());
+        assertEquals(20, columns.itemCount());
+        assertTrue(columns.estimatedBytes() <= ItemFactColumns.BYTES_PER_ITEM * 25L);
+    }
+
+    @Test
+    @DisplayName("Should append the rows of another set of columns")
+    void shouldAddAll() {
+        // Arrange
+        ItemFactColumns columns = new ItemFactColumns();
+        ItemFactColumns batch = new ItemFactColumns();
+        batch.addOrder(DAY.atTime(8, 0));
+        batch.addItem(DAY.atTime(8, 0), 2, 5L, "Soup", 3, new BigDecimal("4.00"));
+
+        // Act
+        columns.addAll(batch);
+
+        // Assert
+        ReportSummary summary = columns.summarize(DAY, DAY, false);
+        assertEquals(1, summary.getTotalReadyOrders());
+        assertEquals("Soup", summary.getProductBreakdown().get(0).getProductName());
+        assertEquals(new BigDecimal("12.00"), summary.getTotalRevenue());
+    }
+
+    private static List<ProductSummary> byProduct(ReportSummary summary) {
+        List<ProductSummary> products = new ArrayList<>(summary.getProductBreakdown());
+        products.sort((a, b) -> Long.compare(a.getProductId(), b.getProductId()));
+        return products;
+    }
+}
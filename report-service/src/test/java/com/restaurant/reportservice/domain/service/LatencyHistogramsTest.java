@@ -0,0 +1,107 @@
+package com.restaurant.reportservice.domain.service;
+
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Label;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+import net.jqwik.api.constraints.Size;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the hourly latency histograms.
+ * Verifies the compact encoding, merging and percentile precision.
+ */
+class LatencyHistogramsTest {
+
+    @Test
+    @DisplayName("Should decode an encoded histogram to the same samples")
+    void shouldRoundTripThroughEncoding() {
+        // Arrange
+        Histogram histogram = LatencyHistograms.empty();
+        histogram.recordValue(90_000);
+        histogram.recordValue(600_000);
+        histogram.recordValue(3_600_000);
+
+        // Act
+        Histogram decoded = LatencyHistograms.decode(LatencyHistograms.encode(histogram));
+
+        // Assert
+        assertEquals(histogram, decoded);
+        assertEquals(3, decoded.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should encode a busy hour in a few hundred bytes")
+    void shouldEncodeCompactly() {
+        // Arrange
+        Histogram histogram = LatencyHistograms.empty();
+        for (long millis = 60_000; millis < 3_600_000; millis += 997) {
+            histogram.recordValue(millis);
+        }
+
+        // Act
+        byte[] encoded = LatencyHistograms.encode(histogram);
+
+        // Assert
+        assertTrue(encoded.length < 1024, "encoded size was " + encoded.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should accept samples longer than any seen before")
+    void shouldResizeForLongSamples() {
+        // Arrange
+        Histogram histogram = LatencyHistograms.decode(LatencyHistograms.encode(LatencyHistograms.empty()));
+
+        // Act
+        histogram.recordValue(7L * 24 * 3_600_000);
+
+        // Assert
+        assertEquals(1, histogram.getTotalCount());
+    }
+
+    @Property
+    @Label("Merging split histograms should equal recording every sample into one")
+    void mergedHistogramsShouldMatchSingleHistogram(
+            @ForAll @Size(min = 1, max = 200) List<@LongRange(min = 0, max = 86_400_000) Long> samples,
+            @ForAll @IntRange(min = 0, max = 200) int splitAt) {
+        int split = Math.min(splitAt, samples.size());
+        Histogram single = LatencyHistograms.empty();
+        Histogram first = LatencyHistograms.empty();
+        Histogram second = LatencyHistograms.empty();
+        for (int i = 0; i < samples.size(); i++) {
+            single.recordValue(samples.get(i));
+            (i < split ? first : second).recordValue(samples.get(i));
+        }
+
+        // Act
+        Histogram merged = LatencyHistograms.empty();
+        merged.add(LatencyHistograms.decode(LatencyHistograms.encode(first)));
+        merged.add(LatencyHistograms.decode(LatencyHistograms.encode(second)));
+
+        // Assert
+        assertEquals(single.getTotalCount(), merged.getTotalCount());
+        for (double percentile : new double[]{50, 95, 99, 100}) {
+            assertEquals(single.getValueAtPercentile(percentile), merged.getValueAtPercentile(percentile));
+        }
+    }
+
+    @Property
+    @Label("Percentiles should be within 1% of the exact sample")
+    void percentilesShouldBeWithinOnePercent(@ForAll @LongRange(min = 1, max = 86_400_000) long millis) {
+        Histogram histogram = LatencyHistograms.empty();
+        histogram.recordValue(millis);
+
+        // Act
+        long p50 = histogram.getValueAtPercentile(50);
+
+        // Assert
+        assertTrue(Math.abs(p50 - millis) <= millis / 100.0 + 1, "p50 " + p50 + " for " + millis);
+    }
+}
@@ -0,0 +1,55 @@
+package com.restaurant.reportservice.domain.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the primitive long-keyed product map.
+ * Verifies lookups across rehashes, insertion order and the null key.
+ */
+class LongOpenHashMapTest {
+
+    @Test
+    @DisplayName("Should find every key after growing and keep insertion order")
+    void shouldFindKeysAfterGrowing() {
+        // Arrange
+        LongOpenHashMap<String> map = new LongOpenHashMap<>(2);
+        List<String> expected = new ArrayList<>();
+
+        // Act
+        for (long key = 0; key < 1_000; key++) {
+            long spread = key * 1_024; // keys that share low bits
+            map.putAbsent(spread, "v" + spread);
+            expected.add("v" + spread);
+        }
+
+        // Assert
+        assertEquals(1_000, map.size());
+        assertEquals("v512000", map.get(512_000L));
+        assertNull(map.get(1L));
+        assertEquals(expected, map.values());
+    }
+
+    @Test
+    @DisplayName("Should keep negative keys and the null key apart")
+    void shouldHandleNegativeAndNullKeys() {
+        // Arrange
+        LongOpenHashMap<String> map = new LongOpenHashMap<>();
+
+        // Act
+        map.putAbsent(-1L, "minus one");
+        map.putAbsent(null, "unknown");
+        map.putAbsent(0L, "zero");
+
+        // Assert
+        assertEquals("minus one", map.get(-1L));
+        assertEquals("unknown", map.get(null));
+        assertEquals("zero", map.get(0L));
+        assertEquals(List.of("minus one", "unknown", "zero"), map.values());
+    }
+}
@@ -0,0 +1,81 @@
+package com.restaurant.reportservice.domain.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for cents-based money accumulation.
+ * Verifies exactness, BigDecimal-compatible scale and overflow fallback.
+ */
+class MoneySumTest {
+
+    @Test
+    @DisplayName("Should return zero with scale 0 when nothing was added")
+    void shouldReturnZeroWhenEmpty() {
+        assertEquals(BigDecimal.ZERO, new MoneySum().toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should keep the largest scale of the amounts like BigDecimal addition")
+    void shouldKeepLargestScale() {
+        // Arrange
+        MoneySum sum = new MoneySum();
+
+        // Act
+        sum.add(new BigDecimal("15"));
+        sum.add(new BigDecimal("2.5"));
+
+        // Assert
+        assertEquals(new BigDecimal("17.5"), sum.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should add amounts with more than two decimals exactly")
+    void shouldAddAmountsWithMoreDecimalsExactly() {
+        // Arrange
+        MoneySum sum = new MoneySum();
+
+        // Act
+        sum.add(new BigDecimal("1.10"));
+        sum.add(new BigDecimal("0.005"));
+
+        // Assert
+        assertEquals(new BigDecimal("1.105"), sum.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal instead of overflowing the cents")
+    void shouldFallBackOnOverflow() {
+        // Arrange
+        MoneySum sum = new MoneySum();
+        BigDecimal large = BigDecimal.valueOf(Long.MAX_VALUE - 1, 2);
+
+        // Act
+        sum.addCents(Long.MAX_VALUE - 1, 2);
+        sum.addCents(Long.MAX_VALUE - 1, 2);
+
+        // Assert
+        assertEquals(large.add(large), sum.toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should merge sums including their BigDecimal remainders")
+    void shouldMergeSums() {
+        // Arrange
+        MoneySum left = new MoneySum();
+        MoneySum right = new MoneySum();
+        left.add(new BigDecimal("10.00"));
+        right.add(new BigDecimal("0.001"));
+        right.add(new BigDecimal("3.50"));
+
+        // Act
+        left.add(right);
+
+        // Assert
+        assertEquals(new BigDecimal("13.501"), left.toBigDecimal());
+    }
+}
@@ -0,0 +1,56 @@
+package com.restaurant.reportservice.event;
+
+import com.restaurant.reportservice.exception.InvalidEventContractException;
+import com.restaurant.reportservice.exception.UnsupportedEventVersionException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the order.placed and order.ready contract checks.
+ */
+class OrderEventValidatorTest {
+
+    private final OrderEventValidator validator = new OrderEventValidator();
+
+    @Test
+    @DisplayName("Should accept a well-formed order.placed event")
+    void shouldAcceptValidPlacedEvent() {
+        assertDoesNotThrow(() -> validator.validate(placed(1, 4)));
+    }
+
+    @Test
+    @DisplayName("Should reject unsupported versions and non-positive table ids")
+    void shouldRejectInvalidPlacedEvents() {
+        assertThrows(UnsupportedEventVersionException.class, () -> validator.validate(placed(2, 4)));
+        InvalidEventContractException error =
+                assertThrows(InvalidEventContractException.class, () -> validator.validate(placed(1, 0)));
+        assertEquals("tableId must be a positive integer", error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should require an orderId on order.ready events")
+    void shouldRequireOrderIdOnReadyEvents() {
+        OrderReadyEvent event = OrderReadyEvent.builder()
+                .eventType("order.ready")
+                .eventVersion(1)
+                .payload(OrderReadyEvent.Payload.builder().status("READY").build())
+                .build();
+
+        assertThrows(InvalidEventContractException.class, () -> validator.validate(event));
+        event.getPayload().setOrderId(UUID.randomUUID());
+        assertDoesNotThrow(() -> validator.validate(event));
+    }
+
+    private OrderPlacedEvent placed(int version, int tableId) {
+        return OrderPlacedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType("order.placed")
+                .eventVersion(version)
+                .payload(OrderPlacedEvent.Payload.builder().orderId(UUID.randomUUID()).tableId(tableId).build())
+                .build();
+    }
+}
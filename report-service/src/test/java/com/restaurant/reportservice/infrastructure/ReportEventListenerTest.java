@@ -1,35 +1,51 @@
 package com.restaurant.reportservice.infrastructure;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.restaurant.reportservice.application.command.OrderPlacedCommand;
 import com.restaurant.reportservice.application.command.OrderReadyCommand;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.event.OrderEventValidator;
 import com.restaurant.reportservice.event.OrderPlacedEvent;
 import com.restaurant.reportservice.event.OrderReadyEvent;
-import com.restaurant.reportservice.exception.InvalidEventContractException;
-import com.restaurant.reportservice.exception.UnsupportedEventVersionException;
+import com.restaurant.reportservice.infrastructure.messaging.EventLagRecorder;
+import com.restaurant.reportservice.infrastructure.messaging.TieredRetryMessageRecoverer;
 import com.restaurant.reportservice.listener.ReportEventListener;
 import com.restaurant.reportservice.service.OrderEventProcessingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConversionException;
 
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.Mockito.*;
 
 /**
- * Tests for AMQP event listener.
- * Verifies event consumption, validation, and error handling.
+ * Tests for AMQP batch event listener.
+ * Verifies event consumption, validation, per-message rejection and batch fallback.
  */
 @ExtendWith(MockitoExtension.class)
 class ReportEventListenerTest {
@@ -37,63 +53,93 @@ class ReportEventListenerTest {
     @Mock
     private OrderEventProcessingService orderEventProcessingService;
 
+    @Mock
+    private TieredRetryMessageRecoverer messageRecoverer;
+
+    @Captor
+    private ArgumentCaptor<List<OrderPlacedCommand>> placedCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<OrderReadyCommand>> readyCaptor;
+
+    private ObjectMapper objectMapper;
+    private SimpleMeterRegistry meterRegistry;
     private ReportEventListener reportEventListener;
 
     @BeforeEach
     void setUp() {
-        reportEventListener = new ReportEventListener(orderEventProcessingService);
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        meterRegistry = new SimpleMeterRegistry();
+        reportEventListener = new ReportEventListener(
+                orderEventProcessingService, new OrderEventValidator(), objectMapper, messageRecoverer, meterRegistry,
+                new EventLagRecorder(meterRegistry, Clock.systemDefaultZone()));
     }
 
     @Test
-    @DisplayName("handleOrderReadyEvent should have @RabbitListener annotation")
-    void handleOrderReadyEventShouldHaveRabbitListenerAnnotation() throws NoSuchMethodException {
-        Method method = ReportEventListener.class.getMethod("handleOrderReadyEvent", OrderReadyEvent.class);
+    @DisplayName("handleOrderReadyEvents should have @RabbitListener annotation")
+    void handleOrderReadyEventsShouldHaveRabbitListenerAnnotation() throws NoSuchMethodException {
+        Method method = ReportEventListener.class.getMethod("handleOrderReadyEvents", List.class);
         RabbitListener annotation = method.getAnnotation(RabbitListener.class);
-        assertNotNull(annotation, "handleOrderReadyEvent must have @RabbitListener annotation");
+        assertNotNull(annotation, "handleOrderReadyEvents must have @RabbitListener annotation");
         assertTrue(annotation.queues().length > 0, "queues must not be empty");
     }
 
     @Test
-    @DisplayName("Should process valid order.placed event successfully")
-    void shouldProcessValidOrderPlacedEvent() {
+    @DisplayName("Should process valid order.placed events as one batch")
+    void shouldProcessValidOrderPlacedEvents() {
         // Arrange
-        OrderPlacedEvent event = createValidOrderPlacedEvent();
+        OrderPlacedEvent first = createValidOrderPlacedEvent();
+        OrderPlacedEvent second = createValidOrderPlacedEvent();
 
         // Act
-        reportEventListener.handleOrderPlacedEvent(event);
+        reportEventListener.handleOrderPlacedEvents(List.of(message(first), message(second)));
 
         // Assert
-        verify(orderEventProcessingService).processOrderPlaced(any());
+        verify(orderEventProcessingService).processOrderPlacedBatch(placedCaptor.capture());
+        List<OrderPlacedCommand> commands = placedCaptor.getValue();
+        assertEquals(2, commands.size());
+        assertEquals(first.getPayload().getOrderId(), commands.get(0).getOrderId());
+        assertEquals(second.getPayload().getTableId(), commands.get(1).getTableId());
+        verifyNoInteractions(messageRecoverer);
+        assertEquals(2, meterRegistry.get(EventLagRecorder.LAG_TIMER)
+                .tags("event.type", "order.placed", "since", "occurred").timer().count());
     }
 
     @Test
-    @DisplayName("Should process valid order.ready event successfully")
-    void shouldProcessValidOrderReadyEvent() {
+    @DisplayName("Should process valid order.ready events as one batch")
+    void shouldProcessValidOrderReadyEvents() {
         // Arrange
         OrderReadyEvent event = createValidOrderReadyEvent();
 
         // Act
-        reportEventListener.handleOrderReadyEvent(event);
+        reportEventListener.handleOrderReadyEvents(List.of(message(event)));
 
         // Assert
-        verify(orderEventProcessingService).processOrderReady(any());
+        verify(orderEventProcessingService).processOrderReadyBatch(readyCaptor.capture());
+        OrderReadyCommand command = readyCaptor.getValue().get(0);
+        assertEquals(event.getPayload().getOrderId(), command.getOrderId());
+        assertEquals(OrderStatus.READY, command.getStatus());
     }
 
     @Test
-    @DisplayName("Should reject event with unsupported version")
+    @DisplayName("Should reject event with unsupported version and keep the rest of the batch")
     void shouldRejectUnsupportedEventVersion() {
         // Arrange
-        OrderPlacedEvent event = createValidOrderPlacedEvent();
-        event.setEventVersion(2); // Unsupported version
+        OrderPlacedEvent unsupported = createValidOrderPlacedEvent();
+        unsupported.setEventVersion(2); // Unsupported version
+        Message rejected = message(unsupported);
 
-        doThrow(new UnsupportedEventVersionException(2))
-                .when(orderEventProcessingService).processOrderPlaced(any());
+        // Act
+        reportEventListener.handleOrderPlacedEvents(List.of(rejected, message(createValidOrderPlacedEvent())));
 
-        // Act & Assert
-        assertThrows(AmqpRejectAndDontRequeueException.class, () -> 
-            reportEventListener.handleOrderPlacedEvent(event)
-        );
-        verify(orderEventProcessingService).processOrderPlaced(any());
+        // Assert
+        verify(messageRecoverer).recover(eq(rejected), isA(AmqpRejectAndDontRequeueException.class));
+        verify(orderEventProcessingService).processOrderPlacedBatch(placedCaptor.capture());
+        assertEquals(1, placedCaptor.getValue().size());
+        assertEquals(1.0, consumed("order.placed", "REJECTED"));
+        assertEquals(1.0, consumed("order.placed", "SUCCESS"));
     }
 
     @Test
@@ -102,28 +148,81 @@ class ReportEventListenerTest {
         // Arrange
         OrderPlacedEvent event = createValidOrderPlacedEvent();
         event.getPayload().setOrderId(null); // Invalid: missing orderId
+        Message rejected = message(event);
+
+        // Act
+        reportEventListener.handleOrderPlacedEvents(List.of(rejected));
+
+        // Assert
+        verify(messageRecoverer).recover(eq(rejected), isA(AmqpRejectAndDontRequeueException.class));
+        verify(orderEventProcessingService, never()).processOrderPlacedBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject a message whose body is not an event")
+    void shouldRejectUnreadableMessage() {
+        // Arrange
+        Message unreadable = new Message("not-json".getBytes(StandardCharsets.UTF_8), new MessageProperties());
+
+        // Act
+        reportEventListener.handleOrderReadyEvents(List.of(unreadable));
 
-        doThrow(new InvalidEventContractException("orderId is required"))
-                .when(orderEventProcessingService).processOrderPlaced(any());
+        // Assert
+        verify(messageRecoverer).recover(eq(unreadable), isA(MessageConversionException.class));
+        verify(orderEventProcessingService, never()).processOrderReadyBatch(anyList());
+    }
 
-        // Act & Assert
-        assertThrows(AmqpRejectAndDontRequeueException.class, () -> 
-            reportEventListener.handleOrderPlacedEvent(event)
-        );
+    @Test
+    @DisplayName("Should fall back to single events and recover only the failing one when the batch fails")
+    void shouldIsolateFailingEventWhenBatchFails() {
+        // Arrange
+        OrderPlacedEvent healthy = createValidOrderPlacedEvent();
+        OrderPlacedEvent failing = createValidOrderPlacedEvent();
+        Message failingMessage = message(failing);
+        RuntimeException dbError = new RuntimeException("Database error");
+        doThrow(dbError).when(orderEventProcessingService).processOrderPlacedBatch(anyList());
+        lenient().doThrow(dbError).when(orderEventProcessingService).processOrderPlaced(
+                argThat(command -> command.getOrderId().equals(failing.getPayload().getOrderId())));
+
+        // Act
+        reportEventListener.handleOrderPlacedEvents(List.of(message(healthy), failingMessage));
+
+        // Assert
+        verify(orderEventProcessingService, times(2)).processOrderPlaced(any());
+        verify(messageRecoverer).recover(failingMessage, dbError);
+        verifyNoMoreInteractions(messageRecoverer);
+        assertEquals(1.0, consumed("order.placed", "SUCCESS"));
+        assertEquals(1.0, consumed("order.placed", "ERROR"));
+        assertEquals(1, meterRegistry.get(EventLagRecorder.LAG_TIMER)
+                .tags("event.type", "order.placed", "since", "occurred").timer().count());
+        assertEquals(1, meterRegistry.get("events.processing")
+                .tags("event.type", "order.placed", "outcome", "SUCCESS", "exception", "none").timer().count());
     }
 
     @Test
     @DisplayName("Should process order.placed event idempotently")
     void shouldProcessOrderPlacedIdempotently() {
         // Arrange
-        OrderPlacedEvent event = createValidOrderPlacedEvent();
+        Message message = message(createValidOrderPlacedEvent());
 
         // Act
-        reportEventListener.handleOrderPlacedEvent(event);
-        reportEventListener.handleOrderPlacedEvent(event); // Send twice
+        reportEventListener.handleOrderPlacedEvents(List.of(message));
+        reportEventListener.handleOrderPlacedEvents(List.of(message)); // Send twice
 
         // Assert
-        verify(orderEventProcessingService, times(2)).processOrderPlaced(any());
+        verify(orderEventProcessingService, times(2)).processOrderPlacedBatch(anyList());
+    }
+
+    private double consumed(String eventType, String outcome) {
+        return meterRegistry.counter("events.consumed", "event.type", eventType, "outcome", outcome).count();
+    }
+
+    private Message message(Object event) {
+        try {
+            return new Message(objectMapper.writeValueAsBytes(event), new MessageProperties());
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private OrderPlacedEvent createValidOrderPlacedEvent() {
@@ -159,4 +258,3 @@ class ReportEventListenerTest {
         return event;
     }
 }
-
@@ -0,0 +1,111 @@
+package com.restaurant.reportservice.infrastructure.messaging;
+
+import com.restaurant.reportservice.dto.ListenerStatusDTO;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for adaptive listener concurrency across the two report listeners.
+ * Verifies that both containers share one DB pool budget.
+ */
+@ExtendWith(MockitoExtension.class)
+class AdaptiveListenerControllerTest {
+
+    private static final String PLACED_QUEUE = "order.placed.report.queue";
+    private static final String READY_QUEUE = "order.ready.report.queue";
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AdaptiveListenerController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AdaptiveListenerPolicy policy = new AdaptiveListenerPolicy(1, 8, 1, 250, 10_000, 0.25, 1, 3, 1000);
+        controller = new AdaptiveListenerController(policy, amqpAdmin, meterRegistry, true, 7, 2, 100);
+    }
+
+    @Test
+    @DisplayName("Should keep the consumers of both listeners within the DB pool budget")
+    void shouldShareDbPoolBudgetBetweenListeners() {
+        // Arrange
+        controller.register(container(PLACED_QUEUE, "placed-listener"));
+        controller.register(container(READY_QUEUE, "ready-listener"));
+        when(amqpAdmin.getQueueInfo(PLACED_QUEUE)).thenReturn(new QueueInformation(PLACED_QUEUE, 5000, 1));
+        when(amqpAdmin.getQueueInfo(READY_QUEUE)).thenReturn(new QueueInformation(READY_QUEUE, 5000, 1));
+        timer("placed-listener").record(Duration.ofMillis(50));
+        timer("ready-listener").record(Duration.ofMillis(50));
+
+        // Act
+        controller.sample();
+        controller.sample();
+
+        // Assert
+        int totalConsumers = controller.status().stream().mapToInt(ListenerStatusDTO::getConsumers).sum();
+        assertEquals(5, totalConsumers);
+        assertTrue(controller.status().stream().allMatch(status -> status.getConsumers() >= 1));
+    }
+
+    @Test
+    @DisplayName("Should hold consumers while no backlog builds up")
+    void shouldHoldWithoutBacklog() {
+        // Arrange
+        controller.register(container(PLACED_QUEUE, "placed-listener"));
+        when(amqpAdmin.getQueueInfo(PLACED_QUEUE)).thenReturn(new QueueInformation(PLACED_QUEUE, 0, 1));
+
+        // Act
+        controller.sample();
+
+        // Assert
+        ListenerStatusDTO status = controller.status().get(0);
+        assertEquals(1, status.getConsumers());
+        assertEquals(0L, status.getQueueDepth());
+        assertNull(status.getLatencyMs());
+    }
+
+    @Test
+    @DisplayName("Should report per-message latency for batch-consuming containers")
+    void shouldDivideBatchLatencyByBatchSize() {
+        // Arrange
+        SimpleMessageListenerContainer container = container(PLACED_QUEUE, "placed-listener");
+        container.setConsumerBatchEnabled(true);
+        controller.register(container);
+        when(amqpAdmin.getQueueInfo(PLACED_QUEUE)).thenReturn(new QueueInformation(PLACED_QUEUE, 0, 1));
+        timer("placed-listener").record(Duration.ofMillis(500));
+
+        // Act
+        controller.sample();
+
+        // Assert
+        assertEquals(5.0, controller.status().get(0).getLatencyMs(), 0.001);
+    }
+
+    private SimpleMessageListenerContainer container(String queue, String listenerId) {
+        SimpleMessageListenerContainer container = new SimpleMessageListenerContainer();
+        container.setQueueNames(queue);
+        container.setListenerId(listenerId);
+        return container;
+    }
+
+    private Timer timer(String listenerId) {
+        return Timer.builder(AdaptiveListenerController.LISTENER_TIMER)
+                .tag("listener.id", listenerId)
+                .register(meterRegistry);
+    }
+}
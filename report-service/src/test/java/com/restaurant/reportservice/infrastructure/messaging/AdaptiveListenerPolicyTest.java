@@ -0,0 +1,49 @@
+package com.restaurant.reportservice.infrastructure.messaging;
+
+import net.jqwik.api.*;
+import net.jqwik.api.constraints.DoubleRange;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property-based tests for AdaptiveListenerPolicy using jqwik.
+ * Validates that decisions respect bounds and never oscillate on a steady load.
+ */
+class AdaptiveListenerPolicyTest {
+
+    private final AdaptiveListenerPolicy policy =
+            new AdaptiveListenerPolicy(1, 8, 1, 250, 10_000, 0.25, 2, 6, 1000);
+
+    @Property
+    @Label("Consumers and prefetch should always stay within the configured bounds and budget")
+    void decisionsShouldStayWithinBounds(@ForAll @IntRange(min = 1, max = 8) int consumers,
+                                         @ForAll @LongRange(min = 0, max = 1_000_000) long depth,
+                                         @ForAll @DoubleRange(min = 0.01, max = 60_000) double latencyMs,
+                                         @ForAll @IntRange(min = 0, max = 20) int budget) {
+        AdaptiveListenerPolicy.State state = new AdaptiveListenerPolicy.State(consumers, 250);
+
+        for (int i = 0; i < 6; i++) {
+            AdaptiveListenerPolicy.Decision decision = policy.evaluate(state, depth, latencyMs, budget);
+            assertTrue(decision.getConsumers() >= 1 && decision.getConsumers() <= Math.max(1, Math.min(8, budget)));
+            assertTrue(decision.getPrefetch() >= 1 && decision.getPrefetch() <= 250);
+            state.apply(decision);
+        }
+    }
+
+    @Property
+    @Label("Under a steady load the policy should never scale up and then back down")
+    void steadyLoadShouldNotOscillate(@ForAll @LongRange(min = 0, max = 100_000) long depth,
+                                      @ForAll @DoubleRange(min = 1, max = 1000) double latencyMs) {
+        AdaptiveListenerPolicy.State state = new AdaptiveListenerPolicy.State(1, 250);
+        boolean scaledUp = false;
+
+        for (int i = 0; i < 20; i++) {
+            AdaptiveListenerPolicy.Decision decision = policy.evaluate(state, depth, latencyMs, 8);
+            scaledUp |= AdaptiveListenerPolicy.SCALE_UP.equals(decision.getAction());
+            assertFalse(scaledUp && AdaptiveListenerPolicy.SCALE_DOWN.equals(decision.getAction()));
+            state.apply(decision);
+        }
+    }
+}
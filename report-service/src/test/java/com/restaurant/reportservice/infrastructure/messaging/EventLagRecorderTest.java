@@ -0,0 +1,79 @@
+package com.restaurant.reportservice.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EventLagRecorder.
+ * Verifies the lag since occurredAt, read as UTC in any zone, and since enqueue.
+ */
+class EventLagRecorderTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-10T12:00:10Z");
+    private static final LocalDateTime OCCURRED_AT_UTC = LocalDateTime.of(2026, 3, 10, 12, 0, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should record the lag since occurredAt and since the broker timestamp header")
+    void shouldRecordBothLags() {
+        // Arrange
+        EventLagRecorder recorder = new EventLagRecorder(meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+        MessageProperties properties = new MessageProperties();
+        properties.setTimestamp(Date.from(NOW.minusSeconds(3)));
+        properties.setHeader(EventLagRecorder.BROKER_TIMESTAMP_HEADER, NOW.minusSeconds(2).toEpochMilli());
+
+        // Act
+        recorder.record("order.ready", OCCURRED_AT_UTC, properties);
+
+        // Assert
+        assertEquals(10.0, lag("occurred").totalTime(TimeUnit.SECONDS));
+        assertEquals(2.0, lag("enqueued").totalTime(TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should read occurredAt as UTC when the default zone is not UTC")
+    void shouldReadOccurredAtAsUtcInAnotherZone() {
+        // Arrange
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Bogota"));
+        try {
+            EventLagRecorder recorder = new EventLagRecorder(meterRegistry, Clock.fixed(NOW, ZoneId.systemDefault()));
+
+            // Act
+            recorder.record("order.ready", OCCURRED_AT_UTC, null);
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+
+        // Assert
+        assertEquals(10.0, lag("occurred").totalTime(TimeUnit.SECONDS));
+        assertNull(meterRegistry.find(EventLagRecorder.LAG_TIMER).tag("since", "enqueued").timer());
+    }
+
+    private Timer lag(String since) {
+        return meterRegistry.get(EventLagRecorder.LAG_TIMER)
+                .tags("event.type", "order.ready", "since", since)
+                .timer();
+    }
+}
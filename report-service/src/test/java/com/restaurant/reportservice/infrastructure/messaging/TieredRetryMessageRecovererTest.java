@@ -0,0 +1,122 @@
+package com.restaurant.reportservice.infrastructure.messaging;
+
+import com.restaurant.reportservice.exception.UnsupportedEventVersionException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for broker-side tiered retry routing.
+ * Verifies tier selection per source queue and DLQ routing.
+ */
+@ExtendWith(MockitoExtension.class)
+class TieredRetryMessageRecovererTest {
+
+    private static final String PLACED_QUEUE = "order.placed.report.queue";
+    private static final String READY_QUEUE = "order.ready.report.queue";
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TieredRetryMessageRecoverer recoverer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        recoverer = new TieredRetryMessageRecoverer(
+                rabbitTemplate, meterRegistry, List.of(1000L, 10000L), "order.report.dlx", "order.placed.report.dlq");
+    }
+
+    @Test
+    @DisplayName("Should route a failed message to the first tier of its own source queue")
+    void shouldRouteToFirstTierOfSourceQueue() {
+        // Arrange
+        Message message = message(READY_QUEUE, null);
+
+        // Act
+        recoverer.recover(message, failure(new IllegalStateException("connection refused")));
+
+        // Assert
+        verify(rabbitTemplate).send("", "order.ready.report.queue.retry.1", message);
+        assertEquals(1, message.getMessageProperties().getHeaders().get(TieredRetryMessageRecoverer.RETRY_COUNT_HEADER));
+        assertEquals(1.0, meterRegistry.counter("rabbitmq.retry.scheduled",
+                "queue", READY_QUEUE, "tier", "1").count());
+    }
+
+    @Test
+    @DisplayName("Should route to the DLQ once every tier has been used")
+    void shouldRouteToDlqAfterLastTier() {
+        // Arrange
+        Message message = message(PLACED_QUEUE, 2);
+
+        // Act
+        recoverer.recover(message, failure(new IllegalStateException("connection refused")));
+
+        // Assert
+        verify(rabbitTemplate).send("order.report.dlx", "order.placed.report.dlq", message);
+        assertEquals(PLACED_QUEUE,
+                message.getMessageProperties().getHeaders().get(TieredRetryMessageRecoverer.ORIGINAL_QUEUE_HEADER));
+        assertEquals(1.0, meterRegistry.counter("rabbitmq.retry.dead.lettered",
+                "queue", PLACED_QUEUE, "reason", "exhausted").count());
+    }
+
+    @Test
+    @DisplayName("Should send rejected events straight to the DLQ without retrying")
+    void shouldSendRejectedEventsStraightToDlq() {
+        // Arrange
+        Message message = message(PLACED_QUEUE, null);
+        UnsupportedEventVersionException versionError = new UnsupportedEventVersionException(2);
+
+        // Act
+        recoverer.recover(message, failure(new AmqpRejectAndDontRequeueException(versionError.getMessage(), versionError)));
+
+        // Assert
+        verify(rabbitTemplate).send("order.report.dlx", "order.placed.report.dlq", message);
+        verify(rabbitTemplate, never()).send(eq(""), anyString(), any(Message.class));
+        assertEquals("UnsupportedEventVersionException: Unsupported event version: 2",
+                message.getMessageProperties().getHeaders().get(TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should recover each message of a failed batch with its own retry count")
+    void shouldRecoverBatchMessagesIndependently() {
+        // Arrange
+        Message fresh = message(PLACED_QUEUE, null);
+        Message retried = message(PLACED_QUEUE, 1);
+
+        // Act
+        recoverer.recover(List.of(fresh, retried), failure(new IllegalStateException("connection refused")));
+
+        // Assert
+        verify(rabbitTemplate).send("", "order.placed.report.queue.retry.1", fresh);
+        verify(rabbitTemplate).send("", "order.placed.report.queue.retry.2", retried);
+    }
+
+    private Message message(String queue, Integer retryCount) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(queue);
+        if (retryCount != null) {
+            properties.setHeader(TieredRetryMessageRecoverer.RETRY_COUNT_HEADER, retryCount);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+
+    private ListenerExecutionFailedException failure(Throwable cause) {
+        return new ListenerExecutionFailedException("Listener threw exception", cause);
+    }
+}
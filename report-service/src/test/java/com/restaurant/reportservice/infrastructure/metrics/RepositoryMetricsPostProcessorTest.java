@@ -0,0 +1,70 @@
+package com.restaurant.reportservice.infrastructure.metrics;
+
+import com.restaurant.reportservice.repository.OrderReportRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.stereotype.Repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RepositoryMetricsPostProcessor.
+ * Verifies that JdbcTemplate repositories are timed and Spring Data repositories are left to Boot.
+ */
+class RepositoryMetricsPostProcessorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RepositoryMetricsPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        postProcessor = new RepositoryMetricsPostProcessor(beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+
+    @Test
+    @DisplayName("Should time successful and failing repository calls")
+    void shouldTimeRepositoryCalls() {
+        // Arrange
+        SampleJdbcRepository repository = (SampleJdbcRepository) postProcessor
+                .postProcessAfterInitialization(new SampleJdbcRepository(), "sampleJdbcRepository");
+
+        // Act
+        repository.count();
+        assertThrows(IllegalStateException.class, repository::fail);
+
+        // Assert
+        assertEquals(1, meterRegistry.get(RepositoryMetricsPostProcessor.REPOSITORY_TIMER)
+                .tags("repository", "SampleJdbcRepository", "method", "count", "outcome", "SUCCESS", "exception", "none")
+                .timer().count());
+        assertEquals(1, meterRegistry.get(RepositoryMetricsPostProcessor.REPOSITORY_TIMER)
+                .tags("method", "fail", "outcome", "ERROR", "exception", "IllegalStateException")
+                .timer().count());
+    }
+
+    @Test
+    @DisplayName("Should leave Spring Data repositories and other beans unproxied")
+    void shouldOnlyMatchJdbcRepositories() {
+        assertTrue(RepositoryMetricsPostProcessor.isJdbcRepository(SampleJdbcRepository.class));
+        assertFalse(RepositoryMetricsPostProcessor.isJdbcRepository(OrderReportRepository.class));
+        assertFalse(RepositoryMetricsPostProcessor.isJdbcRepository(String.class));
+    }
+
+    @Repository
+    static class SampleJdbcRepository {
+
+        public long count() {
+            return 42;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("query failed");
+        }
+    }
+}
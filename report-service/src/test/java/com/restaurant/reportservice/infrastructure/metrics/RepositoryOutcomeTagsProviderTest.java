@@ -0,0 +1,68 @@
+package com.restaurant.reportservice.infrastructure.metrics;
+
+import com.restaurant.reportservice.repository.OrderReportRepository;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocationResult.State;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RepositoryOutcomeTagsProvider.
+ * Verifies that Spring Data repository calls are tagged like the JdbcTemplate repositories.
+ */
+class RepositoryOutcomeTagsProviderTest {
+
+    private final RepositoryOutcomeTagsProvider tagsProvider = new RepositoryOutcomeTagsProvider();
+
+    @Test
+    @DisplayName("Should tag successful calls with outcome SUCCESS and exception none")
+    void shouldTagSuccessfulCalls() throws Exception {
+        // Act
+        List<Tag> tags = tagsOf(tagsProvider.repositoryTags(invocation(State.SUCCESS, null)));
+
+        // Assert
+        assertEquals(Tags.of("repository", "OrderReportRepository", "method", "findAll",
+                "outcome", "SUCCESS", "exception", "none").stream().sorted().collect(Collectors.toList()), tags);
+    }
+
+    @Test
+    @DisplayName("Should tag failing calls with the exception simple name")
+    void shouldTagFailingCalls() throws Exception {
+        // Act
+        List<Tag> tags = tagsOf(tagsProvider.repositoryTags(
+                invocation(State.ERROR, new IllegalStateException("query failed"))));
+
+        // Assert
+        assertTrue(tags.contains(Tag.of("outcome", "ERROR")));
+        assertTrue(tags.contains(Tag.of("exception", "IllegalStateException")));
+    }
+
+    private List<Tag> tagsOf(Iterable<Tag> tags) {
+        return StreamSupport.stream(tags.spliterator(), false).sorted().collect(Collectors.toList());
+    }
+
+    private RepositoryMethodInvocation invocation(State state, Throwable error) throws Exception {
+        RepositoryMethodInvocationResult result = new RepositoryMethodInvocationResult() {
+            @Override
+            public State getState() {
+                return state;
+            }
+
+            @Override
+            public Throwable getError() {
+                return error;
+            }
+        };
+        return new RepositoryMethodInvocation(OrderReportRepository.class,
+                OrderReportRepository.class.getMethod("findAll"), result, 1_000);
+    }
+}
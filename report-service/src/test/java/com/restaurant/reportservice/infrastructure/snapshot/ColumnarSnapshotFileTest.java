@@ -0,0 +1,104 @@
+package com.restaurant.reportservice.infrastructure.snapshot;
+
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.ItemFactColumns;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the memory-mapped columnar snapshot.
+ * Verifies the round trip of the columns and watermark, and that damaged files are ignored.
+ */
+class ColumnarSnapshotFileTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 15);
+    private static final long MAX_BYTES = 64L * 1024 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back the columns, watermark and recent orders it wrote")
+    void shouldRoundTripSnapshot() throws Exception {
+        // Arrange
+        ColumnarSnapshotFile file = new ColumnarSnapshotFile(directory.resolve("store.snapshot"));
+        ItemFactColumns columns = new ItemFactColumns();
+        columns.evictBefore(DAY);
+        columns.addOrder(DAY.atTime(12, 0));
+        columns.addItem(DAY.atTime(12, 0), 3, 1L, "Crème brûlée", 2, new BigDecimal("6.50"));
+        columns.addItem(DAY.atTime(12, 0), 3, 2L, null, 1, null);
+        LocalDateTime watermark = DAY.atTime(12, 30, 15, 123_000_000);
+        UUID recent = UUID.randomUUID();
+
+        // Act
+        file.write(new ColumnarSnapshotFile.Snapshot(watermark, DAY, 90, MAX_BYTES, List.of(recent), columns));
+        Optional<ColumnarSnapshotFile.Snapshot> read = file.read(MAX_BYTES);
+
+        // Assert
+        assertTrue(read.isPresent());
+        ColumnarSnapshotFile.Snapshot snapshot = read.get();
+        assertEquals(watermark, snapshot.getWatermark());
+        assertEquals(DAY, snapshot.getFirstCoveredDay());
+        assertEquals(90, snapshot.getRetentionDays());
+        assertEquals(MAX_BYTES, snapshot.getMaxBytes());
+        assertEquals(List.of(recent), snapshot.getRecentOrderIds());
+        assertEquals(DAY, snapshot.getColumns().firstDay());
+        ReportSummary restored = snapshot.getColumns().summarize(DAY, DAY, false);
+        assertEquals(columns.summarize(DAY, DAY, false), restored);
+        assertEquals("Crème brûlée", restored.getProductBreakdown().get(0).getProductName());
+        assertFalse(Files.exists(directory.resolve("store.snapshot.tmp")));
+    }
+
+    @Test
+    @DisplayName("Should ignore a snapshot whose checksum does not match")
+    void shouldIgnoreCorruptSnapshot() throws Exception {
+        // Arrange
+        Path path = directory.resolve("store.snapshot");
+        ColumnarSnapshotFile file = new ColumnarSnapshotFile(path);
+        ItemFactColumns columns = new ItemFactColumns();
+        columns.addOrder(DAY.atTime(9, 0));
+        file.write(new ColumnarSnapshotFile.Snapshot(DAY.atStartOfDay(), DAY, 90, MAX_BYTES, List.of(), columns));
+        try (RandomAccessFile raw = new RandomAccessFile(path.toFile(), "rw")) {
+            raw.seek(raw.length() - 1);
+            int last = raw.read();
+            raw.seek(raw.length() - 1);
+            raw.write(last ^ 0xFF);
+        }
+
+        // Act
+        Optional<ColumnarSnapshotFile.Snapshot> read = file.read(MAX_BYTES);
+
+        // Assert
+        assertTrue(read.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should find no snapshot when the file is missing or not a snapshot")
+    void shouldIgnoreMissingOrForeignFile() throws Exception {
+        // Arrange
+        Path path = directory.resolve("store.snapshot");
+        ColumnarSnapshotFile file = new ColumnarSnapshotFile(path);
+        Optional<ColumnarSnapshotFile.Snapshot> missing = file.read(MAX_BYTES);
+        Files.writeString(path, "not a columnar snapshot, just some text");
+
+        // Act
+        Optional<ColumnarSnapshotFile.Snapshot> foreign = file.read(MAX_BYTES);
+
+        // Assert
+        assertTrue(missing.isEmpty());
+        assertTrue(foreign.isEmpty());
+    }
+}
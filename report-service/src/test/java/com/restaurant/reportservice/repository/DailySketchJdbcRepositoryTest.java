@@ -0,0 +1,149 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.domain.service.HyperLogLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the daily distinct-count sketch writes and reads.
+ * Verifies stub tables are skipped, days are locked in key order and sketches merge by day.
+ */
+@ExtendWith(MockitoExtension.class)
+class DailySketchJdbcRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 15);
+    private static final LocalDate NEXT_DAY = LocalDate.of(2026, 2, 16);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet orderKeys;
+
+    @Mock
+    private ResultSet storedDays;
+
+    private DailySketchJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new DailySketchJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should add tables and products to the locked rows of their days, skipping stub tables")
+    @SuppressWarnings("unchecked")
+    void shouldMergeOrdersIntoLockedDays() throws Exception {
+        // Arrange
+        HyperLogLog storedTables = new HyperLogLog(12);
+        storedTables.add(7);
+        // Rows: (day, table 3, product 10), (day, table 3, product 11), (next day, stub table 0, no items)
+        when(orderKeys.getObject(1, LocalDate.class)).thenReturn(DAY, DAY, NEXT_DAY);
+        when(orderKeys.getInt(2)).thenReturn(3, 3, 0);
+        when(orderKeys.getLong(3)).thenReturn(10L, 11L, 0L);
+        when(orderKeys.wasNull()).thenReturn(false, false, true);
+        when(storedDays.getObject(1, LocalDate.class)).thenReturn(DAY, NEXT_DAY);
+        when(storedDays.getBytes(2)).thenReturn(storedTables.toBytes(), new HyperLogLog(12).toBytes());
+        when(storedDays.getBytes(3)).thenReturn(new HyperLogLog(12).toBytes());
+        doAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            ResultSet rows = sql.contains("FOR UPDATE") ? storedDays : orderKeys;
+            int count = sql.contains("FOR UPDATE") ? 2 : 3;
+            for (int i = 0; i < count; i++) {
+                handler.processRow(rows);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        ArgumentCaptor<String> insertSql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        repository.addReadyOrders(List.of(UUID.randomUUID(), UUID.randomUUID()), 12);
+
+        // Assert
+        verify(jdbcTemplate).update(insertSql.capture(), any(Object[].class));
+        assertTrue(insertSql.getValue().endsWith("VALUES (?, ?, ?), (?, ?, ?) ON CONFLICT (day) DO NOTHING"));
+        verify(jdbcTemplate).query(argThat(sql -> sql.endsWith("ORDER BY day FOR UPDATE")),
+                any(RowCallbackHandler.class), eq(Date.valueOf(DAY)), eq(Date.valueOf(NEXT_DAY)));
+        verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+
+        Object[] day = updates.getValue().get(0);
+        assertEquals(2, HyperLogLog.fromBytes((byte[]) day[0]).estimate());
+        assertEquals(2, HyperLogLog.fromBytes((byte[]) day[1]).estimate());
+        assertEquals(Date.valueOf(DAY), day[2]);
+        Object[] nextDay = updates.getValue().get(1);
+        assertEquals(0, HyperLogLog.fromBytes((byte[]) nextDay[0]).estimate());
+        assertEquals(0, HyperLogLog.fromBytes((byte[]) nextDay[1]).estimate());
+    }
+
+    @Test
+    @DisplayName("Should not write anything when the orders have no rows")
+    void shouldIgnoreOrdersWithoutRows() {
+        // Act
+        repository.addReadyOrders(List.of(UUID.randomUUID()), 12);
+
+        // Assert
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should merge the sketches of a range down to the lowest precision stored")
+    void shouldMergeRangeAtLowestPrecision() throws Exception {
+        // Arrange
+        HyperLogLog oldTables = new HyperLogLog(10);
+        oldTables.add(1);
+        oldTables.add(2);
+        HyperLogLog newTables = new HyperLogLog(12);
+        newTables.add(2);
+        newTables.add(3);
+        HyperLogLog products = new HyperLogLog(12);
+        products.add(10);
+        when(storedDays.getBytes(1)).thenReturn(newTables.toBytes(), oldTables.toBytes());
+        when(storedDays.getBytes(2)).thenReturn(products.toBytes(), products.toBytes());
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(storedDays);
+            handler.processRow(storedDays);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        // Act
+        Optional<DailySketchJdbcRepository.DaySketches> sketches = repository.sumBetween(DAY, NEXT_DAY);
+
+        // Assert
+        assertTrue(sketches.isPresent());
+        assertEquals(10, sketches.get().getTables().getPrecision());
+        assertEquals(3, sketches.get().getTables().estimate());
+        assertEquals(1, sketches.get().getProducts().estimate());
+    }
+
+    @Test
+    @DisplayName("Should return empty when no day of the range has sketches")
+    void shouldReturnEmptyForRangeWithoutSketches() {
+        // Act & Assert
+        assertTrue(repository.sumBetween(DAY, NEXT_DAY).isEmpty());
+    }
+}
@@ -0,0 +1,107 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.domain.service.LatencyHistograms;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the hourly fulfillment histogram writes.
+ * Verifies row creation, locking order and the merged values written back.
+ */
+@ExtendWith(MockitoExtension.class)
+class FulfillmentHistogramJdbcRepositoryTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 2, 15, 12, 0);
+    private static final LocalDateTime ONE_PM = LocalDateTime.of(2026, 2, 15, 13, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private FulfillmentHistogramJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new FulfillmentHistogramJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should create missing hours, lock them in key order and write the merged histograms")
+    @SuppressWarnings("unchecked")
+    void shouldMergeIntoLockedRows() throws Exception {
+        // Arrange
+        Histogram stored = LatencyHistograms.empty();
+        stored.recordValue(300_000);
+        Histogram noonSamples = LatencyHistograms.empty();
+        noonSamples.recordValue(600_000);
+        Histogram onePmSamples = LatencyHistograms.empty();
+        onePmSamples.recordValue(900_000);
+        TreeMap<LocalDateTime, Histogram> samples = new TreeMap<>();
+        samples.put(ONE_PM, onePmSamples);
+        samples.put(NOON, noonSamples);
+
+        when(resultSet.getTimestamp(1)).thenReturn(Timestamp.valueOf(NOON), Timestamp.valueOf(ONE_PM));
+        when(resultSet.getBytes(2)).thenReturn(LatencyHistograms.encode(stored),
+                LatencyHistograms.encode(LatencyHistograms.empty()));
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        ArgumentCaptor<String> insertSql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> lockSql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> updates = ArgumentCaptor.forClass(List.class);
+
+        // Act
+        repository.add(samples);
+
+        // Assert
+        verify(jdbcTemplate).update(insertSql.capture(), any(Object[].class));
+        assertTrue(insertSql.getValue().contains("VALUES (?, 0, ?), (?, 0, ?) ON CONFLICT (bucket_start) DO NOTHING"));
+        verify(jdbcTemplate).query(lockSql.capture(), any(RowCallbackHandler.class),
+                eq(Timestamp.valueOf(NOON)), eq(Timestamp.valueOf(ONE_PM)));
+        assertTrue(lockSql.getValue().endsWith("ORDER BY bucket_start FOR UPDATE"));
+        verify(jdbcTemplate).batchUpdate(anyString(), updates.capture());
+
+        Object[] noon = updates.getValue().get(0);
+        Histogram mergedNoon = LatencyHistograms.decode((byte[]) noon[1]);
+        assertEquals(2L, noon[0]);
+        assertEquals(Timestamp.valueOf(NOON), noon[2]);
+        assertEquals(2, mergedNoon.getTotalCount());
+        assertTrue(mergedNoon.valuesAreEquivalent(600_000, mergedNoon.getMaxValue()));
+        assertEquals(1L, updates.getValue().get(1)[0]);
+    }
+
+    @Test
+    @DisplayName("Should not touch the database without samples")
+    void shouldIgnoreEmptySamples() {
+        // Act
+        repository.add(new TreeMap<>());
+
+        // Assert
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
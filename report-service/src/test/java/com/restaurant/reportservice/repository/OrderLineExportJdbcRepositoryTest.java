@@ -0,0 +1,116 @@
+package com.restaurant.reportservice.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the export cursor over an embedded H2 database.
+ * Verifies the filter, the line order and that a failing consumer stops the query.
+ */
+class OrderLineExportJdbcRepositoryTest {
+
+    private static final UUID FIRST = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private OrderLineExportJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE report_orders (id UUID PRIMARY KEY, table_id INT NOT NULL, "
+                + "status VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL, received_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE report_order_items (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_id UUID NOT NULL, order_created_at TIMESTAMP NOT NULL, "
+                + "product_id BIGINT NOT NULL, product_name VARCHAR(255), "
+                + "quantity INT NOT NULL, price DECIMAL(10, 2))");
+        repository = new OrderLineExportJdbcRepository(jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should return the items of READY orders in the range, ordered by creation time")
+    void shouldExportReadyLinesInOrder() {
+        // Arrange
+        insertOrder(SECOND, "READY", LocalDateTime.of(2026, 2, 28, 23, 59));
+        insertItem(SECOND, 2L, "Gaseosa", 3, "3.00");
+        insertOrder(FIRST, "READY", LocalDateTime.of(2026, 2, 1, 0, 0));
+        insertItem(FIRST, 1L, "Hamburguesa", 2, "15.50");
+        insertItem(FIRST, 3L, null, 1, null);
+        insertOrder(UUID.randomUUID(), "PENDING", LocalDateTime.of(2026, 2, 10, 12, 0));
+        insertOrder(UUID.randomUUID(), "READY", LocalDateTime.of(2026, 3, 1, 0, 0));
+        List<OrderLineExportJdbcRepository.OrderLine> lines = new ArrayList<>();
+
+        // Act
+        repository.forEachReadyLine(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28), lines::add);
+
+        // Assert
+        assertEquals(3, lines.size());
+        assertEquals(FIRST, lines.get(0).getOrderId());
+        assertEquals("Hamburguesa", lines.get(0).getProductName());
+        assertEquals(new BigDecimal("15.50"), lines.get(0).getPrice());
+        assertEquals(3L, lines.get(1).getProductId());
+        assertNull(lines.get(1).getPrice());
+        assertEquals(SECOND, lines.get(2).getOrderId());
+        assertEquals(LocalDateTime.of(2026, 2, 28, 23, 59), lines.get(2).getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should stop reading and rethrow when the consumer fails")
+    void shouldStopWhenConsumerFails() {
+        // Arrange
+        insertOrder(FIRST, "READY", LocalDateTime.of(2026, 2, 1, 12, 0));
+        for (int i = 0; i < 50; i++) {
+            insertItem(FIRST, (long) i, "Product " + i, 1, "1.00");
+        }
+        int[] seen = {0};
+
+        // Act
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> repository.forEachReadyLine(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 1), line -> {
+                    seen[0]++;
+                    throw new IllegalStateException("client went away");
+                }));
+
+        // Assert
+        assertEquals("client went away", thrown.getMessage());
+        assertEquals(1, seen[0]);
+    }
+
+    private void insertOrder(UUID id, String status, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO report_orders (id, table_id, status, created_at, received_at) "
+                + "VALUES (?, 1, ?, ?, ?)", id, status, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    private void insertItem(UUID orderId, Long productId, String productName, int quantity, String price) {
+        jdbcTemplate.update("INSERT INTO report_order_items "
+                + "(order_id, order_created_at, product_id, product_name, quantity, price) "
+                + "SELECT id, created_at, ?, ?, ?, ? FROM report_orders WHERE id = ?",
+                productId, productName, quantity, price == null ? null : new BigDecimal(price), orderId);
+    }
+}
@@ -0,0 +1,228 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.application.command.OrderPlacedCommand;
+import com.restaurant.reportservice.application.command.OrderReadyCommand;
+import com.restaurant.reportservice.enums.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for the set-based projection writes.
+ * Verifies the generated multi-row statements and their bind parameters.
+ */
+@ExtendWith(MockitoExtension.class)
+class OrderProjectionJdbcRepositoryTest {
+
+    private static final LocalDateTime RECEIVED_AT = LocalDateTime.of(2026, 2, 19, 15, 30);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 2, 19, 12, 0);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderProjectionJdbcRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OrderProjectionJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should register a batch of order ids with one ON CONFLICT DO NOTHING statement")
+    void shouldRegisterOrderKeysWithSingleStatement() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.queryForList(sql.capture(), eq(UUID.class), args.capture())).thenReturn(List.of(second));
+
+        // Act
+        repository.insertOrdersIfAbsent(List.of(order(first, 3), order(second, 4)), RECEIVED_AT);
+
+        // Assert
+        assertTrue(sql.getValue().startsWith("INSERT INTO report_order_keys (id, created_at) VALUES (?, ?), (?, ?)"));
+        assertTrue(sql.getValue().endsWith("ON CONFLICT (id) DO NOTHING RETURNING id"));
+        assertArrayEquals(new Object[]{first, CREATED_AT, second, CREATED_AT}, args.getValue());
+    }
+
+    @Test
+    @DisplayName("Should only insert the orders whose id this batch registered")
+    void shouldInsertOnlyRegisteredOrders() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(Object[].class))).thenReturn(List.of(second));
+        when(jdbcTemplate.update(sql.capture(), args.capture())).thenReturn(1);
+
+        // Act
+        List<UUID> inserted = repository.insertOrdersIfAbsent(
+                List.of(order(first, 3), order(second, 4)), RECEIVED_AT);
+
+        // Assert
+        assertEquals(List.of(second), inserted);
+        assertTrue(sql.getValue().startsWith("INSERT INTO report_orders"));
+        assertTrue(sql.getValue().endsWith("VALUES (?, ?, ?, ?, ?)"));
+        assertArrayEquals(new Object[]{second, 4, OrderStatus.PENDING.name(), CREATED_AT, RECEIVED_AT},
+                args.getValue());
+    }
+
+    @Test
+    @DisplayName("Should not insert any order when every id was already registered")
+    void shouldSkipOrdersAlreadyRegistered() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(Object[].class))).thenReturn(List.of());
+
+        // Act
+        List<UUID> inserted = repository.insertOrdersIfAbsent(List.of(order(UUID.randomUUID(), 3)), RECEIVED_AT);
+
+        // Assert
+        assertTrue(inserted.isEmpty());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should insert the items of all orders in one multi-row statement")
+    void shouldInsertItemsWithSingleStatement() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        OrderPlacedCommand order = order(orderId, 1);
+        order.setItems(List.of(item(10L), item(20L)));
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(jdbcTemplate.update(sql.capture(), any(Object[].class))).thenReturn(2);
+
+        // Act
+        int inserted = repository.insertItems(List.of(order, order(UUID.randomUUID(), 2)));
+
+        // Assert
+        assertEquals(2, inserted);
+        assertTrue(sql.getValue().startsWith("INSERT INTO report_order_items"));
+        assertTrue(sql.getValue().contains("(order_id, order_created_at, product_id,"));
+        assertTrue(sql.getValue().endsWith("VALUES (?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?)"));
+        verify(jdbcTemplate, times(1)).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should split large batches into statements of bounded size")
+    void shouldChunkLargeBatches() {
+        // Arrange
+        List<OrderPlacedCommand> orders = new ArrayList<>();
+        for (int i = 0; i < OrderProjectionJdbcRepository.MAX_ROWS_PER_STATEMENT + 1; i++) {
+            orders.add(order(UUID.randomUUID(), 1));
+        }
+        when(jdbcTemplate.queryForList(anyString(), eq(UUID.class), any(Object[].class))).thenReturn(List.of());
+
+        // Act
+        repository.insertOrdersIfAbsent(orders, RECEIVED_AT);
+
+        // Assert
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(UUID.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should create unknown orders as READY stubs at the ready timestamp")
+    void shouldCreateReadyStubsForUnknownOrders() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 2, 19, 14, 0);
+        ArgumentCaptor<Object[]> keyArgs = ArgumentCaptor.forClass(Object[].class);
+        ArgumentCaptor<Object[]> stubArgs = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.queryForList(startsWith("INSERT INTO report_order_keys"), eq(UUID.class), keyArgs.capture()))
+                .thenReturn(List.of(orderId));
+        when(jdbcTemplate.update(startsWith("INSERT INTO report_orders"), stubArgs.capture())).thenReturn(1);
+
+        // Act
+        List<UUID> transitioned = repository.markReady(List.of(ready(orderId, updatedAt)), RECEIVED_AT);
+
+        // Assert
+        assertEquals(List.of(orderId), transitioned);
+        assertArrayEquals(new Object[]{orderId, updatedAt}, keyArgs.getValue());
+        assertArrayEquals(new Object[]{orderId, 0, "READY", updatedAt, RECEIVED_AT, RECEIVED_AT}, stubArgs.getValue());
+        verify(jdbcTemplate, never()).queryForList(startsWith("UPDATE"), eq(UUID.class), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should update known orders in one statement that only reports real transitions")
+    void shouldMarkKnownOrdersReadyWithSingleUpdate() {
+        // Arrange
+        UUID known = UUID.randomUUID();
+        UUID alreadyReady = UUID.randomUUID();
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 2, 19, 14, 0);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        when(jdbcTemplate.queryForList(startsWith("INSERT INTO report_order_keys"), eq(UUID.class), any(Object[].class)))
+                .thenReturn(List.of());
+        when(jdbcTemplate.queryForList(startsWith("UPDATE"), eq(UUID.class), args.capture())).thenReturn(List.of(known));
+
+        // Act
+        List<UUID> transitioned = repository.markReady(
+                List.of(ready(known, updatedAt), ready(alreadyReady, updatedAt)), RECEIVED_AT);
+
+        // Assert
+        assertEquals(List.of(known), transitioned);
+        verify(jdbcTemplate).queryForList(contains("WHERE k.id IN (?, ?) AND o.id = k.id AND o.created_at = k.created_at"),
+                eq(UUID.class), any(Object[].class));
+        assertArrayEquals(new Object[]{"READY", RECEIVED_AT, known, alreadyReady, "READY"}, args.getValue());
+        verify(jdbcTemplate, never()).update(anyString(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should return the distinct creation days of the given orders")
+    void shouldFindCreatedDays() {
+        // Arrange
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(jdbcTemplate.queryForList(sql.capture(), eq(LocalDate.class), any(Object[].class)))
+                .thenReturn(List.of(LocalDate.of(2026, 2, 19), LocalDate.of(2026, 2, 18)));
+
+        // Act
+        List<LocalDate> days = repository.findCreatedDays(List.of(first, second));
+
+        // Assert
+        assertEquals(List.of(LocalDate.of(2026, 2, 18), LocalDate.of(2026, 2, 19)), days);
+        assertTrue(sql.getValue().endsWith("FROM report_order_keys WHERE id IN (?, ?)"));
+    }
+
+    private OrderReadyCommand ready(UUID orderId, LocalDateTime updatedAt) {
+        return OrderReadyCommand.builder().orderId(orderId).status(OrderStatus.READY).updatedAt(updatedAt).build();
+    }
+
+    private OrderPlacedCommand order(UUID orderId, int tableId) {
+        return OrderPlacedCommand.builder()
+                .orderId(orderId)
+                .tableId(tableId)
+                .createdAt(CREATED_AT)
+                .items(List.of())
+                .build();
+    }
+
+    private OrderPlacedCommand.OrderItemCommand item(long productId) {
+        return OrderPlacedCommand.OrderItemCommand.builder()
+                .productId(productId)
+                .quantity(1)
+                .price(new BigDecimal("9.90"))
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.restaurant.reportservice.repository;
 
+import com.restaurant.reportservice.domain.model.OrderItemReport;
 import com.restaurant.reportservice.entity.OrderReportEntity;
 import com.restaurant.reportservice.entity.OrderItemReportEntity;
 import com.restaurant.reportservice.enums.OrderStatus;
@@ -16,6 +17,8 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -165,6 +168,44 @@ class OrderReportRepositoryIntegrationTest {
         assertTrue(results.isEmpty());
     }
 
+    @Test
+    @DisplayName("Should stream items of READY orders in range and count those orders")
+    void shouldStreamItemsOfReadyOrdersInRange() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2026, 2, 10, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2026, 2, 20, 23, 59);
+
+        OrderReportEntity readyInRange = createOrderEntityWithDate(
+                OrderStatus.READY, LocalDateTime.of(2026, 2, 15, 12, 0),
+                createItem(1L, "Hamburguesa", 2, new BigDecimal("15.50")),
+                createItem(2L, "Gaseosa", 1, new BigDecimal("3.00")));
+        OrderReportEntity pendingInRange = createOrderEntityWithDate(
+                OrderStatus.PENDING, LocalDateTime.of(2026, 2, 15, 12, 0),
+                createItem(1L, "Hamburguesa", 5, new BigDecimal("15.50")));
+        OrderReportEntity readyOutOfRange = createOrderEntityWithDate(
+                OrderStatus.READY, LocalDateTime.of(2026, 2, 25, 12, 0),
+                createItem(1L, "Hamburguesa", 7, new BigDecimal("15.50")));
+
+        orderReportRepository.saveAll(Arrays.asList(readyInRange, pendingInRange, readyOutOfRange));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        long count = orderReportRepository.countByStatusAndCreatedAtBetween(OrderStatus.READY, start, end);
+        List<OrderItemReport> items;
+        try (Stream<OrderItemReport> stream = orderReportRepository
+                .streamItemsByStatusAndCreatedAtBetween(OrderStatus.READY, start, end)) {
+            items = stream.collect(Collectors.toList());
+        }
+
+        // Assert
+        assertEquals(1, count);
+        assertEquals(2, items.size());
+        assertEquals(3, items.stream().mapToInt(OrderItemReport::getQuantity).sum());
+        assertTrue(items.stream().anyMatch(item -> "Gaseosa".equals(item.getProductName())
+                && new BigDecimal("3.00").compareTo(item.getPrice()) == 0));
+    }
+
     @Test
     @DisplayName("Should cascade delete items when order is deleted")
     void shouldCascadeDeleteItems() {
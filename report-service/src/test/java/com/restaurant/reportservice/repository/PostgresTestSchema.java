@@ -0,0 +1,87 @@
+package com.restaurant.reportservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Throwaway schema on the PostgreSQL database named by {@value #URL_VARIABLE}, for the
+ * statements H2 cannot run: partitioned tables, ON CONFLICT ... RETURNING, UPDATE ... FROM and
+ * the PL/pgSQL functions of the migrations.
+ *
+ * Tests using it are skipped unless the variable holds a JDBC URL, e.g.
+ * {@code jdbc:postgresql://localhost:5432/report_test?user=postgres&password=postgres}; the
+ * user needs to create schemas. Each instance migrates its own schema, which {@link #close} drops.
+ */
+final class PostgresTestSchema implements AutoCloseable {
+
+    static final String URL_VARIABLE = "REPORT_TEST_POSTGRES_URL";
+
+    private final String name = "report_test_" + UUID.randomUUID().toString().replace("-", "");
+    private final DriverManagerDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+
+    PostgresTestSchema() {
+        Properties properties = new Properties();
+        properties.setProperty("currentSchema", name);
+        dataSource = new DriverManagerDataSource(System.getenv(URL_VARIABLE));
+        dataSource.setConnectionProperties(properties);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Applies the migrations up to and including the given version, or all when null.
+     */
+    void migrate(String targetVersion) {
+        FluentConfiguration configuration = Flyway.configure()
+                .dataSource(dataSource)
+                .schemas(name)
+                .locations("classpath:db/migration");
+        if (targetVersion != null) {
+            configuration.target(targetVersion);
+        }
+        configuration.load().migrate();
+    }
+
+    JdbcTemplate jdbcTemplate() {
+        return jdbcTemplate;
+    }
+
+    PlatformTransactionManager transactionManager() {
+        return new DataSourceTransactionManager(dataSource);
+    }
+
+    boolean exists(String relation) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, relation));
+    }
+
+    long count(String relation) {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM " + relation, Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Names of the primary key and foreign key constraints declared on the table, without the
+     * copies PostgreSQL keeps for partitions.
+     */
+    Set<String> keys(String table) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) "
+                        + "AND contype IN ('p', 'f') AND conparentid = 0",
+                String.class, table));
+    }
+
+    @Override
+    public void close() {
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + name + " CASCADE");
+    }
+}
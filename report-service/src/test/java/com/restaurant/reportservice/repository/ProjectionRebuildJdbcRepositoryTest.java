@@ -0,0 +1,67 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.infrastructure.orderexport.ExportedOrder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the COPY input of a projection rebuild.
+ * Verifies the CSV rows written for keys, orders and items, with statuses, nulls and quoting.
+ */
+class ProjectionRebuildJdbcRepositoryTest {
+
+    private static final LocalDateTime RECEIVED_AT = LocalDateTime.of(2026, 2, 19, 15, 30);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 2, 19, 12, 0);
+    private static final UUID READY_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID PREPARING_ID = UUID.fromString("00000000-0000-0000-0000-000000000002");
+
+    private final List<ExportedOrder> orders = List.of(
+            ExportedOrder.builder().id(READY_ID).tableId(3).status("READY")
+                    .createdAt(CREATED_AT).updatedAt(CREATED_AT.plusMinutes(25))
+                    .items(List.of(
+                            new ExportedOrder.Item(1L, "Pizza \"Diavola\", large", 2, new BigDecimal("12.50")),
+                            new ExportedOrder.Item(2L, null, 1, null)))
+                    .build(),
+            ExportedOrder.builder().id(PREPARING_ID).tableId(4).status("IN_PREPARATION")
+                    .createdAt(CREATED_AT).updatedAt(CREATED_AT.plusMinutes(5))
+                    .build());
+
+    @Test
+    @DisplayName("Should write one key row per order")
+    void shouldWriteKeyRows() {
+        // Act
+        String csv = ProjectionRebuildJdbcRepository.keysCsv(orders);
+
+        // Assert
+        assertEquals(READY_ID + ",2026-02-19T12:00\n" + PREPARING_ID + ",2026-02-19T12:00\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should project READY orders with their ready time and other orders as PENDING")
+    void shouldWriteOrderRowsWithProjectedStatus() {
+        // Act
+        String csv = ProjectionRebuildJdbcRepository.ordersCsv(orders, RECEIVED_AT);
+
+        // Assert
+        assertEquals(READY_ID + ",3,READY,2026-02-19T12:00,2026-02-19T15:30,2026-02-19T12:25\n"
+                + PREPARING_ID + ",4,PENDING,2026-02-19T12:00,2026-02-19T15:30,\n", csv);
+    }
+
+    @Test
+    @DisplayName("Should quote product names and leave missing names and prices empty")
+    void shouldWriteItemRowsWithQuotingAndNulls() {
+        // Act
+        String csv = ProjectionRebuildJdbcRepository.itemsCsv(orders);
+
+        // Assert
+        assertEquals(READY_ID + ",2026-02-19T12:00,1,\"Pizza \"\"Diavola\"\", large\",2,12.50\n"
+                + READY_ID + ",2026-02-19T12:00,2,,1,\n", csv);
+    }
+}
@@ -0,0 +1,205 @@
+package com.restaurant.reportservice.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.reportservice.application.command.OrderPlacedCommand;
+import com.restaurant.reportservice.application.command.OrderReadyCommand;
+import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.infrastructure.orderexport.ExportedOrder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the projection rebuild functions of the V9 migration on PostgreSQL.
+ * Verifies two consecutive rebuilds: the catch-up of what the live projection received
+ * meanwhile, the swap of tables, partitions and indexes, the retired tables dropped by the
+ * next prepare, and after each swap the row counts, keys and the items sequence.
+ * Skipped unless {@value PostgresTestSchema#URL_VARIABLE} is set; see PostgresTestSchema.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestSchema.URL_VARIABLE, matches = ".+")
+class ProjectionRebuildPostgresIntegrationTest {
+
+    private static final LocalDateTime LIVE_RECEIVED_AT = LocalDateTime.of(2026, 1, 20, 10, 0);
+
+    private static PostgresTestSchema schema;
+    private static JdbcTemplate jdbcTemplate;
+    private static OrderProjectionJdbcRepository projectionRepository;
+    private static ProjectionRebuildJdbcRepository rebuildRepository;
+
+    @BeforeAll
+    static void migrateSchema() {
+        schema = new PostgresTestSchema();
+        jdbcTemplate = schema.jdbcTemplate();
+        schema.migrate(null);
+        new ReportPartitionJdbcRepository(jdbcTemplate, new ObjectMapper())
+                .ensureMonths(YearMonth.of(2025, 12), YearMonth.of(2026, 3));
+        projectionRepository = new OrderProjectionJdbcRepository(jdbcTemplate);
+        rebuildRepository = new ProjectionRebuildJdbcRepository(jdbcTemplate);
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        if (schema != null) {
+            schema.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should swap in two consecutive rebuilds with the orders received meanwhile")
+    void shouldRebuildTwice() {
+        // Arrange
+        ExportedOrder a = exported(OrderStatus.PENDING, LocalDateTime.of(2026, 1, 15, 12, 0), 2);
+        ExportedOrder b = exported(OrderStatus.READY, LocalDateTime.of(2026, 1, 16, 13, 0), 1);
+        ExportedOrder c = exported(OrderStatus.PENDING, LocalDateTime.of(2026, 2, 1, 9, 0, 30), 1);
+        ExportedOrder d = exported(OrderStatus.READY, LocalDateTime.of(2025, 12, 28, 19, 0), 1);
+        ExportedOrder e = exported(OrderStatus.PENDING, LocalDateTime.of(2026, 2, 10, 12, 0), 2);
+        ExportedOrder f = exported(OrderStatus.PENDING, LocalDateTime.of(2026, 3, 1, 9, 0, 30), 1);
+        place(a, LIVE_RECEIVED_AT);
+        place(b, LIVE_RECEIVED_AT);
+        markReady(b, LIVE_RECEIVED_AT);
+        LocalDateTime firstStartedAt = LocalDateTime.of(2026, 2, 1, 9, 0);
+
+        // Act: order c and a's READY arrive while the first rebuild copies
+        prepareAndCopy(List.of(a, b, d), firstStartedAt);
+        place(c, firstStartedAt.plusMinutes(1));
+        markReady(a, firstStartedAt.plusMinutes(2));
+        int firstCaughtUp = indexAndSwap(firstStartedAt);
+
+        // Assert
+        assertEquals(2, firstCaughtUp);
+        assertLiveProjection(4, 5);
+        assertEquals(3, schema.count("report_orders_retired"));
+        assertTrue(schema.exists("report_orders_retired_2026_01"));
+        assertTrue(schema.exists("pk_report_orders_retired"));
+        assertEquals(1, schema.count("report_orders_2025_12"));
+        assertEquals("READY", status(a));
+
+        // Act: order e arrives between the rebuilds and order f while the second one copies
+        place(e, LocalDateTime.of(2026, 2, 10, 12, 0, 5));
+        LocalDateTime secondStartedAt = LocalDateTime.of(2026, 3, 1, 9, 0);
+        a.setStatus(OrderStatus.READY.name());
+        a.setUpdatedAt(firstStartedAt.plusMinutes(2));
+        prepareAndCopy(List.of(a, b, c, d, e), secondStartedAt);
+        assertFalse(schema.exists("report_orders_retired"));
+        assertFalse(schema.exists("report_order_items_retired"));
+        place(f, secondStartedAt.plusMinutes(1));
+        int secondCaughtUp = indexAndSwap(secondStartedAt);
+
+        // Assert
+        assertEquals(1, secondCaughtUp);
+        assertLiveProjection(6, 8);
+        assertEquals(5, schema.count("report_orders_retired"));
+        assertEquals(7, schema.count("report_order_items_retired"));
+        assertEquals("READY", status(a));
+    }
+
+    private static void prepareAndCopy(List<ExportedOrder> export, LocalDateTime startedAt) {
+        rebuildRepository.prepare(YearMonth.from(startedAt).plusMonths(3));
+        List<YearMonth> months = export.stream().map(order -> YearMonth.from(order.getCreatedAt())).sorted().toList();
+        rebuildRepository.ensureMonths(months.get(0), months.get(months.size() - 1));
+        rebuildRepository.copy(export, startedAt);
+    }
+
+    private static int indexAndSwap(LocalDateTime startedAt) {
+        rebuildRepository.index();
+        return rebuildRepository.swap(startedAt.minusMinutes(5));
+    }
+
+    /**
+     * Counts, keys, indexes and sequence of the live tables, and that writers can use them.
+     */
+    private static void assertLiveProjection(int orders, int items) {
+        assertEquals(orders, schema.count("report_order_keys"));
+        assertEquals(orders, schema.count("report_orders"));
+        assertEquals(items, schema.count("report_order_items"));
+        assertFalse(schema.exists("report_orders_rebuild"));
+        assertEquals(Set.of("report_order_keys_pkey"), schema.keys("report_order_keys"));
+        assertEquals(Set.of("pk_report_orders"), schema.keys("report_orders"));
+        assertEquals(Set.of("pk_report_order_items", "fk_report_order_items_order"),
+                schema.keys("report_order_items"));
+        assertTrue(schema.exists("idx_report_orders_status_created"));
+        assertTrue(schema.exists("idx_report_orders_ready_at"));
+        assertTrue(schema.exists("idx_report_order_items_order_id"));
+
+        String owned = jdbcTemplate.queryForObject(
+                "SELECT pg_get_serial_sequence('report_order_items', 'id')", String.class);
+        long next = jdbcTemplate.queryForObject("SELECT nextval('report_order_items_id_seq')", Long.class);
+        long max = jdbcTemplate.queryForObject("SELECT max(id) FROM report_order_items", Long.class);
+        assertNotNull(owned);
+        assertTrue(owned.endsWith(".report_order_items_id_seq"));
+        assertTrue(next > max, "nextval " + next + " should follow the item ids up to " + max);
+
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO report_order_items (order_id, order_created_at, product_id, quantity) VALUES (?, ?, 1, 1)",
+                UUID.randomUUID(), LocalDateTime.of(2026, 1, 15, 12, 0)));
+        UUID existing = jdbcTemplate.queryForObject("SELECT id FROM report_order_keys LIMIT 1", UUID.class);
+        assertThrows(DataIntegrityViolationException.class, () -> jdbcTemplate.update(
+                "INSERT INTO report_orders (id, table_id, status, created_at, received_at) "
+                        + "SELECT id, 1, 'PENDING', created_at, created_at FROM report_order_keys WHERE id = ?",
+                existing));
+    }
+
+    private static void place(ExportedOrder order, LocalDateTime receivedAt) {
+        List<OrderPlacedCommand.OrderItemCommand> items = new ArrayList<>();
+        for (ExportedOrder.Item item : order.getItems()) {
+            items.add(OrderPlacedCommand.OrderItemCommand.builder()
+                    .productId(item.getProductId())
+                    .productName(item.getProductName())
+                    .quantity(item.getQuantity())
+                    .price(item.getPrice())
+                    .build());
+        }
+        List<OrderPlacedCommand> placed = List.of(OrderPlacedCommand.builder()
+                .orderId(order.getId())
+                .tableId(order.getTableId())
+                .createdAt(order.getCreatedAt())
+                .items(items)
+                .build());
+        assertEquals(List.of(order.getId()), projectionRepository.insertOrdersIfAbsent(placed, receivedAt));
+        projectionRepository.insertItems(placed);
+    }
+
+    private static void markReady(ExportedOrder order, LocalDateTime receivedAt) {
+        projectionRepository.markReady(List.of(OrderReadyCommand.builder()
+                .orderId(order.getId())
+                .status(OrderStatus.READY)
+                .updatedAt(receivedAt)
+                .build()), receivedAt);
+    }
+
+    private static String status(ExportedOrder order) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM report_orders WHERE id = ?", String.class, order.getId());
+    }
+
+    private static ExportedOrder exported(OrderStatus status, LocalDateTime createdAt, int items) {
+        return ExportedOrder.builder()
+                .id(UUID.randomUUID())
+                .tableId(5)
+                .status(status.name())
+                .createdAt(createdAt)
+                .updatedAt(createdAt.plusMinutes(30))
+                .items(new ArrayList<>(Collections.nCopies(items, ExportedOrder.Item.builder()
+                        .productId(1L)
+                        .productName("Hamburguesa")
+                        .quantity(1)
+                        .price(new BigDecimal("15.50"))
+                        .build())))
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.restaurant.reportservice.repository;
+
+import com.restaurant.reportservice.ReportServiceApplication;
+import com.restaurant.reportservice.domain.model.OrderItemReport;
+import com.restaurant.reportservice.domain.model.OrderReport;
+import com.restaurant.reportservice.domain.model.ProductSummary;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.ReportAggregationService;
+import com.restaurant.reportservice.entity.OrderItemReportEntity;
+import com.restaurant.reportservice.entity.OrderReportEntity;
+import com.restaurant.reportservice.enums.OrderStatus;
+import net.jqwik.api.*;
+import net.jqwik.api.lifecycle.AfterContainer;
+import net.jqwik.api.lifecycle.BeforeContainer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property-based tests checking that the SQL GROUP BY summary agrees with the in-memory
+ * aggregation over the same orders, products listed in the same order.
+ * Runs against H2 in a dedicated application context.
+ */
+class ReportAggregationPathsPropertyTest {
+
+    private static final LocalDateTime DAY_START = LocalDateTime.of(2026, 2, 15, 0, 0);
+    private static final LocalDateTime DAY_END = LocalDateTime.of(2026, 2, 15, 23, 59, 59);
+
+    private static ConfigurableApplicationContext context;
+
+    private final ReportAggregationService aggregationService = new ReportAggregationService();
+
+    @BeforeContainer
+    static void startContext() {
+        context = new SpringApplicationBuilder(ReportServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties("spring.datasource.url=jdbc:h2:mem:aggregation-paths;NON_KEYWORDS=DAY",
+                        "spring.jpa.show-sql=false")
+                .run();
+    }
+
+    @AfterContainer
+    static void stopContext() {
+        context.close();
+    }
+
+    @Property(tries = 100)
+    @Label("SQL summary should match in-memory aggregation of the same orders")
+    void sqlSummaryShouldMatchInMemoryAggregation(@ForAll("orders") List<OrderReport> orders) {
+        // Arrange
+        replaceStoredOrders(orders);
+
+        // Act
+        ReportSummary inMemory = aggregationService.aggregate(orders);
+        ReportSummary inDatabase = context.getBean(OrderReportRepository.class)
+                .summarizeByStatusAndCreatedAtBetween(OrderStatus.READY, DAY_START, DAY_END);
+
+        // Assert
+        assertEquals(inMemory.getTotalReadyOrders(), inDatabase.getTotalReadyOrders());
+        assertEquals(0, inMemory.getTotalRevenue().compareTo(inDatabase.getTotalRevenue()));
+        List<ProductSummary> expected = inMemory.getProductBreakdown();
+        List<ProductSummary> actual = inDatabase.getProductBreakdown();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getProductId(), actual.get(i).getProductId());
+            assertEquals(expected.get(i).getProductName(), actual.get(i).getProductName());
+            assertEquals(expected.get(i).getQuantitySold(), actual.get(i).getQuantitySold());
+            assertEquals(0, expected.get(i).getTotalAccumulated().compareTo(actual.get(i).getTotalAccumulated()));
+        }
+    }
+
+    // Providers for property-based testing
+
+    @Provide
+    Arbitrary<List<OrderReport>> orders() {
+        return Combinators.combine(
+                Arbitraries.of(OrderStatus.READY, OrderStatus.PENDING, OrderStatus.IN_PREPARATION),
+                orderItem().list().ofMinSize(0).ofMaxSize(5),
+                Arbitraries.integers().between(0, 86_399)
+        ).as((status, items, secondOfDay) -> OrderReport.builder()
+                .id(UUID.randomUUID())
+                .tableId(1)
+                .status(status)
+                .items(items)
+                .createdAt(DAY_START.plusSeconds(secondOfDay))
+                .receivedAt(DAY_START.plusSeconds(secondOfDay))
+                .build())
+                .list().ofMaxSize(20);
+    }
+
+    private Arbitrary<OrderItemReport> orderItem() {
+        return Combinators.combine(
+                Arbitraries.longs().between(1, 10),
+                Arbitraries.integers().between(1, 10),
+                Arbitraries.bigDecimals()
+                        .between(BigDecimal.ONE, new BigDecimal("100.00"))
+                        .ofScale(2)
+                        .injectNull(0.1)
+        ).as((productId, quantity, price) -> OrderItemReport.builder()
+                .productId(productId)
+                .productName("Product " + productId)
+                .quantity(quantity)
+                .price(price)
+                .build());
+    }
+
+    // Helper methods
+
+    private void replaceStoredOrders(List<OrderReport> orders) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        OrderReportRepository repository = context.getBean(OrderReportRepository.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM report_order_items");
+            jdbcTemplate.update("DELETE FROM report_orders");
+            repository.saveAll(orders.stream().map(this::toEntity).collect(Collectors.toList()));
+        });
+    }
+
+    private OrderReportEntity toEntity(OrderReport order) {
+        OrderReportEntity entity = OrderReportEntity.builder()
+                .id(order.getId())
+                .tableId(order.getTableId())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt())
+                .receivedAt(order.getReceivedAt())
+                .build();
+        for (OrderItemReport item : order.getItems()) {
+            entity.addItem(OrderItemReportEntity.builder()
+                    .productId(item.getProductId())
+                    .productName(item.getProductName())
+                    .quantity(item.getQuantity())
+                    .price(item.getPrice())
+                    .build());
+        }
+        return entity;
+    }
+}
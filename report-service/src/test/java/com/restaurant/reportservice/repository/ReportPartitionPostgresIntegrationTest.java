@@ -0,0 +1,201 @@
+package com.restaurant.reportservice.repository;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.reportservice.application.command.OrderPlacedCommand;
+import com.restaurant.reportservice.application.command.OrderReadyCommand;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.service.ReportPartitionService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the monthly partitions on PostgreSQL.
+ * Verifies the V7 migration on seeded data, partitions created on demand by
+ * ReportPartitionService, and the ON CONFLICT ... RETURNING and UPDATE ... FROM
+ * report_order_keys statements of OrderProjectionJdbcRepository on them.
+ * Skipped unless {@value PostgresTestSchema#URL_VARIABLE} is set; see PostgresTestSchema.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresTestSchema.URL_VARIABLE, matches = ".+")
+class ReportPartitionPostgresIntegrationTest {
+
+    private static final UUID NOVEMBER_ORDER = UUID.fromString("00000000-0000-0000-0000-000000000011");
+    private static final UUID DECEMBER_ORDER = UUID.fromString("00000000-0000-0000-0000-000000000012");
+    private static final LocalDateTime NOVEMBER = LocalDateTime.of(2025, 11, 20, 13, 0);
+    private static final LocalDateTime DECEMBER = LocalDateTime.of(2025, 12, 5, 20, 30);
+
+    private static PostgresTestSchema schema;
+    private static JdbcTemplate jdbcTemplate;
+    private static ReportPartitionService partitionService;
+    private static OrderProjectionJdbcRepository projectionRepository;
+
+    @BeforeAll
+    static void migrateSeededSchema() {
+        schema = new PostgresTestSchema();
+        jdbcTemplate = schema.jdbcTemplate();
+        schema.migrate("6");
+        seedOrder(NOVEMBER_ORDER, NOVEMBER, OrderStatus.READY, 1L, 2L);
+        seedOrder(DECEMBER_ORDER, DECEMBER, OrderStatus.PENDING, 3L);
+        schema.migrate(null);
+
+        partitionService = new ReportPartitionService(
+                new ReportPartitionJdbcRepository(jdbcTemplate, new ObjectMapper()), new DateRangeFilter(),
+                schema.transactionManager(), Clock.systemUTC(), true, 3);
+        projectionRepository = new OrderProjectionJdbcRepository(jdbcTemplate);
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        if (schema != null) {
+            schema.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should move seeded orders and items into their month partitions")
+    void shouldPartitionSeededData() {
+        // Assert
+        assertEquals(1, schema.count("report_orders_2025_11"));
+        assertEquals(1, schema.count("report_orders_2025_12"));
+        assertEquals(2, schema.count("report_order_items_2025_11"));
+        assertEquals(1, schema.count("report_order_items_2025_12"));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM report_order_keys WHERE id IN (?, ?)", Integer.class,
+                NOVEMBER_ORDER, DECEMBER_ORDER));
+        assertEquals(DECEMBER, jdbcTemplate.queryForObject(
+                "SELECT created_at FROM report_order_keys WHERE id = ?", LocalDateTime.class, DECEMBER_ORDER));
+        assertFalse(schema.exists("report_orders_unpartitioned"));
+        assertEquals(Set.of("pk_report_orders"), schema.keys("report_orders"));
+        assertEquals(Set.of("pk_report_order_items", "fk_report_order_items_order"),
+                schema.keys("report_order_items"));
+    }
+
+    @Test
+    @DisplayName("Should keep the items sequence, now owned by the partitioned table")
+    void shouldKeepItemsSequence() {
+        // Act
+        String owned = jdbcTemplate.queryForObject(
+                "SELECT pg_get_serial_sequence('report_order_items', 'id')", String.class);
+        long next = jdbcTemplate.queryForObject("SELECT nextval('report_order_items_id_seq')", Long.class);
+        long max = jdbcTemplate.queryForObject("SELECT max(id) FROM report_order_items", Long.class);
+
+        // Assert
+        assertNotNull(owned);
+        assertTrue(owned.endsWith(".report_order_items_id_seq"));
+        assertTrue(next > max, "nextval " + next + " should follow the migrated ids up to " + max);
+    }
+
+    @Test
+    @DisplayName("Should create the partitions of a month that does not exist yet")
+    void shouldEnsurePartitionsForMissingMonth() {
+        // Arrange
+        assertFalse(schema.exists("report_orders_2019_03"));
+
+        // Act
+        partitionService.ensurePartitionsFor(List.of(LocalDateTime.of(2019, 3, 14, 9, 0)));
+
+        // Assert
+        assertTrue(schema.exists("report_orders_2019_03"));
+        assertTrue(schema.exists("report_order_items_2019_03"));
+        assertFalse(schema.exists("report_orders_2019_02"));
+        assertFalse(schema.exists("report_orders_2019_04"));
+    }
+
+    @Test
+    @DisplayName("Should skip registered orders and mark orders READY in their partition")
+    void shouldWriteProjectionIntoNewPartition() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2019, 5, 10, 12, 0);
+        LocalDateTime receivedAt = LocalDateTime.of(2026, 3, 1, 8, 0);
+        OrderPlacedCommand first = placed(createdAt);
+        OrderPlacedCommand second = placed(createdAt.plusHours(1));
+        OrderPlacedCommand seeded = OrderPlacedCommand.builder()
+                .orderId(DECEMBER_ORDER).tableId(9).createdAt(DECEMBER).build();
+        UUID stub = UUID.randomUUID();
+        partitionService.ensurePartitionsFor(List.of(createdAt));
+
+        // Act
+        List<UUID> inserted = projectionRepository.insertOrdersIfAbsent(List.of(first, seeded), receivedAt);
+        List<UUID> insertedAgain = projectionRepository.insertOrdersIfAbsent(List.of(first, second), receivedAt);
+        int items = projectionRepository.insertItems(List.of(first, second));
+        List<UUID> ready = projectionRepository.markReady(List.of(
+                ready(first.getOrderId(), createdAt.plusMinutes(20)),
+                ready(stub, createdAt.plusMinutes(30))), receivedAt);
+        List<UUID> readyAgain = projectionRepository.markReady(List.of(
+                ready(first.getOrderId(), createdAt.plusMinutes(40))), receivedAt);
+
+        // Assert
+        assertEquals(List.of(first.getOrderId()), inserted);
+        assertEquals(List.of(second.getOrderId()), insertedAgain);
+        assertEquals(2, items);
+        assertEquals(Set.of(first.getOrderId(), stub), Set.copyOf(ready));
+        assertTrue(readyAgain.isEmpty());
+        assertEquals("READY", jdbcTemplate.queryForObject(
+                "SELECT status FROM report_orders_2019_05 WHERE id = ?", String.class, first.getOrderId()));
+        assertEquals(receivedAt, jdbcTemplate.queryForObject(
+                "SELECT ready_at FROM report_orders_2019_05 WHERE id = ?", LocalDateTime.class, first.getOrderId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT table_id FROM report_orders_2019_05 WHERE id = ?", Integer.class, stub));
+        assertEquals("PENDING", jdbcTemplate.queryForObject(
+                "SELECT status FROM report_orders WHERE id = ?", String.class, DECEMBER_ORDER));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM report_order_items_2019_05 WHERE order_id IN (?, ?)", Integer.class,
+                first.getOrderId(), second.getOrderId()));
+    }
+
+    @Test
+    @DisplayName("Should only read the partitions of the requested months")
+    void shouldPrunePartitions() {
+        // Act
+        List<String> scanned = partitionService.explainPruning(
+                LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 31)).getScannedPartitions();
+
+        // Assert
+        assertEquals(List.of("report_order_items_2025_12", "report_orders_2025_12"), scanned);
+    }
+
+    private static void seedOrder(UUID id, LocalDateTime createdAt, OrderStatus status, Long... productIds) {
+        jdbcTemplate.update("INSERT INTO report_orders (id, table_id, status, created_at, received_at) "
+                + "VALUES (?, ?, ?, ?, ?)", id, 4, status.name(), createdAt, createdAt.plusSeconds(2));
+        for (Long productId : productIds) {
+            jdbcTemplate.update("INSERT INTO report_order_items (order_id, product_id, product_name, quantity, price) "
+                    + "VALUES (?, ?, ?, ?, ?)", id, productId, "Product " + productId, 2, new BigDecimal("7.50"));
+        }
+    }
+
+    private static OrderPlacedCommand placed(LocalDateTime createdAt) {
+        return OrderPlacedCommand.builder()
+                .orderId(UUID.randomUUID())
+                .tableId(6)
+                .createdAt(createdAt)
+                .items(List.of(OrderPlacedCommand.OrderItemCommand.builder()
+                        .productId(1L)
+                        .productName("Hamburguesa")
+                        .quantity(1)
+                        .price(new BigDecimal("15.50"))
+                        .build()))
+                .build();
+    }
+
+    private static OrderReadyCommand ready(UUID orderId, LocalDateTime updatedAt) {
+        return OrderReadyCommand.builder()
+                .orderId(orderId)
+                .status(OrderStatus.READY)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
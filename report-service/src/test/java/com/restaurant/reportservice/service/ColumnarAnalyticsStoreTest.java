@@ -0,0 +1,278 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.ItemFactColumns;
+import com.restaurant.reportservice.dto.TimeSeriesResponseDTO;
+import com.restaurant.reportservice.enums.TimeBucket;
+import com.restaurant.reportservice.infrastructure.snapshot.ColumnarSnapshotFile;
+import com.restaurant.reportservice.repository.ItemFactJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the in-memory columnar store.
+ * Verifies the startup load, coverage of the retention window, orders made READY meanwhile
+ * and the snapshot written and restored across restarts.
+ */
+@ExtendWith(MockitoExtension.class)
+class ColumnarAnalyticsStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 2, 19);
+    private static final LocalDate WINDOW_START = LocalDate.of(2026, 2, 10);
+
+    @Mock
+    private ItemFactJdbcRepository itemFactRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ColumnarSnapshotFile snapshotFile;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-02-19T15:30:00Z"), ZoneId.of("UTC"));
+
+    private final Deque<Runnable> queued = new ArrayDeque<>();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should cover ranges of the retention window once loaded")
+    void shouldCoverRetentionWindowAfterLoad() {
+        // Arrange
+        ColumnarAnalyticsStore store = store(true);
+        doAnswer(invocation -> {
+            ItemFactColumns target = invocation.getArgument(1);
+            target.addOrder(TODAY.atTime(12, 0));
+            target.addItem(TODAY.atTime(12, 0), 3, 1L, "Pizza", 2, new BigDecimal("10.00"));
+            return null;
+        }).when(itemFactRepository).loadReadySince(eq(WINDOW_START.atStartOfDay()), any());
+        assertFalse(store.covers(DateRange.of(TODAY, TODAY)));
+
+        // Act
+        store.load();
+        runQueued();
+
+        // Assert
+        assertTrue(store.covers(DateRange.of(WINDOW_START, TODAY)));
+        assertFalse(store.covers(DateRange.of(WINDOW_START.minusDays(1), TODAY)));
+        ReportSummary summary = store.summarize(DateRange.of(WINDOW_START, TODAY));
+        assertEquals(1, summary.getTotalReadyOrders());
+        assertEquals(new BigDecimal("20.00"), summary.getTotalRevenue());
+        List<TimeSeriesResponseDTO.PointDTO> points = store.findTotals(DateRange.of(TODAY, TODAY), TimeBucket.HOUR);
+        assertEquals(1, points.size());
+        assertEquals(TODAY.atTime(12, 0), points.get(0).getBucketStart());
+        assertEquals(2L, points.get(0).getItems());
+    }
+
+    @Test
+    @DisplayName("Should only read orders made READY during the load that its snapshot did not see")
+    void shouldReadOrdersMissedBySnapshot() {
+        // Arrange
+        ColumnarAnalyticsStore store = store(true);
+        UUID seen = UUID.randomUUID();
+        UUID missed = UUID.randomUUID();
+        doAnswer(invocation -> {
+            store.recordReady(List.of(seen, missed));
+            return null;
+        }).when(itemFactRepository).loadReadySince(any(), any());
+        when(itemFactRepository.findReadyIds(List.of(seen, missed))).thenReturn(Set.of(seen));
+
+        // Act
+        store.load();
+        runQueued();
+
+        // Assert
+        verify(itemFactRepository).loadReady(eq(List.of(missed)), any());
+        verify(itemFactRepository, times(1)).loadReady(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should add orders made READY after the load once their transaction commits")
+    void shouldAppendAfterCommit() {
+        // Arrange
+        ColumnarAnalyticsStore store = store(true);
+        store.load();
+        runQueued();
+        UUID orderId = UUID.randomUUID();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        store.recordReady(List.of(orderId));
+        runQueued();
+        verify(itemFactRepository, never()).loadReady(anyList(), any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        runQueued();
+
+        // Assert
+        verify(itemFactRepository).loadReady(eq(List.of(orderId)), any());
+    }
+
+    @Test
+    @DisplayName("Should neither load nor cover anything when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Arrange
+        ColumnarAnalyticsStore store = store(false);
+
+        // Act
+        store.load();
+        store.recordReady(List.of(UUID.randomUUID()));
+        runQueued();
+
+        // Assert
+        assertFalse(store.covers(DateRange.of(TODAY, TODAY)));
+        verifyNoInteractions(itemFactRepository);
+    }
+
+    @Test
+    @DisplayName("Should stop covering ranges after a failed load")
+    void shouldNotCoverAfterFailedLoad() {
+        // Arrange
+        ColumnarAnalyticsStore store = store(true);
+        doThrow(new IllegalStateException("connection refused"))
+                .when(itemFactRepository).loadReadySince(any(), any());
+
+        // Act
+        store.load();
+        runQueued();
+
+        // Assert
+        assertFalse(store.covers(DateRange.of(TODAY, TODAY)));
+    }
+
+    @Test
+    @DisplayName("Should restore the snapshot and only read orders made READY after its watermark")
+    void shouldRestoreSnapshotAndReplayNewerOrders() {
+        // Arrange
+        ColumnarAnalyticsStore store = store(true, 600_000);
+        LocalDateTime watermark = TODAY.atTime(15, 0);
+        UUID recent = UUID.randomUUID();
+        ItemFactColumns stored = new ItemFactColumns();
+        stored.addOrder(TODAY.atTime(9, 0));
+        stored.addItem(TODAY.atTime(9, 0), 2, 1L, "Pizza", 1, new BigDecimal("10.00"));
+        when(snapshotFile.read(64L * 1024 * 1024)).thenReturn(Optional.of(new ColumnarSnapshotFile.Snapshot(
+                watermark, WINDOW_START, 10, 64L * 1024 * 1024, List.of(recent), stored)));
+        when(itemFactRepository.loadReadyChangedSince(eq(watermark), eq(WINDOW_START.atStartOfDay()),
+                eq(Set.of(recent)), any())).thenAnswer(invocation -> {
+                    ItemFactColumns target = invocation.getArgument(3);
+                    target.addOrder(TODAY.atTime(15, 10));
+                    return 1;
+                });
+
+        // Act
+        store.load();
+        runQueued();
+
+        // Assert
+        verify(itemFactRepository, never()).loadReadySince(any(), any());
+        assertTrue(store.covers(DateRange.of(WINDOW_START, TODAY)));
+        ReportSummary summary = store.summarize(DateRange.of(TODAY, TODAY));
+        assertEquals(2, summary.getTotalReadyOrders());
+        assertEquals(new BigDecimal("10.00"), summary.getTotalRevenue());
+    }
+
+    @Test
+    @DisplayName("Should load the whole window when the snapshot was taken with another retention")
+    void shouldIgnoreSnapshotOfOtherRetention() {
+        // Arrange
+        ColumnarAnalyticsStore store = store(true, 600_000);
+        when(snapshotFile.read(anyLong())).thenReturn(Optional.of(new ColumnarSnapshotFile.Snapshot(
+                TODAY.atStartOfDay(), WINDOW_START, 30, 64L * 1024 * 1024, List.of(), new ItemFactColumns())));
+
+        // Act
+        store.load();
+        runQueued();
+
+        // Assert
+        verify(itemFactRepository).loadReadySince(eq(WINDOW_START.atStartOfDay()), any());
+        verify(itemFactRepository, never()).loadReadyChangedSince(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should write the columns with the orders added since the watermark")
+    void shouldWriteSnapshotWithRecentOrders() throws Exception {
+        // Arrange
+        ColumnarAnalyticsStore store = store(true, 0);
+        store.load();
+        runQueued();
+        UUID orderId = UUID.randomUUID();
+        store.recordReady(List.of(orderId));
+        runQueued();
+        ArgumentCaptor<ColumnarSnapshotFile.Snapshot> snapshot = ArgumentCaptor.forClass(ColumnarSnapshotFile.Snapshot.class);
+
+        // Act
+        store.saveSnapshot();
+        runQueued();
+
+        // Assert
+        verify(snapshotFile).write(snapshot.capture());
+        assertEquals(LocalDateTime.now(clock), snapshot.getValue().getWatermark());
+        assertEquals(WINDOW_START, snapshot.getValue().getFirstCoveredDay());
+        assertEquals(List.of(orderId), snapshot.getValue().getRecentOrderIds());
+        assertEquals(10, snapshot.getValue().getRetentionDays());
+    }
+
+    @Test
+    @DisplayName("Should not write a snapshot until the loaded columns are older than the overlap")
+    void shouldNotWriteSnapshotRightAfterLoad() throws Exception {
+        // Arrange
+        ColumnarAnalyticsStore store = store(true, 600_000);
+        store.load();
+        runQueued();
+
+        // Act
+        store.saveSnapshot();
+        runQueued();
+
+        // Assert
+        verify(snapshotFile, never()).write(any());
+    }
+
+    private ColumnarAnalyticsStore store(boolean enabled) {
+        return store(enabled, 600_000);
+    }
+
+    private ColumnarAnalyticsStore store(boolean enabled, long snapshotOverlapMs) {
+        return new ColumnarAnalyticsStore(itemFactRepository, transactionManager, new SimpleMeterRegistry(), clock,
+                enabled, 10, 64, 100_000, snapshotFile, true, snapshotOverlapMs, queued::add);
+    }
+
+    private void runQueued() {
+        while (!queued.isEmpty()) {
+            queued.poll().run();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-day report cache.
+ * Verifies live computation of today, LRU bounds, invalidation and hit-ratio metrics.
+ */
+class DailyReportCacheTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 2, 20);
+
+    private SimpleMeterRegistry meterRegistry;
+    private DailyReportCache cache;
+    private AtomicInteger loads;
+    private Function<LocalDate, ReportSummary> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DailyReportCache(meterRegistry,
+                Clock.fixed(Instant.parse("2026-02-20T12:00:00Z"), ZoneId.of("UTC")), 2);
+        loads = new AtomicInteger();
+        loader = day -> {
+            loads.incrementAndGet();
+            return summary(day.getDayOfMonth());
+        };
+    }
+
+    @Test
+    @DisplayName("Should load a closed day once and then serve it from the cache")
+    void shouldCacheClosedDays() {
+        // Act
+        ReportSummary first = cache.get(TODAY.minusDays(1), loader);
+        ReportSummary second = cache.get(TODAY.minusDays(1), loader);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.counter("report.cache.hits").count());
+        assertEquals(1.0, meterRegistry.counter("report.cache.misses").count());
+        assertEquals(0.5, meterRegistry.get("report.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should always compute today live")
+    void shouldNotCacheToday() {
+        // Act
+        cache.get(TODAY, loader);
+        cache.get(TODAY, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used day when full")
+    void shouldEvictLeastRecentlyUsedDay() {
+        // Arrange
+        LocalDate oldest = TODAY.minusDays(3);
+        LocalDate middle = TODAY.minusDays(2);
+        LocalDate newest = TODAY.minusDays(1);
+        cache.get(oldest, loader);
+        cache.get(middle, loader);
+        cache.get(oldest, loader); // oldest becomes most recently used
+
+        // Act
+        cache.get(newest, loader);
+        cache.get(oldest, loader);
+        cache.get(middle, loader);
+
+        // Assert
+        assertEquals(2, cache.size());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop an invalidated day immediately outside a transaction")
+    void shouldInvalidateImmediatelyWithoutTransaction() {
+        // Arrange
+        LocalDate day = TODAY.minusDays(1);
+        cache.get(day, loader);
+
+        // Act
+        cache.invalidate(List.of(day));
+        cache.get(day, loader);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Should drop an invalidated day only after the transaction commits")
+    void shouldInvalidateAfterCommit() {
+        // Arrange
+        LocalDate day = TODAY.minusDays(1);
+        cache.get(day, loader);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            cache.invalidate(List.of(day));
+            assertEquals(1, cache.size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should not store a summary computed while its day was invalidated")
+    void shouldDiscardSummaryLoadedDuringInvalidation() {
+        // Arrange
+        LocalDate day = TODAY.minusDays(1);
+
+        // Act
+        cache.get(day, d -> {
+            cache.invalidate(List.of(d));
+            return summary(1);
+        });
+
+        // Assert
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should load the missing days of a range with one loader call")
+    void shouldLoadMissingDaysTogether() {
+        // Arrange
+        cache = new DailyReportCache(meterRegistry,
+                Clock.fixed(Instant.parse("2026-02-20T12:00:00Z"), ZoneId.of("UTC")), 10);
+        LocalDate first = TODAY.minusDays(3);
+        cache.get(first, loader);
+        List<DateRange> spans = new ArrayList<>();
+        Function<DateRange, Map<LocalDate, ReportSummary>> bulkLoader = span -> {
+            spans.add(span);
+            return Map.of(TODAY.minusDays(1), summary(5), TODAY, summary(7));
+        };
+
+        // Act
+        List<ReportSummary> days = cache.getAll(DateRange.of(first, TODAY), bulkLoader);
+
+        // Assert
+        assertEquals(List.of(DateRange.of(first.plusDays(1), TODAY)), spans);
+        assertEquals(List.of(17, 0, 5, 7), days.stream().map(ReportSummary::getTotalReadyOrders)
+                .collect(Collectors.toList()));
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.missingDays(DateRange.of(first, TODAY)));
+    }
+
+    @Test
+    @DisplayName("Should only cover ranges that fit in the cache")
+    void shouldCoverRangesUpToMaxDays() {
+        assertTrue(cache.covers(DateRange.of(TODAY.minusDays(1), TODAY)));
+        assertFalse(cache.covers(DateRange.of(TODAY.minusDays(2), TODAY)));
+    }
+
+    private ReportSummary summary(int readyOrders) {
+        return ReportSummary.builder()
+                .totalReadyOrders(readyOrders)
+                .totalRevenue(BigDecimal.valueOf(readyOrders))
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.dto.RollupRebuildDTO;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.repository.DailySalesRollupJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the daily sales rollup backfill.
+ * Verifies day-by-day rebuilds, each in its own transaction.
+ */
+@ExtendWith(MockitoExtension.class)
+class DailySalesRollupBackfillServiceTest {
+
+    @Mock
+    private DailySalesRollupJdbcRepository rollupRepository;
+
+    @Mock
+    private DailyReportCache reportCache;
+
+    @Mock
+    private DistinctCountService distinctCountService;
+
+    @Mock
+    private StoredReportInvalidator storedReportInvalidator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DailySalesRollupBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        backfillService = new DailySalesRollupBackfillService(rollupRepository, new DateRangeFilter(),
+                reportCache, distinctCountService, storedReportInvalidator, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should rebuild every day of the range in a separate transaction")
+    void shouldRebuildEachDayInOwnTransaction() {
+        // Arrange
+        LocalDate start = LocalDate.of(2026, 2, 27);
+        LocalDate end = LocalDate.of(2026, 3, 1);
+        when(rollupRepository.rebuildDay(any())).thenReturn(2);
+
+        // Act
+        RollupRebuildDTO result = backfillService.rebuild(start, end);
+
+        // Assert
+        assertEquals(3, result.getDays());
+        assertEquals(6L, result.getProductRows());
+        verify(rollupRepository).rebuildDay(LocalDate.of(2026, 2, 27));
+        verify(rollupRepository).rebuildDay(LocalDate.of(2026, 2, 28));
+        verify(rollupRepository).rebuildDay(LocalDate.of(2026, 3, 1));
+        verify(distinctCountService).rebuildDay(LocalDate.of(2026, 2, 28));
+        verify(storedReportInvalidator).invalidate(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 1));
+        verify(transactionManager, times(3)).commit(any());
+        verify(reportCache).invalidate(List.of(LocalDate.of(2026, 2, 28)));
+    }
+
+    @Test
+    @DisplayName("Should rebuild the days spanned by READY orders")
+    void shouldRebuildAllReadyDays() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 2, 15);
+        when(rollupRepository.findReadyDayRange()).thenReturn(Optional.of(DateRange.of(day, day)));
+
+        // Act
+        RollupRebuildDTO result = backfillService.rebuildAll();
+
+        // Assert
+        assertEquals(1, result.getDays());
+        assertEquals(day, result.getStartDate());
+        verify(rollupRepository).rebuildDay(day);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when there are no READY orders")
+    void shouldDoNothingWithoutReadyOrders() {
+        // Arrange
+        when(rollupRepository.findReadyDayRange()).thenReturn(Optional.empty());
+
+        // Act
+        RollupRebuildDTO result = backfillService.rebuildAll();
+
+        // Assert
+        assertEquals(0, result.getDays());
+        verify(rollupRepository, never()).rebuildDay(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an inverted range")
+    void shouldRejectInvertedRange() {
+        assertThrows(InvalidDateRangeException.class, () ->
+                backfillService.rebuild(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 2, 1)));
+        verifyNoInteractions(rollupRepository);
+    }
+}
@@ -0,0 +1,207 @@
+package com.restaurant.reportservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.restaurant.reportservice.dto.DeadLetterPageDTO;
+import com.restaurant.reportservice.dto.ReplayJobDTO;
+import com.restaurant.reportservice.dto.ReplayRequestDTO;
+import com.restaurant.reportservice.event.OrderEventValidator;
+import com.restaurant.reportservice.event.OrderPlacedEvent;
+import com.restaurant.reportservice.event.OrderReadyEvent;
+import com.restaurant.reportservice.infrastructure.messaging.DeadLetterQueueInspector;
+import com.restaurant.reportservice.infrastructure.messaging.TieredRetryMessageRecoverer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for DLQ browsing and replay of report events.
+ * Verifies decoding of both event types, time filtering in UTC whatever the default zone,
+ * routing and dry-run validation.
+ */
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayServiceTest {
+
+    private static final String PLACED_QUEUE = "order.placed.report.queue";
+    private static final String READY_QUEUE = "order.ready.report.queue";
+
+    @Mock
+    private DeadLetterQueueInspector inspector;
+
+    private ObjectMapper objectMapper;
+    private DeadLetterReplayService service;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        service = new DeadLetterReplayService(inspector, new OrderEventValidator(), objectMapper,
+                PLACED_QUEUE, READY_QUEUE, 1000, 50, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should decode both event types and filter them by occurredAt")
+    void shouldDecodeAndFilterByTime() throws Exception {
+        // Arrange
+        when(inspector.depth()).thenReturn(2L);
+        when(inspector.browse(1000)).thenReturn(List.of(
+                message(placed(3, LocalDateTime.of(2026, 1, 9, 10, 0))),
+                message(ready(UUID.randomUUID(), LocalDateTime.of(2026, 1, 10, 10, 0)))));
+        DeadLetterFilter filter = new DeadLetterFilter(null, null, LocalDateTime.of(2026, 1, 10, 0, 0), null);
+
+        // Act
+        DeadLetterPageDTO page = service.browse(filter, 0, 10);
+
+        // Assert
+        assertEquals(2, page.getScanned());
+        assertEquals(1, page.getMatched());
+        assertEquals("order.ready", page.getMessages().get(0).getEventType());
+        assertNull(page.getMessages().get(0).getTableId());
+    }
+
+    @Test
+    @DisplayName("Should filter the createdAt fallback as UTC when the default zone is not UTC")
+    void shouldFilterCreatedAtFallbackAsUtcInAnotherZone() throws Exception {
+        // Arrange
+        OrderPlacedEvent sameInstant = placed(3, null);
+        sameInstant.getPayload().setCreatedAt(LocalDateTime.of(2026, 1, 10, 5, 0));
+        OrderPlacedEvent later = placed(4, null);
+        later.getPayload().setCreatedAt(LocalDateTime.of(2026, 1, 10, 10, 0));
+        when(inspector.depth()).thenReturn(3L);
+        when(inspector.browse(1000)).thenReturn(List.of(
+                message(ready(UUID.randomUUID(), LocalDateTime.of(2026, 1, 10, 10, 0))),
+                message(sameInstant),
+                message(later)));
+        DeadLetterFilter utcWindow = new DeadLetterFilter(
+                null, null, LocalDateTime.of(2026, 1, 10, 9, 0), LocalDateTime.of(2026, 1, 10, 11, 0));
+        TimeZone defaultZone = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("America/Bogota"));
+
+        // Act
+        DeadLetterPageDTO page;
+        try {
+            page = service.browse(utcWindow, 0, 10);
+        } finally {
+            TimeZone.setDefault(defaultZone);
+        }
+
+        // Assert
+        assertEquals(2, page.getMatched());
+        assertEquals("order.ready", page.getMessages().get(0).getEventType());
+        assertEquals(3, page.getMessages().get(1).getTableId());
+        assertEquals(LocalDateTime.of(2026, 1, 10, 10, 0), page.getMessages().get(1).getOccurredAt());
+    }
+
+    @Test
+    @DisplayName("Should route events without an original-queue header by their event type")
+    void shouldRouteByEventTypeWithoutOriginalQueue() throws Exception {
+        // Arrange
+        List<Message> messages = List.of(
+                message(placed(3, LocalDateTime.now())),
+                message(ready(UUID.randomUUID(), LocalDateTime.now())));
+        List<String> routes = new ArrayList<>();
+        doAnswer(invocation -> {
+            Function<Message, String> router = invocation.getArgument(0);
+            messages.forEach(message -> routes.add(router.apply(message)));
+            return null;
+        }).when(inspector).replay(any(), anyInt(), anyInt(), any());
+
+        // Act
+        ReplayJobDTO job = awaitCompletion(service.startReplay(ReplayRequestDTO.builder().all(true).build()));
+
+        // Assert
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(List.of(PLACED_QUEUE, READY_QUEUE), routes);
+    }
+
+    @Test
+    @DisplayName("Should only validate events during a dry-run")
+    void shouldOnlyValidateDuringDryRun() throws Exception {
+        // Arrange
+        List<Message> messages = List.of(
+                message(placed(0, LocalDateTime.now())),
+                message(ready(UUID.randomUUID(), LocalDateTime.now())),
+                new Message("[]".getBytes(), new MessageProperties()));
+        List<String> routes = new ArrayList<>();
+        doAnswer(invocation -> {
+            Function<Message, String> router = invocation.getArgument(0);
+            messages.forEach(message -> routes.add(router.apply(message)));
+            return null;
+        }).when(inspector).replay(any(), anyInt(), anyInt(), any());
+
+        // Act
+        ReplayJobDTO job = awaitCompletion(service.startReplay(
+                ReplayRequestDTO.builder().all(true).dryRun(true).build()));
+
+        // Assert
+        assertTrue(routes.stream().allMatch(route -> route == null));
+        assertEquals(3, job.getMatched());
+        assertEquals(1, job.getValid());
+        assertEquals(2, job.getInvalid());
+        assertEquals(0, job.getReplayed());
+    }
+
+    private ReplayJobDTO awaitCompletion(ReplayJobDTO started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ReplayJobDTO job = started;
+        while ("RUNNING".equals(job.getStatus()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = service.findJob(started.getJobId()).orElseThrow();
+        }
+        return job;
+    }
+
+    private OrderPlacedEvent placed(int tableId, LocalDateTime occurredAt) {
+        return OrderPlacedEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType("order.placed")
+                .eventVersion(1)
+                .occurredAt(occurredAt)
+                .payload(OrderPlacedEvent.Payload.builder()
+                        .orderId(UUID.randomUUID())
+                        .tableId(tableId)
+                        .items(List.of())
+                        .createdAt(occurredAt)
+                        .build())
+                .build();
+    }
+
+    private OrderReadyEvent ready(UUID orderId, LocalDateTime occurredAt) {
+        return OrderReadyEvent.builder()
+                .eventId(UUID.randomUUID())
+                .eventType("order.ready")
+                .eventVersion(1)
+                .occurredAt(occurredAt)
+                .payload(OrderReadyEvent.Payload.builder().orderId(orderId).status("READY").updatedAt(occurredAt).build())
+                .build();
+    }
+
+    private Message message(Object event) throws Exception {
+        MessageProperties properties = new MessageProperties();
+        properties.setHeader(TieredRetryMessageRecoverer.EXCEPTION_MESSAGE_HEADER, "RuntimeException: Database error");
+        return new Message(objectMapper.writeValueAsBytes(event), properties);
+    }
+}
@@ -0,0 +1,110 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.domain.service.HyperLogLog;
+import com.restaurant.reportservice.dto.DistinctCountResponseDTO;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.repository.DailySketchJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the distinct-count metrics.
+ * Verifies sketches are updated at the configured precision and estimates are reported with their error.
+ */
+@ExtendWith(MockitoExtension.class)
+class DistinctCountServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 2, 1);
+    private static final LocalDate END = LocalDate.of(2026, 2, 28);
+
+    @Mock
+    private DailySketchJdbcRepository sketchRepository;
+
+    private DistinctCountService distinctCountService;
+
+    @BeforeEach
+    void setUp() {
+        distinctCountService = new DistinctCountService(sketchRepository, new DateRangeFilter(), 12);
+    }
+
+    @Test
+    @DisplayName("Should add READY orders to the sketches at the configured precision")
+    void shouldRecordReadyOrders() {
+        // Arrange
+        List<UUID> orderIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        // Act
+        distinctCountService.recordReady(orderIds);
+        distinctCountService.recordReady(List.of());
+
+        // Assert
+        verify(sketchRepository).addReadyOrders(orderIds, 12);
+        verifyNoMoreInteractions(sketchRepository);
+    }
+
+    @Test
+    @DisplayName("Should report the estimates of the merged sketches and their standard error")
+    void shouldReportEstimates() {
+        // Arrange
+        HyperLogLog tables = new HyperLogLog(10);
+        HyperLogLog products = new HyperLogLog(10);
+        for (long id = 1; id <= 12; id++) {
+            tables.add(id);
+        }
+        for (long id = 100; id < 140; id++) {
+            products.add(id);
+        }
+        when(sketchRepository.sumBetween(START, END))
+                .thenReturn(Optional.of(new DailySketchJdbcRepository.DaySketches(tables, products)));
+
+        // Act
+        DistinctCountResponseDTO report = distinctCountService.generateReport(START, END);
+
+        // Assert
+        assertEquals(START, report.getStartDate());
+        assertEquals(END, report.getEndDate());
+        assertEquals(12L, report.getTablesServed());
+        assertEquals(40L, report.getProductsSold());
+        assertEquals(10, report.getPrecision());
+        assertEquals(HyperLogLog.relativeStandardError(10), report.getRelativeStandardError());
+    }
+
+    @Test
+    @DisplayName("Should report zero for a range without sketches")
+    void shouldReportZeroForEmptyRange() {
+        // Arrange
+        when(sketchRepository.sumBetween(any(), any())).thenReturn(Optional.empty());
+
+        // Act
+        DistinctCountResponseDTO report = distinctCountService.generateReport(START, END);
+
+        // Assert
+        assertEquals(0L, report.getTablesServed());
+        assertEquals(0L, report.getProductsSold());
+        assertEquals(12, report.getPrecision());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid range and an out-of-range precision")
+    void shouldRejectInvalidInput() {
+        // Act & Assert
+        assertThrows(InvalidDateRangeException.class, () -> distinctCountService.generateReport(END, START));
+        assertThrows(IllegalArgumentException.class,
+                () -> new DistinctCountService(sketchRepository, new DateRangeFilter(), 20));
+        verifyNoInteractions(sketchRepository);
+    }
+}
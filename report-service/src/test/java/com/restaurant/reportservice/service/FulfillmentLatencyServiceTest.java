@@ -0,0 +1,166 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.domain.service.LatencyHistograms;
+import com.restaurant.reportservice.dto.FulfillmentResponseDTO;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.repository.FulfillmentHistogramJdbcRepository;
+import com.restaurant.reportservice.repository.OrderProjectionJdbcRepository;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for fulfillment latency recording and reporting.
+ * Verifies hour bucketing, skipped orders and percentiles read from merged histograms.
+ */
+@ExtendWith(MockitoExtension.class)
+class FulfillmentLatencyServiceTest {
+
+    @Mock
+    private OrderProjectionJdbcRepository projectionJdbcRepository;
+
+    @Mock
+    private FulfillmentHistogramJdbcRepository histogramRepository;
+
+    @Captor
+    private ArgumentCaptor<SortedMap<LocalDateTime, Histogram>> samplesCaptor;
+
+    private FulfillmentLatencyService fulfillmentLatencyService;
+
+    @BeforeEach
+    void setUp() {
+        fulfillmentLatencyService = new FulfillmentLatencyService(projectionJdbcRepository, histogramRepository,
+                new DateRangeFilter());
+    }
+
+    @Test
+    @DisplayName("Should record each order's placement-to-READY time in the hour it was placed")
+    void shouldRecordInPlacementHour() {
+        // Arrange
+        UUID lunch = UUID.randomUUID();
+        UUID lateLunch = UUID.randomUUID();
+        UUID dinner = UUID.randomUUID();
+        when(projectionJdbcRepository.findCreatedAt(anyList())).thenReturn(Map.of(
+                lunch, LocalDateTime.of(2026, 2, 15, 12, 5),
+                lateLunch, LocalDateTime.of(2026, 2, 15, 12, 55),
+                dinner, LocalDateTime.of(2026, 2, 15, 20, 0)));
+
+        // Act
+        fulfillmentLatencyService.recordReady(Map.of(
+                lunch, LocalDateTime.of(2026, 2, 15, 12, 15),
+                lateLunch, LocalDateTime.of(2026, 2, 15, 13, 25),
+                dinner, LocalDateTime.of(2026, 2, 15, 20, 0, 30)));
+
+        // Assert
+        verify(histogramRepository).add(samplesCaptor.capture());
+        SortedMap<LocalDateTime, Histogram> samples = samplesCaptor.getValue();
+        assertEquals(List.of(LocalDateTime.of(2026, 2, 15, 12, 0), LocalDateTime.of(2026, 2, 15, 20, 0)),
+                List.copyOf(samples.keySet()));
+        Histogram noon = samples.get(LocalDateTime.of(2026, 2, 15, 12, 0));
+        assertEquals(2, noon.getTotalCount());
+        assertTrue(noon.valuesAreEquivalent(600_000, noon.getMinValue()));
+        assertTrue(noon.valuesAreEquivalent(1_800_000, noon.getMaxValue()));
+        assertTrue(samples.get(LocalDateTime.of(2026, 2, 15, 20, 0)).valuesAreEquivalent(30_000,
+                samples.get(LocalDateTime.of(2026, 2, 15, 20, 0)).getMaxValue()));
+    }
+
+    @Test
+    @DisplayName("Should skip orders without a placement time and clamp clock skew to zero")
+    void shouldSkipOrdersWithoutPlacementTime() {
+        // Arrange
+        UUID stub = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        UUID skewed = UUID.randomUUID();
+        LocalDateTime readyAt = LocalDateTime.of(2026, 2, 15, 12, 0);
+        when(projectionJdbcRepository.findCreatedAt(anyList())).thenReturn(Map.of(
+                stub, readyAt,
+                skewed, readyAt.plusSeconds(2)));
+
+        // Act
+        fulfillmentLatencyService.recordReady(Map.of(stub, readyAt, unknown, readyAt, skewed, readyAt));
+
+        // Assert
+        verify(histogramRepository).add(samplesCaptor.capture());
+        Histogram noon = samplesCaptor.getValue().get(LocalDateTime.of(2026, 2, 15, 12, 0));
+        assertEquals(1, samplesCaptor.getValue().size());
+        assertEquals(1, noon.getTotalCount());
+        assertEquals(0, noon.getMaxValue());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when no order transitioned")
+    void shouldIgnoreEmptyInput() {
+        // Act
+        fulfillmentLatencyService.recordReady(Map.of());
+
+        // Assert
+        verifyNoInteractions(projectionJdbcRepository, histogramRepository);
+    }
+
+    @Test
+    @DisplayName("Should report percentiles of the merged histogram of the range's hours")
+    void shouldReportPercentiles() {
+        // Arrange
+        Histogram histogram = LatencyHistograms.empty();
+        for (int minute = 1; minute <= 100; minute++) {
+            histogram.recordValue(minute * 60_000L);
+        }
+        LocalDate start = LocalDate.of(2026, 2, 1);
+        LocalDate end = LocalDate.of(2026, 2, 28);
+        when(histogramRepository.sumBetween(start.atStartOfDay(), LocalDate.of(2026, 3, 1).atStartOfDay()))
+                .thenReturn(histogram);
+
+        // Act
+        FulfillmentResponseDTO report = fulfillmentLatencyService.generateReport(start, end);
+
+        // Assert
+        assertEquals(100L, report.getOrders());
+        assertTrue(histogram.valuesAreEquivalent(50 * 60_000L, report.getP50Ms()));
+        assertTrue(histogram.valuesAreEquivalent(95 * 60_000L, report.getP95Ms()));
+        assertTrue(histogram.valuesAreEquivalent(99 * 60_000L, report.getP99Ms()));
+        assertTrue(histogram.valuesAreEquivalent(100 * 60_000L, report.getMaxMs()));
+    }
+
+    @Test
+    @DisplayName("Should report no percentiles for a range without fulfilled orders")
+    void shouldReportEmptyRange() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 2, 1);
+        when(histogramRepository.sumBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+                .thenReturn(LatencyHistograms.empty());
+
+        // Act
+        FulfillmentResponseDTO report = fulfillmentLatencyService.generateReport(day, day);
+
+        // Assert
+        assertEquals(0L, report.getOrders());
+        assertNull(report.getP50Ms());
+        assertNull(report.getMaxMs());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid range")
+    void shouldRejectInvalidRange() {
+        assertThrows(InvalidDateRangeException.class,
+                () -> fulfillmentLatencyService.generateReport(LocalDate.of(2026, 2, 2), LocalDate.of(2026, 2, 1)));
+        verifyNoInteractions(histogramRepository);
+    }
+}
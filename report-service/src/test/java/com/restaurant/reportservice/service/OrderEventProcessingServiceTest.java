@@ -5,6 +5,8 @@ import com.restaurant.reportservice.application.command.OrderReadyCommand;
 import com.restaurant.reportservice.entity.OrderItemReportEntity;
 import com.restaurant.reportservice.entity.OrderReportEntity;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.repository.DailySalesRollupJdbcRepository;
+import com.restaurant.reportservice.repository.OrderProjectionJdbcRepository;
 import com.restaurant.reportservice.repository.OrderReportRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -18,15 +20,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -39,9 +45,39 @@ class OrderEventProcessingServiceTest {
     @Mock
     private OrderReportRepository orderReportRepository;
 
+    @Mock
+    private OrderProjectionJdbcRepository projectionJdbcRepository;
+
+    @Mock
+    private DailySalesRollupJdbcRepository rollupRepository;
+
+    @Mock
+    private DailyReportCache reportCache;
+
+    @Mock
+    private StoredReportInvalidator storedReportInvalidator;
+
+    @Mock
+    private FulfillmentLatencyService fulfillmentLatencyService;
+
+    @Mock
+    private DistinctCountService distinctCountService;
+
+    @Mock
+    private ReportPartitionService partitionService;
+
+    @Mock
+    private ColumnarAnalyticsStore columnarStore;
+
     @Captor
     private ArgumentCaptor<OrderReportEntity> orderCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<OrderPlacedCommand>> placedCaptor;
+
+    @Captor
+    private ArgumentCaptor<List<OrderReadyCommand>> readyCaptor;
+
     private OrderEventProcessingService service;
 
     private Clock fixedClock;
@@ -49,7 +85,9 @@ class OrderEventProcessingServiceTest {
     @BeforeEach
     void setUp() {
         fixedClock = Clock.fixed(Instant.parse("2026-02-19T15:30:00Z"), ZoneId.of("UTC"));
-        service = new OrderEventProcessingService(orderReportRepository, fixedClock);
+        service = new OrderEventProcessingService(orderReportRepository, projectionJdbcRepository, rollupRepository,
+                reportCache, storedReportInvalidator, fulfillmentLatencyService, distinctCountService, partitionService,
+                columnarStore, fixedClock);
     }
 
     // ── processOrderPlaced tests ────────────────────────────────────────
@@ -83,6 +121,8 @@ class OrderEventProcessingServiceTest {
         assertEquals(OrderStatus.PENDING, saved.getStatus());
         assertEquals(createdAt, saved.getCreatedAt());
         assertNotNull(saved.getReceivedAt());
+        verify(partitionService).ensurePartitionsFor(List.of(createdAt));
+        verify(projectionJdbcRepository).registerOrder(orderId, createdAt);
     }
 
     @Test
@@ -111,6 +151,7 @@ class OrderEventProcessingServiceTest {
 
         // Assert
         verify(orderReportRepository, never()).save(any());
+        verify(projectionJdbcRepository, never()).registerOrder(any(), any());
     }
 
     @Test
@@ -250,6 +291,35 @@ class OrderEventProcessingServiceTest {
 
         assertEquals(OrderStatus.READY, saved.getStatus());
         assertEquals(orderId, saved.getId());
+        assertEquals(LocalDateTime.now(fixedClock), saved.getReadyAt());
+    }
+
+    @Test
+    @DisplayName("Should mark an existing order READY without a fulfillment time when updatedAt is missing")
+    void shouldMarkReadyWithoutUpdatedAt() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        OrderReportEntity existingOrder = OrderReportEntity.builder()
+                .id(orderId)
+                .tableId(5)
+                .status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.of(2026, 2, 19, 10, 0))
+                .receivedAt(LocalDateTime.of(2026, 2, 19, 10, 1))
+                .build();
+        OrderReadyCommand command = OrderReadyCommand.builder()
+                .orderId(orderId)
+                .status(OrderStatus.READY)
+                .build();
+        when(orderReportRepository.findById(orderId)).thenReturn(Optional.of(existingOrder));
+
+        // Act
+        service.processOrderReady(command);
+
+        // Assert
+        assertEquals(OrderStatus.READY, existingOrder.getStatus());
+        verify(rollupRepository).applyReadyOrders(List.of(orderId));
+        verify(storedReportInvalidator).invalidate(LocalDate.of(2026, 2, 19), LocalDate.of(2026, 2, 19));
+        verifyNoInteractions(fulfillmentLatencyService);
     }
 
     @Test
@@ -279,6 +349,8 @@ class OrderEventProcessingServiceTest {
         assertEquals(OrderStatus.READY, saved.getStatus());
         assertEquals(updatedAt, saved.getCreatedAt());
         assertNotNull(saved.getReceivedAt());
+        assertEquals(saved.getReceivedAt(), saved.getReadyAt());
+        verify(projectionJdbcRepository).registerOrder(orderId, updatedAt);
     }
 
     @Test
@@ -374,4 +446,248 @@ class OrderEventProcessingServiceTest {
         OrderReportEntity saved = orderCaptor.getValue();
         assertEquals(LocalDateTime.now(fixedClock), saved.getReceivedAt());
     }
+
+    // ── batch tests ─────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should insert items only for orders inserted by the batch")
+    void shouldInsertItemsOnlyForNewOrders() {
+        // Arrange
+        OrderPlacedCommand existing = placedCommand(UUID.randomUUID());
+        OrderPlacedCommand fresh = placedCommand(UUID.randomUUID());
+        when(projectionJdbcRepository.insertOrdersIfAbsent(anyList(), any()))
+                .thenReturn(List.of(fresh.getOrderId()));
+
+        // Act
+        service.processOrderPlacedBatch(List.of(existing, fresh));
+
+        // Assert
+        verify(projectionJdbcRepository).insertOrdersIfAbsent(anyList(), eq(LocalDateTime.now(fixedClock)));
+        verify(projectionJdbcRepository).insertItems(placedCaptor.capture());
+        assertEquals(List.of(fresh), placedCaptor.getValue());
+        verifyNoInteractions(orderReportRepository);
+    }
+
+    @Test
+    @DisplayName("Should make sure the partitions of the batch exist before inserting it")
+    void shouldEnsurePartitionsBeforeInsertingBatch() {
+        // Arrange
+        OrderPlacedCommand order = placedCommand(UUID.randomUUID());
+        when(projectionJdbcRepository.insertOrdersIfAbsent(anyList(), any())).thenReturn(List.of());
+
+        // Act
+        service.processOrderPlacedBatch(List.of(order));
+
+        // Assert
+        var inOrder = inOrder(partitionService, projectionJdbcRepository);
+        inOrder.verify(partitionService).ensurePartitionsFor(List.of(order.getCreatedAt()));
+        inOrder.verify(projectionJdbcRepository).insertOrdersIfAbsent(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Should not insert items when every order of the batch already exists")
+    void shouldSkipItemsWhenBatchIsAllDuplicates() {
+        // Arrange
+        when(projectionJdbcRepository.insertOrdersIfAbsent(anyList(), any())).thenReturn(List.of());
+
+        // Act
+        service.processOrderPlacedBatch(List.of(placedCommand(UUID.randomUUID())));
+
+        // Assert
+        verify(projectionJdbcRepository, never()).insertItems(anyList());
+    }
+
+    @Test
+    @DisplayName("Should write each order once when the batch repeats an event")
+    void shouldDeduplicateOrdersWithinBatch() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        OrderPlacedCommand first = placedCommand(orderId);
+        when(projectionJdbcRepository.insertOrdersIfAbsent(anyList(), any())).thenReturn(List.of(orderId));
+
+        // Act
+        service.processOrderPlacedBatch(List.of(first, placedCommand(orderId)));
+
+        // Assert
+        verify(projectionJdbcRepository).insertOrdersIfAbsent(placedCaptor.capture(), any());
+        assertEquals(List.of(first), placedCaptor.getValue());
+        verify(projectionJdbcRepository).insertItems(List.of(first));
+    }
+
+    @Test
+    @DisplayName("Should apply order.ready batch with one upsert per distinct order")
+    void shouldMarkReadyBatchOnce() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        OrderReadyCommand ready = OrderReadyCommand.builder()
+                .orderId(orderId)
+                .status(OrderStatus.READY)
+                .updatedAt(LocalDateTime.of(2026, 2, 19, 14, 0))
+                .build();
+        when(projectionJdbcRepository.markReady(anyList(), any())).thenReturn(List.of(orderId));
+        when(projectionJdbcRepository.findCreatedDays(List.of(orderId))).thenReturn(List.of(LocalDate.of(2026, 2, 19)));
+
+        // Act
+        service.processOrderReadyBatch(List.of(ready, ready));
+
+        // Assert
+        verify(projectionJdbcRepository).markReady(readyCaptor.capture(), eq(LocalDateTime.now(fixedClock)));
+        assertEquals(List.of(ready), readyCaptor.getValue());
+        verify(rollupRepository).applyReadyOrders(List.of(orderId));
+        verify(reportCache).invalidate(List.of(LocalDate.of(2026, 2, 19)));
+        verify(storedReportInvalidator).invalidate(LocalDate.of(2026, 2, 19), LocalDate.of(2026, 2, 19));
+        verify(fulfillmentLatencyService).recordReady(Map.of(orderId, LocalDateTime.of(2026, 2, 19, 14, 0)));
+        verify(distinctCountService).recordReady(List.of(orderId));
+        verify(columnarStore).recordReady(List.of(orderId));
+        verifyNoInteractions(orderReportRepository);
+    }
+
+    @Test
+    @DisplayName("Should delete stored job reports spanning the days of the transitioned orders")
+    void shouldDeleteStoredReportsOfTransitionedDays() {
+        // Arrange
+        UUID monday = UUID.randomUUID();
+        UUID thursday = UUID.randomUUID();
+        List<LocalDate> days = List.of(LocalDate.of(2026, 2, 16), LocalDate.of(2026, 2, 19));
+        when(projectionJdbcRepository.markReady(anyList(), any())).thenReturn(List.of(monday, thursday));
+        when(projectionJdbcRepository.findCreatedDays(List.of(monday, thursday))).thenReturn(days);
+
+        // Act
+        service.processOrderReadyBatch(List.of(readyCommand(monday), readyCommand(thursday)));
+
+        // Assert
+        verify(reportCache).invalidate(days);
+        verify(storedReportInvalidator).invalidate(LocalDate.of(2026, 2, 16), LocalDate.of(2026, 2, 19));
+    }
+
+    @Test
+    @DisplayName("Should record fulfillment times only for the orders that changed status")
+    void shouldRecordFulfillmentOfTransitionedOrdersOnly() {
+        // Arrange
+        UUID transitioned = UUID.randomUUID();
+        UUID alreadyReady = UUID.randomUUID();
+        when(projectionJdbcRepository.markReady(anyList(), any())).thenReturn(List.of(transitioned));
+
+        // Act
+        service.processOrderReadyBatch(List.of(readyCommand(transitioned), readyCommand(alreadyReady)));
+
+        // Assert
+        verify(fulfillmentLatencyService).recordReady(Map.of(transitioned, LocalDateTime.of(2026, 2, 19, 14, 0)));
+        verify(distinctCountService).recordReady(List.of(transitioned));
+        verify(columnarStore).recordReady(List.of(transitioned));
+    }
+
+    @Test
+    @DisplayName("Should leave the rollup alone when no order of the batch changed status")
+    void shouldSkipRollupWhenNothingTransitioned() {
+        // Arrange
+        OrderReadyCommand ready = OrderReadyCommand.builder()
+                .orderId(UUID.randomUUID())
+                .status(OrderStatus.READY)
+                .updatedAt(LocalDateTime.of(2026, 2, 19, 14, 0))
+                .build();
+        when(projectionJdbcRepository.markReady(anyList(), any())).thenReturn(List.of());
+
+        // Act
+        service.processOrderReadyBatch(List.of(ready));
+
+        // Assert
+        verifyNoInteractions(rollupRepository, reportCache, storedReportInvalidator, fulfillmentLatencyService,
+                distinctCountService, columnarStore);
+    }
+
+    // ── rollup on single READY events ───────────────────────────────────
+
+    @Test
+    @DisplayName("Should add a PENDING order to the rollup when it becomes READY")
+    void shouldAddTransitionedOrderToRollup() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        OrderReportEntity pending = OrderReportEntity.builder()
+                .id(orderId).tableId(5).status(OrderStatus.PENDING)
+                .createdAt(LocalDateTime.of(2026, 2, 19, 10, 0))
+                .receivedAt(LocalDateTime.of(2026, 2, 19, 10, 1))
+                .build();
+        when(orderReportRepository.findById(orderId)).thenReturn(Optional.of(pending));
+
+        // Act
+        service.processOrderReady(readyCommand(orderId));
+
+        // Assert
+        verify(orderReportRepository).flush();
+        verify(rollupRepository).applyReadyOrders(List.of(orderId));
+        verify(reportCache).invalidate(List.of(LocalDate.of(2026, 2, 19)));
+        verify(storedReportInvalidator).invalidate(LocalDate.of(2026, 2, 19), LocalDate.of(2026, 2, 19));
+        verify(fulfillmentLatencyService).recordReady(Map.of(orderId, LocalDateTime.of(2026, 2, 19, 14, 0)));
+        verify(distinctCountService).recordReady(List.of(orderId));
+    }
+
+    @Test
+    @DisplayName("Should not count an already READY order again on redelivery")
+    void shouldNotCountReadyOrderTwice() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        OrderReportEntity ready = OrderReportEntity.builder()
+                .id(orderId).tableId(5).status(OrderStatus.READY)
+                .createdAt(LocalDateTime.of(2026, 2, 19, 10, 0))
+                .receivedAt(LocalDateTime.of(2026, 2, 19, 10, 1))
+                .build();
+        when(orderReportRepository.findById(orderId)).thenReturn(Optional.of(ready));
+
+        // Act
+        service.processOrderReady(readyCommand(orderId));
+
+        // Assert
+        verifyNoInteractions(rollupRepository, reportCache, storedReportInvalidator, fulfillmentLatencyService,
+                distinctCountService, columnarStore);
+    }
+
+    @Test
+    @DisplayName("Should count a READY stub in the rollup")
+    void shouldAddStubOrderToRollup() {
+        // Arrange
+        UUID orderId = UUID.randomUUID();
+        when(orderReportRepository.findById(orderId)).thenReturn(Optional.empty());
+
+        // Act
+        service.processOrderReady(readyCommand(orderId));
+
+        // Assert
+        verify(rollupRepository).applyReadyOrders(List.of(orderId));
+        verify(distinctCountService).recordReady(List.of(orderId));
+        verify(columnarStore).recordReady(List.of(orderId));
+        verifyNoInteractions(fulfillmentLatencyService);
+    }
+
+    private OrderReadyCommand readyCommand(UUID orderId) {
+        return OrderReadyCommand.builder()
+                .orderId(orderId)
+                .status(OrderStatus.READY)
+                .updatedAt(LocalDateTime.of(2026, 2, 19, 14, 0))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should not touch the database for an empty batch")
+    void shouldIgnoreEmptyBatch() {
+        // Act
+        service.processOrderPlacedBatch(List.of());
+        service.processOrderReadyBatch(List.of());
+
+        // Assert
+        verifyNoInteractions(projectionJdbcRepository, orderReportRepository, partitionService);
+    }
+
+    private OrderPlacedCommand placedCommand(UUID orderId) {
+        return OrderPlacedCommand.builder()
+                .orderId(orderId)
+                .tableId(2)
+                .createdAt(LocalDateTime.of(2026, 2, 19, 12, 0))
+                .items(List.of(OrderPlacedCommand.OrderItemCommand.builder()
+                        .productId(10L)
+                        .quantity(1)
+                        .price(new BigDecimal("12.50"))
+                        .build()))
+                .build();
+    }
 }
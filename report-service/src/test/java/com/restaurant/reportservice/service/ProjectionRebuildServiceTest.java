@@ -0,0 +1,164 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.dto.ProjectionRebuildJobDTO;
+import com.restaurant.reportservice.infrastructure.orderexport.ExportedOrder;
+import com.restaurant.reportservice.infrastructure.orderexport.OrderExportClient;
+import com.restaurant.reportservice.repository.ProjectionRebuildJdbcRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the projection rebuild.
+ * Verifies paging through the export, batching of the copies, the swap with its catch-up,
+ * the refresh of derived data, and that failed or concurrent rebuilds leave the live tables alone.
+ */
+@ExtendWith(MockitoExtension.class)
+class ProjectionRebuildServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 2, 19, 15, 30);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 10, 12, 0);
+
+    @Mock
+    private OrderExportClient exportClient;
+
+    @Mock
+    private ProjectionRebuildJdbcRepository rebuildRepository;
+
+    @Mock
+    private DailySalesRollupBackfillService rollupBackfillService;
+
+    @Mock
+    private DailyReportCache reportCache;
+
+    @Mock
+    private ColumnarAnalyticsStore columnarStore;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-02-19T15:30:00Z"), ZoneId.of("UTC"));
+
+    private final Deque<Runnable> queued = new ArrayDeque<>();
+
+    @Test
+    @DisplayName("Should copy every page in batches, swap the rebuilt tables and refresh derived data")
+    void shouldCopyPagesSwapAndRefresh() {
+        // Arrange
+        ProjectionRebuildService service = service(Runnable::run);
+        List<ExportedOrder> orders = List.of(order(0), order(1), order(2), order(3));
+        when(exportClient.readPage(isNull(), isNull(), eq(3), any()))
+                .thenAnswer(invocation -> page(invocation.getArgument(3), orders.subList(0, 3)));
+        when(exportClient.readPage(eq(CREATED_AT.plusMinutes(2)), eq(orders.get(2).getId()), eq(3), any()))
+                .thenAnswer(invocation -> page(invocation.getArgument(3), orders.subList(3, 4)));
+        when(rebuildRepository.copy(anyList(), eq(NOW))).thenReturn(1L);
+        when(rebuildRepository.swap(NOW.minus(ProjectionRebuildService.CATCH_UP_MARGIN))).thenReturn(7);
+
+        // Act
+        ProjectionRebuildJobDTO started = service.startRebuild();
+
+        // Assert
+        ProjectionRebuildJobDTO job = service.findJob(started.getJobId()).orElseThrow();
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(NOW, job.getFinishedAt());
+        assertEquals(2, job.getPages());
+        assertEquals(4, job.getOrdersRead());
+        assertEquals(4, job.getOrdersCopied());
+        assertEquals(3, job.getItemsCopied());
+        assertEquals(7, job.getCaughtUp());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ExportedOrder>> batches = ArgumentCaptor.forClass(List.class);
+        InOrder inOrder = inOrder(rebuildRepository, rollupBackfillService, reportCache, columnarStore);
+        inOrder.verify(rebuildRepository).prepare(YearMonth.of(2026, 5));
+        inOrder.verify(rebuildRepository).ensureMonths(YearMonth.of(2026, 1), YearMonth.of(2026, 1));
+        inOrder.verify(rebuildRepository, times(3)).copy(batches.capture(), eq(NOW));
+        inOrder.verify(rebuildRepository).index();
+        inOrder.verify(rebuildRepository).swap(NOW.minusMinutes(5));
+        inOrder.verify(rollupBackfillService).rebuildAll();
+        inOrder.verify(reportCache).clear();
+        inOrder.verify(columnarStore).reload();
+        assertEquals(List.of(2, 1, 1), batches.getAllValues().stream().map(List::size).collect(Collectors.toList()));
+        verify(rebuildRepository, never()).discard();
+    }
+
+    @Test
+    @DisplayName("Should drop the rebuild tables and never swap when a copy fails")
+    void shouldDiscardWhenCopyFails() {
+        // Arrange
+        ProjectionRebuildService service = service(Runnable::run);
+        when(exportClient.readPage(isNull(), isNull(), eq(3), any()))
+                .thenAnswer(invocation -> page(invocation.getArgument(3), List.of(order(0))));
+        when(rebuildRepository.copy(anyList(), any())).thenThrow(new IllegalStateException("disk full"));
+
+        // Act
+        ProjectionRebuildJobDTO started = service.startRebuild();
+
+        // Assert
+        ProjectionRebuildJobDTO job = service.findJob(started.getJobId()).orElseThrow();
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("COPYING", job.getPhase());
+        assertEquals("disk full", job.getError());
+        assertEquals(NOW, job.getFinishedAt());
+        verify(rebuildRepository).discard();
+        verify(rebuildRepository, never()).index();
+        verify(rebuildRepository, never()).swap(any());
+        verifyNoInteractions(rollupBackfillService, reportCache, columnarStore);
+    }
+
+    @Test
+    @DisplayName("Should reject a second rebuild while one is running")
+    void shouldRejectConcurrentRebuild() {
+        // Arrange
+        ProjectionRebuildService service = service(queued::add);
+        when(exportClient.readPage(isNull(), isNull(), anyInt(), any())).thenReturn(0);
+        service.startRebuild();
+
+        // Act / Assert
+        assertThrows(IllegalStateException.class, service::startRebuild);
+        queued.poll().run();
+        assertDoesNotThrow(service::startRebuild);
+    }
+
+    private ProjectionRebuildService service(Executor coordinator) {
+        return new ProjectionRebuildService(exportClient, rebuildRepository, rollupBackfillService, reportCache,
+                columnarStore, clock, 3, 2, 1, 3, coordinator, Runnable::run);
+    }
+
+    private static ExportedOrder order(int minute) {
+        return ExportedOrder.builder()
+                .id(UUID.randomUUID())
+                .tableId(minute + 1)
+                .status("READY")
+                .createdAt(CREATED_AT.plusMinutes(minute))
+                .updatedAt(CREATED_AT.plusMinutes(minute + 20))
+                .build();
+    }
+
+    private static int page(Consumer<ExportedOrder> consumer, List<ExportedOrder> orders) {
+        orders.forEach(consumer);
+        return orders.size();
+    }
+}
@@ -0,0 +1,146 @@
+package com.restaurant.reportservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.enums.ExportFormat;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.repository.OrderLineExportJdbcRepository;
+import com.restaurant.reportservice.repository.OrderLineExportJdbcRepository.OrderLine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the report export.
+ * Verifies both line formats, gzip, and that a failed write aborts the export.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 2, 15);
+    private static final UUID ORDER_ID = UUID.fromString("7c9e6679-7425-40de-944b-e07fc1f90ae7");
+
+    @Mock
+    private OrderLineExportJdbcRepository exportRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReportExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ReportExportService(exportRepository, new DateRangeFilter(),
+                new ObjectMapper(), transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote product names that need it")
+    void shouldWriteCsv() throws IOException {
+        // Arrange
+        emitLines(line("Hamburguesa", 2, "15.50"), line("Papas, \"grandes\"", 1, null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(DAY, DAY, ExportFormat.CSV, false).writeTo(out);
+
+        // Assert
+        assertEquals("order_id,table_id,created_at,product_id,product_name,quantity,price,line_total\r\n"
+                        + ORDER_ID + ",4,2026-02-15T12:30,1,Hamburguesa,2,15.50,31.00\r\n"
+                        + ORDER_ID + ",4,2026-02-15T12:30,1,\"Papas, \"\"grandes\"\"\",1,,\r\n",
+                out.toString(StandardCharsets.UTF_8));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line, gzipped when requested")
+    void shouldWriteGzippedNdjson() throws IOException {
+        // Arrange
+        emitLines(line("Hamburguesa", 2, "15.50"), line("Gaseosa", 3, "3.00"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        exportService.export(DAY, DAY, ExportFormat.NDJSON, true).writeTo(out);
+
+        // Assert
+        String[] lines = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertTrue(line.startsWith("{"), line);
+        }
+        JsonNode second = new ObjectMapper().readTree(lines[1]);
+        assertEquals(ORDER_ID.toString(), second.get("orderId").asText());
+        assertEquals("Gaseosa", second.get("productName").asText());
+        assertTrue(lines[1].endsWith("\"price\":3.00,\"lineTotal\":9.00}"));
+    }
+
+    @Test
+    @DisplayName("Should abort the export and roll back when the client disconnects")
+    void shouldAbortWhenWriteFails() {
+        // Arrange: more lines than the write buffer holds, so writing fails mid-query
+        OrderLine[] lines = new OrderLine[10_000];
+        Arrays.fill(lines, line("Hamburguesa", 2, "15.50"));
+        emitLines(lines);
+        OutputStream disconnected = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Act & Assert
+        IOException thrown = assertThrows(IOException.class,
+                () -> exportService.write(DateRange.of(DAY, DAY), ExportFormat.CSV, false, disconnected));
+        assertEquals("Broken pipe", thrown.getMessage());
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid range before streaming")
+    void shouldRejectInvalidRange() {
+        assertThrows(InvalidDateRangeException.class,
+                () -> exportService.export(DAY, DAY.minusDays(1), ExportFormat.CSV, false));
+        verifyNoInteractions(exportRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emitLines(OrderLine... lines) {
+        doAnswer(invocation -> {
+            Consumer<OrderLine> consumer = invocation.getArgument(2);
+            for (OrderLine line : lines) {
+                consumer.accept(line);
+            }
+            return null;
+        }).when(exportRepository).forEachReadyLine(eq(DAY), eq(DAY), any(Consumer.class));
+    }
+
+    private OrderLine line(String productName, int quantity, String price) {
+        return new OrderLine(ORDER_ID, 4, LocalDateTime.of(2026, 2, 15, 12, 30), 1L, productName, quantity,
+                price == null ? null : new BigDecimal(price));
+    }
+}
@@ -0,0 +1,324 @@
+package com.restaurant.reportservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.restaurant.reportservice.domain.model.ProductSummary;
+import com.restaurant.reportservice.domain.model.ReportSummary;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.dto.ReportJobDTO;
+import com.restaurant.reportservice.dto.ReportResponseDTO;
+import com.restaurant.reportservice.entity.ReportJobResultEntity;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.exception.ReportJobQueueFullException;
+import com.restaurant.reportservice.repository.ReportJobResultRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for asynchronous report jobs.
+ * Verifies chunked computation, stored results for closed ranges and the concurrency limits.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportJobServiceTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2025, 1, 1);
+    private static final LocalDate JAN_31 = LocalDate.of(2025, 1, 31);
+    private static final LocalDate MAR_31 = LocalDate.of(2025, 3, 31);
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private ReportJobResultRepository resultRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final Clock fixedClock = Clock.fixed(Instant.parse("2026-02-19T15:30:00Z"), ZoneId.of("UTC"));
+    private ReportJobService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should compute a closed range chunk by chunk and store the merged report")
+    void shouldComputeInChunksAndStore() throws Exception {
+        // Arrange
+        service = newService(2, 10);
+        when(reportService.summarize(any(), any())).thenReturn(summary(1, "10.00"));
+        when(reportService.toResponse(any())).thenAnswer(invocation -> toResponse(invocation.getArgument(0)));
+        when(resultRepository.findById(any())).thenReturn(Optional.empty());
+        when(resultRepository.complete(eq(JAN_1), eq(MAR_31), any(), any())).thenReturn(1);
+
+        // Act
+        ReportJobDTO job = awaitCompletion(service.submit(JAN_1, MAR_31));
+
+        // Assert
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(3, job.getTotalChunks());
+        assertEquals(1.0, job.getProgress());
+        assertFalse(job.isStored());
+        assertEquals(3, job.getResult().getTotalReadyOrders());
+        assertEquals(new BigDecimal("30.00"), job.getResult().getTotalRevenue());
+        verify(reportService).summarize(JAN_1, LocalDate.of(2025, 1, 31));
+        verify(reportService).summarize(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 3));
+        verify(reportService).summarize(LocalDate.of(2025, 3, 4), MAR_31);
+        verify(resultRepository).saveAndFlush(any(ReportJobResultEntity.class));
+
+        ArgumentCaptor<byte[]> json = ArgumentCaptor.forClass(byte[].class);
+        verify(resultRepository).complete(eq(JAN_1), eq(MAR_31), json.capture(), eq(LocalDateTime.now(fixedClock)));
+        assertEquals(job.getResult(), objectMapper.readValue(json.getValue(), ReportResponseDTO.class));
+    }
+
+    @Test
+    @DisplayName("Should complete immediately from the stored report of a closed range")
+    void shouldReturnStoredReport() throws Exception {
+        // Arrange
+        service = newService(2, 10);
+        ReportResponseDTO stored = toResponse(summary(7, "70.00"));
+        when(resultRepository.findById(new ReportJobResultEntity.Key(JAN_1, MAR_31)))
+                .thenReturn(Optional.of(ReportJobResultEntity.builder()
+                        .startDate(JAN_1)
+                        .endDate(MAR_31)
+                        .computedAt(LocalDateTime.of(2026, 1, 1, 0, 0))
+                        .result(objectMapper.writeValueAsBytes(stored))
+                        .build()));
+
+        // Act
+        ReportJobDTO job = service.submit(JAN_1, MAR_31);
+
+        // Assert
+        assertEquals("COMPLETED", job.getStatus());
+        assertTrue(job.isStored());
+        assertEquals(stored, job.getResult());
+        assertEquals(job, service.findJob(job.getJobId()).orElseThrow());
+        verifyNoInteractions(reportService);
+    }
+
+    @Test
+    @DisplayName("Should not store the report of a range that includes today")
+    void shouldNotStoreOpenRange() throws Exception {
+        // Arrange
+        service = newService(2, 10);
+        when(reportService.summarize(any(), any())).thenReturn(summary(2, "5.00"));
+        when(reportService.toResponse(any())).thenAnswer(invocation -> toResponse(invocation.getArgument(0)));
+
+        // Act
+        ReportJobDTO job = awaitCompletion(service.submit(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 19)));
+
+        // Assert
+        assertEquals("COMPLETED", job.getStatus());
+        assertEquals(2, job.getResult().getTotalReadyOrders());
+        verifyNoInteractions(resultRepository);
+    }
+
+    @Test
+    @DisplayName("Should not store a report whose day became READY between the claim and the store")
+    void shouldNotStoreReportInvalidatedWhileComputing() throws Exception {
+        // Arrange
+        service = newService(1, 10);
+        StoredReportInvalidator invalidator = new StoredReportInvalidator(resultRepository, transactionManager);
+        Set<ReportJobResultEntity.Key> rows = ConcurrentHashMap.newKeySet();
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        when(resultRepository.findById(any())).thenReturn(Optional.empty());
+        when(resultRepository.saveAndFlush(any(ReportJobResultEntity.class))).thenAnswer(invocation -> {
+            ReportJobResultEntity row = invocation.getArgument(0);
+            rows.add(new ReportJobResultEntity.Key(row.getStartDate(), row.getEndDate()));
+            return row;
+        });
+        when(resultRepository.deleteOverlapping(JAN_1, JAN_1)).thenAnswer(invocation -> {
+            rows.clear();
+            return 1;
+        });
+        when(resultRepository.complete(eq(JAN_1), eq(JAN_31), any(), any()))
+                .thenAnswer(invocation -> rows.contains(new ReportJobResultEntity.Key(JAN_1, JAN_31)) ? 1 : 0);
+        when(reportService.summarize(JAN_1, JAN_31)).thenAnswer(invocation -> {
+            reading.countDown();
+            committed.await(5, TimeUnit.SECONDS);
+            return summary(1, "10.00");
+        });
+        when(reportService.toResponse(any())).thenAnswer(invocation -> toResponse(invocation.getArgument(0)));
+
+        // Act: the READY transaction invalidates the day before the job claims the range
+        // and commits while the job is still reading it
+        ReportJobDTO started;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            invalidator.invalidate(JAN_1, JAN_1);
+            started = service.submit(JAN_1, JAN_31);
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+            verify(resultRepository, never()).deleteOverlapping(any(), any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        committed.countDown();
+        ReportJobDTO job = awaitCompletion(started);
+
+        // Assert
+        assertEquals("COMPLETED", job.getStatus());
+        assertFalse(job.isStored());
+        assertTrue(rows.isEmpty());
+        InOrder inOrder = inOrder(resultRepository);
+        inOrder.verify(resultRepository).saveAndFlush(any(ReportJobResultEntity.class));
+        inOrder.verify(resultRepository).deleteOverlapping(JAN_1, JAN_1);
+        inOrder.verify(resultRepository).complete(eq(JAN_1), eq(JAN_31), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return the unfinished job of the same range instead of starting another")
+    void shouldReuseUnfinishedJob() throws Exception {
+        // Arrange
+        service = newService(2, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportService.summarize(any(), any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return summary(1, "1.00");
+        });
+        when(reportService.toResponse(any())).thenAnswer(invocation -> toResponse(invocation.getArgument(0)));
+        LocalDate today = LocalDate.now(fixedClock);
+
+        // Act
+        ReportJobDTO first = service.submit(today, today);
+        ReportJobDTO second = service.submit(today, today);
+        release.countDown();
+
+        // Assert
+        assertEquals(first.getJobId(), second.getJobId());
+        assertEquals("COMPLETED", awaitCompletion(first).getStatus());
+        verify(reportService).summarize(today, today);
+    }
+
+    @Test
+    @DisplayName("Should reject jobs once the workers and the queue are full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        // Arrange
+        service = newService(1, 1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(reportService.summarize(any(), any())).thenAnswer(invocation -> {
+            running.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return summary(1, "1.00");
+        });
+        when(reportService.toResponse(any())).thenAnswer(invocation -> toResponse(invocation.getArgument(0)));
+        LocalDate today = LocalDate.now(fixedClock);
+
+        // Act
+        ReportJobDTO runningJob = service.submit(today, today);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        ReportJobDTO queuedJob = service.submit(today.minusDays(1), today);
+
+        // Assert
+        assertEquals("QUEUED", queuedJob.getStatus());
+        assertThrows(ReportJobQueueFullException.class, () -> service.submit(today.minusDays(2), today));
+        release.countDown();
+        assertEquals("COMPLETED", awaitCompletion(runningJob).getStatus());
+        assertEquals("COMPLETED", awaitCompletion(queuedJob).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should report a failed chunk as a FAILED job")
+    void shouldFailJob() throws Exception {
+        // Arrange
+        service = newService(2, 10);
+        when(reportService.summarize(any(), any())).thenThrow(new IllegalStateException("connection refused"));
+        LocalDate today = LocalDate.now(fixedClock);
+
+        // Act
+        ReportJobDTO job = awaitCompletion(service.submit(today, today));
+
+        // Assert
+        assertEquals("FAILED", job.getStatus());
+        assertEquals("connection refused", job.getError());
+        assertNull(job.getResult());
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid range without starting a job")
+    void shouldRejectInvalidRange() {
+        // Arrange
+        service = newService(2, 10);
+
+        // Act & Assert
+        assertThrows(InvalidDateRangeException.class, () -> service.submit(MAR_31, JAN_1));
+        verifyNoInteractions(reportService, resultRepository);
+    }
+
+    private ReportJobService newService(int concurrency, int queueCapacity) {
+        return new ReportJobService(reportService, resultRepository, new DateRangeFilter(), objectMapper,
+                transactionManager, fixedClock, concurrency, queueCapacity, 31);
+    }
+
+    private ReportJobDTO awaitCompletion(ReportJobDTO started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ReportJobDTO job = started;
+        while (job.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = service.findJob(started.getJobId()).orElseThrow();
+        }
+        return job;
+    }
+
+    private static ReportSummary summary(int orders, String revenue) {
+        return ReportSummary.builder()
+                .totalReadyOrders(orders)
+                .totalRevenue(new BigDecimal(revenue))
+                .productBreakdown(List.of(ProductSummary.builder()
+                        .productId(1L)
+                        .productName("Burger")
+                        .quantitySold(orders)
+                        .totalAccumulated(new BigDecimal(revenue))
+                        .build()))
+                .build();
+    }
+
+    private static ReportResponseDTO toResponse(ReportSummary summary) {
+        return ReportResponseDTO.builder()
+                .totalReadyOrders(summary.getTotalReadyOrders())
+                .totalRevenue(summary.getTotalRevenue())
+                .productBreakdown(summary.getProductBreakdown().stream()
+                        .map(product -> ReportResponseDTO.ProductBreakdownDTO.builder()
+                                .productId(product.getProductId())
+                                .productName(product.getProductName())
+                                .quantitySold(product.getQuantitySold())
+                                .totalAccumulated(product.getTotalAccumulated())
+                                .build())
+                        .toList())
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.dto.PartitionPruningDTO;
+import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.repository.ReportPartitionJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the monthly partition maintenance.
+ * Verifies partitions are created ahead and on demand, and only once per month.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReportPartitionServiceTest {
+
+    @Mock
+    private ReportPartitionJdbcRepository partitionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-02-19T15:30:00Z"), ZoneId.of("UTC"));
+
+    private ReportPartitionService partitionService;
+
+    @BeforeEach
+    void setUp() {
+        partitionService = service(true);
+    }
+
+    @Test
+    @DisplayName("Should create the partitions of the current month and the months ahead")
+    void shouldCreateUpcomingPartitions() {
+        // Act
+        partitionService.createUpcomingPartitions();
+
+        // Assert
+        verify(partitionRepository).ensureMonths(YearMonth.of(2026, 2), YearMonth.of(2026, 5));
+    }
+
+    @Test
+    @DisplayName("Should only ask the database for months not created yet")
+    void shouldEnsureUnknownMonthsOnce() {
+        // Arrange
+        partitionService.createUpcomingPartitions();
+
+        // Act
+        partitionService.ensurePartitionsFor(List.of(LocalDateTime.of(2026, 3, 10, 12, 0)));
+        partitionService.ensurePartitionsFor(List.of(
+                LocalDateTime.of(2025, 11, 30, 23, 0), LocalDateTime.of(2025, 9, 1, 8, 0)));
+        partitionService.ensurePartitionsFor(List.of(LocalDateTime.of(2025, 10, 15, 9, 0)));
+
+        // Assert
+        verify(partitionRepository).ensureMonths(YearMonth.of(2026, 2), YearMonth.of(2026, 5));
+        verify(partitionRepository).ensureMonths(YearMonth.of(2025, 9), YearMonth.of(2025, 11));
+        verifyNoMoreInteractions(partitionRepository);
+    }
+
+    @Test
+    @DisplayName("Should not retry a failed month as created")
+    void shouldRetryMonthAfterFailure() {
+        // Arrange
+        LocalDateTime late = LocalDateTime.of(2025, 9, 1, 8, 0);
+        when(partitionRepository.ensureMonths(any(), any()))
+                .thenThrow(new IllegalStateException("lock timeout"))
+                .thenReturn(1);
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> partitionService.ensurePartitionsFor(List.of(late)));
+        partitionService.ensurePartitionsFor(List.of(late));
+
+        // Assert
+        verify(partitionRepository, times(2)).ensureMonths(YearMonth.of(2025, 9), YearMonth.of(2025, 9));
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when partition maintenance is disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Arrange
+        ReportPartitionService disabled = service(false);
+
+        // Act
+        disabled.createUpcomingPartitions();
+        disabled.ensurePartitionsFor(List.of(LocalDateTime.of(2026, 2, 19, 12, 0)));
+
+        // Assert
+        verifyNoInteractions(partitionRepository, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should report the partitions a report over the range reads")
+    void shouldExplainPruning() {
+        // Arrange
+        when(partitionRepository.findPartitions()).thenReturn(List.of(
+                "report_order_items_2026_01", "report_order_items_2026_02",
+                "report_orders_2026_01", "report_orders_2026_02"));
+        when(partitionRepository.findScannedPartitions(OrderStatus.READY,
+                LocalDateTime.of(2026, 2, 1, 0, 0), LocalDateTime.of(2026, 2, 28, 23, 59, 59)))
+                .thenReturn(Set.of("report_orders_2026_02", "report_order_items_2026_02", "report_orders"));
+
+        // Act
+        PartitionPruningDTO pruning = partitionService.explainPruning(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+
+        // Assert
+        assertEquals(4, pruning.getPartitions());
+        assertEquals(Set.of("report_orders_2026_02", "report_order_items_2026_02"),
+                Set.copyOf(pruning.getScannedPartitions()));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid range before explaining it")
+    void shouldRejectInvalidRange() {
+        assertThrows(InvalidDateRangeException.class,
+                () -> partitionService.explainPruning(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 2, 1)));
+        verifyNoInteractions(partitionRepository);
+    }
+
+    private ReportPartitionService service(boolean enabled) {
+        return new ReportPartitionService(partitionRepository, new DateRangeFilter(), transactionManager,
+                clock, enabled, 3);
+    }
+}
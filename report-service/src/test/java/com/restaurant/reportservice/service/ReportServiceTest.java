@@ -3,28 +3,42 @@ package com.restaurant.reportservice.service;
 import com.restaurant.reportservice.domain.model.DateRange;
 import com.restaurant.reportservice.domain.model.OrderReport;
 import com.restaurant.reportservice.domain.model.OrderItemReport;
+import com.restaurant.reportservice.domain.model.ProductSummary;
 import com.restaurant.reportservice.domain.model.ReportSummary;
 import com.restaurant.reportservice.domain.service.ReportAggregationService;
 import com.restaurant.reportservice.domain.service.DateRangeFilter;
 import com.restaurant.reportservice.dto.ReportResponseDTO;
+import com.restaurant.reportservice.dto.TopProductsResponseDTO;
+import com.restaurant.reportservice.entity.DailyOrderCountEntity;
+import com.restaurant.reportservice.entity.DailyProductSalesEntity;
 import com.restaurant.reportservice.entity.OrderReportEntity;
 import com.restaurant.reportservice.entity.OrderItemReportEntity;
 import com.restaurant.reportservice.enums.OrderStatus;
+import com.restaurant.reportservice.enums.ProductRanking;
+import com.restaurant.reportservice.enums.ReportSource;
+import com.restaurant.reportservice.repository.DailyOrderCountRepository;
+import com.restaurant.reportservice.repository.DailyProductSalesRepository;
 import com.restaurant.reportservice.repository.OrderReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,11 +60,23 @@ class ReportServiceTest {
     @Mock
     private DateRangeFilter dateRangeFilter;
 
+    @Mock
+    private DailyProductSalesRepository dailyProductSalesRepository;
+
+    @Mock
+    private DailyOrderCountRepository dailyOrderCountRepository;
+
+    @Mock
+    private DailyReportCache reportCache;
+
+    @Mock
+    private ColumnarAnalyticsStore columnarStore;
+
     private ReportService reportService;
 
     @BeforeEach
     void setUp() {
-        reportService = new ReportService(orderReportRepository, aggregationService, dateRangeFilter);
+        reportService = serviceReadingFrom(ReportSource.ORDERS);
     }
 
     @Test
@@ -90,6 +116,31 @@ class ReportServiceTest {
         verify(aggregationService).aggregate(anyList());
     }
 
+    @Test
+    @DisplayName("Should answer from the columnar store when it holds the whole range")
+    void shouldUseColumnarStoreWhenItCoversRange() {
+        // Arrange
+        LocalDate startDate = LocalDate.of(2026, 2, 1);
+        LocalDate endDate = LocalDate.of(2026, 2, 28);
+        DateRange dateRange = DateRange.of(startDate, endDate);
+        ReportSummary stored = ReportSummary.builder()
+                .totalReadyOrders(3)
+                .totalRevenue(new BigDecimal("42.50"))
+                .productBreakdown(Collections.emptyList())
+                .build();
+        when(dateRangeFilter.validateAndCreate(startDate, endDate)).thenReturn(dateRange);
+        when(columnarStore.covers(dateRange)).thenReturn(true);
+        when(columnarStore.summarize(dateRange)).thenReturn(stored);
+
+        // Act
+        ReportResponseDTO response = reportService.generateReport(startDate, endDate);
+
+        // Assert
+        assertEquals(3, response.getTotalReadyOrders());
+        assertEquals(new BigDecimal("42.50"), response.getTotalRevenue());
+        verifyNoInteractions(orderReportRepository, aggregationService, reportCache);
+    }
+
     @Test
     @DisplayName("Should return zero metrics when no orders exist in date range")
     void shouldReturnZeroMetricsWhenNoOrders() {
@@ -199,7 +250,340 @@ class ReportServiceTest {
         assertTrue(transactional.readOnly(), "generateReport transaction should be readOnly");
     }
 
+    // ── rollup source ───────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should sum rollup rows without loading orders")
+    void shouldSumRollupRowsWithoutLoadingOrders() {
+        // Arrange
+        ReportService rollupService = serviceReadingFrom(ReportSource.ROLLUP);
+        LocalDate startDate = LocalDate.of(2026, 2, 1);
+        LocalDate endDate = LocalDate.of(2026, 2, 28);
+        when(dateRangeFilter.validateAndCreate(startDate, endDate)).thenReturn(DateRange.of(startDate, endDate));
+        when(dailyOrderCountRepository.sumReadyOrdersBetween(startDate, endDate)).thenReturn(3L);
+        when(dailyProductSalesRepository.sumByProductBetween(startDate, endDate)).thenReturn(List.of(
+                total(1L, "Hamburguesa", 3L, new BigDecimal("46.50")),
+                total(2L, "Pizza", 1L, new BigDecimal("20.00"))));
+
+        // Act
+        ReportResponseDTO response = rollupService.generateReport(startDate, endDate);
+
+        // Assert
+        assertEquals(3, response.getTotalReadyOrders());
+        assertEquals(new BigDecimal("66.50"), response.getTotalRevenue());
+        assertEquals(2, response.getProductBreakdown().size());
+        assertEquals("Hamburguesa", response.getProductBreakdown().get(0).getProductName());
+        assertEquals(3, response.getProductBreakdown().get(0).getQuantitySold());
+        assertEquals(new BigDecimal("20.00"), response.getProductBreakdown().get(1).getTotalAccumulated());
+        verifyNoInteractions(orderReportRepository, aggregationService);
+    }
+
+    @Test
+    @DisplayName("Should return zero metrics when the rollup has no rows in range")
+    void shouldReturnZeroMetricsFromEmptyRollup() {
+        // Arrange
+        ReportService rollupService = serviceReadingFrom(ReportSource.ROLLUP);
+        LocalDate day = LocalDate.of(2026, 2, 15);
+        when(dateRangeFilter.validateAndCreate(day, day)).thenReturn(DateRange.of(day, day));
+        when(dailyOrderCountRepository.sumReadyOrdersBetween(day, day)).thenReturn(0L);
+        when(dailyProductSalesRepository.sumByProductBetween(day, day)).thenReturn(List.of());
+
+        // Act
+        ReportResponseDTO response = rollupService.generateReport(day, day);
+
+        // Assert
+        assertEquals(0, response.getTotalReadyOrders());
+        assertEquals(BigDecimal.ZERO, response.getTotalRevenue());
+        assertTrue(response.getProductBreakdown().isEmpty());
+    }
+
+    // ── stream source ───────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should aggregate streamed items of READY orders without loading entities")
+    void shouldAggregateStreamedItems() {
+        // Arrange
+        ReportService streamService = serviceReadingFrom(ReportSource.STREAM);
+        LocalDate day = LocalDate.of(2026, 2, 15);
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.atTime(23, 59, 59);
+        OrderItemReport item = OrderItemReport.builder()
+                .productId(1L).productName("Hamburguesa").quantity(2).price(new BigDecimal("15.50")).build();
+        Stream<OrderItemReport> items = Stream.of(item);
+        ReportSummary summary = ReportSummary.builder()
+                .totalReadyOrders(1)
+                .totalRevenue(new BigDecimal("31.00"))
+                .build();
+        when(dateRangeFilter.validateAndCreate(day, day)).thenReturn(DateRange.of(day, day));
+        when(orderReportRepository.countByStatusAndCreatedAtBetween(OrderStatus.READY, start, end)).thenReturn(1L);
+        when(orderReportRepository.streamItemsByStatusAndCreatedAtBetween(OrderStatus.READY, start, end))
+                .thenReturn(items);
+        when(aggregationService.aggregate(1L, items)).thenReturn(summary);
+
+        // Act
+        ReportResponseDTO response = streamService.generateReport(day, day);
+
+        // Assert
+        assertEquals(1, response.getTotalReadyOrders());
+        assertEquals(new BigDecimal("31.00"), response.getTotalRevenue());
+        verify(orderReportRepository, never()).findByStatusAndCreatedAtBetween(any(), any(), any());
+    }
+
+    // ── sql source ──────────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should return the summary computed by the database")
+    void shouldReturnSummaryComputedByDatabase() {
+        // Arrange
+        ReportService sqlService = serviceReadingFrom(ReportSource.SQL);
+        LocalDate day = LocalDate.of(2026, 2, 15);
+        ReportSummary summary = ReportSummary.builder()
+                .totalReadyOrders(4)
+                .totalRevenue(new BigDecimal("62.00"))
+                .productBreakdown(List.of(ProductSummary.builder()
+                        .productId(1L).productName("Hamburguesa").quantitySold(4)
+                        .totalAccumulated(new BigDecimal("62.00")).build()))
+                .build();
+        when(dateRangeFilter.validateAndCreate(day, day)).thenReturn(DateRange.of(day, day));
+        when(orderReportRepository.summarizeByStatusAndCreatedAtBetween(
+                OrderStatus.READY, day.atStartOfDay(), day.atTime(23, 59, 59))).thenReturn(summary);
+
+        // Act
+        ReportResponseDTO response = sqlService.generateReport(day, day);
+
+        // Assert
+        assertEquals(4, response.getTotalReadyOrders());
+        assertEquals(new BigDecimal("62.00"), response.getTotalRevenue());
+        assertEquals(4, response.getProductBreakdown().get(0).getQuantitySold());
+        verifyNoInteractions(aggregationService);
+    }
+
+    // ── per-day cache ───────────────────────────────────────────────────
+
+    @Test
+    @DisplayName("Should assemble a cached range from single days and serve repeats from the cache")
+    void shouldServeRepeatedRangeFromDailyCache() {
+        // Arrange
+        DailyReportCache cache = new DailyReportCache(new SimpleMeterRegistry(),
+                Clock.fixed(Instant.parse("2026-02-20T12:00:00Z"), ZoneId.of("UTC")), 10);
+        ReportService cachedService = serviceReadingFrom(ReportSource.ROLLUP, cache);
+        LocalDate first = LocalDate.of(2026, 2, 14);
+        LocalDate second = LocalDate.of(2026, 2, 15);
+        when(dateRangeFilter.validateAndCreate(first, second)).thenReturn(DateRange.of(first, second));
+        when(dailyOrderCountRepository.findByDayBetween(first, second)).thenReturn(List.of(
+                dayCount(first, 1), dayCount(second, 2)));
+        when(dailyProductSalesRepository.findByDayBetweenOrderByDayAscProductIdAsc(first, second)).thenReturn(List.of(
+                daySales(first, 1L, "Hamburguesa", 1L, new BigDecimal("15.50")),
+                daySales(second, 1L, "Hamburguesa", 2L, new BigDecimal("31.00")),
+                daySales(second, 2L, "Pizza", 1L, new BigDecimal("20.00"))));
+
+        // Act
+        ReportResponseDTO response = cachedService.generateReport(first, second);
+        ReportResponseDTO repeated = cachedService.generateReport(first, second);
+
+        // Assert
+        assertEquals(3, response.getTotalReadyOrders());
+        assertEquals(new BigDecimal("66.50"), response.getTotalRevenue());
+        assertEquals(2, response.getProductBreakdown().size());
+        assertEquals(3, response.getProductBreakdown().get(0).getQuantitySold());
+        assertEquals(new BigDecimal("46.50"), response.getProductBreakdown().get(0).getTotalAccumulated());
+        assertEquals(response, repeated);
+        verify(dailyOrderCountRepository, times(1)).findByDayBetween(first, second);
+        verify(dailyProductSalesRepository, times(1)).findByDayBetweenOrderByDayAscProductIdAsc(first, second);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should load every missing day of a cold rollup range with one query per rollup table")
+    void shouldLoadColdRangeWithBulkQueries() {
+        // Arrange
+        DailyReportCache cache = new DailyReportCache(new SimpleMeterRegistry(),
+                Clock.fixed(Instant.parse("2026-02-20T12:00:00Z"), ZoneId.of("UTC")), 400);
+        ReportService cachedService = serviceReadingFrom(ReportSource.ROLLUP, cache);
+        LocalDate startDate = LocalDate.of(2025, 2, 20);
+        LocalDate endDate = LocalDate.of(2026, 2, 19);
+        LocalDate busyDay = LocalDate.of(2025, 12, 24);
+        when(dateRangeFilter.validateAndCreate(startDate, endDate)).thenReturn(DateRange.of(startDate, endDate));
+        when(dailyOrderCountRepository.findByDayBetween(startDate, endDate)).thenReturn(List.of(dayCount(busyDay, 4)));
+        when(dailyProductSalesRepository.findByDayBetweenOrderByDayAscProductIdAsc(startDate, endDate))
+                .thenReturn(List.of(daySales(busyDay, 1L, "Hamburguesa", 4L, new BigDecimal("62.00"))));
+
+        // Act
+        ReportResponseDTO response = cachedService.generateReport(startDate, endDate);
+        ReportResponseDTO repeated = cachedService.generateReport(startDate, endDate);
+
+        // Assert
+        assertEquals(4, response.getTotalReadyOrders());
+        assertEquals(new BigDecimal("62.00"), response.getTotalRevenue());
+        assertEquals(response, repeated);
+        assertEquals(365, cache.size());
+        verify(dailyOrderCountRepository, times(1)).findByDayBetween(any(), any());
+        verify(dailyProductSalesRepository, times(1)).findByDayBetweenOrderByDayAscProductIdAsc(any(), any());
+        verify(dailyOrderCountRepository, never()).sumReadyOrdersBetween(any(), any());
+        verify(dailyProductSalesRepository, never()).sumByProductBetween(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should query a mostly uncached range at once when the source cannot load days together")
+    void shouldQueryColdRangeAtOnceForPerDaySources() {
+        // Arrange
+        DailyReportCache cache = new DailyReportCache(new SimpleMeterRegistry(),
+                Clock.fixed(Instant.parse("2026-02-20T12:00:00Z"), ZoneId.of("UTC")), 400);
+        ReportService sqlService = serviceReadingFrom(ReportSource.SQL, cache);
+        LocalDate startDate = LocalDate.of(2025, 2, 20);
+        LocalDate endDate = LocalDate.of(2026, 2, 19);
+        when(dateRangeFilter.validateAndCreate(startDate, endDate)).thenReturn(DateRange.of(startDate, endDate));
+        when(orderReportRepository.summarizeByStatusAndCreatedAtBetween(
+                eq(OrderStatus.READY), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(ReportSummary.builder().totalReadyOrders(4).totalRevenue(new BigDecimal("62.00")).build());
+
+        // Act
+        ReportResponseDTO response = sqlService.generateReport(startDate, endDate);
+
+        // Assert
+        assertEquals(4, response.getTotalReadyOrders());
+        verify(orderReportRepository, times(1)).summarizeByStatusAndCreatedAtBetween(
+                OrderStatus.READY, startDate.atStartOfDay(), endDate.atTime(23, 59, 59));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should compute ranges larger than the cache directly")
+    void shouldBypassCacheForLargeRanges() {
+        // Arrange
+        DailyReportCache cache = new DailyReportCache(new SimpleMeterRegistry(),
+                Clock.fixed(Instant.parse("2026-03-20T12:00:00Z"), ZoneId.of("UTC")), 10);
+        ReportService cachedService = serviceReadingFrom(ReportSource.ROLLUP, cache);
+        LocalDate startDate = LocalDate.of(2026, 2, 1);
+        LocalDate endDate = LocalDate.of(2026, 2, 28);
+        when(dateRangeFilter.validateAndCreate(startDate, endDate)).thenReturn(DateRange.of(startDate, endDate));
+        when(dailyOrderCountRepository.sumReadyOrdersBetween(startDate, endDate)).thenReturn(0L);
+        when(dailyProductSalesRepository.sumByProductBetween(startDate, endDate)).thenReturn(List.of());
+
+        // Act
+        ReportResponseDTO response = cachedService.generateReport(startDate, endDate);
+
+        // Assert
+        assertEquals(0, response.getTotalReadyOrders());
+        assertEquals(0, cache.size());
+    }
+
     // Helper methods
+    @Test
+    @DisplayName("Should rank uncached rollup ranges in the database with a LIMIT of N")
+    void shouldRankUncachedRollupRangesInDatabase() {
+        // Arrange
+        reportService = serviceReadingFrom(ReportSource.ROLLUP);
+        LocalDate startDate = LocalDate.of(2020, 1, 1);
+        LocalDate endDate = LocalDate.of(2026, 2, 28);
+        when(dateRangeFilter.validateAndCreate(startDate, endDate)).thenReturn(DateRange.of(startDate, endDate));
+        when(dailyProductSalesRepository.findTopByRevenueBetween(startDate, endDate, PageRequest.of(0, 2)))
+                .thenReturn(List.of(
+                        total(3L, "Pizza", 4L, new BigDecimal("80.00")),
+                        total(1L, "Hamburguesa", 3L, new BigDecimal("46.50"))));
+
+        // Act
+        TopProductsResponseDTO response = reportService.generateTopProducts(startDate, endDate, 2, ProductRanking.REVENUE);
+
+        // Assert
+        assertEquals(2, response.getProducts().size());
+        assertEquals(3L, response.getProducts().get(0).getProductId());
+        assertEquals(new BigDecimal("46.50"), response.getProducts().get(1).getTotalAccumulated());
+        verify(dailyProductSalesRepository, never()).sumByProductBetween(any(), any());
+        verifyNoInteractions(aggregationService);
+    }
+
+    @Test
+    @DisplayName("Should rank the aggregated breakdown when the source is not the rollup")
+    void shouldRankAggregatedBreakdown() {
+        // Arrange
+        reportService = serviceReadingFrom(ReportSource.SQL);
+        LocalDate startDate = LocalDate.of(2026, 2, 1);
+        LocalDate endDate = LocalDate.of(2026, 2, 28);
+        List<ProductSummary> breakdown = List.of(
+                ProductSummary.builder().productId(1L).quantitySold(3).totalAccumulated(new BigDecimal("46.50")).build(),
+                ProductSummary.builder().productId(2L).quantitySold(5).totalAccumulated(new BigDecimal("15.00")).build());
+        when(dateRangeFilter.validateAndCreate(startDate, endDate)).thenReturn(DateRange.of(startDate, endDate));
+        when(orderReportRepository.summarizeByStatusAndCreatedAtBetween(
+                eq(OrderStatus.READY), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(ReportSummary.builder().totalReadyOrders(2).productBreakdown(breakdown).build());
+        when(aggregationService.topProducts(breakdown, 1, ProductRanking.QUANTITY)).thenReturn(breakdown.subList(1, 2));
+
+        // Act
+        TopProductsResponseDTO response = reportService.generateTopProducts(startDate, endDate, 1, ProductRanking.QUANTITY);
+
+        // Assert
+        assertEquals(1, response.getProducts().size());
+        assertEquals(2L, response.getProducts().get(0).getProductId());
+        assertEquals(ProductRanking.QUANTITY, response.getBy());
+    }
+
+    @Test
+    @DisplayName("Should reject N outside 1..MAX_TOP_PRODUCTS")
+    void shouldRejectTopNOutOfBounds() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 2, 1);
+        when(dateRangeFilter.validateAndCreate(day, day)).thenReturn(DateRange.of(day, day));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> reportService.generateTopProducts(day, day, 0, ProductRanking.QUANTITY));
+        assertThrows(IllegalArgumentException.class,
+                () -> reportService.generateTopProducts(day, day, ReportService.MAX_TOP_PRODUCTS + 1, ProductRanking.QUANTITY));
+        verifyNoInteractions(orderReportRepository, dailyProductSalesRepository);
+    }
+
+    private ReportService serviceReadingFrom(ReportSource source) {
+        return serviceReadingFrom(source, reportCache);
+    }
+
+    private ReportService serviceReadingFrom(ReportSource source, DailyReportCache cache) {
+        return new ReportService(orderReportRepository, aggregationService, dateRangeFilter,
+                dailyProductSalesRepository, dailyOrderCountRepository, source, cache, columnarStore,
+                new SimpleMeterRegistry());
+    }
+
+    private DailyOrderCountEntity dayCount(LocalDate day, int readyOrders) {
+        return DailyOrderCountEntity.builder().day(day).readyOrders(readyOrders).build();
+    }
+
+    private DailyProductSalesEntity daySales(LocalDate day, Long productId, String productName,
+                                             Long quantity, BigDecimal revenue) {
+        return DailyProductSalesEntity.builder()
+                .day(day)
+                .productId(productId)
+                .productName(productName)
+                .quantity(quantity)
+                .revenue(revenue)
+                .orders(Math.toIntExact(quantity))
+                .build();
+    }
+
+    private DailyProductSalesRepository.ProductSalesTotal total(Long productId, String productName,
+                                                                Long quantity, BigDecimal revenue) {
+        return new DailyProductSalesRepository.ProductSalesTotal() {
+            @Override
+            public Long getProductId() {
+                return productId;
+            }
+
+            @Override
+            public String getProductName() {
+                return productName;
+            }
+
+            @Override
+            public Long getQuantity() {
+                return quantity;
+            }
+
+            @Override
+            public BigDecimal getRevenue() {
+                return revenue;
+            }
+        };
+    }
+
     private OrderReportEntity createOrderEntity(OrderStatus status) {
         OrderReportEntity order = OrderReportEntity.builder()
                 .id(UUID.randomUUID())
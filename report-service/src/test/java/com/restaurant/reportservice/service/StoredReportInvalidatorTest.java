@@ -0,0 +1,94 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.repository.ReportJobResultRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the invalidation of stored job reports.
+ * Verifies that the delete waits for the changing transaction to commit and runs in its own.
+ */
+@ExtendWith(MockitoExtension.class)
+class StoredReportInvalidatorTest {
+
+    private static final LocalDate FEB_16 = LocalDate.of(2026, 2, 16);
+    private static final LocalDate FEB_19 = LocalDate.of(2026, 2, 19);
+
+    @Mock
+    private ReportJobResultRepository jobResultRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StoredReportInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        invalidator = new StoredReportInvalidator(jobResultRepository, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should delete the overlapping reports only after the transaction commits")
+    void shouldDeleteAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        invalidator.invalidate(FEB_16, FEB_19);
+
+        // Assert
+        verifyNoInteractions(jobResultRepository);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(jobResultRepository).deleteOverlapping(FEB_16, FEB_19);
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertEquals(TransactionDefinition.PROPAGATION_REQUIRES_NEW, definition.getValue().getPropagationBehavior());
+    }
+
+    @Test
+    @DisplayName("Should not delete anything when the transaction rolls back")
+    void shouldNotDeleteOnRollback() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        invalidator.invalidate(FEB_19, FEB_19);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verifyNoInteractions(jobResultRepository);
+    }
+
+    @Test
+    @DisplayName("Should delete immediately outside a transaction")
+    void shouldDeleteImmediatelyWithoutTransaction() {
+        // Act
+        invalidator.invalidate(FEB_19, FEB_19);
+
+        // Assert
+        verify(jobResultRepository).deleteOverlapping(FEB_19, FEB_19);
+    }
+}
@@ -0,0 +1,139 @@
+package com.restaurant.reportservice.service;
+
+import com.restaurant.reportservice.domain.model.DateRange;
+import com.restaurant.reportservice.domain.service.DateRangeFilter;
+import com.restaurant.reportservice.dto.TimeSeriesResponseDTO;
+import com.restaurant.reportservice.enums.TimeBucket;
+import com.restaurant.reportservice.exception.InvalidDateRangeException;
+import com.restaurant.reportservice.repository.SalesTimeSeriesJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the sales time series.
+ * Verifies bucket gap filling, the product breakdown and range limits.
+ */
+@ExtendWith(MockitoExtension.class)
+class TimeSeriesReportServiceTest {
+
+    @Mock
+    private SalesTimeSeriesJdbcRepository timeSeriesRepository;
+
+    @Mock
+    private ColumnarAnalyticsStore columnarStore;
+
+    private TimeSeriesReportService timeSeriesReportService;
+
+    @BeforeEach
+    void setUp() {
+        timeSeriesReportService = new TimeSeriesReportService(timeSeriesRepository, new DateRangeFilter(), columnarStore);
+    }
+
+    @Test
+    @DisplayName("Should return every hour of the range, with zeros where nothing sold")
+    void shouldFillEmptyHourlyBuckets() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 2, 15);
+        TimeSeriesResponseDTO.PointDTO noon = point(day.atTime(12, 0), 2L);
+        TimeSeriesResponseDTO.PointDTO evening = point(day.atTime(20, 0), 1L);
+        when(timeSeriesRepository.findTotals(day, day, TimeBucket.HOUR)).thenReturn(List.of(noon, evening));
+
+        // Act
+        TimeSeriesResponseDTO series = timeSeriesReportService.generateTimeSeries(day, day, TimeBucket.HOUR, false);
+
+        // Assert
+        assertEquals(24, series.getPoints().size());
+        assertEquals(day.atStartOfDay(), series.getPoints().get(0).getBucketStart());
+        assertEquals(0L, series.getPoints().get(0).getOrders());
+        assertEquals(BigDecimal.ZERO, series.getPoints().get(0).getRevenue());
+        assertSame(noon, series.getPoints().get(12));
+        assertSame(evening, series.getPoints().get(20));
+        assertEquals(day.atTime(23, 0), series.getPoints().get(23).getBucketStart());
+    }
+
+    @Test
+    @DisplayName("Should return one bucket per day for daily series")
+    void shouldReturnOneBucketPerDay() {
+        // Arrange
+        LocalDate start = LocalDate.of(2026, 2, 27);
+        LocalDate end = LocalDate.of(2026, 3, 2);
+        when(timeSeriesRepository.findTotals(start, end, TimeBucket.DAY)).thenReturn(List.of());
+
+        // Act
+        TimeSeriesResponseDTO series = timeSeriesReportService.generateTimeSeries(start, end, TimeBucket.DAY, false);
+
+        // Assert
+        assertEquals(4, series.getPoints().size());
+        assertEquals(LocalDate.of(2026, 3, 1).atStartOfDay(), series.getPoints().get(2).getBucketStart());
+    }
+
+    @Test
+    @DisplayName("Should take totals from the columnar store when it holds the range")
+    void shouldUseColumnarStoreWhenItCoversRange() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 2, 15);
+        TimeSeriesResponseDTO.PointDTO noon = point(day.atTime(12, 0), 3L);
+        when(columnarStore.covers(DateRange.of(day, day))).thenReturn(true);
+        when(columnarStore.findTotals(DateRange.of(day, day), TimeBucket.HOUR)).thenReturn(List.of(noon));
+
+        // Act
+        TimeSeriesResponseDTO series = timeSeriesReportService.generateTimeSeries(day, day, TimeBucket.HOUR, false);
+
+        // Assert
+        assertEquals(24, series.getPoints().size());
+        assertSame(noon, series.getPoints().get(12));
+        verifyNoInteractions(timeSeriesRepository);
+    }
+
+    @Test
+    @DisplayName("Should return product points as queried, without filling gaps")
+    void shouldReturnProductPointsAsQueried() {
+        // Arrange
+        LocalDate day = LocalDate.of(2026, 2, 15);
+        TimeSeriesResponseDTO.PointDTO point = point(day.atTime(12, 0), 1L);
+        point.setProductId(7L);
+        when(timeSeriesRepository.findByProduct(day, day, TimeBucket.HOUR)).thenReturn(List.of(point));
+
+        // Act
+        TimeSeriesResponseDTO series = timeSeriesReportService.generateTimeSeries(day, day, TimeBucket.HOUR, true);
+
+        // Assert
+        assertEquals(List.of(point), series.getPoints());
+        verify(timeSeriesRepository, never()).findTotals(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject hourly series longer than the limit")
+    void shouldRejectLongHourlyRanges() {
+        // Arrange
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        LocalDate end = LocalDate.of(2026, 1, 2);
+
+        // Act & Assert
+        assertThrows(InvalidDateRangeException.class,
+                () -> timeSeriesReportService.generateTimeSeries(start, end, TimeBucket.HOUR, false));
+        verifyNoInteractions(timeSeriesRepository);
+    }
+
+    private TimeSeriesResponseDTO.PointDTO point(LocalDateTime bucketStart, long orders) {
+        return TimeSeriesResponseDTO.PointDTO.builder()
+                .bucketStart(bucketStart)
+                .orders(orders)
+                .items(orders * 2)
+                .revenue(new BigDecimal("10.00").multiply(BigDecimal.valueOf(orders)))
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+#!/bin/bash
+# Compila el modulo benchmarks (perfil Maven "benchmarks") y ejecuta las suites JMH con el
+# profiler de GC (gc.alloc.rate.norm = bytes asignados por operacion). Los resultados se
+# escriben en JSON para comparar corridas antes y despues de un cambio de rendimiento.
+#
+# Uso: ./scripts/run-benchmarks.sh [regex de benchmarks] [opciones JMH...]
+#      ./scripts/run-benchmarks.sh
+#      ./scripts/run-benchmarks.sh EventJsonBenchmark
+#      ./scripts/run-benchmarks.sh ReportAggregationServiceBenchmark -p items=1000000 -f 3
+#
+# Variables: RESULTS_DIR (default benchmarks/results), SKIP_BUILD=true para no recompilar.
+set -e
+
+cd "$(dirname "$0")/.."
+
+FILTER="${1:-.*}"
+shift || true
+RESULTS_DIR="${RESULTS_DIR:-benchmarks/results}"
+RESULT_FILE="$RESULTS_DIR/jmh-$(date +%Y%m%d-%H%M%S).json"
+
+if [ "$SKIP_BUILD" != "true" ]; then
+    mvn -q -B -P benchmarks -pl benchmarks -am package -DskipTests
+fi
+
+mkdir -p "$RESULTS_DIR"
+java -jar benchmarks/target/benchmarks.jar "$FILTER" -prof gc -rf json -rff "$RESULT_FILE" "$@"
+
+echo "Resultados JMH: $RESULT_FILE"